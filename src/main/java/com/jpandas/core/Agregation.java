@@ -0,0 +1,40 @@
+package com.jpandas.core;
+
+/**
+ * Fonction d'agr&eacute;gation personnalis&eacute;e, appliqu&eacute;e &agrave; chaque groupe par
+ * {@link Regroupement#agreger(String, Agregation)}.
+ * <br>
+ * Les valeurs non manquantes de la colonne sont rassembl&eacute;es une seule fois dans un tableau {@code double[]},
+ * groupe par groupe : l'agr&eacute;gation re&ccedil;oit la plage {@code [debut, fin[} de son groupe, sans objet
+ * interm&eacute;diaire. Elle peut r&eacute;ordonner cette plage (par exemple pour la trier), mais pas le reste du tableau.
+ * <br>
+ * Exemple d'utilisation (m&eacute;diane) :
+ * <pre>{@code
+ * Agregation mediane = (valeurs, debut, fin) -> {
+ *     if (debut == fin) {
+ *         return Double.NaN;
+ *     }
+ *     Arrays.sort(valeurs, debut, fin);
+ *     int milieu = (debut + fin) / 2;
+ *     return (fin - debut) % 2 == 1 ? valeurs[milieu] : (valeurs[milieu - 1] + valeurs[milieu]) / 2;
+ * };
+ * DataFrame medianes = df.groupBy("Pays").agreger("Salaire", mediane);
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.agg.html">Documentation Pandas - agg</a>
+ */
+@FunctionalInterface
+public interface Agregation {
+
+    /**
+     * Calcule la valeur agr&eacute;g&eacute;e d'un groupe.
+     *
+     * @param valeurs Les valeurs de tous les groupes, rang&eacute;es groupe par groupe
+     * @param debut La position de la premi&egrave;re valeur du groupe
+     * @param fin La position qui suit la derni&egrave;re valeur du groupe ({@code debut == fin} pour un groupe sans valeur)
+     * @return La valeur agr&eacute;g&eacute;e du groupe
+     */
+    double agreger(double[] valeurs, int debut, int fin);
+}
@@ -0,0 +1,206 @@
+package com.jpandas.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * M&eacute;moire hors du tas Java dans laquelle sont rang&eacute;es les valeurs de s&eacute;ries num&eacute;riques et les codes de
+ * s&eacute;ries cat&eacute;gorielles, et dont la lib&eacute;ration est explicite.
+ * <br>
+ * Chaque s&eacute;rie copi&eacute;e dans l'ar&egrave;ne garde ses valeurs dans un tampon direct ({@link ByteBuffer#allocateDirect}) :
+ * le ramasse-miettes ne voit plus qu'un petit objet par colonne au lieu de grands tableaux, et ne les parcourt ni
+ * ne les d&eacute;place. La m&eacute;moire est rendue au syst&egrave;me par {@link #close()}, sans attendre le ramasse-miettes ;
+ * toute lecture ult&eacute;rieure d'une s&eacute;rie de l'ar&egrave;ne l&egrave;ve alors une {@link IllegalStateException}.
+ * <br>
+ * Une ar&egrave;ne n'est pas prot&eacute;g&eacute;e contre les acc&egrave;s concurrents : elle ne doit pas &ecirc;tre ferm&eacute;e pendant
+ * qu'un autre thread lit ses s&eacute;ries. La taille des tampons directs est limit&eacute;e par l'option
+ * {@code -XX:MaxDirectMemorySize} de la JVM (par d&eacute;faut, la taille maximale du tas).
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * try (DataFrame grand = new DataFrame("ventes.csv").horsTas()) {
+ *     double moyenne = ((SeriesDouble) grand.getColonneByName("Montant")).moyenne();
+ * }
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see DataFrame#horsTas()
+ */
+public final class ArenaHorsTas implements AutoCloseable {
+
+    // Libération immédiate d'un tampon direct (sun.misc.Unsafe.invokeCleaner), si la JVM la permet ;
+    // sinon la mémoire est rendue quand le ramasse-miettes récupère le tampon
+    private static final MethodHandle LIBERER = chercherLiberation();
+
+    // Tampons alloués et non libérés, associés à leur vue typée (IntBuffer, LongBuffer, DoubleBuffer)
+    private final Map<Object, ByteBuffer> tampons = new IdentityHashMap<>();
+    private final List<SeriesPrimitive<?>> series = new ArrayList<>();
+    private long octetsAlloues;
+    private boolean fermee;
+
+    /**
+     * Constructeur d'une ar&egrave;ne vide.
+     */
+    public ArenaHorsTas() {
+        // Les tampons sont alloués à la demande, par les séries copiées dans l'arène
+    }
+
+    /**
+     * Renvoie le nombre d'octets actuellement allou&eacute;s hors du tas par l'ar&egrave;ne.
+     *
+     * @return Le nombre d'octets, 0 une fois l'ar&egrave;ne ferm&eacute;e
+     */
+    public long getOctetsAlloues() {
+        return octetsAlloues;
+    }
+
+    /**
+     * Indique si l'ar&egrave;ne a &eacute;t&eacute; ferm&eacute;e.
+     *
+     * @return {@code true} si {@link #close()} a &eacute;t&eacute; appel&eacute;e
+     */
+    public boolean estFermee() {
+        return fermee;
+    }
+
+    /**
+     * Lib&egrave;re toute la m&eacute;moire de l'ar&egrave;ne. Les s&eacute;ries de l'ar&egrave;ne ne peuvent plus &ecirc;tre lues ;
+     * un second appel est sans effet.
+     */
+    @Override
+    public void close() {
+        if (fermee) {
+            return;
+        }
+        fermee = true;
+        // Les séries abandonnent leurs tampons avant la libération : aucune ne lit une mémoire rendue
+        for (SeriesPrimitive<?> serie : series) {
+            serie.liberer();
+        }
+        series.clear();
+        for (ByteBuffer tampon : tampons.values()) {
+            libererTampon(tampon);
+        }
+        tampons.clear();
+        octetsAlloues = 0;
+    }
+
+    /**
+     * Inscrit une s&eacute;rie dont les valeurs sont rang&eacute;es dans l'ar&egrave;ne, pour qu'elle soit pr&eacute;venue de sa fermeture.
+     *
+     * @param serie La s&eacute;rie copi&eacute;e dans l'ar&egrave;ne
+     */
+    void inscrire(SeriesPrimitive<?> serie) {
+        verifierOuverte();
+        series.add(serie);
+    }
+
+    /**
+     * Alloue un tampon de {@code capacite} entiers.
+     *
+     * @param capacite Le nombre de valeurs du tampon
+     * @return Le tampon, initialis&eacute; &agrave; 0
+     */
+    IntBuffer allouerInt(int capacite) {
+        ByteBuffer octets = allouer(capacite, Integer.BYTES);
+        IntBuffer tampon = octets.asIntBuffer();
+        tampons.put(tampon, octets);
+        return tampon;
+    }
+
+    /**
+     * Alloue un tampon de {@code capacite} entiers longs.
+     *
+     * @param capacite Le nombre de valeurs du tampon
+     * @return Le tampon, initialis&eacute; &agrave; 0
+     */
+    LongBuffer allouerLong(int capacite) {
+        ByteBuffer octets = allouer(capacite, Long.BYTES);
+        LongBuffer tampon = octets.asLongBuffer();
+        tampons.put(tampon, octets);
+        return tampon;
+    }
+
+    /**
+     * Alloue un tampon de {@code capacite} nombres &agrave; virgule flottante.
+     *
+     * @param capacite Le nombre de valeurs du tampon
+     * @return Le tampon, initialis&eacute; &agrave; 0
+     */
+    DoubleBuffer allouerDouble(int capacite) {
+        ByteBuffer octets = allouer(capacite, Double.BYTES);
+        DoubleBuffer tampon = octets.asDoubleBuffer();
+        tampons.put(tampon, octets);
+        return tampon;
+    }
+
+    /**
+     * Lib&egrave;re un tampon allou&eacute; par l'ar&egrave;ne et devenu inutile (par exemple apr&egrave;s un agrandissement).
+     *
+     * @param tampon La vue typ&eacute;e renvoy&eacute;e par l'allocation
+     */
+    void liberer(Object tampon) {
+        ByteBuffer octets = tampons.remove(tampon);
+        if (octets != null) {
+            octetsAlloues -= octets.capacity();
+            libererTampon(octets);
+        }
+    }
+
+    /**
+     * V&eacute;rifie que l'ar&egrave;ne n'a pas &eacute;t&eacute; ferm&eacute;e.
+     *
+     * @throws IllegalStateException si l'ar&egrave;ne est ferm&eacute;e
+     */
+    void verifierOuverte() {
+        if (fermee) {
+            throw new IllegalStateException("La mémoire hors tas de cette série a été libérée.");
+        }
+    }
+
+    private ByteBuffer allouer(int capacite, int tailleValeur) {
+        verifierOuverte();
+        if (capacite < 0 || capacite > Integer.MAX_VALUE / tailleValeur) {
+            throw new IllegalArgumentException("Capacité hors tas invalide : " + capacite + " valeurs de " + tailleValeur + " octets.");
+        }
+        ByteBuffer octets = ByteBuffer.allocateDirect(capacite * tailleValeur).order(ByteOrder.nativeOrder());
+        octetsAlloues += octets.capacity();
+        return octets;
+    }
+
+    private static void libererTampon(ByteBuffer tampon) {
+        if (LIBERER == null) {
+            return;
+        }
+        try {
+            LIBERER.invokeExact(tampon);
+        } catch (Throwable e) {
+            // Libération immédiate refusée : le tampon sera libéré par le ramasse-miettes
+        }
+    }
+
+    private static MethodHandle chercherLiberation() {
+        try {
+            Class<?> classe = Class.forName("sun.misc.Unsafe");
+            Field instance = classe.getDeclaredField("theUnsafe");
+            instance.setAccessible(true);
+            MethodHandle invoquer = MethodHandles.lookup().findVirtual(classe, "invokeCleaner",
+                    MethodType.methodType(void.class, ByteBuffer.class));
+            return invoquer.bindTo(instance.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.jpandas.core;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Calcul des {@link Statistiques} d'une s&eacute;rie, en parall&egrave;le pour les grandes s&eacute;ries.
+ * <br>
+ * La s&eacute;rie est d&eacute;coup&eacute;e en blocs de {@link #TAILLE_BLOC} valeurs. Chaque bloc est calcul&eacute; par un seul thread,
+ * avec les noyaux de {@link NoyauxNumeriques} (instructions SIMD quand l'API Vector est disponible), puis les r&eacute;sultats des blocs sont combin&eacute;s deux &agrave; deux ({@link Statistiques#fusionner(Statistiques, Statistiques)})
+ * selon un arbre qui ne d&eacute;pend que du nombre de blocs. Le d&eacute;coupage et l'ordre des combinaisons sont donc
+ * les m&ecirc;mes quel que soit le nombre de threads : le r&eacute;sultat est identique, au bit pr&egrave;s, sur une machine
+ * &agrave; 1 ou &agrave; 64 c&oelig;urs. Seule l'ex&eacute;cution des sous-arbres est r&eacute;partie sur le pool.
+ * <br>
+ * En dessous de {@link #SEUIL_PARALLELE} valeurs, le m&ecirc;me arbre est &eacute;valu&eacute; sans passer par le pool.
+ * <br>
+ * Les blocs d'une {@link SeriesLong} sont calcul&eacute;s sur des {@code long} et non par les noyaux : la somme, le minimum
+ * et le maximum restent exacts au-del&agrave; de 2<sup>53</sup>, o&ugrave; la conversion en {@code double} arrondirait les valeurs.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+final class CalculStatistiques {
+
+    /**
+     * Nombre de valeurs d'un bloc, parcouru s&eacute;quentiellement par un seul thread.
+     */
+    static final int TAILLE_BLOC = 1 << 14;
+
+    /**
+     * Nombre de valeurs &agrave; partir duquel le calcul est r&eacute;parti sur le pool de threads.
+     */
+    static final int SEUIL_PARALLELE = 1 << 17;
+
+    private CalculStatistiques() {
+    }
+
+    /**
+     * Calcule les statistiques d'une s&eacute;rie, sur le pool commun si elle d&eacute;passe {@link #SEUIL_PARALLELE} valeurs.
+     *
+     * @param serie La s&eacute;rie &agrave; parcourir
+     * @param lireDoubles {@code true} si les valeurs peuvent &ecirc;tre lues par {@link Series#getDouble(int)}
+     *                    (s&eacute;rie num&eacute;rique primitive, sans objet interm&eacute;diaire)
+     * @return Les statistiques de la s&eacute;rie
+     */
+    static Statistiques calculer(Series<?> serie, boolean lireDoubles) {
+        return calculer(serie, lireDoubles, serie.size() >= SEUIL_PARALLELE ? ForkJoinPool.commonPool() : null);
+    }
+
+    /**
+     * Calcule les statistiques d'une s&eacute;rie sur un pool donn&eacute;.
+     *
+     * @param serie La s&eacute;rie &agrave; parcourir
+     * @param lireDoubles {@code true} si les valeurs peuvent &ecirc;tre lues par {@link Series#getDouble(int)}
+     * @param pool Le pool de threads, ou {@code null} pour tout calculer dans le thread courant
+     * @return Les statistiques de la s&eacute;rie
+     */
+    static Statistiques calculer(Series<?> serie, boolean lireDoubles, ForkJoinPool pool) {
+        int nbBlocs = Math.max(1, (serie.size() + TAILLE_BLOC - 1) / TAILLE_BLOC);
+        CalculBlocs calcul = new CalculBlocs(serie, lireDoubles, pool != null, 0, nbBlocs);
+        return pool == null ? calcul.compute() : pool.invoke(calcul);
+    }
+
+    // Calcule les statistiques des valeurs [debut, fin[ de la série par les noyaux numériques
+    private static Statistiques calculerBloc(Series<?> serie, boolean lireDoubles, int debut, int fin) {
+        if (serie instanceof SeriesDouble && !((SeriesDouble) serie).estHorsTas() && !((SeriesDouble) serie).contientNuls(debut, fin)) {
+            // Cas le plus fréquent : le tableau de la colonne est parcouru directement, sans recopie
+            return NoyauxNumeriques.INSTANCE.statistiques(((SeriesDouble) serie).tableau(), debut, fin);
+        }
+        if (serie instanceof SeriesLong) {
+            try {
+                return calculerBlocLong((SeriesLong) serie, debut, fin);
+            } catch (ArithmeticException e) {
+                // Somme ou écart hors de la capacité d'un long : le bloc est calculé en double, comme les autres séries
+            }
+        }
+        // Sinon les valeurs non manquantes sont d'abord rassemblées dans un tableau : le résultat est le même,
+        // au bit près, que celui d'une SeriesDouble contenant les mêmes valeurs
+        double[] tampon = new double[fin - debut];
+        int nombre = 0;
+        long nombreNuls = 0;
+        boolean numerique = true;
+        for (int i = debut; i < fin; i++) {
+            if (serie.estNul(i)) {
+                nombreNuls++;
+            } else if (lireDoubles) {
+                tampon[nombre++] = serie.getDouble(i);
+            } else {
+                Object valeur = serie.get(i);
+                if (valeur instanceof Number) {
+                    tampon[nombre++] = ((Number) valeur).doubleValue();
+                } else {
+                    numerique = false;
+                }
+            }
+        }
+        Statistiques statistiques = NoyauxNumeriques.INSTANCE.statistiques(tampon, 0, nombre);
+        statistiques.ajouterNuls(nombreNuls);
+        if (!numerique) {
+            statistiques.marquerNonNumerique();
+        }
+        return statistiques;
+    }
+
+    // Calcule les statistiques d'un bloc d'une SeriesLong sans convertir les valeurs en double, ce qui les arrondirait
+    // au-delà de 2^53 : la somme, le minimum et le maximum sont exacts sur des long, puis arrondis une seule fois.
+    // Lève ArithmeticException si la somme ou un écart à la moyenne dépasse la capacité d'un long.
+    private static Statistiques calculerBlocLong(SeriesLong serie, int debut, int fin) {
+        long somme = 0;
+        long minimum = Long.MAX_VALUE;
+        long maximum = Long.MIN_VALUE;
+        int nombre = 0;
+        for (int i = debut; i < fin; i++) {
+            if (!serie.estNul(i)) {
+                long valeur = serie.getLong(i);
+                somme = Math.addExact(somme, valeur);
+                minimum = Math.min(minimum, valeur);
+                maximum = Math.max(maximum, valeur);
+                nombre++;
+            }
+        }
+        Statistiques statistiques = new Statistiques();
+        if (nombre > 0) {
+            double sommeArrondie = somme;
+            // L'écart entre la somme exacte et son arrondi est gardé comme compensation de la somme
+            double compensation = somme - (long) sommeArrondie;
+            double moyenne = NoyauxNumeriques.moyenne(nombre, sommeArrondie, compensation);
+            // Les écarts sont pris par rapport à un pivot entier proche de la moyenne (moyenne - pivot est exact)
+            long pivot = (long) moyenne;
+            double decalage = moyenne - pivot;
+            double sommeDesCarres = 0;
+            double sommeDesEcarts = 0;
+            for (int i = debut; i < fin; i++) {
+                if (!serie.estNul(i)) {
+                    double ecart = Math.subtractExact(serie.getLong(i), pivot) - decalage;
+                    sommeDesCarres += ecart * ecart;
+                    sommeDesEcarts += ecart;
+                }
+            }
+            statistiques = NoyauxNumeriques.terminer(nombre, sommeArrondie, compensation, moyenne, sommeDesCarres,
+                    sommeDesEcarts, minimum, maximum);
+        }
+        statistiques.ajouterNuls(fin - debut - nombre);
+        return statistiques;
+    }
+
+    /**
+     * T&acirc;che qui calcule les statistiques des blocs {@code [premierBloc, finBlocs[}, en coupant toujours la plage
+     * en son milieu : l'arbre des combinaisons est fix&eacute; par le nombre de blocs.
+     */
+    private static final class CalculBlocs extends RecursiveTask<Statistiques> {
+        private static final long serialVersionUID = 1L;
+
+        private final Series<?> serie;
+        private final boolean lireDoubles;
+        private final boolean parallele;
+        private final int premierBloc;
+        private final int finBlocs;
+
+        CalculBlocs(Series<?> serie, boolean lireDoubles, boolean parallele, int premierBloc, int finBlocs) {
+            this.serie = serie;
+            this.lireDoubles = lireDoubles;
+            this.parallele = parallele;
+            this.premierBloc = premierBloc;
+            this.finBlocs = finBlocs;
+        }
+
+        @Override
+        protected Statistiques compute() {
+            if (finBlocs - premierBloc == 1) {
+                int debut = premierBloc * TAILLE_BLOC;
+                return calculerBloc(serie, lireDoubles, debut, Math.min(serie.size(), debut + TAILLE_BLOC));
+            }
+            int milieu = (premierBloc + finBlocs) >>> 1;
+            CalculBlocs gauche = new CalculBlocs(serie, lireDoubles, parallele, premierBloc, milieu);
+            CalculBlocs droite = new CalculBlocs(serie, lireDoubles, parallele, milieu, finBlocs);
+            if (parallele) {
+                gauche.fork();
+                Statistiques resultatDroite = droite.compute();
+                return Statistiques.fusionner(gauche.join(), resultatDroite);
+            }
+            return Statistiques.fusionner(gauche.compute(), droite.compute());
+        }
+    }
+}
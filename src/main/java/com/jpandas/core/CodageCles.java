@@ -0,0 +1,325 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+
+/**
+ * Num&eacute;rotation des cl&eacute;s d'une ou plusieurs colonnes : chaque combinaison distincte de valeurs re&ccedil;oit
+ * un identifiant entier, de 0 au nombre de combinaisons - 1, dans l'ordre de premi&egrave;re apparition.
+ * C'est la base des regroupements ({@link DataFrame#groupBy(String...)}) et des jointures
+ * ({@link DataFrame#merge(DataFrame, Jointure, String...)}).
+ * <br>
+ * Aucune cl&eacute; n'est construite sous forme d'objet : chaque colonne est num&eacute;rot&eacute;e s&eacute;par&eacute;ment, puis
+ * les num&eacute;ros des colonnes sont combin&eacute;s deux &agrave; deux. Toutes les tables sont &agrave; adressage ouvert :
+ * <ul>
+ *   <li>une colonne enti&egrave;re (ou un nombre &agrave; virgule de valeur enti&egrave;re) est cherch&eacute;e par sa valeur {@code long} ;</li>
+ *   <li>un nombre &agrave; virgule non entier est cherch&eacute; par les bits de son {@code double} ;</li>
+ *   <li>une colonne cat&eacute;gorielle n'est cherch&eacute;e qu'une fois par modalit&eacute; : ses lignes sont ensuite
+ *       num&eacute;rot&eacute;es par leur code, via un simple tableau ;</li>
+ *   <li>les autres valeurs (textes) sont cherch&eacute;es par {@code hashCode()} et {@code equals()}.</li>
+ * </ul>
+ * Une m&ecirc;me valeur a donc le m&ecirc;me num&eacute;ro quel que soit le type de la colonne ({@code 1}, {@code 1L} et
+ * {@code 1.0} sont &eacute;gaux, comme en Pandas). Une ligne dont une cl&eacute; est manquante (ou {@code NaN}) n'a pas de num&eacute;ro.
+ * <br>
+ * Le codage peut &ecirc;tre r&eacute;utilis&eacute; pour d'autres colonnes sans ajouter de cl&eacute; : elles re&ccedil;oivent alors les
+ * num&eacute;ros d&eacute;j&agrave; attribu&eacute;s, ou {@link #AUCUN} pour une cl&eacute; inconnue.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+final class CodageCles {
+
+    /**
+     * Num&eacute;ro d'une ligne dont la cl&eacute; est manquante ou inconnue.
+     */
+    static final int AUCUN = -1;
+
+    private final Codeur[] codeurs;
+    private final TableLongs[] paires;
+    private final int[] nbPaires;
+
+    /**
+     * Constructeur d'un codage vide.
+     *
+     * @param nbColonnes Le nombre de colonnes qui forment la cl&eacute;
+     */
+    CodageCles(int nbColonnes) {
+        codeurs = new Codeur[nbColonnes];
+        for (int j = 0; j < nbColonnes; j++) {
+            codeurs[j] = new Codeur();
+        }
+        // La paire j combine le numéro des colonnes 0..j avec celui de la colonne j + 1
+        paires = new TableLongs[nbColonnes - 1];
+        for (int j = 0; j < paires.length; j++) {
+            paires[j] = new TableLongs();
+        }
+        nbPaires = new int[paires.length];
+    }
+
+    /**
+     * Renvoie le nombre de cl&eacute;s distinctes num&eacute;rot&eacute;es.
+     *
+     * @return Le nombre de num&eacute;ros attribu&eacute;s
+     */
+    int getNbCles() {
+        return paires.length == 0 ? codeurs[0].nbIds : nbPaires[paires.length - 1];
+    }
+
+    /**
+     * Num&eacute;rote les lignes de plusieurs colonnes de m&ecirc;me taille.
+     *
+     * @param colonnes Les colonnes qui forment la cl&eacute;, dans l'ordre du codage
+     * @param ajouter {@code true} pour num&eacute;roter les nouvelles cl&eacute;s, {@code false} pour les laisser &agrave; {@link #AUCUN}
+     * @return Le num&eacute;ro de la cl&eacute; de chaque ligne, ou {@link #AUCUN}
+     */
+    int[] coder(Series<?>[] colonnes, boolean ajouter) {
+        int nbLignes = colonnes[0].size();
+        int[] numeros = new int[nbLignes];
+        codeurs[0].coder(colonnes[0], numeros, ajouter);
+        if (colonnes.length == 1) {
+            return numeros;
+        }
+        int[] numerosColonne = new int[nbLignes];
+        for (int j = 1; j < colonnes.length; j++) {
+            codeurs[j].coder(colonnes[j], numerosColonne, ajouter);
+            TableLongs table = paires[j - 1];
+            for (int i = 0; i < nbLignes; i++) {
+                if (numeros[i] == AUCUN || numerosColonne[i] == AUCUN) {
+                    numeros[i] = AUCUN;
+                    continue;
+                }
+                long paire = ((long) numeros[i] << 32) | numerosColonne[i];
+                int numero = table.chercher(paire);
+                if (numero == AUCUN && ajouter) {
+                    numero = nbPaires[j - 1]++;
+                    table.inserer(paire, numero);
+                }
+                numeros[i] = numero;
+            }
+        }
+        return numeros;
+    }
+
+    /**
+     * Num&eacute;rotation des valeurs d'une seule colonne.
+     */
+    private static final class Codeur {
+        private final TableLongs entiers = new TableLongs();
+        private final TableLongs reels = new TableLongs();
+        private final TableObjets objets = new TableObjets();
+        private int nbIds;
+
+        // Remplit "numeros" avec le numéro de chaque ligne de la colonne
+        void coder(Series<?> serie, int[] numeros, boolean ajouter) {
+            int nbLignes = serie.size();
+            if (serie instanceof SeriesVue) {
+                // Une vue est d'abord recopiée dans une série de son type, pour lire ses valeurs sans les convertir en objets
+                int[] lignes = new int[nbLignes];
+                Arrays.setAll(lignes, i -> i);
+                serie = serie.selectionner(lignes);
+            }
+            if (serie instanceof SeriesCategorielle) {
+                SeriesCategorielle categories = (SeriesCategorielle) serie;
+                // Chaque modalité n'est cherchée qu'une fois ; -2 : modalité pas encore rencontrée
+                int[] parCode = new int[categories.getNbModalites()];
+                Arrays.fill(parCode, -2);
+                for (int i = 0; i < nbLignes; i++) {
+                    int code = categories.getCode(i);
+                    if (code == SeriesCategorielle.CODE_NUL) {
+                        numeros[i] = AUCUN;
+                        continue;
+                    }
+                    if (parCode[code] == -2) {
+                        parCode[code] = coderObjet(categories.getModalites().get(code), ajouter);
+                    }
+                    numeros[i] = parCode[code];
+                }
+            } else if (serie instanceof SeriesInt) {
+                SeriesInt entiersSerie = (SeriesInt) serie;
+                for (int i = 0; i < nbLignes; i++) {
+                    numeros[i] = entiersSerie.estNul(i) ? AUCUN : coderLong(entiersSerie.getInt(i), ajouter);
+                }
+            } else if (serie instanceof SeriesLong) {
+                SeriesLong longs = (SeriesLong) serie;
+                for (int i = 0; i < nbLignes; i++) {
+                    numeros[i] = longs.estNul(i) ? AUCUN : coderLong(longs.getLong(i), ajouter);
+                }
+            } else if (serie instanceof SeriesDouble) {
+                // Une valeur manquante se lit NaN, qui n'a pas de numéro
+                for (int i = 0; i < nbLignes; i++) {
+                    numeros[i] = coderDouble(serie.getDouble(i), ajouter);
+                }
+            } else if (serie instanceof SeriesBooleen) {
+                SeriesBooleen booleens = (SeriesBooleen) serie;
+                for (int i = 0; i < nbLignes; i++) {
+                    numeros[i] = booleens.estNul(i) ? AUCUN : coderLong(booleens.getBooleen(i) ? 1 : 0, ajouter);
+                }
+            } else {
+                for (int i = 0; i < nbLignes; i++) {
+                    Object valeur = serie.get(i);
+                    numeros[i] = valeur == null ? AUCUN : coderObjet(valeur, ajouter);
+                }
+            }
+        }
+
+        private int coderLong(long valeur, boolean ajouter) {
+            int numero = entiers.chercher(valeur);
+            if (numero == AUCUN && ajouter) {
+                numero = nbIds++;
+                entiers.inserer(valeur, numero);
+            }
+            return numero;
+        }
+
+        private int coderDouble(double valeur, boolean ajouter) {
+            if (Double.isNaN(valeur)) {
+                return AUCUN;
+            }
+            // Une valeur entière est codée comme un long, pour être égale au même nombre dans une colonne entière
+            if (valeur == Math.rint(valeur) && Math.abs(valeur) < 0x1p63) {
+                return coderLong((long) valeur, ajouter);
+            }
+            long bits = Double.doubleToLongBits(valeur);
+            int numero = reels.chercher(bits);
+            if (numero == AUCUN && ajouter) {
+                numero = nbIds++;
+                reels.inserer(bits, numero);
+            }
+            return numero;
+        }
+
+        private int coderObjet(Object valeur, boolean ajouter) {
+            if (valeur instanceof Double || valeur instanceof Float) {
+                return coderDouble(((Number) valeur).doubleValue(), ajouter);
+            }
+            if (valeur instanceof Number) {
+                return coderLong(((Number) valeur).longValue(), ajouter);
+            }
+            if (valeur instanceof Boolean) {
+                return coderLong((Boolean) valeur ? 1 : 0, ajouter);
+            }
+            int numero = objets.chercher(valeur);
+            if (numero == AUCUN && ajouter) {
+                numero = nbIds++;
+                objets.inserer(valeur, numero);
+            }
+            return numero;
+        }
+    }
+
+    /**
+     * Table &agrave; adressage ouvert (sondage lin&eacute;aire) associant un num&eacute;ro &agrave; une cl&eacute; {@code long}.
+     */
+    private static final class TableLongs {
+        private long[] cles = new long[16];
+        // Chaque case contient le numéro + 1 (0 pour une case vide)
+        private int[] numeros = new int[16];
+        private int taille;
+
+        // Renvoie le numéro de la clé, ou AUCUN si elle est absente
+        int chercher(long cle) {
+            int masque = cles.length - 1;
+            int caseTable = hacher(cle) & masque;
+            while (numeros[caseTable] != 0) {
+                if (cles[caseTable] == cle) {
+                    return numeros[caseTable] - 1;
+                }
+                caseTable = (caseTable + 1) & masque;
+            }
+            return AUCUN;
+        }
+
+        // Ajoute une clé absente de la table
+        void inserer(long cle, int numero) {
+            // On garde la table au plus à moitié pleine pour que les recherches restent courtes
+            if ((taille + 1) * 2 > cles.length) {
+                agrandir();
+            }
+            placer(cle, numero + 1);
+            taille++;
+        }
+
+        private void placer(long cle, int entree) {
+            int masque = cles.length - 1;
+            int caseTable = hacher(cle) & masque;
+            while (numeros[caseTable] != 0) {
+                caseTable = (caseTable + 1) & masque;
+            }
+            cles[caseTable] = cle;
+            numeros[caseTable] = entree;
+        }
+
+        private void agrandir() {
+            long[] anciennesCles = cles;
+            int[] anciensNumeros = numeros;
+            cles = new long[anciennesCles.length * 2];
+            numeros = new int[anciennesCles.length * 2];
+            for (int k = 0; k < anciennesCles.length; k++) {
+                if (anciensNumeros[k] != 0) {
+                    placer(anciennesCles[k], anciensNumeros[k]);
+                }
+            }
+        }
+
+        // Mélange les bits (constante de Fibonacci) : des clés consécutives tombent dans des cases éloignées
+        private static int hacher(long cle) {
+            long h = cle * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+
+    /**
+     * Table &agrave; adressage ouvert (sondage lin&eacute;aire) associant un num&eacute;ro &agrave; un objet.
+     */
+    private static final class TableObjets {
+        private Object[] cles = new Object[16];
+        private int[] numeros = new int[16];
+        private int taille;
+
+        int chercher(Object cle) {
+            int masque = cles.length - 1;
+            int caseTable = hacher(cle) & masque;
+            while (numeros[caseTable] != 0) {
+                if (cles[caseTable].equals(cle)) {
+                    return numeros[caseTable] - 1;
+                }
+                caseTable = (caseTable + 1) & masque;
+            }
+            return AUCUN;
+        }
+
+        void inserer(Object cle, int numero) {
+            if ((taille + 1) * 2 > cles.length) {
+                agrandir();
+            }
+            placer(cle, numero + 1);
+            taille++;
+        }
+
+        private void placer(Object cle, int entree) {
+            int masque = cles.length - 1;
+            int caseTable = hacher(cle) & masque;
+            while (numeros[caseTable] != 0) {
+                caseTable = (caseTable + 1) & masque;
+            }
+            cles[caseTable] = cle;
+            numeros[caseTable] = entree;
+        }
+
+        private void agrandir() {
+            Object[] anciennesCles = cles;
+            int[] anciensNumeros = numeros;
+            cles = new Object[anciennesCles.length * 2];
+            numeros = new int[anciennesCles.length * 2];
+            for (int k = 0; k < anciennesCles.length; k++) {
+                if (anciensNumeros[k] != 0) {
+                    placer(anciennesCles[k], anciensNumeros[k]);
+                }
+            }
+        }
+
+        private static int hacher(Object cle) {
+            int h = cle.hashCode();
+            return h ^ (h >>> 16);
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package com.jpandas.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.DoublePredicate;
+import java.util.function.Predicate;
+
+/**
+ * Condition portant sur les colonnes d'un {@link DataFrame}, &eacute;valu&eacute;e en un {@link Masque} de s&eacute;lection.
+ * <br>
+ * Contrairement &agrave; {@link DataFrame#filter(Predicate)}, qui reconstruit une {@code Map} par ligne, une condition
+ * est &eacute;valu&eacute;e colonne par colonne : pour une colonne primitive, la comparaison est une simple boucle sur
+ * son tableau, qui produit directement les bits du masque. Les conditions se combinent avec {@link #et(Condition)},
+ * {@link #ou(Condition)} et {@link #non()} ; les masques interm&eacute;diaires sont combin&eacute;s 64 lignes &agrave; la fois.
+ * <br>
+ * Les valeurs manquantes ne v&eacute;rifient aucune comparaison (comme {@code NaN} en Pandas) ; elles sont s&eacute;lectionn&eacute;es
+ * par {@link #estNul(String)}.
+ * <br>
+ * Les comparaisons sont exactes : sur une colonne enti&egrave;re ({@link SeriesInt}, {@link SeriesLong}), une borne est
+ * ramen&eacute;e une fois pour toutes &agrave; l'entier le plus proche &agrave; l'int&eacute;rieur de l'intervalle, sans passer par un
+ * {@code double} qui ne repr&eacute;senterait pas les {@code long} au-del&agrave; de 2<sup>53</sup>.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * DataFrame resultat = df.filtrer(
+ *         Condition.entre("Age", 18, 30)
+ *                 .et(Condition.parmi("Pays", Arrays.asList("France", "Italie")))
+ *                 .et(Condition.estNul("Ville").non()));
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see Masque
+ * @see DataFrame#filtrer(Condition)
+ */
+@FunctionalInterface
+public interface Condition {
+
+    /**
+     * &Eacute;value la condition sur toutes les lignes d'un {@code DataFrame}.
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; &eacute;valuer
+     * @return Le masque des lignes qui v&eacute;rifient la condition
+     *
+     * @throws IllegalArgumentException si une colonne utilis&eacute;e par la condition n'existe pas
+     */
+    Masque evaluer(DataFrame dataframe);
+
+    /**
+     * Renvoie les noms des colonnes lues par la condition.
+     * <br>
+     * Les conditions construites par les m&eacute;thodes de cette interface (et leurs combinaisons) connaissent leurs colonnes ;
+     * une condition &eacute;crite directement (par une lambda) renvoie {@code null}. Un {@link LazyFrame} s'en sert pour
+     * d&eacute;placer les filtres dans son plan et ne garder que les colonnes utiles.
+     *
+     * @return Les noms des colonnes lues, ou {@code null} s'ils sont inconnus
+     */
+    default Set<String> colonnes() {
+        return null;
+    }
+
+    /**
+     * Combine cette condition avec une autre : les deux doivent &ecirc;tre v&eacute;rifi&eacute;es.
+     *
+     * @param autre L'autre condition
+     * @return La conjonction des deux conditions
+     */
+    default Condition et(Condition autre) {
+        return avecColonnes(dataframe -> evaluer(dataframe).et(autre.evaluer(dataframe)), reunir(colonnes(), autre.colonnes()));
+    }
+
+    /**
+     * Combine cette condition avec une autre : l'une au moins doit &ecirc;tre v&eacute;rifi&eacute;e.
+     *
+     * @param autre L'autre condition
+     * @return La disjonction des deux conditions
+     */
+    default Condition ou(Condition autre) {
+        return avecColonnes(dataframe -> evaluer(dataframe).ou(autre.evaluer(dataframe)), reunir(colonnes(), autre.colonnes()));
+    }
+
+    /**
+     * Renvoie la n&eacute;gation de cette condition.
+     *
+     * @return Une condition v&eacute;rifi&eacute;e exactement par les lignes qui ne v&eacute;rifient pas celle-ci
+     */
+    default Condition non() {
+        return avecColonnes(dataframe -> evaluer(dataframe).non(), colonnes());
+    }
+
+    /**
+     * Condition : la valeur de la colonne est &eacute;gale &agrave; la valeur donn&eacute;e.
+     * <br>
+     * Un nombre est compar&eacute; num&eacute;riquement &agrave; une colonne num&eacute;rique ({@code 21} &eacute;gale {@code 21.0}) ;
+     * sinon les valeurs sont compar&eacute;es par {@code equals} (sur les codes entiers pour une colonne cat&eacute;gorielle).
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param valeur La valeur cherch&eacute;e ({@code null} &eacute;quivaut &agrave; {@link #estNul(String)})
+     * @return La condition
+     */
+    static Condition egal(String nomColonne, Object valeur) {
+        if (valeur == null) {
+            return estNul(nomColonne);
+        }
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            if (valeur instanceof Number && serie.estNumerique()) {
+                return entre(serie, (Number) valeur, false, (Number) valeur, false);
+            }
+            return Masque.depuisPositions(serie.size(), serie.positionsEgales(valeur));
+        });
+    }
+
+    /**
+     * Condition : la valeur de la colonne est diff&eacute;rente de la valeur donn&eacute;e.
+     * <br>
+     * C'est la n&eacute;gation de {@link #egal(String, Object)} : comme en Pandas, une valeur manquante est diff&eacute;rente
+     * de toute valeur.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param valeur La valeur &agrave; exclure
+     * @return La condition
+     */
+    static Condition different(String nomColonne, Object valeur) {
+        return egal(nomColonne, valeur).non();
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique) de la colonne est strictement inf&eacute;rieure &agrave; la borne.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param borne La borne
+     * @return La condition
+     */
+    static Condition inferieur(String nomColonne, Number borne) {
+        return entre(nomColonne, null, false, Objects.requireNonNull(borne), true);
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique) de la colonne est inf&eacute;rieure ou &eacute;gale &agrave; la borne.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param borne La borne
+     * @return La condition
+     */
+    static Condition inferieurOuEgal(String nomColonne, Number borne) {
+        return entre(nomColonne, null, false, Objects.requireNonNull(borne), false);
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique) de la colonne est strictement sup&eacute;rieure &agrave; la borne.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param borne La borne
+     * @return La condition
+     */
+    static Condition superieur(String nomColonne, Number borne) {
+        return entre(nomColonne, Objects.requireNonNull(borne), true, null, false);
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique) de la colonne est sup&eacute;rieure ou &eacute;gale &agrave; la borne.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param borne La borne
+     * @return La condition
+     */
+    static Condition superieurOuEgal(String nomColonne, Number borne) {
+        return entre(nomColonne, Objects.requireNonNull(borne), false, null, false);
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique) de la colonne est comprise entre deux bornes (incluses).
+     * <br>
+     * Pour une colonne primitive, le masque est calcul&eacute; directement sur le tableau de la s&eacute;rie.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param minimum La borne inf&eacute;rieure
+     * @param maximum La borne sup&eacute;rieure
+     * @return La condition
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.between.html">Documentation Pandas - between</a>
+     */
+    static Condition entre(String nomColonne, Number minimum, Number maximum) {
+        return entre(nomColonne, Objects.requireNonNull(minimum), false, Objects.requireNonNull(maximum), false);
+    }
+
+    /**
+     * Condition : la valeur de la colonne appartient &agrave; un ensemble de valeurs.
+     * <br>
+     * Pour une colonne cat&eacute;gorielle, les valeurs sont traduites une fois en codes ; pour une colonne num&eacute;rique,
+     * les nombres sont compar&eacute;s num&eacute;riquement.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param valeurs Les valeurs accept&eacute;es
+     * @return La condition
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.isin.html">Documentation Pandas - isin</a>
+     */
+    static Condition parmi(String nomColonne, Collection<?> valeurs) {
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            if (serie instanceof SeriesCategorielle) {
+                Set<String> modalites = new HashSet<>();
+                for (Object valeur : valeurs) {
+                    if (valeur instanceof String) {
+                        modalites.add((String) valeur);
+                    }
+                }
+                return Masque.depuisPositions(serie.size(), ((SeriesCategorielle) serie).positionsParmi(modalites));
+            }
+            Masque masque = new Masque(serie.size());
+            if (serie.estNumerique() && valeurs.stream().allMatch(valeur -> valeur instanceof Number)) {
+                double[] nombres = valeurs.stream().mapToDouble(valeur -> ((Number) valeur).doubleValue()).sorted().toArray();
+                for (int i = 0; i < serie.size(); i++) {
+                    if (!serie.estNul(i) && Arrays.binarySearch(nombres, serie.getDouble(i)) >= 0) {
+                        masque.selectionner(i);
+                    }
+                }
+                return masque;
+            }
+            Set<Object> ensemble = new HashSet<>(valeurs);
+            for (int i = 0; i < serie.size(); i++) {
+                if (!serie.estNul(i) && ensemble.contains(serie.get(i))) {
+                    masque.selectionner(i);
+                }
+            }
+            return masque;
+        });
+    }
+
+    /**
+     * Condition : la valeur de la colonne est manquante.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @return La condition
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.isna.html">Documentation Pandas - isna</a>
+     */
+    static Condition estNul(String nomColonne) {
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            if (serie instanceof SeriesPrimitive) {
+                return ((SeriesPrimitive<?>) serie).masqueNuls();
+            }
+            Masque masque = new Masque(serie.size());
+            for (int i = 0; i < serie.size(); i++) {
+                if (serie.estNul(i)) {
+                    masque.selectionner(i);
+                }
+            }
+            return masque;
+        });
+    }
+
+    /**
+     * Condition : la valeur (non manquante) de la colonne v&eacute;rifie un pr&eacute;dicat quelconque.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param critere Le pr&eacute;dicat appliqu&eacute; &agrave; chaque valeur
+     * @return La condition
+     */
+    static Condition verifie(String nomColonne, Predicate<Object> critere) {
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            Masque masque = new Masque(serie.size());
+            for (int i = 0; i < serie.size(); i++) {
+                if (!serie.estNul(i) && critere.test(serie.get(i))) {
+                    masque.selectionner(i);
+                }
+            }
+            return masque;
+        });
+    }
+
+    /**
+     * Condition : la valeur (num&eacute;rique, non manquante) de la colonne v&eacute;rifie un pr&eacute;dicat sur les {@code double}.
+     * <br>
+     * Les valeurs sont lues par {@link Series#getDouble(int)} : aucun objet n'est cr&eacute;&eacute; pour une colonne primitive.
+     *
+     * @param nomColonne Le nom d'une colonne num&eacute;rique
+     * @param critere Le pr&eacute;dicat appliqu&eacute; &agrave; chaque valeur
+     * @return La condition
+     */
+    static Condition verifieNombre(String nomColonne, DoublePredicate critere) {
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            Masque masque = new Masque(serie.size());
+            for (int i = 0; i < serie.size(); i++) {
+                if (!serie.estNul(i) && critere.test(serie.getDouble(i))) {
+                    masque.selectionner(i);
+                }
+            }
+            return masque;
+        });
+    }
+
+    // Condition qui ne lit que la colonne donnée
+    private static Condition surColonne(String nomColonne, Condition condition) {
+        return avecColonnes(condition, Collections.singleton(nomColonne));
+    }
+
+    // Associe à une condition les noms des colonnes qu'elle lit (rien à faire s'ils sont inconnus)
+    private static Condition avecColonnes(Condition condition, Set<String> colonnes) {
+        if (colonnes == null) {
+            return condition;
+        }
+        return new Condition() {
+            @Override
+            public Masque evaluer(DataFrame dataframe) {
+                return condition.evaluer(dataframe);
+            }
+
+            @Override
+            public Set<String> colonnes() {
+                return colonnes;
+            }
+        };
+    }
+
+    // Réunion de deux ensembles de colonnes, inconnue si l'un des deux l'est
+    private static Set<String> reunir(Set<String> colonnes, Set<String> autres) {
+        if (colonnes == null || autres == null) {
+            return null;
+        }
+        Set<String> reunion = new LinkedHashSet<>(colonnes);
+        reunion.addAll(autres);
+        return Collections.unmodifiableSet(reunion);
+    }
+
+    // Renvoie la colonne demandée, ou lève une exception si elle n'existe pas
+    private static Series<?> colonne(DataFrame dataframe, String nomColonne) {
+        Series<?> serie = dataframe.getColonneByName(nomColonne);
+        if (serie == null) {
+            throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + nomColonne);
+        }
+        return serie;
+    }
+
+    // Condition sur une colonne numérique entre deux bornes, exclues ou non (null : pas de borne)
+    private static Condition entre(String nomColonne, Number minimum, boolean minimumExclu, Number maximum, boolean maximumExclu) {
+        return surColonne(nomColonne, dataframe -> {
+            Series<?> serie = colonne(dataframe, nomColonne);
+            if (!serie.estNumerique()) {
+                throw new IllegalArgumentException("La colonne " + nomColonne + " n'est pas numérique.");
+            }
+            return entre(serie, minimum, minimumExclu, maximum, maximumExclu);
+        });
+    }
+
+    // Masque des valeurs entre deux bornes : sur une colonne entière, les bornes sont ramenées exactement à des long
+    private static Masque entre(Series<?> serie, Number minimum, boolean minimumExclu, Number maximum, boolean maximumExclu) {
+        if (serie instanceof SeriesLong || serie instanceof SeriesInt) {
+            Long bas = borneEntiere(minimum, minimumExclu, true);
+            Long haut = borneEntiere(maximum, maximumExclu, false);
+            if (bas == null || haut == null) {
+                return new Masque(serie.size());
+            }
+            if (serie instanceof SeriesLong) {
+                return ((SeriesLong) serie).masqueEntre(bas.longValue(), haut.longValue());
+            }
+            return ((SeriesInt) serie).masqueEntre(bas.longValue(), haut.longValue());
+        }
+        return entre(serie, borneReelle(minimum, minimumExclu, true), borneReelle(maximum, maximumExclu, false));
+    }
+
+    // Plus petit (inferieure) ou plus grand entier qui respecte la borne, null si aucun long ne la respecte
+    private static Long borneEntiere(Number borne, boolean exclue, boolean inferieure) {
+        if (borne == null) {
+            return inferieure ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        if (!estExact(borne)) {
+            double valeur = borne.doubleValue();
+            if (Double.isNaN(valeur)) {
+                return null;
+            }
+            if (Double.isInfinite(valeur)) {
+                // -inf pour la borne inférieure ou +inf pour la borne supérieure ne limitent rien, les autres excluent tout
+                return (valeur < 0) == inferieure ? Long.valueOf(inferieure ? Long.MIN_VALUE : Long.MAX_VALUE) : null;
+            }
+        }
+        BigDecimal valeur = enDecimal(borne);
+        BigDecimal entier;
+        if (inferieure) {
+            entier = exclue ? valeur.setScale(0, RoundingMode.FLOOR).add(BigDecimal.ONE) : valeur.setScale(0, RoundingMode.CEILING);
+        } else {
+            entier = exclue ? valeur.setScale(0, RoundingMode.CEILING).subtract(BigDecimal.ONE) : valeur.setScale(0, RoundingMode.FLOOR);
+        }
+        if (entier.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+            return inferieure ? Long.valueOf(Long.MIN_VALUE) : null;
+        }
+        if (entier.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+            return inferieure ? null : Long.valueOf(Long.MAX_VALUE);
+        }
+        return entier.longValueExact();
+    }
+
+    // Plus petit (inferieure) ou plus grand double qui respecte la borne, NaN si aucun ne la respecte
+    private static double borneReelle(Number borne, boolean exclue, boolean inferieure) {
+        if (borne == null) {
+            return inferieure ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        }
+        double valeur = borne.doubleValue();
+        if (Double.isNaN(valeur) || Double.isInfinite(valeur)) {
+            boolean exclutTout = exclue && valeur == (inferieure ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY);
+            return exclutTout ? Double.NaN : valeur;
+        }
+        // Le double le plus proche peut être de l'autre côté de la borne exacte : on avance alors d'un cran vers l'intérieur
+        int comparaison = estExact(borne) ? new BigDecimal(valeur).compareTo(enDecimal(borne)) : 0;
+        if (inferieure && (comparaison < 0 || (exclue && comparaison == 0))) {
+            return Math.nextUp(valeur);
+        }
+        if (!inferieure && (comparaison > 0 || (exclue && comparaison == 0))) {
+            return Math.nextDown(valeur);
+        }
+        return valeur;
+    }
+
+    // Un nombre entier ou décimal exact, que doubleValue() peut arrondir
+    private static boolean estExact(Number nombre) {
+        return nombre instanceof Long || nombre instanceof Integer || nombre instanceof Short || nombre instanceof Byte
+                || nombre instanceof BigInteger || nombre instanceof BigDecimal;
+    }
+
+    private static BigDecimal enDecimal(Number nombre) {
+        if (nombre instanceof BigDecimal) {
+            return (BigDecimal) nombre;
+        }
+        if (nombre instanceof BigInteger) {
+            return new BigDecimal((BigInteger) nombre);
+        }
+        return estExact(nombre) ? BigDecimal.valueOf(nombre.longValue()) : new BigDecimal(nombre.doubleValue());
+    }
+
+    // Masque des valeurs comprises entre deux bornes : noyau primitif si possible, sinon lecture par getDouble
+    private static Masque entre(Series<?> serie, double minimum, double maximum) {
+        if (serie instanceof SeriesNumerique) {
+            return ((SeriesNumerique<?>) serie).masqueEntre(minimum, maximum);
+        }
+        Masque masque = new Masque(serie.size());
+        for (int i = 0; i < serie.size(); i++) {
+            double valeur = serie.getDouble(i);
+            if (valeur >= minimum && valeur <= maximum) {
+                masque.selectionner(i);
+            }
+        }
+        return masque;
+    }
+}
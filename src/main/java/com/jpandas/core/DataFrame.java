@@ -1,14 +1,17 @@
 package com.jpandas.core;
 
+import java.io.IOException;
+import java.io.PrintStream;
 import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.Set;
 import java.util.List;
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.function.Predicate;
 
+import com.jpandas.io.EcrivainCSV;
+import com.jpandas.io.FichierColonnaire;
 import com.jpandas.io.LecteurCSV;
+import com.jpandas.io.OptionsCSV;
 
 /**
  * La classe {@code DataFrame} repr&eacute;sente un tableau &agrave; deux dimensions, 
@@ -25,8 +28,21 @@ import com.jpandas.io.LecteurCSV;
  * @version 1.0
  * @see Series
  */
-public class DataFrame {
-    
+public class DataFrame implements AutoCloseable {
+
+    /**
+     * Nombre maximal de lignes conseill&eacute; pour {@link #afficher(Appendable, int, int)} ; au-del&agrave;, seules les
+     * premi&egrave;res et les derni&egrave;res sont affich&eacute;es (valeur par d&eacute;faut de l'option
+     * {@code display.max_rows} de Pandas).
+     */
+    public static final int MAX_LIGNES_AFFICHEES = 60;
+
+    /**
+     * Nombre maximal de caract&egrave;res d'une valeur conseill&eacute; pour {@link #afficher(Appendable, int, int)} ; les
+     * valeurs plus longues sont coup&eacute;es (valeur par d&eacute;faut de l'option {@code display.max_colwidth} de Pandas).
+     */
+    public static final int LARGEUR_MAX_AFFICHEE = 50;
+
     /**
      * Un objet {@code Map<String, Series<?>>} repr&eacute;sentant les colonnes du DataFrame, 
      * o&ugrave; chaque cl&eacute; est le nom de la colonne et chaque valeur est une instance de 
@@ -34,6 +50,23 @@ public class DataFrame {
      */
     public Map<String, Series<?>> colonne;
 
+    /**
+     * Index par hachage de la colonne "Index", construit par {@link #setIndex(String)} ou lors du premier {@code loc},
+     * puis r&eacute;utilis&eacute; tant que la colonne "Index" n'est pas remplac&eacute;e.
+     */
+    private IndexHachage indexHachage;
+
+    /**
+     * Index tri&eacute; de la colonne "Index", construit lors de la premi&egrave;re s&eacute;lection par intervalle
+     * (ou du premier test de monotonie), puis r&eacute;utilis&eacute; tant que la colonne "Index" n'est pas remplac&eacute;e.
+     */
+    private IndexTrie indexTrie;
+
+    /**
+     * Ar&egrave;ne qui contient les colonnes rang&eacute;es hors du tas par {@link #horsTas()}, lib&eacute;r&eacute;e par {@link #close()}.
+     */
+    private ArenaHorsTas arena;
+
     /**
      * Constructeur pour initialiser un {@code DataFrame} &agrave; partir d'un ensemble de colonnes.<br>
      * <br>
@@ -65,11 +98,167 @@ public class DataFrame {
      * @param path Le param&egrave;tre "path" est une cha&icirc;ne de caract&egrave;res repr&eacute;sentant le chemin du fichier CSV &agrave; lire
      */
     public DataFrame(String path) {
+        this(path, new OptionsCSV());
+    }
+
+    /**
+     * Constructeur pour initialiser un {@code DataFrame} lisant les donn&eacute;es depuis un fichier CSV,
+     * avec des options de lecture (par exemple un sch&eacute;ma imposant le type de certaines colonnes).
+     *
+     * @param path Le chemin du fichier CSV &agrave; lire
+     * @param options Les options de lecture du fichier
+     * 
+     * @see OptionsCSV
+     */
+    public DataFrame(String path, OptionsCSV options) {
         this.colonne = new LinkedHashMap<>();
-        LecteurCSV.parseCSV(path, this);
+        LecteurCSV.parseCSV(path, this, options);
         this.mettreIndexEnPremier();
     }
 
+    // Utilisé par charger(String), qui fournit lui-même les colonnes
+    private DataFrame() {
+    }
+
+    /**
+     * &Eacute;crit le {@code DataFrame} dans un fichier CSV (en-t&ecirc;te compris, colonne "Index" en premier),
+     * que {@link #DataFrame(String)} peut relire.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df.to_csv(path)</code>
+     *
+     * @param path Le chemin du fichier (remplac&eacute; s'il existe)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre &eacute;crit
+     *
+     * @see EcrivainCSV
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.to_csv.html">Documentation Pandas - to_csv</a>
+     */
+    public void ecrireCSV(String path) throws IOException {
+        new EcrivainCSV().ecrire(this, path);
+    }
+
+    /**
+     * &Eacute;crit le {@code DataFrame} dans un fichier CSV, avec le s&eacute;parateur et le nombre de threads des options.
+     *
+     * @param path Le chemin du fichier (remplac&eacute; s'il existe)
+     * @param options Les options d'&eacute;criture ({@link OptionsCSV#avecSeparateur(char)}, {@link OptionsCSV#avecParallelisme(int)})
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre &eacute;crit
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.to_csv.html">Documentation Pandas - to_csv</a>
+     */
+    public void ecrireCSV(String path, OptionsCSV options) throws IOException {
+        new EcrivainCSV(options).ecrire(this, path);
+    }
+
+    /**
+     * Enregistre le {@code DataFrame} dans un fichier binaire rang&eacute; par colonnes ({@link FichierColonnaire}),
+     * que {@link #charger(String)} relit sans analyser de texte.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df.to_feather(path)</code>
+     *
+     * @param path Le chemin du fichier (remplac&eacute; s'il existe)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre &eacute;crit
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.to_feather.html">Documentation Pandas - to_feather</a>
+     */
+    public void sauvegarder(String path) throws IOException {
+        FichierColonnaire.ecrire(this, path);
+    }
+
+    /**
+     * Charge un {@code DataFrame} enregistr&eacute; par {@link #sauvegarder(String)}.
+     * <br>
+     * Le fichier est projet&eacute; en m&eacute;moire et seul son en-t&ecirc;te est lu : le chargement est quasi instantan&eacute;,
+     * et chaque colonne n'est d&eacute;cod&eacute;e qu'au premier acc&egrave;s &agrave; ses valeurs.
+     * <br>
+     * Fonctionne comme en Pandas : <code>pd.read_feather(path)</code>
+     *
+     * @param path Le chemin du fichier
+     * @return Le {@code DataFrame} enregistr&eacute;
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre lu
+     * @throws IllegalArgumentException si le fichier n'a pas &eacute;t&eacute; &eacute;crit par {@link #sauvegarder(String)}
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.read_feather.html">Documentation Pandas - read_feather</a>
+     */
+    public static DataFrame charger(String path) throws IOException {
+        DataFrame dataframe = new DataFrame();
+        dataframe.colonne = FichierColonnaire.ouvrir(path).colonnes();
+        return dataframe;
+    }
+
+    /**
+     * Renvoie une copie du {@code DataFrame} dont les colonnes num&eacute;riques ({@link SeriesInt}, {@link SeriesLong},
+     * {@link SeriesDouble}) et les codes des colonnes cat&eacute;gorielles sont rang&eacute;s hors du tas Java.
+     * <br>
+     * Les valeurs sont recopi&eacute;es dans une {@link ArenaHorsTas} propre &agrave; la copie : le ramasse-miettes n'a plus
+     * &agrave; parcourir ni &agrave; d&eacute;placer ces grands tableaux, et la m&eacute;moire est rendue d&egrave;s l'appel &agrave; {@link #close()}.
+     * Les colonnes s'utilisent comme avant ; les r&eacute;sultats des op&eacute;rations (filtres, tris, regroupements, ...)
+     * sont des {@code DataFrame} ordinaires, rang&eacute;s dans le tas. Les autres colonnes (textes, bool&eacute;ens) ne sont
+     * pas recopi&eacute;es : elles sont partag&eacute;es avec ce {@code DataFrame}.
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * try (DataFrame ventes = new DataFrame("ventes.csv").horsTas()) {
+     *     DataFrame grosses = ventes.filtrer(Condition.superieur("Montant", 1000));
+     * }
+     * }</pre>
+     *
+     * @return Un nouveau {@code DataFrame}, &agrave; fermer par {@link #close()} quand il n'est plus utile
+     */
+    public DataFrame horsTas() {
+        ArenaHorsTas nouvelleArena = new ArenaHorsTas();
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, Series<?>> entree : colonne.entrySet()) {
+                Series<?> serie = entree.getValue();
+                if (serie instanceof SeriesVue) {
+                    // Une vue (créée par iloc) est d'abord recopiée dans une série de son type
+                    int[] lignes = new int[serie.size()];
+                    for (int i = 0; i < lignes.length; i++) {
+                        lignes[i] = i;
+                    }
+                    serie = serie.selectionner(lignes);
+                }
+                if (serie instanceof SeriesNumerique) {
+                    serie = ((SeriesNumerique<?>) serie).copierHorsTas(nouvelleArena);
+                } else if (serie instanceof SeriesCategorielle) {
+                    serie = ((SeriesCategorielle) serie).copierHorsTas(nouvelleArena);
+                }
+                colonnes.put(entree.getKey(), serie);
+            }
+        } catch (RuntimeException | OutOfMemoryError e) {
+            nouvelleArena.close();
+            throw e;
+        }
+        DataFrame dataframe = new DataFrame(colonnes);
+        dataframe.arena = nouvelleArena;
+        return dataframe;
+    }
+
+    /**
+     * Indique si des colonnes du {@code DataFrame} sont rang&eacute;es hors du tas, dans une ar&egrave;ne encore ouverte.
+     *
+     * @return {@code true} pour un {@code DataFrame} cr&eacute;&eacute; par {@link #horsTas()} et pas encore ferm&eacute;
+     */
+    public boolean estHorsTas() {
+        return arena != null && !arena.estFermee();
+    }
+
+    /**
+     * Lib&egrave;re la m&eacute;moire hors du tas des colonnes cr&eacute;&eacute;es par {@link #horsTas()}. Ces colonnes (et les vues
+     * cr&eacute;&eacute;es dessus par {@code iloc}) ne peuvent plus &ecirc;tre lues ensuite. Sans effet pour un {@code DataFrame}
+     * rang&eacute; dans le tas, ou d&eacute;j&agrave; ferm&eacute;.
+     */
+    @Override
+    public void close() {
+        if (arena != null) {
+            arena.close();
+        }
+    }
+
     /**
      * M&eacute;thode pour r&eacute;cup&eacute;rer une colonne sp&eacute;cifique du DataFrame.
      *
@@ -123,6 +312,8 @@ public class DataFrame {
      *   <li>mode 1 : les {@code nb} premi&egrave;res lignes</li>
      *   <li>mode 2 : les {@code nb} derni&egrave;res lignes</li>
      * </ul>
+     * Les lignes demand&eacute;es sont toutes renvoy&eacute;es, sans troncature : pour un grand DataFrame, pr&eacute;f&eacute;rer
+     * {@link #afficher(Appendable, int, int)}.
      * 
      * @param nb   Le nombre de lignes &agrave; afficher
      * @param mode Le mode d'affichage (0, 1 ou 2)
@@ -132,78 +323,56 @@ public class DataFrame {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.tail.html">pandas.DataFrame.tail()</a>
      */
     public String afficherLignes(int nb, int mode) {
-        Set<String> cles = colonne.keySet();
-        LinkedHashMap<String, Integer> largeursColonnes = new LinkedHashMap<>();
-        List<String> listeCles = new ArrayList<String>();
-        String chaine = "";
-
-        // Pour d&eacute;terminer le format de l'affichage, on cherche la taille max dans chaque colonne
-        for (String cle : cles) {
-            listeCles.add(cle);
-            largeursColonnes.put(cle, 0);            
-        }
-
-        int nbLignesTotal = colonne.get(listeCles.get(0)).size();
-        int debut = 0;
-        int nbLignesAAfficher = 0;
-
-        if (mode == 0) { // affichage de toutes les lignes
-            nbLignesAAfficher = nbLignesTotal;
-            debut = 0;
-        } else if (mode == 1) { // affichage des premi&egrave;res lignes
-            nbLignesAAfficher = nb;
-            debut = 0;
-        } else if (mode == 2) { // affichage des derni&egrave;res lignes
-            nbLignesAAfficher = nb;
-            debut = nbLignesTotal - nb;
-        }
-        
-        int largeur;
-        for (String cle : listeCles) {
-            largeur = 0;
-            for (int i = debut; i < debut + nbLignesAAfficher; i++) {
-                largeur = Math.max(largeur, colonne.get(cle).getData().get(i).toString().length());
-            }
-            largeur = Math.max(largeur, cle.length()) + 2;
-            largeursColonnes.put(cle, largeur);
-        }
+        RenduTableau rendu = new RenduTableau(colonne);
+        int[] bornes = bornesAffichage(rendu.nbLignes(), nb, mode);
+        return rendu.enChaine(bornes[0], bornes[1], 0, 0);
+    }
 
-        // Affichage des noms des colonnes
-        for (String cle : listeCles) {
-            chaine += String.format("%-" + largeursColonnes.get(cle) + "s", cle);
-        }
-        chaine += "\n";
-        
-        int tailleMot = 0;
-        String separateur = "";
-        for (String cle : listeCles) {
-            tailleMot = cle.length();
-            for (int i = 0; i < tailleMot; i++) {
-                separateur += "-";
-            }
-            chaine += String.format("%-" + largeursColonnes.get(cle) + "s", separateur);
-            separateur = "";
-        }
-        chaine += "\n";
+    /**
+     * &Eacute;crit le DataFrame sous forme de tableau dans {@code sortie}, ligne par ligne.
+     * <br>
+     * Comme en Pandas, au-del&agrave; de {@code maxLignes} lignes seules les premi&egrave;res et les derni&egrave;res sont
+     * &eacute;crites, s&eacute;par&eacute;es par une ligne de {@code ...} et suivies des dimensions du DataFrame ; les valeurs
+     * de plus de {@code largeurMax} caract&egrave;res sont coup&eacute;es. Le temps d'affichage ne d&eacute;pend alors plus
+     * du nombre de lignes.
+     *
+     * @param sortie     La destination du tableau (fichier, {@link StringBuilder}...)
+     * @param maxLignes  Le nombre maximal de lignes &eacute;crites (0 : toutes les lignes)
+     * @param largeurMax Le nombre maximal de caract&egrave;res d'une valeur (0 : aucune limite)
+     * @throws IOException si la destination ne peut pas &ecirc;tre &eacute;crite
+     * @throws IllegalArgumentException si {@code maxLignes} ou {@code largeurMax} est n&eacute;gatif
+     *
+     * @see <a href="https://pandas.pydata.org/docs/user_guide/options.html#frequently-used-options">Pandas - display.max_rows, display.max_colwidth</a>
+     */
+    public void afficher(Appendable sortie, int maxLignes, int largeurMax) throws IOException {
+        verifierLimitesAffichage(maxLignes, largeurMax);
+        RenduTableau rendu = new RenduTableau(colonne);
+        rendu.ecrire(sortie, 0, rendu.nbLignes(), maxLignes, largeurMax);
+    }
 
-        // Affichage des lignes
-        for (int i = debut; i < debut + nbLignesAAfficher; i++) {
-            for (String cle : listeCles) {
-                String valeur = colonne.get(cle).getData().get(i).toString();
-                chaine += String.format("%-" + largeursColonnes.get(cle) + "s", valeur);
-            }
-            chaine += "\n";
-        }
-        return chaine;
+    /**
+     * &Eacute;crit le DataFrame sous forme de tableau dans un flux d'impression, comme
+     * {@link #afficher(Appendable, int, int)}.
+     *
+     * @param sortie     Le flux de destination (par exemple {@code System.out})
+     * @param maxLignes  Le nombre maximal de lignes &eacute;crites (0 : toutes les lignes)
+     * @param largeurMax Le nombre maximal de caract&egrave;res d'une valeur (0 : aucune limite)
+     * @throws IllegalArgumentException si {@code maxLignes} ou {@code largeurMax} est n&eacute;gatif
+     */
+    public void afficher(PrintStream sortie, int maxLignes, int largeurMax) {
+        verifierLimitesAffichage(maxLignes, largeurMax);
+        RenduTableau rendu = new RenduTableau(colonne);
+        rendu.ecrire(sortie, 0, rendu.nbLignes(), maxLignes, largeurMax);
     }
 
     /**
-     * M&eacute;thode qui affiche toutes les lignes du DataFrame.
+     * M&eacute;thode qui affiche toutes les lignes du DataFrame, sans troncature : pour un grand DataFrame, pr&eacute;f&eacute;rer
+     * {@link #afficher(PrintStream, int, int)}.
      * 
      * @see <a href="https://pandas.pydata.org/docs/user_guide/options.html#maximum-number-of-rows-displayed">Pandas - Displaying all rows</a>
      */
     public void afficherTout() {
-        System.out.print(afficherLignes(0, 0));
+        imprimerLignes(0, 0);
     }
 
     /**
@@ -214,7 +383,7 @@ public class DataFrame {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.head.html">pandas.DataFrame.head()</a>
      */
     public void afficherPremieresLignes(int nb) {
-        System.out.print(afficherLignes(nb, 1));
+        imprimerLignes(nb, 1);
     }
 
     /**
@@ -225,12 +394,33 @@ public class DataFrame {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.tail.html">pandas.DataFrame.tail()</a>
      */
     public void afficherDernieresLignes(int nb) {
-        System.out.print(afficherLignes(nb, 2));
+        imprimerLignes(nb, 2);
+    }
+
+    // Affichage sur la sortie standard de toutes les lignes demandées, comme afficherLignes
+    private void imprimerLignes(int nb, int mode) {
+        RenduTableau rendu = new RenduTableau(colonne);
+        int[] bornes = bornesAffichage(rendu.nbLignes(), nb, mode);
+        rendu.ecrire(System.out, bornes[0], bornes[1], 0, 0);
+    }
+
+    // Positions de début (incluse) et de fin (exclue) des lignes à afficher selon le mode
+    private static int[] bornesAffichage(int nbLignesTotal, int nb, int mode) {
+        int nbLignesAAfficher = mode == 0 ? nbLignesTotal : Math.max(0, Math.min(nb, nbLignesTotal));
+        int debut = mode == 2 ? nbLignesTotal - nbLignesAAfficher : 0;
+        return new int[] { debut, debut + nbLignesAAfficher };
+    }
+
+    private static void verifierLimitesAffichage(int maxLignes, int largeurMax) {
+        if (maxLignes < 0 || largeurMax < 0) {
+            throw new IllegalArgumentException("Limites d'affichage invalides : " + maxLignes + " lignes, " + largeurMax + " caractères.");
+        }
     }
     
     /**
-     * Affiche les statistiques descriptives (moyenne, minimum, maximum, &eacute;cart-type) 
-     * pour une colonne sp&eacute;cifi&eacute;e du DataFrame si celle-ci est num&eacute;rique.
+     * Affiche les statistiques descriptives (moyenne, minimum, maximum, &eacute;cart-type) pour une colonne
+     * sp&eacute;cifi&eacute;e du DataFrame si celle-ci est num&eacute;rique.
+     * Elles sont calcul&eacute;es en un seul parcours de la colonne par {@link Series#decrire()}.
      * <p>
      * Si la colonne n'existe pas ou si elle n'est pas num&eacute;rique, un message 
      * appropri&eacute; est affich&eacute; &agrave; l'&eacute;cran.
@@ -247,16 +437,18 @@ public class DataFrame {
             return;
         }
     
-        if (!serie.estNumerique()) {
+        // Un seul parcours de la colonne pour toutes les statistiques
+        Statistiques statistiques = serie.decrire();
+        if (!statistiques.estNumerique()) {
             System.out.println("La colonne n'est pas numérique.");
             return;
         }
     
         System.out.println("Statistiques pour la colonne \"" + nomColonne + "\" :");
-        System.out.println("  Moyenne     : " + serie.moyenne());
-        System.out.println("  Minimum     : " + serie.minimum());
-        System.out.println("  Maximum     : " + serie.maximum());
-        System.out.println("  Écart-type  : " + serie.ecartType());
+        System.out.println("  Moyenne     : " + statistiques.getMoyenne());
+        System.out.println("  Minimum     : " + statistiques.getMinimum());
+        System.out.println("  Maximum     : " + statistiques.getMaximum());
+        System.out.println("  Écart-type  : " + statistiques.getEcartType());
     }
     
     /**
@@ -267,7 +459,8 @@ public class DataFrame {
      *
      * @param nomColonne Le nom de la colonne &agrave; utiliser comme nouvel index
      * 
-     * @throws IllegalArgumentException si la colonne n&apos;existe pas ou contient des doublons
+     * @throws IllegalArgumentException si la colonne n&apos;existe pas ou contient des doublons (au sens de {@code equals},
+     *                                  plusieurs valeurs manquantes comptant comme des doublons)
      *
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.set_index.html">Documentation Pandas - set_index</a>
      */
@@ -277,15 +470,17 @@ public class DataFrame {
             throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + nomColonne);
         }
 
-        Set<Object> valeursUniquess = new HashSet<>(nouvelleColonneIndex.getData());
-        if (valeursUniquess.size() != nouvelleColonneIndex.size()) {
+        // L'index par hachage sert à la fois à détecter les doublons et aux recherches de loc
+        IndexHachage nouvelIndex = new IndexHachage(nouvelleColonneIndex);
+        if (!nouvelIndex.estUnique()) {
             throw new IllegalArgumentException("La colonne '" + nomColonne + "' contient des valeurs en double, elle ne peut pas être utilisée comme index.");
         }
 
-        List<Object> index = new ArrayList<>(nouvelleColonneIndex.getData());
-        colonne.put("Index", new Series<>(index));
-
+        // La série est réutilisée telle quelle : elle garde son type (primitif, catégoriel, ...)
         colonne.remove(nomColonne);
+        colonne.put("Index", nouvelleColonneIndex);
+        this.indexHachage = nouvelIndex;
+        this.indexTrie = null;
     }
   
     /**
@@ -293,6 +488,13 @@ public class DataFrame {
      * de l&apos;index est pr&eacute;sente dans la liste pass&eacute;e en param&egrave;tre.<br><br>
      *
      * Fonctionne comme en Pandas : <code>df.loc[["valeur1", "valeur2"]]</code><br>
+     * <br>
+     * Les lignes sont renvoy&eacute;es dans l'ordre de la liste. Les &eacute;tiquettes de l'index sont compar&eacute;es sous forme
+     * de texte ({@code toString()}) : {@code "1"} s&eacute;lectionne l'&eacute;tiquette {@code 1} d'un index num&eacute;rique.
+     * La recherche utilise un index par hachage de la colonne "Index", construit une seule fois puis r&eacute;utilis&eacute; :
+     * chaque &eacute;tiquette co&ucirc;te O(1), quel que soit le nombre de lignes. L'index est reconstruit automatiquement
+     * quand la colonne "Index" est remplac&eacute;e ou modifi&eacute;e par l'API de la s&eacute;rie ; {@link #reconstruireIndex()}
+     * n'est utile qu'apr&egrave;s une modification de la liste pass&eacute;e au constructeur de la s&eacute;rie.
      *
      * @param valeursIndex Liste des valeurs d&apos;index &agrave; s&eacute;lectionner
      * 
@@ -308,22 +510,91 @@ public class DataFrame {
         if (indexSeries == null) {
             throw new IllegalStateException("Aucune colonne 'Index' trouvée.");
         }
-    
-        Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
-        for (String nomCol : colonne.keySet()) {
-            nouvellesColonnes.put(nomCol, new Series<Object>(new ArrayList<>()));
+        if (indexHachage == null || !indexHachage.estAJour(indexSeries)) {
+            indexHachage = new IndexHachage(indexSeries);
         }
-    
-        for (int i = 0; i < indexSeries.size(); i++) {
-            String valeurIndex = indexSeries.getData().get(i).toString();
-            if (valeursIndex.contains(valeurIndex)) {
-                for (String nomCol : colonne.keySet()) {
-                    ((List<Object>) nouvellesColonnes.get(nomCol).getData()).add(colonne.get(nomCol).getData().get(i));
-                }
-            }
+        return selectionnerLignes(indexHachage.positions(valeursIndex));
+    }
+
+    /**
+     * Reconstruit l'index par hachage utilis&eacute; par {@link #loc(List)}.
+     * <br>
+     * L'index est reconstruit automatiquement quand la colonne "Index" est remplac&eacute;e ou modifi&eacute;e par l'API de la
+     * s&eacute;rie ; cette m&eacute;thode n'est n&eacute;cessaire qu'apr&egrave;s une modification de la liste pass&eacute;e au constructeur de
+     * la s&eacute;rie, que la s&eacute;rie ne peut pas d&eacute;tecter.
+     */
+    public void reconstruireIndex() {
+        Series<?> indexSeries = colonne.get("Index");
+        this.indexHachage = indexSeries == null ? null : new IndexHachage(indexSeries);
+        this.indexTrie = null;
+    }
+
+    /**
+     * Renvoie un sous-{@code DataFrame} contenant les lignes dont la valeur de l'index est comprise entre
+     * deux bornes (incluses), dans l'ordre des lignes.<br><br>
+     *
+     * Fonctionne comme en Pandas : <code>df.loc["A":"B"]</code><br>
+     * <br>
+     * Les &eacute;tiquettes sont compar&eacute;es comme des nombres si l'index est num&eacute;rique (y compris un index de textes
+     * repr&eacute;sentant des nombres, comme l'index g&eacute;n&eacute;r&eacute; automatiquement), et comme des cha&icirc;nes sinon.
+     * La s&eacute;lection utilise un index tri&eacute;, construit une seule fois : les bornes sont trouv&eacute;es par recherche
+     * dichotomique, sans parcourir les lignes. Les lignes dont l'index est manquant ne sont jamais s&eacute;lectionn&eacute;es.
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame mars = df.locEntre("2024-03-01", "2024-03-31");
+     * DataFrame debut = df.locEntre(null, 99);
+     * }</pre>
+     *
+     * @param debut La borne inf&eacute;rieure (incluse), ou {@code null} pour partir du d&eacute;but
+     * @param fin La borne sup&eacute;rieure (incluse), ou {@code null} pour aller jusqu'&agrave; la fin
+     * @return Un nouveau {@code DataFrame} contenant les lignes de l'intervalle
+     *
+     * @throws IllegalStateException si la colonne "Index" est absente du {@code DataFrame}
+     * @throws IllegalArgumentException si une borne n'est pas un nombre alors que l'index est num&eacute;rique
+     *
+     * @see <a href="https://pandas.pydata.org/docs/user_guide/indexing.html#slicing-ranges">Documentation Pandas - Slicing ranges</a>
+     */
+    public DataFrame locEntre(Object debut, Object fin) {
+        return selectionnerLignes(getIndexTrie().positionsEntre(debut, fin));
+    }
+
+    /**
+     * Indique si les valeurs de l'index sont croissantes (au sens large) dans l'ordre des lignes.
+     *
+     * @return {@code true} si l'index est croissant et ne contient pas de valeur manquante
+     *
+     * @throws IllegalStateException si la colonne "Index" est absente du {@code DataFrame}
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Index.is_monotonic_increasing.html">Documentation Pandas - is_monotonic_increasing</a>
+     */
+    public boolean estIndexCroissant() {
+        return getIndexTrie().estCroissant();
+    }
+
+    /**
+     * Indique si les valeurs de l'index sont d&eacute;croissantes (au sens large) dans l'ordre des lignes.
+     *
+     * @return {@code true} si l'index est d&eacute;croissant et ne contient pas de valeur manquante
+     *
+     * @throws IllegalStateException si la colonne "Index" est absente du {@code DataFrame}
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Index.is_monotonic_decreasing.html">Documentation Pandas - is_monotonic_decreasing</a>
+     */
+    public boolean estIndexDecroissant() {
+        return getIndexTrie().estDecroissant();
+    }
+
+    // Renvoie l'index trié de la colonne "Index", en le (re)construisant si la colonne a été remplacée
+    private IndexTrie getIndexTrie() {
+        Series<?> indexSeries = colonne.get("Index");
+        if (indexSeries == null) {
+            throw new IllegalStateException("Aucune colonne 'Index' trouvée.");
         }
-    
-        return new DataFrame(nouvellesColonnes);
+        if (indexTrie == null || !indexTrie.estAJour(indexSeries)) {
+            indexTrie = new IndexTrie(indexSeries);
+        }
+        return indexTrie;
     }
 
     /**
@@ -334,6 +605,10 @@ public class DataFrame {
      * Cette m&eacute;thode reproduit le comportement de la m&eacute;thode <code>iloc</code> de la biblioth&egrave;que Pandas :
      * elle s&eacute;lectionne les lignes par leurs positions (et non par leurs valeurs d'index).
      * </p>
+     * <p>
+     * Les valeurs s&eacute;lectionn&eacute;es sont copi&eacute;es dans des colonnes du m&ecirc;me type ; {@link #ilocVue(int, int, int, int)}
+     * renvoie au contraire des vues, sans copie.
+     * </p>
      *
      * @param startRow Position de d&eacute;part (incluse) des lignes &agrave; s&eacute;lectionner
      * @param endRow Position de fin (exclue) des lignes &agrave; s&eacute;lectionner
@@ -352,19 +627,12 @@ public class DataFrame {
             throw new IndexOutOfBoundsException("Les indices sont hors limites.");
         }
     
-        Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
-        
-        for (String nomCol : colonne.keySet()) {
-            nouvellesColonnes.put(nomCol, new Series<Object>(new ArrayList<>()));
-        }
-        
-        for (int i = startRow; i < endRow; i++) {
-            for (String nomCol : colonne.keySet()) {
-                ((List<Object>) nouvellesColonnes.get(nomCol).getData()).add(colonne.get(nomCol).getData().get(i));
-            }
+        int[] lignes = new int[Math.max(0, endRow - startRow)];
+        for (int i = 0; i < lignes.length; i++) {
+            lignes[i] = startRow + i;
         }
     
-        return new DataFrame(nouvellesColonnes);
+        return selectionnerLignes(lignes);
     }
     
 
@@ -376,6 +644,10 @@ public class DataFrame {
      * Cette version avanc&eacute;e de <code>iloc</code> permet de sp&eacute;cifier un pas pour l’it&eacute;ration sur les lignes et colonnes,
      * &agrave; la mani&egrave;re du slicing avec step dans Pandas (ex: <code>df.iloc[::2, ::2]</code>).
      * </p>
+     * <p>
+     * Les positions des colonnes comptent la colonne "Index", qui est toujours conserv&eacute;e, m&ecirc;me hors de la plage.
+     * Comme pour {@link #iloc(int, int, int, int)}, les valeurs sont copi&eacute;es dans des colonnes du m&ecirc;me type.
+     * </p>
      *
      * @param startRow Position de d&eacute;part (incluse) pour les lignes
      * @param endRow Position de fin (exclue) pour les lignes
@@ -387,6 +659,7 @@ public class DataFrame {
      * @return Un nouveau DataFrame avec les lignes et colonnes s&eacute;lectionn&eacute;es en fonction des pas
      * 
      * @throws IndexOutOfBoundsException si une position est hors des dimensions du DataFrame
+     * @throws IllegalArgumentException si un pas n'est pas strictement positif
      * 
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.iloc.html">Documentation Pandas - iloc</a>
      */
@@ -394,24 +667,116 @@ public class DataFrame {
         if (startRow < 0 || endRow > colonne.get("Index").size() || startCol < 0 || endCol > getNbColonne()) {
             throw new IndexOutOfBoundsException("Les indices sont hors limites.");
         }
-    
+        if (stepRow <= 0 || stepCol <= 0) {
+            throw new IllegalArgumentException("Les pas doivent être strictement positifs.");
+        }
+
+        int[] lignes = new int[endRow > startRow ? (endRow - startRow + stepRow - 1) / stepRow : 0];
+        for (int i = 0; i < lignes.length; i++) {
+            lignes[i] = startRow + i * stepRow;
+        }
+
         Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
-        
-        for (String nomCol : colonne.keySet()) {
-            nouvellesColonnes.put(nomCol, new Series<Object>(new ArrayList<>()));
+        for (Map.Entry<String, Series<?>> entree : colonnesDansLaPlage(startCol, endCol, stepCol).entrySet()) {
+            nouvellesColonnes.put(entree.getKey(), entree.getValue().selectionner(lignes));
         }
-        
-        for (int i = startRow; i < endRow; i += stepRow) {
-            for (int j = startCol; j < endCol; j += stepCol) {
-                for (String nomCol : colonne.keySet()) {
-                    ((List<Object>) nouvellesColonnes.get(nomCol).getData()).add(colonne.get(nomCol).getData().get(i));
-                }
-            }
+        return new DataFrame(nouvellesColonnes);
+    }
+
+    /**
+     * <p>
+     * Retourne une vue sur une plage de lignes et une plage de colonnes du DataFrame, sans copier de valeur.
+     * </p>
+     * <p>
+     * Les positions des colonnes sont celles de {@link #iloc(int, int, int, int)} (la colonne "Index" compte) ;
+     * la colonne "Index" est toujours conserv&eacute;e. Voir {@link #ilocVue(int, int, int, int, int, int)}.
+     * </p>
+     *
+     * @param startRow Position de d&eacute;part (incluse) des lignes &agrave; s&eacute;lectionner
+     * @param endRow Position de fin (exclue) des lignes &agrave; s&eacute;lectionner
+     * @param startCol Position de d&eacute;part (incluse) des colonnes &agrave; s&eacute;lectionner
+     * @param endCol Position de fin (exclue) des colonnes &agrave; s&eacute;lectionner
+     * 
+     * @return Un nouveau DataFrame dont les colonnes sont des vues sur celles-ci
+     * 
+     * @throws IndexOutOfBoundsException si une position est hors limites
+     */
+    public DataFrame ilocVue(int startRow, int endRow, int startCol, int endCol) {
+        return ilocVue(startRow, endRow, 1, startCol, endCol, 1);
+    }
+
+    /**
+     * <p>
+     * Retourne une vue sur une plage de lignes et de colonnes du DataFrame, avec un pas, sans copier de valeur.
+     * </p>
+     * <p>
+     * Chaque colonne s&eacute;lectionn&eacute;e est une vue (d&eacute;but, nombre de lignes, pas) sur la colonne d'origine, cr&eacute;&eacute;e
+     * en O(1) : le co&ucirc;t ne d&eacute;pend que du nombre de colonnes, pas du nombre de lignes, ce qui convient au parcours
+     * d'un grand DataFrame page par page. Une modification de la colonne d'origine est visible dans la vue ; une colonne
+     * de la vue n'est recopi&eacute;e qu'&agrave; sa premi&egrave;re modification, et {@link #copy()} recopie tout.
+     * </p>
+     * <p>
+     * Les positions des colonnes sont celles de {@link #iloc(int, int, int, int, int, int)} (la colonne "Index" compte) ;
+     * la colonne "Index" est toujours conserv&eacute;e, m&ecirc;me hors de la plage.
+     * </p>
+     *
+     * @param startRow Position de d&eacute;part (incluse) pour les lignes
+     * @param endRow Position de fin (exclue) pour les lignes
+     * @param stepRow Pas pour l’it&eacute;ration sur les lignes (&gt; 0)
+     * @param startCol Position de d&eacute;part (incluse) pour les colonnes
+     * @param endCol Position de fin (exclue) pour les colonnes
+     * @param stepCol Pas pour l’it&eacute;ration sur les colonnes (&gt; 0)
+     * 
+     * @return Un nouveau DataFrame dont les colonnes sont des vues sur celles-ci
+     * 
+     * @throws IndexOutOfBoundsException si une position est hors des dimensions du DataFrame
+     * @throws IllegalArgumentException si un pas n'est pas strictement positif
+     */
+    public DataFrame ilocVue(int startRow, int endRow, int stepRow, int startCol, int endCol, int stepCol) {
+        if (startRow < 0 || endRow > colonne.get("Index").size() || startCol < 0 || endCol > getNbColonne()) {
+            throw new IndexOutOfBoundsException("Les indices sont hors limites.");
+        }
+        if (stepRow <= 0 || stepCol <= 0) {
+            throw new IllegalArgumentException("Les pas doivent être strictement positifs.");
+        }
+
+        int nbLignes = endRow > startRow ? (endRow - startRow + stepRow - 1) / stepRow : 0;
+        Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
+        for (Map.Entry<String, Series<?>> entree : colonnesDansLaPlage(startCol, endCol, stepCol).entrySet()) {
+            nouvellesColonnes.put(entree.getKey(), new SeriesVue<>(entree.getValue(), startRow, nbLignes, stepRow));
         }
-    
         return new DataFrame(nouvellesColonnes);
-    }   
-       
+    }
+
+    // Colonnes aux positions startCol, startCol + stepCol, ... (avant endCol), la colonne "Index" comptant et étant toujours gardée
+    private Map<String, Series<?>> colonnesDansLaPlage(int startCol, int endCol, int stepCol) {
+        Map<String, Series<?>> selection = new LinkedHashMap<>();
+        int positionColonne = 0;
+        for (Map.Entry<String, Series<?>> entree : colonne.entrySet()) {
+            boolean dansLaPlage = positionColonne >= startCol && positionColonne < endCol && (positionColonne - startCol) % stepCol == 0;
+            if (dansLaPlage || entree.getKey().equals("Index")) {
+                selection.put(entree.getKey(), entree.getValue());
+            }
+            positionColonne++;
+        }
+        return selection;
+    }
+
+    /**
+     * Renvoie une copie ind&eacute;pendante du {@code DataFrame} : chaque colonne est recopi&eacute;e (en conservant son type),
+     * y compris les colonnes qui sont des vues cr&eacute;&eacute;es par {@link #ilocVue(int, int, int, int, int, int)}.
+     *
+     * @return Un nouveau {@code DataFrame} qui ne partage aucune valeur avec celui-ci
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.copy.html">Documentation Pandas - copy</a>
+     */
+    public DataFrame copy() {
+        int[] lignes = new int[colonne.get("Index").size()];
+        for (int i = 0; i < lignes.length; i++) {
+            lignes[i] = i;
+        }
+        return selectionnerLignes(lignes);
+    }
 
     /**
      * Filtre les lignes du {@code DataFrame} en fonction d'un crit&egrave;re donn&eacute;.
@@ -437,7 +802,7 @@ public class DataFrame {
      * @see Predicate
      */
     public DataFrame filter(Predicate<Map<String, Object>> critere) {
-        List<Map<String, Object>> lignesFiltrees = new ArrayList<>();
+        List<Integer> lignesFiltrees = new ArrayList<>();
 
         // Pour chaque ligne, on applique le critère
         for (int i = 0; i < this.colonne.get("Index").size(); i++) {
@@ -447,20 +812,225 @@ public class DataFrame {
             }
             
             if (critere.test(ligne)) {
-                lignesFiltrees.add(ligne);
+                lignesFiltrees.add(i);
             }
         }
 
         // Maintenant on recrée un DataFrame avec les lignes filtrées
-        Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
-        for (String cle : this.colonne.keySet()) {
-            List<Object> donnees = new ArrayList<>();
-            for (Map<String, Object> ligne : lignesFiltrees) {
-                donnees.add(ligne.get(cle));
-            }
-            nouvellesColonnes.put(cle, new Series<>(donnees));
+        return selectionnerLignes(lignesFiltrees.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * &Eacute;value une condition sur les colonnes du {@code DataFrame} et renvoie le masque des lignes qui la v&eacute;rifient.
+     * <br>
+     * Le masque peut &ecirc;tre combin&eacute; avec d'autres ({@link Masque#et(Masque)}, {@link Masque#ou(Masque)},
+     * {@link Masque#non()}) avant d'&ecirc;tre appliqu&eacute; par {@link #filtrer(Masque)}.
+     *
+     * @param condition La condition &agrave; &eacute;valuer
+     * @return Le masque des lignes qui v&eacute;rifient la condition
+     *
+     * @throws IllegalArgumentException si une colonne utilis&eacute;e par la condition n'existe pas
+     */
+    public Masque masque(Condition condition) {
+        return condition.evaluer(this);
+    }
+
+    /**
+     * Filtre les lignes du {@code DataFrame} selon une condition &eacute;valu&eacute;e colonne par colonne.
+     * <br>
+     * C'est la version rapide de {@link #filter(Predicate)} : aucune ligne n'est reconstruite sous forme de {@code Map},
+     * la condition produit un {@link Masque} et les lignes retenues sont recopi&eacute;es en une seule fois, colonne par colonne.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df[(df["Age"] &gt;= 18) &amp; (df["Pays"] == "France")]</code><br>
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame resultat = df.filtrer(Condition.superieurOuEgal("Age", 18).et(Condition.egal("Pays", "France")));
+     * }</pre>
+     *
+     * @param condition La condition que les lignes doivent v&eacute;rifier
+     * @return Un nouveau {@code DataFrame} contenant uniquement les lignes qui v&eacute;rifient la condition
+     *
+     * @throws IllegalArgumentException si une colonne utilis&eacute;e par la condition n'existe pas
+     *
+     * @see <a href="https://pandas.pydata.org/docs/user_guide/indexing.html#boolean-indexing">Documentation Pandas - Boolean indexing</a>
+     */
+    public DataFrame filtrer(Condition condition) {
+        return filtrer(masque(condition));
+    }
+
+    /**
+     * Filtre les lignes du {@code DataFrame} selon un masque de s&eacute;lection.
+     *
+     * @param masque Le masque des lignes &agrave; conserver, de la taille du {@code DataFrame}
+     * @return Un nouveau {@code DataFrame} contenant uniquement les lignes s&eacute;lectionn&eacute;es, dans leur ordre
+     *
+     * @throws IllegalArgumentException si la taille du masque ne correspond pas au nombre de lignes
+     */
+    public DataFrame filtrer(Masque masque) {
+        int nbLignes = colonne.get("Index").size();
+        if (masque.getTaille() != nbLignes) {
+            throw new IllegalArgumentException("Le masque couvre " + masque.getTaille() + " lignes au lieu de " + nbLignes + ".");
         }
+        return selectionnerLignes(masque.positions());
+    }
 
+    /**
+     * Renvoie un nouveau {@code DataFrame} compos&eacute; des lignes situ&eacute;es aux positions donn&eacute;es, dans l'ordre donn&eacute;.
+     * <br>
+     * Chaque colonne est recopi&eacute;e en une seule fois par {@link Series#selectionner(int[])},
+     * ce qui conserve son type (une colonne primitive reste primitive).
+     *
+     * @param positions Les positions (de 0 &agrave; nombre de lignes - 1) des lignes &agrave; conserver
+     * @return Un nouveau {@code DataFrame} contenant les lignes s&eacute;lectionn&eacute;es
+     */
+    public DataFrame selectionnerLignes(int[] positions) {
+        Map<String, Series<?>> nouvellesColonnes = new LinkedHashMap<>();
+        for (Map.Entry<String, Series<?>> entree : colonne.entrySet()) {
+            nouvellesColonnes.put(entree.getKey(), entree.getValue().selectionner(positions));
+        }
         return new DataFrame(nouvellesColonnes);
     }
+
+    /**
+     * Commence une requ&ecirc;te diff&eacute;r&eacute;e sur ce {@code DataFrame} : les op&eacute;rations encha&icirc;n&eacute;es sur le
+     * {@link LazyFrame} construisent un plan, optimis&eacute; puis ex&eacute;cut&eacute; en une fois par {@link LazyFrame#collect()},
+     * sans {@code DataFrame} interm&eacute;diaire.
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame resultat = df.lazy()
+     *         .filtrer(Condition.superieurOuEgal("Age", 18))
+     *         .sortValues("Nom")
+     *         .selectionner("Nom", "Age")
+     *         .collect();
+     * }</pre>
+     *
+     * @return La requ&ecirc;te, sans aucune op&eacute;ration
+     *
+     * @see LazyFrame
+     */
+    public LazyFrame lazy() {
+        return new LazyFrame(new PlanRequete.Source(this, null));
+    }
+
+    /**
+     * Regroupe les lignes du {@code DataFrame} selon les valeurs d'une ou plusieurs colonnes, pour les agr&eacute;ger.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df.groupby(["Pays", "Annee"], sort=False, as_index=False)</code><br>
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame totaux = df.groupBy("Pays").somme("Montant");
+     * }</pre>
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s
+     * @return Le {@link Regroupement} des lignes, sur lequel appliquer les agr&eacute;gations
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e ou si une colonne n'existe pas
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.groupby.html">Documentation Pandas - groupby</a>
+     */
+    public Regroupement groupBy(String... colonnes) {
+        return new Regroupement(this, colonnes);
+    }
+
+    /**
+     * Joint ce {@code DataFrame} (&agrave; gauche) &agrave; un autre (&agrave; droite) sur des colonnes cl&eacute;s de m&ecirc;me nom.
+     * <br>
+     * La jointure se fait par hachage : les cl&eacute;s du plus petit des deux {@code DataFrame} sont rang&eacute;es dans une table,
+     * dans laquelle on cherche celles de l'autre, puis chaque colonne du r&eacute;sultat est recopi&eacute;e en une seule fois.
+     * Le r&eacute;sultat contient les cl&eacute;s, les autres colonnes de gauche puis celles de droite ; une colonne pr&eacute;sente
+     * des deux c&ocirc;t&eacute;s re&ccedil;oit le suffixe "_x" &agrave; gauche et "_y" &agrave; droite. Une ligne sans correspondance
+     * a des valeurs manquantes pour les colonnes de l'autre c&ocirc;t&eacute;, et une cl&eacute; manquante n'est associ&eacute;e &agrave; aucune ligne.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df.merge(autre, how="left", on=["Pays"])</code> ; en jointure externe,
+     * les lignes de droite sans correspondance sont plac&eacute;es &agrave; la fin au lieu d'&ecirc;tre tri&eacute;es par cl&eacute;.
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame ventes = faits.merge(produits, Jointure.GAUCHE, "IdProduit");
+     * }</pre>
+     *
+     * @param autre Le {@code DataFrame} de droite
+     * @param jointure Le type de jointure
+     * @param cles Les noms des colonnes cl&eacute;s, pr&eacute;sentes dans les deux {@code DataFrame}
+     * @return Un nouveau {@code DataFrame} contenant les lignes jointes
+     *
+     * @throws IllegalArgumentException si aucune cl&eacute; n'est donn&eacute;e ou si une colonne n'existe pas
+     *
+     * @see Jointure
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.merge.html">Documentation Pandas - merge</a>
+     */
+    public DataFrame merge(DataFrame autre, Jointure jointure, String... cles) {
+        return Fusion.fusionner(this, autre, jointure, cles);
+    }
+
+    /**
+     * Joint ce {@code DataFrame} &agrave; un autre par une jointure interne sur des colonnes cl&eacute;s de m&ecirc;me nom.
+     *
+     * @param autre Le {@code DataFrame} de droite
+     * @param cles Les noms des colonnes cl&eacute;s, pr&eacute;sentes dans les deux {@code DataFrame}
+     * @return Un nouveau {@code DataFrame} contenant les lignes dont la cl&eacute; existe des deux c&ocirc;t&eacute;s
+     *
+     * @throws IllegalArgumentException si aucune cl&eacute; n'est donn&eacute;e ou si une colonne n'existe pas
+     *
+     * @see #merge(DataFrame, Jointure, String...)
+     */
+    public DataFrame merge(DataFrame autre, String... cles) {
+        return merge(autre, Jointure.INTERNE, cles);
+    }
+
+    /**
+     * Trie les lignes du {@code DataFrame} selon une ou plusieurs colonnes, par ordre croissant.
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s, de la plus importante &agrave; la moins importante
+     * @return Un nouveau {@code DataFrame} contenant les lignes tri&eacute;es
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e ou si une colonne n'existe pas
+     *
+     * @see #sortValues(String[], boolean...)
+     */
+    public DataFrame sortValues(String... colonnes) {
+        return sortValues(colonnes, new boolean[0]);
+    }
+
+    /**
+     * Trie les lignes du {@code DataFrame} selon une ou plusieurs colonnes.
+     * <br>
+     * Le tri est stable (les lignes &eacute;gales gardent leur ordre) et se fait sans cr&eacute;er d'objet par ligne :
+     * la permutation des lignes est calcul&eacute;e par un tri par base sur les valeurs primitives (ou les rangs des
+     * modalit&eacute;s), puis chaque colonne est recopi&eacute;e en une seule fois. Les valeurs manquantes sont plac&eacute;es
+     * &agrave; la fin. La colonne "Index" suit les lignes, comme en Pandas.
+     * <br>
+     * Fonctionne comme en Pandas : <code>df.sort_values(by=["Pays", "Age"], ascending=[True, False], kind="stable")</code><br>
+     * <br>
+     * Exemple d'utilisation :
+     * <pre>{@code
+     * DataFrame tries = df.sortValues(new String[] { "Pays", "Age" }, true, false);
+     * }</pre>
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s, de la plus importante &agrave; la moins importante
+     * @param croissants Le sens du tri : un par colonne, un seul pour toutes, ou aucun (croissant)
+     * @return Un nouveau {@code DataFrame} contenant les lignes tri&eacute;es
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e, si une colonne n'existe pas
+     *                                  ou si le nombre de sens ne correspond pas au nombre de colonnes
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.sort_values.html">Documentation Pandas - sort_values</a>
+     */
+    public DataFrame sortValues(String[] colonnes, boolean... croissants) {
+        if (colonnes.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour trier les lignes.");
+        }
+        boolean[] sens = Tri.sens(colonnes.length, croissants);
+        Series<?>[] cles = new Series<?>[colonnes.length];
+        for (int j = 0; j < colonnes.length; j++) {
+            cles[j] = getColonneByName(colonnes[j]);
+            if (cles[j] == null) {
+                throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + colonnes[j]);
+            }
+        }
+        return selectionnerLignes(Tri.permutation(cles, sens));
+    }
 }
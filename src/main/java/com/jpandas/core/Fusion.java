@@ -0,0 +1,212 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jointure de deux {@link DataFrame} par hachage, utilis&eacute;e par {@link DataFrame#merge(DataFrame, Jointure, String...)}.
+ * <br>
+ * La jointure se fait en trois temps :
+ * <ul>
+ *   <li>construction : les cl&eacute;s du plus petit {@code DataFrame} sont num&eacute;rot&eacute;es ({@link CodageCles}) ;</li>
+ *   <li>sondage : les cl&eacute;s de l'autre {@code DataFrame} sont cherch&eacute;es dans ce codage, sans en ajouter ;</li>
+ *   <li>assemblage : les paires de lignes associ&eacute;es sont rang&eacute;es dans deux tableaux de positions, puis chaque
+ *       colonne du r&eacute;sultat est recopi&eacute;e en une seule fois par {@link Series#selectionner(int[])}.</li>
+ * </ul>
+ * Aucune ligne n'est construite sous forme d'objet. Une position n&eacute;gative (ligne sans correspondance) donne
+ * des valeurs manquantes. Comme en SQL, une cl&eacute; manquante n'est &eacute;gale &agrave; aucune autre.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+final class Fusion {
+
+    /**
+     * Suffixe ajout&eacute; aux colonnes de gauche qui portent le m&ecirc;me nom qu'une colonne de droite (comme en Pandas).
+     */
+    static final String SUFFIXE_GAUCHE = "_x";
+
+    /**
+     * Suffixe ajout&eacute; aux colonnes de droite qui portent le m&ecirc;me nom qu'une colonne de gauche (comme en Pandas).
+     */
+    static final String SUFFIXE_DROITE = "_y";
+
+    private Fusion() {
+    }
+
+    /**
+     * Joint deux {@code DataFrame} sur des colonnes cl&eacute;s de m&ecirc;me nom.
+     *
+     * @param gauche Le {@code DataFrame} de gauche
+     * @param droite Le {@code DataFrame} de droite
+     * @param jointure Le type de jointure
+     * @param cles Les noms des colonnes cl&eacute;s, pr&eacute;sentes des deux c&ocirc;t&eacute;s
+     * @return Le {@code DataFrame} joint : les cl&eacute;s, les autres colonnes de gauche, puis celles de droite
+     *
+     * @throws IllegalArgumentException si aucune cl&eacute; n'est donn&eacute;e, si une colonne n'existe pas
+     *                                  ou si le r&eacute;sultat d&eacute;passe la taille d'un tableau
+     */
+    static DataFrame fusionner(DataFrame gauche, DataFrame droite, Jointure jointure, String[] cles) {
+        if (cles.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour joindre les lignes.");
+        }
+        Series<?>[] clesGauche = colonnes(gauche, cles);
+        Series<?>[] clesDroite = colonnes(droite, cles);
+
+        // Construction sur le plus petit côté, sondage de l'autre
+        CodageCles codage = new CodageCles(cles.length);
+        int[] numerosGauche;
+        int[] numerosDroite;
+        if (clesDroite[0].size() <= clesGauche[0].size()) {
+            numerosDroite = codage.coder(clesDroite, true);
+            numerosGauche = codage.coder(clesGauche, false);
+        } else {
+            numerosGauche = codage.coder(clesGauche, true);
+            numerosDroite = codage.coder(clesDroite, false);
+        }
+        int nbCles = codage.getNbCles();
+
+        // Le côté "pilote" donne l'ordre du résultat ; ses lignes sans correspondance sont gardées sauf en jointure interne
+        boolean piloteAGauche = jointure != Jointure.DROITE;
+        int[] numerosPilote = piloteAGauche ? numerosGauche : numerosDroite;
+        int[] numerosAutre = piloteAGauche ? numerosDroite : numerosGauche;
+        boolean garderPilote = jointure != Jointure.INTERNE;
+
+        // Lignes de l'autre côté rangées par numéro de clé (tri par dénombrement) : lignes[debuts[c] .. debuts[c + 1][
+        int[] debuts = new int[nbCles + 1];
+        for (int numero : numerosAutre) {
+            if (numero >= 0) {
+                debuts[numero + 1]++;
+            }
+        }
+        for (int c = 0; c < nbCles; c++) {
+            debuts[c + 1] += debuts[c];
+        }
+        int[] lignes = new int[debuts[nbCles]];
+        int[] prochaines = Arrays.copyOf(debuts, nbCles);
+        for (int i = 0; i < numerosAutre.length; i++) {
+            if (numerosAutre[i] >= 0) {
+                lignes[prochaines[numerosAutre[i]]++] = i;
+            }
+        }
+
+        // Premier passage : taille du résultat
+        boolean[] cleUtilisee = jointure == Jointure.EXTERNE ? new boolean[nbCles] : null;
+        long total = 0;
+        for (int numero : numerosPilote) {
+            int nbCorrespondances = numero >= 0 ? debuts[numero + 1] - debuts[numero] : 0;
+            total += nbCorrespondances > 0 ? nbCorrespondances : (garderPilote ? 1 : 0);
+            if (cleUtilisee != null && numero >= 0) {
+                cleUtilisee[numero] = true;
+            }
+        }
+        int nbLignesPilotees = (int) Math.min(total, Integer.MAX_VALUE);
+        if (cleUtilisee != null) {
+            for (int numero : numerosAutre) {
+                if (numero < 0 || !cleUtilisee[numero]) {
+                    total++;
+                }
+            }
+        }
+        if (total > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("La jointure produirait trop de lignes : " + total + ".");
+        }
+
+        // Second passage : positions des lignes associées, -1 pour une ligne sans correspondance
+        int[] positionsPilote = new int[(int) total];
+        int[] positionsAutre = new int[(int) total];
+        int k = 0;
+        for (int i = 0; i < numerosPilote.length; i++) {
+            int numero = numerosPilote[i];
+            int debut = numero >= 0 ? debuts[numero] : 0;
+            int fin = numero >= 0 ? debuts[numero + 1] : 0;
+            if (debut == fin) {
+                if (garderPilote) {
+                    positionsPilote[k] = i;
+                    positionsAutre[k++] = -1;
+                }
+                continue;
+            }
+            for (int j = debut; j < fin; j++) {
+                positionsPilote[k] = i;
+                positionsAutre[k++] = lignes[j];
+            }
+        }
+        if (cleUtilisee != null) {
+            for (int i = 0; i < numerosAutre.length; i++) {
+                if (numerosAutre[i] < 0 || !cleUtilisee[numerosAutre[i]]) {
+                    positionsPilote[k] = -1;
+                    positionsAutre[k++] = i;
+                }
+            }
+        }
+        int[] positionsGauche = piloteAGauche ? positionsPilote : positionsAutre;
+        int[] positionsDroite = piloteAGauche ? positionsAutre : positionsPilote;
+
+        return assembler(gauche, droite, jointure, cles, positionsGauche, positionsDroite, nbLignesPilotees);
+    }
+
+    // Recopie les colonnes aux positions calculées : les clés, puis les autres colonnes de gauche et de droite
+    private static DataFrame assembler(DataFrame gauche, DataFrame droite, Jointure jointure, String[] cles,
+            int[] positionsGauche, int[] positionsDroite, int nbLignesPilotees) {
+        List<String> listeCles = Arrays.asList(cles);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        for (String cle : cles) {
+            Series<?> serie;
+            if (jointure == Jointure.DROITE) {
+                serie = droite.getColonneByName(cle).selectionner(positionsDroite);
+            } else if (jointure == Jointure.EXTERNE && nbLignesPilotees < positionsGauche.length) {
+                // Les lignes de droite sans correspondance, à la fin, prennent leur clé à droite
+                serie = concatener(
+                        gauche.getColonneByName(cle).selectionner(Arrays.copyOf(positionsGauche, nbLignesPilotees)),
+                        droite.getColonneByName(cle).selectionner(
+                                Arrays.copyOfRange(positionsDroite, nbLignesPilotees, positionsDroite.length)));
+            } else {
+                serie = gauche.getColonneByName(cle).selectionner(positionsGauche);
+            }
+            colonnes.put(cle, serie);
+        }
+        for (Map.Entry<String, Series<?>> entree : gauche.colonne.entrySet()) {
+            String nom = entree.getKey();
+            if (!nom.equals("Index") && !listeCles.contains(nom)) {
+                String nomResultat = droite.colonne.containsKey(nom) ? nom + SUFFIXE_GAUCHE : nom;
+                colonnes.put(nomResultat, entree.getValue().selectionner(positionsGauche));
+            }
+        }
+        for (Map.Entry<String, Series<?>> entree : droite.colonne.entrySet()) {
+            String nom = entree.getKey();
+            if (!nom.equals("Index") && !listeCles.contains(nom)) {
+                String nomResultat = gauche.colonne.containsKey(nom) ? nom + SUFFIXE_DROITE : nom;
+                colonnes.put(nomResultat, entree.getValue().selectionner(positionsDroite));
+            }
+        }
+        return new DataFrame(colonnes);
+    }
+
+    // Met deux séries bout à bout ; si leurs types diffèrent, le résultat est une Series<Object>
+    @SuppressWarnings("unchecked")
+    private static Series<?> concatener(Series<?> tete, Series<?> queue) {
+        if (tete.getClass() == queue.getClass()) {
+            ((List<Object>) tete.getData()).addAll(queue.getData());
+            return tete;
+        }
+        List<Object> valeurs = new ArrayList<>(tete.size() + queue.size());
+        valeurs.addAll(tete.getData());
+        valeurs.addAll(queue.getData());
+        return new Series<>(valeurs);
+    }
+
+    private static Series<?>[] colonnes(DataFrame dataframe, String[] noms) {
+        Series<?>[] colonnes = new Series<?>[noms.length];
+        for (int j = 0; j < noms.length; j++) {
+            colonnes[j] = dataframe.getColonneByName(noms[j]);
+            if (colonnes[j] == null) {
+                throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + noms[j]);
+            }
+        }
+        return colonnes;
+    }
+}
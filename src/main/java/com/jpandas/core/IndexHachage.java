@@ -0,0 +1,162 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * Index par hachage de la colonne "Index" d'un {@link DataFrame}, utilis&eacute; par {@link DataFrame#loc(List)}.
+ * <br>
+ * Il est construit une seule fois (en O(n)), puis chaque recherche d'une &eacute;tiquette co&ucirc;te O(1) en moyenne,
+ * quelle que soit la taille du {@code DataFrame}.
+ * <br>
+ * Les &eacute;tiquettes cherch&eacute;es par {@code loc} sont des cha&icirc;nes : chaque &eacute;tiquette de l'index est donc
+ * normalis&eacute;e en texte ({@code toString()}) pour la recherche, et {@code loc("1")} trouve aussi bien l'&eacute;tiquette
+ * {@code 1} que {@code "1"}. En revanche, l'unicit&eacute; de l'index ({@link #estUnique()}) suit {@code equals} et
+ * {@code hashCode}, comme un {@code HashSet} : {@code 1} et {@code "1"} sont deux &eacute;tiquettes distinctes, et deux
+ * valeurs manquantes sont un doublon.
+ * <br>
+ * Structure :
+ * <ul>
+ *   <li>chaque &eacute;tiquette distincte re&ccedil;oit un identifiant, retrouv&eacute; par une table &agrave; adressage ouvert ;</li>
+ *   <li>{@code premieres[id]} donne la premi&egrave;re ligne de l'&eacute;tiquette, et {@code suivantes[ligne]} la ligne
+ *       suivante portant la m&ecirc;me &eacute;tiquette : les doublons sont ainsi cha&icirc;n&eacute;s dans l'ordre des lignes.</li>
+ * </ul>
+ * Pour un index cat&eacute;goriel, l'identifiant d'une &eacute;tiquette est directement son code : le dictionnaire de la
+ * s&eacute;rie sert de table de hachage.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class IndexHachage {
+    private static final int AUCUNE = -1;
+
+    private final Series<?> serie;
+    private final int taille;
+    private final long version;
+    private final SeriesCategorielle categories;
+    private String[] cles;
+    private int nbCles;
+    private int[] table;
+    private int[] premieres;
+    private final int[] suivantes;
+    private boolean unique = true;
+    private boolean textuel = true;
+    private int nbNuls;
+
+    /**
+     * Construit l'index d'une s&eacute;rie (les valeurs manquantes ne sont pas index&eacute;es).
+     *
+     * @param serie La colonne "Index" du {@code DataFrame}
+     */
+    IndexHachage(Series<?> serie) {
+        this.serie = serie;
+        this.taille = serie.size();
+        this.version = serie.getVersion();
+        this.categories = serie instanceof SeriesCategorielle ? (SeriesCategorielle) serie : null;
+        this.suivantes = new int[taille];
+
+        if (categories != null) {
+            premieres = new int[categories.getNbModalites()];
+        } else {
+            int capacite = Integer.highestOneBit(Math.max(16, taille) * 4 - 1);
+            table = new int[capacite];
+            cles = new String[Math.max(16, taille)];
+            premieres = new int[cles.length];
+        }
+        Arrays.fill(premieres, AUCUNE);
+
+        // On parcourt les lignes à l'envers pour que chaque chaîne de doublons soit dans l'ordre des lignes
+        for (int ligne = taille - 1; ligne >= 0; ligne--) {
+            int id;
+            if (categories != null) {
+                id = categories.getCode(ligne);
+            } else {
+                Object valeur = serie.get(ligne);
+                textuel &= valeur == null || valeur instanceof String;
+                id = valeur == null ? AUCUNE : identifiant(valeur.toString(), true);
+            }
+            if (id == AUCUNE) {
+                nbNuls++;
+                suivantes[ligne] = AUCUNE;
+                continue;
+            }
+            suivantes[ligne] = premieres[id];
+            unique &= premieres[id] == AUCUNE;
+            premieres[id] = ligne;
+        }
+        unique &= nbNuls <= 1;
+        if (!unique && !textuel && nbNuls <= 1) {
+            // Des étiquettes de même texte peuvent être différentes (1 et "1") : les doublons sont vérifiés par equals
+            unique = new HashSet<>(serie.getData()).size() == taille;
+        }
+    }
+
+    /**
+     * Indique si l'index a &eacute;t&eacute; construit pour cette s&eacute;rie et si elle n'a pas &eacute;t&eacute; modifi&eacute;e depuis.
+     *
+     * @param colonne La colonne "Index" actuelle du {@code DataFrame}
+     * @return {@code true} si l'index peut &ecirc;tre r&eacute;utilis&eacute;
+     */
+    boolean estAJour(Series<?> colonne) {
+        return serie == colonne && taille == colonne.size() && version == colonne.getVersion();
+    }
+
+    /**
+     * Indique si chaque &eacute;tiquette n'appara&icirc;t qu'une fois, au sens de {@code equals} (au plus une valeur manquante).
+     *
+     * @return {@code true} si l'index ne contient aucun doublon
+     */
+    boolean estUnique() {
+        return unique;
+    }
+
+    /**
+     * Renvoie les positions des lignes portant les &eacute;tiquettes demand&eacute;es, dans l'ordre de la demande.
+     * <br>
+     * Une &eacute;tiquette absente ne donne aucune ligne ; une &eacute;tiquette pr&eacute;sente plusieurs fois dans l'index
+     * donne toutes ses lignes, dans l'ordre du {@code DataFrame}.
+     *
+     * @param etiquettes Les &eacute;tiquettes cherch&eacute;es
+     * @return Les positions des lignes correspondantes
+     */
+    int[] positions(List<String> etiquettes) {
+        int[] resultat = new int[etiquettes.size()];
+        int nb = 0;
+        for (String etiquette : etiquettes) {
+            int id = etiquette == null ? AUCUNE
+                    : categories != null ? categories.code(etiquette) : identifiant(etiquette, false);
+            // Un code ajouté au dictionnaire après la construction n'a aucune ligne
+            if (id == AUCUNE || id >= premieres.length) {
+                continue;
+            }
+            for (int ligne = premieres[id]; ligne != AUCUNE; ligne = suivantes[ligne]) {
+                if (nb == resultat.length) {
+                    resultat = Arrays.copyOf(resultat, Math.max(16, nb * 2));
+                }
+                resultat[nb++] = ligne;
+            }
+        }
+        return Arrays.copyOf(resultat, nb);
+    }
+
+    // Renvoie l'identifiant d'une étiquette (en l'ajoutant si "creer" est vrai), ou AUCUNE si elle est absente
+    private int identifiant(String etiquette, boolean creer) {
+        int masque = table.length - 1;
+        int h = etiquette.hashCode();
+        int caseTable = (h ^ (h >>> 16)) & masque;
+        while (table[caseTable] != 0) {
+            int id = table[caseTable] - 1;
+            if (cles[id].equals(etiquette)) {
+                return id;
+            }
+            caseTable = (caseTable + 1) & masque;
+        }
+        if (!creer) {
+            return AUCUNE;
+        }
+        cles[nbCles] = etiquette;
+        table[caseTable] = ++nbCles;
+        return nbCles - 1;
+    }
+}
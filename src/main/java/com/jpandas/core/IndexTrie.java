@@ -0,0 +1,240 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+
+/**
+ * Index tri&eacute; de la colonne "Index" d'un {@link DataFrame}, utilis&eacute; pour les s&eacute;lections par intervalle
+ * ({@link DataFrame#locEntre(Object, Object)}).
+ * <br>
+ * L'index m&eacute;morise la permutation qui trie les lignes selon leur &eacute;tiquette, ainsi que les &eacute;tiquettes
+ * tri&eacute;es : les bornes d'un intervalle sont alors trouv&eacute;es par recherche dichotomique, en O(log n),
+ * sans parcourir le {@code DataFrame}.
+ * <br>
+ * Les &eacute;tiquettes sont compar&eacute;es comme des nombres si la colonne est num&eacute;rique, ou si toutes ses valeurs
+ * sont des textes repr&eacute;sentant des nombres (comme l'index g&eacute;n&eacute;r&eacute; automatiquement "0", "1", ...).
+ * Sinon, elles sont compar&eacute;es comme des cha&icirc;nes de caract&egrave;res. Les valeurs manquantes ne sont pas index&eacute;es.
+ * <br>
+ * Si l'index est d&eacute;j&agrave; croissant (cas le plus courant), aucun tri n'est fait : la permutation est l'identit&eacute;
+ * et un intervalle correspond &agrave; une tranche contigu&euml; de lignes.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class IndexTrie {
+    private final Series<?> serie;
+    private final int taille;
+    private final long version;
+    private final boolean numerique;
+    private final boolean croissant;
+    private final boolean decroissant;
+    private final int[] permutation;
+    private double[] nombresTries;
+    private String[] textesTries;
+
+    /**
+     * Construit l'index tri&eacute; d'une s&eacute;rie.
+     *
+     * @param serie La colonne "Index" du {@code DataFrame}
+     */
+    IndexTrie(Series<?> serie) {
+        this.serie = serie;
+        this.taille = serie.size();
+        this.version = serie.getVersion();
+
+        // On lit une seule fois les étiquettes, en nombres si possible, et on note les lignes non manquantes
+        double[] nombres = lireNombres(serie);
+        this.numerique = nombres != null;
+        String[] textes = numerique ? null : new String[taille];
+        int[] lignes = new int[taille];
+        int nb = 0;
+        for (int i = 0; i < taille; i++) {
+            if (numerique ? !Double.isNaN(nombres[i]) : !serie.estNul(i)) {
+                if (!numerique) {
+                    textes[i] = serie.get(i).toString();
+                }
+                lignes[nb++] = i;
+            }
+        }
+        lignes = Arrays.copyOf(lignes, nb);
+
+        // Détection de la monotonie, sur toutes les lignes (une valeur manquante casse la monotonie)
+        boolean estCroissant = nb == taille;
+        boolean estDecroissant = nb == taille;
+        for (int k = 1; k < nb && (estCroissant || estDecroissant); k++) {
+            int c = comparer(nombres, textes, lignes[k - 1], lignes[k]);
+            estCroissant &= c <= 0;
+            estDecroissant &= c >= 0;
+        }
+        this.croissant = estCroissant;
+        this.decroissant = estDecroissant;
+
+        if (!croissant) {
+            trier(lignes, nombres, textes);
+        }
+        this.permutation = lignes;
+        if (numerique) {
+            nombresTries = new double[nb];
+            for (int k = 0; k < nb; k++) {
+                nombresTries[k] = nombres[lignes[k]];
+            }
+        } else {
+            textesTries = new String[nb];
+            for (int k = 0; k < nb; k++) {
+                textesTries[k] = textes[lignes[k]];
+            }
+        }
+    }
+
+    /**
+     * Indique si l'index a &eacute;t&eacute; construit pour cette s&eacute;rie et si elle n'a pas &eacute;t&eacute; modifi&eacute;e depuis.
+     *
+     * @param colonne La colonne "Index" actuelle du {@code DataFrame}
+     * @return {@code true} si l'index peut &ecirc;tre r&eacute;utilis&eacute;
+     */
+    boolean estAJour(Series<?> colonne) {
+        return serie == colonne && taille == colonne.size() && version == colonne.getVersion();
+    }
+
+    /**
+     * Indique si les &eacute;tiquettes sont croissantes (au sens large) dans l'ordre des lignes.
+     *
+     * @return {@code true} si l'index est croissant et ne contient pas de valeur manquante
+     */
+    boolean estCroissant() {
+        return croissant;
+    }
+
+    /**
+     * Indique si les &eacute;tiquettes sont d&eacute;croissantes (au sens large) dans l'ordre des lignes.
+     *
+     * @return {@code true} si l'index est d&eacute;croissant et ne contient pas de valeur manquante
+     */
+    boolean estDecroissant() {
+        return decroissant;
+    }
+
+    /**
+     * Indique si les &eacute;tiquettes sont compar&eacute;es comme des nombres.
+     *
+     * @return {@code true} pour un index num&eacute;rique
+     */
+    boolean estNumerique() {
+        return numerique;
+    }
+
+    /**
+     * Renvoie les positions des lignes dont l'&eacute;tiquette est comprise entre deux bornes (incluses),
+     * dans l'ordre des lignes du {@code DataFrame}.
+     *
+     * @param debut La borne inf&eacute;rieure, ou {@code null} pour ne pas limiter l'intervalle
+     * @param fin La borne sup&eacute;rieure, ou {@code null} pour ne pas limiter l'intervalle
+     * @return Les positions (croissantes) des lignes s&eacute;lectionn&eacute;es
+     *
+     * @throws IllegalArgumentException si une borne n'est pas un nombre alors que l'index est num&eacute;rique
+     */
+    int[] positionsEntre(Object debut, Object fin) {
+        int premier = debut == null ? 0 : chercher(debut, false);
+        int dernier = fin == null ? permutation.length : chercher(fin, true);
+        if (premier >= dernier) {
+            return new int[0];
+        }
+        int[] positions = Arrays.copyOfRange(permutation, premier, dernier);
+        if (!croissant) {
+            // Les lignes sont rendues dans l'ordre du DataFrame, comme pour un filtre
+            Arrays.sort(positions);
+        }
+        return positions;
+    }
+
+    // Recherche dichotomique : première position triée dont la clé est >= borne (ou > borne si "apres")
+    private int chercher(Object borne, boolean apres) {
+        int bas = 0;
+        int haut = permutation.length;
+        if (numerique) {
+            double cle = versNombre(borne);
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                int c = Double.compare(nombresTries[milieu], cle);
+                if (c < 0 || (apres && c == 0)) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+        } else {
+            String cle = borne.toString();
+            while (bas < haut) {
+                int milieu = (bas + haut) >>> 1;
+                int c = textesTries[milieu].compareTo(cle);
+                if (c < 0 || (apres && c == 0)) {
+                    bas = milieu + 1;
+                } else {
+                    haut = milieu;
+                }
+            }
+        }
+        return bas;
+    }
+
+    private static double versNombre(Object borne) {
+        if (borne instanceof Number) {
+            return ((Number) borne).doubleValue();
+        }
+        try {
+            return Double.parseDouble(borne.toString());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("L'index est numérique : la borne '" + borne + "' doit être un nombre.");
+        }
+    }
+
+    // Renvoie les étiquettes converties en nombres (NaN pour une valeur manquante), ou null si l'index est textuel
+    private static double[] lireNombres(Series<?> serie) {
+        double[] nombres = new double[serie.size()];
+        boolean numerique = serie instanceof SeriesNumerique;
+        for (int i = 0; i < nombres.length; i++) {
+            if (numerique) {
+                nombres[i] = serie.getDouble(i);
+            } else if (serie.estNul(i)) {
+                nombres[i] = Double.NaN;
+            } else {
+                try {
+                    nombres[i] = Double.parseDouble(serie.get(i).toString());
+                } catch (NumberFormatException e) {
+                    return null;
+                }
+            }
+        }
+        return nombres;
+    }
+
+    private static int comparer(double[] nombres, String[] textes, int a, int b) {
+        return nombres != null ? Double.compare(nombres[a], nombres[b]) : textes[a].compareTo(textes[b]);
+    }
+
+    // Tri fusion stable des lignes selon leur étiquette (les lignes de même étiquette gardent leur ordre)
+    private static void trier(int[] lignes, double[] nombres, String[] textes) {
+        int[] source = lignes;
+        int[] destination = new int[lignes.length];
+        for (int largeur = 1; largeur < lignes.length; largeur *= 2) {
+            for (int gauche = 0; gauche < lignes.length; gauche += 2 * largeur) {
+                int milieu = Math.min(gauche + largeur, lignes.length);
+                int droite = Math.min(gauche + 2 * largeur, lignes.length);
+                int i = gauche;
+                int j = milieu;
+                for (int k = gauche; k < droite; k++) {
+                    if (i < milieu && (j >= droite || comparer(nombres, textes, source[i], source[j]) <= 0)) {
+                        destination[k] = source[i++];
+                    } else {
+                        destination[k] = source[j++];
+                    }
+                }
+            }
+            int[] echange = source;
+            source = destination;
+            destination = echange;
+        }
+        if (source != lignes) {
+            System.arraycopy(source, 0, lignes, 0, lignes.length);
+        }
+    }
+}
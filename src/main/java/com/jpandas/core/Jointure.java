@@ -0,0 +1,27 @@
+package com.jpandas.core;
+
+/**
+ * &Eacute;num&eacute;ration des types de jointure de {@link DataFrame#merge(DataFrame, Jointure, String...)}.
+ * <br>
+ * Correspond au param&egrave;tre {@code how} de Pandas :
+ * <ul>
+ *   <li>{@link #INTERNE} : {@code how="inner"}</li>
+ *   <li>{@link #GAUCHE} : {@code how="left"}</li>
+ *   <li>{@link #DROITE} : {@code how="right"}</li>
+ *   <li>{@link #EXTERNE} : {@code how="outer"}</li>
+ * </ul>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.merge.html">Documentation Pandas - merge</a>
+ */
+public enum Jointure {
+    /** Seules les lignes dont la cl&eacute; existe des deux c&ocirc;t&eacute;s, dans l'ordre du {@code DataFrame} de gauche. */
+    INTERNE,
+    /** Toutes les lignes du {@code DataFrame} de gauche, dans leur ordre, compl&eacute;t&eacute;es par celles de droite. */
+    GAUCHE,
+    /** Toutes les lignes du {@code DataFrame} de droite, dans leur ordre, compl&eacute;t&eacute;es par celles de gauche. */
+    DROITE,
+    /** Les lignes de la jointure &agrave; gauche, suivies des lignes de droite sans correspondance. */
+    EXTERNE
+}
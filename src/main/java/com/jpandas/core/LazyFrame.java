@@ -0,0 +1,341 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import com.jpandas.io.OptionsCSV;
+
+/**
+ * Requ&ecirc;te diff&eacute;r&eacute;e sur un {@link DataFrame}, obtenue par {@link DataFrame#lazy()}, ou sur un fichier CSV
+ * ({@link #lireCSV(String, OptionsCSV)}).
+ * <br>
+ * Les op&eacute;rations (filtres, s&eacute;lection de colonnes, tranches de lignes, tris, regroupements) ne s'ex&eacute;cutent pas :
+ * chacune renvoie un nouveau {@code LazyFrame} dont le plan s'allonge d'une op&eacute;ration. Le plan n'est ex&eacute;cut&eacute;
+ * que par {@link #collect()}, apr&egrave;s avoir &eacute;t&eacute; optimis&eacute; :
+ * <ul>
+ *   <li>les filtres successifs sont fusionn&eacute;s et plac&eacute;s le plus t&ocirc;t possible (sous les tris, les s&eacute;lections de
+ *       colonnes, et sous les regroupements quand ils ne portent que sur les cl&eacute;s)</li>
+ *   <li>seules les colonnes utiles &agrave; la suite du plan sont lues</li>
+ *   <li>aucun {@code DataFrame} interm&eacute;diaire n'est construit : les op&eacute;rations travaillent sur les positions des
+ *       lignes retenues, et les colonnes du r&eacute;sultat sont recopi&eacute;es une seule fois</li>
+ * </ul>
+ * Alors que {@code df.filtrer(c).sortValues("Age").iloc(0, 10, 0, 2)} recopie toutes les colonnes apr&egrave;s le filtre puis
+ * apr&egrave;s le tri, le m&ecirc;me encha&icirc;nement en {@code LazyFrame} ne recopie que les 10 lignes du r&eacute;sultat.
+ * <br>
+ * Le plan lit le {@code DataFrame} ou le fichier source au moment de {@link #collect()} ; un {@code LazyFrame} peut &ecirc;tre
+ * collect&eacute; plusieurs fois et servir de d&eacute;part &agrave; plusieurs requ&ecirc;tes.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * DataFrame meilleurs = df.lazy()
+ *         .filtrer(Condition.egal("Pays", "France"))
+ *         .groupBy("Ville").somme("Montant")
+ *         .sortValues(new String[] { "Montant" }, false)
+ *         .iloc(0, 10)
+ *         .collect();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pola.rs/">Polars - LazyFrame</a>
+ */
+public final class LazyFrame {
+    private final PlanRequete plan;
+
+    /**
+     * Constructeur d'une requ&ecirc;te &agrave; partir de son plan.
+     *
+     * @param plan Le plan (non optimis&eacute;) de la requ&ecirc;te
+     */
+    LazyFrame(PlanRequete plan) {
+        this.plan = plan;
+    }
+
+    /**
+     * Commence une requ&ecirc;te diff&eacute;r&eacute;e sur un fichier CSV.
+     *
+     * @param path Chemin du fichier
+     * @return La requ&ecirc;te, sans aucune op&eacute;ration
+     *
+     * @see #lireCSV(String, OptionsCSV)
+     */
+    public static LazyFrame lireCSV(String path) {
+        return lireCSV(path, new OptionsCSV());
+    }
+
+    /**
+     * Commence une requ&ecirc;te diff&eacute;r&eacute;e sur un fichier CSV, lu avec des options.
+     * <br>
+     * Le fichier n'est lu qu'&agrave; l'ex&eacute;cution, et seulement pour les colonnes dont la suite du plan a besoin :
+     * les champs des autres colonnes sont saut&eacute;s par l'analyseur (voir {@link OptionsCSV#avecColonnes(String...)}).
+     *
+     * @param path Chemin du fichier
+     * @param options Les options de lecture (copi&eacute;es : les modifier ensuite ne change pas la requ&ecirc;te)
+     * @return La requ&ecirc;te, sans aucune op&eacute;ration
+     *
+     * @see <a href="https://docs.pola.rs/api/python/stable/reference/api/polars.scan_csv.html">Polars - scan_csv</a>
+     */
+    public static LazyFrame lireCSV(String path, OptionsCSV options) {
+        return new LazyFrame(new PlanRequete.SourceCSV(path, new OptionsCSV(options), null));
+    }
+
+    /**
+     * Ne garde que les lignes qui v&eacute;rifient une condition, comme {@link DataFrame#filtrer(Condition)}.
+     *
+     * @param condition La condition que les lignes doivent v&eacute;rifier
+     * @return La requ&ecirc;te filtr&eacute;e
+     */
+    public LazyFrame filtrer(Condition condition) {
+        return new LazyFrame(new PlanRequete.Filtre(plan, condition, 1));
+    }
+
+    /**
+     * Ne garde que les colonnes donn&eacute;es, dans cet ordre ; la colonne "Index" est toujours gard&eacute;e.
+     *
+     * @param colonnes Les noms des colonnes &agrave; garder
+     * @return La requ&ecirc;te r&eacute;duite &agrave; ces colonnes
+     *
+     * @see <a href="https://pandas.pydata.org/docs/user_guide/indexing.html#basics">Documentation Pandas - df[["A", "B"]]</a>
+     */
+    public LazyFrame selectionner(String... colonnes) {
+        List<String> noms = new ArrayList<>();
+        for (String nom : colonnes) {
+            if (!nom.equals("Index") && !noms.contains(nom)) {
+                noms.add(nom);
+            }
+        }
+        return new LazyFrame(new PlanRequete.Projection(plan, Collections.unmodifiableList(noms)));
+    }
+
+    /**
+     * Ne garde que les lignes de positions {@code [debut, fin[}, comme {@link DataFrame#iloc(int, int, int, int)}.
+     *
+     * @param debut Position de d&eacute;part (incluse)
+     * @param fin Position de fin (exclue)
+     * @return La requ&ecirc;te r&eacute;duite &agrave; ces lignes
+     *
+     * @throws IndexOutOfBoundsException si {@code debut} est n&eacute;gatif ({@link #collect()} la l&egrave;ve si {@code fin}
+     *                                   d&eacute;passe le nombre de lignes)
+     */
+    public LazyFrame iloc(int debut, int fin) {
+        return iloc(debut, fin, 1);
+    }
+
+    /**
+     * Ne garde qu'une ligne sur {@code pas} parmi les positions {@code [debut, fin[},
+     * comme {@link DataFrame#iloc(int, int, int, int, int, int)}.
+     *
+     * @param debut Position de d&eacute;part (incluse)
+     * @param fin Position de fin (exclue)
+     * @param pas Pas entre deux lignes gard&eacute;es (&gt; 0)
+     * @return La requ&ecirc;te r&eacute;duite &agrave; ces lignes
+     *
+     * @throws IndexOutOfBoundsException si {@code debut} est n&eacute;gatif ({@link #collect()} la l&egrave;ve si {@code fin}
+     *                                   d&eacute;passe le nombre de lignes)
+     * @throws IllegalArgumentException si le pas n'est pas strictement positif
+     */
+    public LazyFrame iloc(int debut, int fin, int pas) {
+        if (debut < 0) {
+            throw new IndexOutOfBoundsException("Les indices sont hors limites.");
+        }
+        if (pas <= 0) {
+            throw new IllegalArgumentException("Les pas doivent être strictement positifs.");
+        }
+        return new LazyFrame(new PlanRequete.Tranche(plan, debut, fin, pas));
+    }
+
+    /**
+     * Trie les lignes selon une ou plusieurs colonnes, par ordre croissant.
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s, de la plus importante &agrave; la moins importante
+     * @return La requ&ecirc;te tri&eacute;e
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e
+     *
+     * @see DataFrame#sortValues(String...)
+     */
+    public LazyFrame sortValues(String... colonnes) {
+        return sortValues(colonnes, new boolean[0]);
+    }
+
+    /**
+     * Trie les lignes selon une ou plusieurs colonnes, comme {@link DataFrame#sortValues(String[], boolean...)}.
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s, de la plus importante &agrave; la moins importante
+     * @param croissants Le sens du tri : un par colonne, un seul pour toutes, ou aucun (croissant)
+     * @return La requ&ecirc;te tri&eacute;e
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e ou si le nombre de sens ne correspond pas
+     *                                  au nombre de colonnes
+     */
+    public LazyFrame sortValues(String[] colonnes, boolean... croissants) {
+        if (colonnes.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour trier les lignes.");
+        }
+        return new LazyFrame(new PlanRequete.TriLignes(plan, colonnes.clone(), Tri.sens(colonnes.length, croissants)));
+    }
+
+    /**
+     * Regroupe les lignes selon les valeurs d'une ou plusieurs colonnes, comme {@link DataFrame#groupBy(String...)}.
+     *
+     * @param cles Les noms des colonnes cl&eacute;s
+     * @return Le regroupement diff&eacute;r&eacute;, sur lequel choisir l'agr&eacute;gation
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e
+     */
+    public RegroupementDiffere groupBy(String... cles) {
+        if (cles.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour regrouper les lignes.");
+        }
+        return new RegroupementDiffere(cles.clone());
+    }
+
+    /**
+     * Optimise puis ex&eacute;cute le plan de la requ&ecirc;te.
+     * <br>
+     * Comme pour {@code iloc}, si les lignes du r&eacute;sultat forment une tranche r&eacute;guli&egrave;re de la source, ses colonnes
+     * sont des vues, recopi&eacute;es seulement &agrave; leur premi&egrave;re modification ; sinon elles sont recopi&eacute;es.
+     *
+     * @return Le {@code DataFrame} r&eacute;sultat
+     *
+     * @throws IllegalArgumentException si une colonne utilis&eacute;e par la requ&ecirc;te n'existe pas
+     * @throws IndexOutOfBoundsException si une tranche d&eacute;passe le nombre de lignes
+     *
+     * @see <a href="https://docs.pola.rs/api/python/stable/reference/lazyframe/api/polars.LazyFrame.collect.html">Polars - collect</a>
+     */
+    public DataFrame collect() {
+        return PlanRequete.executer(PlanRequete.optimiser(plan));
+    }
+
+    /**
+     * D&eacute;crit le plan optimis&eacute; de la requ&ecirc;te, une op&eacute;ration par ligne, de la derni&egrave;re jusqu'&agrave; la source.
+     *
+     * @return La description du plan qu'ex&eacute;cuterait {@link #collect()}
+     *
+     * @see <a href="https://docs.pola.rs/api/python/stable/reference/lazyframe/api/polars.LazyFrame.explain.html">Polars - explain</a>
+     */
+    public String expliquer() {
+        return PlanRequete.expliquer(PlanRequete.optimiser(plan));
+    }
+
+    /**
+     * Regroupement diff&eacute;r&eacute;, renvoy&eacute; par {@link LazyFrame#groupBy(String...)} : chaque agr&eacute;gation renvoie
+     * une requ&ecirc;te dont le r&eacute;sultat est celui de la m&eacute;thode de m&ecirc;me nom de {@link Regroupement}.
+     */
+    public final class RegroupementDiffere {
+        private final String[] cles;
+
+        private RegroupementDiffere(String[] cles) {
+            this.cles = cles;
+        }
+
+        /**
+         * Compte les lignes de chaque groupe.
+         *
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#effectifs()
+         */
+        public LazyFrame effectifs() {
+            return agregat(Collections.emptyList(), "effectifs", Regroupement::effectifs);
+        }
+
+        /**
+         * Compte les valeurs non manquantes de chaque groupe.
+         *
+         * @param colonnes Les colonnes &agrave; compter (toutes si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#compter(String...)
+         */
+        public LazyFrame compter(String... colonnes) {
+            return agregat(colonnes(colonnes), "compter", regroupement -> regroupement.compter(colonnes));
+        }
+
+        /**
+         * Calcule la somme de chaque groupe.
+         *
+         * @param colonnes Les colonnes &agrave; sommer (toutes les colonnes num&eacute;riques si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#somme(String...)
+         */
+        public LazyFrame somme(String... colonnes) {
+            return agregat(colonnes(colonnes), "somme", regroupement -> regroupement.somme(colonnes));
+        }
+
+        /**
+         * Calcule la moyenne de chaque groupe.
+         *
+         * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#moyenne(String...)
+         */
+        public LazyFrame moyenne(String... colonnes) {
+            return agregat(colonnes(colonnes), "moyenne", regroupement -> regroupement.moyenne(colonnes));
+        }
+
+        /**
+         * Calcule la plus petite valeur de chaque groupe.
+         *
+         * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#minimum(String...)
+         */
+        public LazyFrame minimum(String... colonnes) {
+            return agregat(colonnes(colonnes), "minimum", regroupement -> regroupement.minimum(colonnes));
+        }
+
+        /**
+         * Calcule la plus grande valeur de chaque groupe.
+         *
+         * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#maximum(String...)
+         */
+        public LazyFrame maximum(String... colonnes) {
+            return agregat(colonnes(colonnes), "maximum", regroupement -> regroupement.maximum(colonnes));
+        }
+
+        /**
+         * Calcule l'&eacute;cart-type de chaque groupe.
+         *
+         * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques si aucune n'est donn&eacute;e)
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#ecartType(String...)
+         */
+        public LazyFrame ecartType(String... colonnes) {
+            return agregat(colonnes(colonnes), "écart-type", regroupement -> regroupement.ecartType(colonnes));
+        }
+
+        /**
+         * Applique une agr&eacute;gation personnalis&eacute;e &agrave; chaque groupe d'une colonne num&eacute;rique.
+         *
+         * @param nomColonne La colonne &agrave; agr&eacute;ger
+         * @param agregation L'agr&eacute;gation &agrave; appliquer
+         * @return La requ&ecirc;te agr&eacute;g&eacute;e
+         *
+         * @see Regroupement#agreger(String, Agregation)
+         */
+        public LazyFrame agreger(String nomColonne, Agregation agregation) {
+            return agregat(Collections.singletonList(nomColonne), "agrégation personnalisée",
+                    regroupement -> regroupement.agreger(nomColonne, agregation));
+        }
+
+        // Colonnes lues par une agrégation : celles données, ou toutes (null) si aucune ne l'est
+        private List<String> colonnes(String[] colonnes) {
+            return colonnes.length == 0 ? null : Collections.unmodifiableList(Arrays.asList(colonnes.clone()));
+        }
+
+        private LazyFrame agregat(List<String> colonnes, String nom, Function<Regroupement, DataFrame> agregation) {
+            return new LazyFrame(new PlanRequete.Agregat(plan, cles, colonnes, nom, agregation));
+        }
+    }
+}
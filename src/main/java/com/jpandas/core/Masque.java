@@ -0,0 +1,234 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+
+/**
+ * Masque de s&eacute;lection des lignes d'un {@link DataFrame} : un bit par ligne, rang&eacute; par paquets de 64
+ * dans un tableau de {@code long}.
+ * <br>
+ * Un masque est produit par une {@link Condition} &eacute;valu&eacute;e colonne par colonne ; les masques se combinent
+ * mot par mot ({@link #et(Masque)}, {@link #ou(Masque)}, {@link #non()}), soit 64 lignes par op&eacute;ration.
+ * Les lignes s&eacute;lectionn&eacute;es sont ensuite extraites en une seule fois par {@link DataFrame#filtrer(Masque)}.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * Masque adultes = df.masque(Condition.superieurOuEgal("Age", 18));
+ * Masque francais = df.masque(Condition.egal("Pays", "France"));
+ * DataFrame resultat = df.filtrer(adultes.et(francais.non()));
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see Condition
+ */
+public final class Masque {
+    private final int taille;
+    private final long[] mots;
+
+    /**
+     * Constructeur d'un masque dont aucune ligne n'est s&eacute;lectionn&eacute;e.
+     *
+     * @param taille Le nombre de lignes couvertes par le masque
+     */
+    public Masque(int taille) {
+        this(taille, new long[nombreMots(taille)]);
+    }
+
+    /**
+     * Constructeur d'un masque &agrave; partir de ses mots (le tableau n'est pas copi&eacute;).
+     * Les bits situ&eacute;s au-del&agrave; de {@code taille} doivent valoir 0.
+     *
+     * @param taille Le nombre de lignes couvertes par le masque
+     * @param mots Les bits du masque, 64 lignes par mot
+     */
+    Masque(int taille, long[] mots) {
+        this.taille = taille;
+        this.mots = mots;
+    }
+
+    /**
+     * Cr&eacute;e un masque s&eacute;lectionnant toutes les lignes.
+     *
+     * @param taille Le nombre de lignes
+     * @return Un masque dont tous les bits valent 1
+     */
+    public static Masque tous(int taille) {
+        long[] mots = new long[nombreMots(taille)];
+        Arrays.fill(mots, -1L);
+        Masque masque = new Masque(taille, mots);
+        masque.nettoyerFin();
+        return masque;
+    }
+
+    /**
+     * Cr&eacute;e un masque s&eacute;lectionnant les lignes situ&eacute;es aux positions donn&eacute;es.
+     *
+     * @param taille Le nombre de lignes
+     * @param positions Les positions &agrave; s&eacute;lectionner
+     * @return Le masque correspondant
+     *
+     * @throws IndexOutOfBoundsException si une position est hors limites
+     */
+    public static Masque depuisPositions(int taille, int[] positions) {
+        Masque masque = new Masque(taille);
+        for (int position : positions) {
+            masque.selectionner(position);
+        }
+        return masque;
+    }
+
+    /**
+     * Renvoie le nombre de lignes couvertes par le masque.
+     *
+     * @return La taille du masque
+     */
+    public int getTaille() {
+        return taille;
+    }
+
+    /**
+     * Indique si une ligne est s&eacute;lectionn&eacute;e.
+     *
+     * @param position La position de la ligne
+     * @return {@code true} si la ligne est s&eacute;lectionn&eacute;e
+     *
+     * @throws IndexOutOfBoundsException si la position est hors limites
+     */
+    public boolean get(int position) {
+        verifierPosition(position);
+        return (mots[position >>> 6] & (1L << position)) != 0;
+    }
+
+    /**
+     * S&eacute;lectionne une ligne.
+     *
+     * @param position La position de la ligne
+     *
+     * @throws IndexOutOfBoundsException si la position est hors limites
+     */
+    public void selectionner(int position) {
+        verifierPosition(position);
+        mots[position >>> 6] |= 1L << position;
+    }
+
+    /**
+     * Renvoie le nombre de lignes s&eacute;lectionn&eacute;es.
+     *
+     * @return Le nombre de bits &agrave; 1
+     */
+    public int cardinalite() {
+        int nb = 0;
+        for (long mot : mots) {
+            nb += Long.bitCount(mot);
+        }
+        return nb;
+    }
+
+    /**
+     * Renvoie un nouveau masque s&eacute;lectionnant les lignes s&eacute;lectionn&eacute;es par les deux masques.
+     *
+     * @param autre L'autre masque, de m&ecirc;me taille
+     * @return L'intersection des deux masques
+     *
+     * @throws IllegalArgumentException si les deux masques n'ont pas la m&ecirc;me taille
+     */
+    public Masque et(Masque autre) {
+        verifierTaille(autre);
+        long[] resultat = new long[mots.length];
+        for (int k = 0; k < mots.length; k++) {
+            resultat[k] = mots[k] & autre.mots[k];
+        }
+        return new Masque(taille, resultat);
+    }
+
+    /**
+     * Renvoie un nouveau masque s&eacute;lectionnant les lignes s&eacute;lectionn&eacute;es par l'un au moins des deux masques.
+     *
+     * @param autre L'autre masque, de m&ecirc;me taille
+     * @return L'union des deux masques
+     *
+     * @throws IllegalArgumentException si les deux masques n'ont pas la m&ecirc;me taille
+     */
+    public Masque ou(Masque autre) {
+        verifierTaille(autre);
+        long[] resultat = new long[mots.length];
+        for (int k = 0; k < mots.length; k++) {
+            resultat[k] = mots[k] | autre.mots[k];
+        }
+        return new Masque(taille, resultat);
+    }
+
+    /**
+     * Renvoie un nouveau masque s&eacute;lectionnant exactement les lignes non s&eacute;lectionn&eacute;es par celui-ci.
+     *
+     * @return Le compl&eacute;ment du masque
+     */
+    public Masque non() {
+        long[] resultat = new long[mots.length];
+        for (int k = 0; k < mots.length; k++) {
+            resultat[k] = ~mots[k];
+        }
+        Masque masque = new Masque(taille, resultat);
+        masque.nettoyerFin();
+        return masque;
+    }
+
+    /**
+     * Renvoie les positions des lignes s&eacute;lectionn&eacute;es, dans l'ordre croissant.
+     * <br>
+     * Seuls les bits &agrave; 1 sont parcourus ({@link Long#numberOfTrailingZeros(long)}) : un masque tr&egrave;s s&eacute;lectif
+     * est converti sans examiner chaque ligne.
+     *
+     * @return Les positions s&eacute;lectionn&eacute;es
+     */
+    public int[] positions() {
+        int[] positions = new int[cardinalite()];
+        int nb = 0;
+        for (int k = 0; k < mots.length; k++) {
+            long mot = mots[k];
+            while (mot != 0) {
+                positions[nb++] = (k << 6) + Long.numberOfTrailingZeros(mot);
+                mot &= mot - 1;
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Renvoie les mots du masque (sans copie), pour les noyaux de calcul du paquetage.
+     *
+     * @return Les bits du masque, 64 lignes par mot
+     */
+    long[] getMots() {
+        return mots;
+    }
+
+    /**
+     * Calcule le nombre de mots n&eacute;cessaires pour un masque de {@code taille} lignes.
+     *
+     * @param taille Le nombre de lignes
+     * @return Le nombre de {@code long}
+     */
+    static int nombreMots(int taille) {
+        return (taille + 63) >>> 6;
+    }
+
+    // Remet à 0 les bits du dernier mot situés au-delà de la taille
+    private void nettoyerFin() {
+        if ((taille & 63) != 0) {
+            mots[mots.length - 1] &= (1L << taille) - 1;
+        }
+    }
+
+    private void verifierTaille(Masque autre) {
+        if (autre.taille != taille) {
+            throw new IllegalArgumentException("Les masques n'ont pas la même taille : " + taille + " et " + autre.taille + ".");
+        }
+    }
+
+    private void verifierPosition(int position) {
+        if (position < 0 || position >= taille) {
+            throw new IndexOutOfBoundsException("Position " + position + " hors limites (taille " + taille + ").");
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.jpandas.core;
+
+/**
+ * Noyaux de calcul sur les tableaux primitifs des colonnes num&eacute;riques : statistiques d'un bloc (somme, minimum,
+ * maximum, moyenne, variance), masques de comparaison &agrave; des bornes et op&eacute;rations &eacute;l&eacute;ment par &eacute;l&eacute;ment.
+ * <br>
+ * Deux impl&eacute;mentations existent : {@link NoyauxVectoriels}, qui utilise l'API Vector de Java
+ * ({@code jdk.incubator.vector}, instructions SIMD du processeur), et {@link NoyauxScalaires}, une simple boucle.
+ * Le choix est fait une seule fois, au chargement de la classe ({@link #INSTANCE}) : la version vectorielle est
+ * utilis&eacute;e si le module {@code jdk.incubator.vector} est pr&eacute;sent (option {@code --add-modules jdk.incubator.vector}
+ * de la JVM) et si la propri&eacute;t&eacute; syst&egrave;me {@code jpandas.vectoriel} ne vaut pas {@code false}.
+ * Les noyaux vectoriels ne sont rapides qu'une fois compil&eacute;s par le JIT : leurs premiers appels sont plus lents
+ * que ceux des noyaux scalaires, ce qui les r&eacute;serve aux traitements longs.
+ * <br>
+ * Les deux impl&eacute;mentations donnent les m&ecirc;mes masques et les m&ecirc;mes op&eacute;rations ; pour les statistiques,
+ * l'ordre des additions diff&egrave;re et les derniers bits de la somme ou de la variance peuvent varier de l'une &agrave; l'autre.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+abstract class NoyauxNumeriques {
+
+    /**
+     * Les noyaux utilis&eacute;s par les s&eacute;ries, choisis au d&eacute;marrage.
+     */
+    static final NoyauxNumeriques INSTANCE = choisir();
+
+    /**
+     * Op&eacute;rations arithm&eacute;tiques &eacute;l&eacute;ment par &eacute;l&eacute;ment.
+     */
+    enum Operation {
+        ADDITION, SOUSTRACTION, MULTIPLICATION, DIVISION
+    }
+
+    /**
+     * Renvoie le nom de l'impl&eacute;mentation (pour l'affichage).
+     *
+     * @return Le nom des noyaux
+     */
+    abstract String getNom();
+
+    /**
+     * Calcule les statistiques des valeurs {@code [debut, fin[} d'un tableau, sans valeur manquante.
+     * <br>
+     * Le calcul se fait en deux passages : somme compens&eacute;e, minimum et maximum, puis somme des carr&eacute;s des
+     * &eacute;carts &agrave; la moyenne (corrig&eacute;e de la somme des &eacute;carts), ce qui reste pr&eacute;cis pour des valeurs
+     * grandes et proches.
+     *
+     * @param valeurs Le tableau des valeurs
+     * @param debut La premi&egrave;re position prise en compte
+     * @param fin La position qui suit la derni&egrave;re valeur prise en compte
+     * @return Les statistiques des valeurs
+     */
+    abstract Statistiques statistiques(double[] valeurs, int debut, int fin);
+
+    /**
+     * &Eacute;crit dans {@code mots} le masque des {@code taille} premi&egrave;res valeurs comprises entre deux bornes (incluses).
+     *
+     * @param valeurs Le tableau des valeurs
+     * @param taille Le nombre de valeurs &agrave; comparer
+     * @param minimum La borne inf&eacute;rieure
+     * @param maximum La borne sup&eacute;rieure
+     * @param mots Les mots du masque, d'au moins {@code Masque.nombreMots(taille)} &eacute;l&eacute;ments
+     */
+    abstract void masqueEntre(double[] valeurs, int taille, double minimum, double maximum, long[] mots);
+
+    /**
+     * &Eacute;crit dans {@code mots} le masque des {@code taille} premi&egrave;res valeurs comprises entre deux bornes (incluses).
+     *
+     * @param valeurs Le tableau des valeurs
+     * @param taille Le nombre de valeurs &agrave; comparer
+     * @param minimum La borne inf&eacute;rieure
+     * @param maximum La borne sup&eacute;rieure
+     * @param mots Les mots du masque, d'au moins {@code Masque.nombreMots(taille)} &eacute;l&eacute;ments
+     */
+    abstract void masqueEntre(long[] valeurs, int taille, long minimum, long maximum, long[] mots);
+
+    /**
+     * Calcule {@code resultat[i] = gauche[i] op droite[i]} pour les {@code taille} premi&egrave;res positions.
+     *
+     * @param operation L'op&eacute;ration &agrave; appliquer
+     * @param gauche Les op&eacute;randes de gauche
+     * @param droite Les op&eacute;randes de droite
+     * @param resultat Le tableau qui re&ccedil;oit les r&eacute;sultats
+     * @param taille Le nombre de positions &agrave; calculer
+     */
+    abstract void appliquer(Operation operation, double[] gauche, double[] droite, double[] resultat, int taille);
+
+    /**
+     * Calcule {@code resultat[i] = gauche[i] op droite} pour les {@code taille} premi&egrave;res positions.
+     *
+     * @param operation L'op&eacute;ration &agrave; appliquer
+     * @param gauche Les op&eacute;randes de gauche
+     * @param droite L'op&eacute;rande de droite, commune &agrave; toutes les positions
+     * @param resultat Le tableau qui re&ccedil;oit les r&eacute;sultats
+     * @param taille Le nombre de positions &agrave; calculer
+     */
+    abstract void appliquer(Operation operation, double[] gauche, double droite, double[] resultat, int taille);
+
+    /**
+     * Applique une op&eacute;ration &agrave; deux valeurs (utilis&eacute; pour les derni&egrave;res positions d'un tableau).
+     *
+     * @param operation L'op&eacute;ration &agrave; appliquer
+     * @param gauche L'op&eacute;rande de gauche
+     * @param droite L'op&eacute;rande de droite
+     * @return Le r&eacute;sultat de l'op&eacute;ration
+     */
+    static double calculer(Operation operation, double gauche, double droite) {
+        switch (operation) {
+            case ADDITION:
+                return gauche + droite;
+            case SOUSTRACTION:
+                return gauche - droite;
+            case MULTIPLICATION:
+                return gauche * droite;
+            default:
+                return gauche / droite;
+        }
+    }
+
+    /**
+     * Termine le calcul des statistiques d'un bloc &agrave; partir des r&eacute;sultats des deux passages.
+     *
+     * @param nombre Le nombre de valeurs
+     * @param somme La somme des valeurs
+     * @param compensation L'erreur d'arrondi accumul&eacute;e par la somme
+     * @param moyenne La moyenne utilis&eacute;e pour le second passage
+     * @param sommeDesCarres La somme des carr&eacute;s des &eacute;carts &agrave; la moyenne
+     * @param sommeDesEcarts La somme des &eacute;carts &agrave; la moyenne (nulle sans erreur d'arrondi)
+     * @param minimum La plus petite valeur
+     * @param maximum La plus grande valeur
+     * @return Les statistiques du bloc
+     */
+    static Statistiques terminer(int nombre, double somme, double compensation, double moyenne, double sommeDesCarres,
+            double sommeDesEcarts, double minimum, double maximum) {
+        return Statistiques.depuisBloc(nombre, somme, compensation, moyenne,
+                sommeDesCarres - sommeDesEcarts * sommeDesEcarts / nombre, minimum, maximum);
+    }
+
+    /**
+     * Calcule la moyenne d'un bloc &agrave; partir de sa somme compens&eacute;e.
+     *
+     * @param nombre Le nombre de valeurs (&gt; 0)
+     * @param somme La somme des valeurs
+     * @param compensation L'erreur d'arrondi accumul&eacute;e par la somme
+     * @return La moyenne
+     */
+    static double moyenne(int nombre, double somme, double compensation) {
+        // Avec une valeur infinie ou NaN, la compensation n'a plus de sens
+        return (Double.isFinite(somme) ? somme + compensation : somme) / nombre;
+    }
+
+    // Choisit les noyaux vectoriels si le module est chargé, les noyaux scalaires sinon
+    private static NoyauxNumeriques choisir() {
+        if (Boolean.parseBoolean(System.getProperty("jpandas.vectoriel", "true"))
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                // Chargée par réflexion : sans le module, aucune classe de l'API Vector n'est jamais résolue
+                return (NoyauxNumeriques) Class.forName("com.jpandas.core.NoyauxVectoriels").getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                return new NoyauxScalaires();
+            }
+        }
+        return new NoyauxScalaires();
+    }
+}
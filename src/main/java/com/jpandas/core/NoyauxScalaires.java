@@ -0,0 +1,124 @@
+package com.jpandas.core;
+
+/**
+ * Noyaux num&eacute;riques &eacute;crits en boucles simples, utilis&eacute;s quand l'API Vector n'est pas disponible.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see NoyauxNumeriques
+ */
+final class NoyauxScalaires extends NoyauxNumeriques {
+
+    @Override
+    String getNom() {
+        return "scalaires";
+    }
+
+    @Override
+    Statistiques statistiques(double[] valeurs, int debut, int fin) {
+        int nombre = fin - debut;
+        if (nombre == 0) {
+            return new Statistiques();
+        }
+        double somme = 0;
+        double compensation = 0;
+        double minimum = Double.POSITIVE_INFINITY;
+        double maximum = Double.NEGATIVE_INFINITY;
+        for (int i = debut; i < fin; i++) {
+            double valeur = valeurs[i];
+            double total = somme + valeur;
+            compensation += Math.abs(somme) >= Math.abs(valeur) ? (somme - total) + valeur : (valeur - total) + somme;
+            somme = total;
+            minimum = Math.min(minimum, valeur);
+            maximum = Math.max(maximum, valeur);
+        }
+        double moyenne = moyenne(nombre, somme, compensation);
+        double sommeDesCarres = 0;
+        double sommeDesEcarts = 0;
+        for (int i = debut; i < fin; i++) {
+            double ecart = valeurs[i] - moyenne;
+            sommeDesCarres += ecart * ecart;
+            sommeDesEcarts += ecart;
+        }
+        return terminer(nombre, somme, compensation, moyenne, sommeDesCarres, sommeDesEcarts, minimum, maximum);
+    }
+
+    @Override
+    void masqueEntre(double[] valeurs, int taille, double minimum, double maximum, long[] mots) {
+        for (int debut = 0; debut < taille; debut += 64) {
+            int fin = Math.min(debut + 64, taille);
+            long mot = 0;
+            for (int i = debut; i < fin; i++) {
+                double valeur = valeurs[i];
+                mot |= (valeur >= minimum & valeur <= maximum ? 1L : 0L) << i;
+            }
+            mots[debut >>> 6] = mot;
+        }
+    }
+
+    @Override
+    void masqueEntre(long[] valeurs, int taille, long minimum, long maximum, long[] mots) {
+        for (int debut = 0; debut < taille; debut += 64) {
+            int fin = Math.min(debut + 64, taille);
+            long mot = 0;
+            for (int i = debut; i < fin; i++) {
+                long valeur = valeurs[i];
+                mot |= (valeur >= minimum & valeur <= maximum ? 1L : 0L) << i;
+            }
+            mots[debut >>> 6] = mot;
+        }
+    }
+
+    @Override
+    void appliquer(Operation operation, double[] gauche, double[] droite, double[] resultat, int taille) {
+        // Une boucle par opération : le choix n'est pas refait à chaque position
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] + droite[i];
+                }
+                break;
+            case SOUSTRACTION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] - droite[i];
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] * droite[i];
+                }
+                break;
+            default:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] / droite[i];
+                }
+                break;
+        }
+    }
+
+    @Override
+    void appliquer(Operation operation, double[] gauche, double droite, double[] resultat, int taille) {
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] + droite;
+                }
+                break;
+            case SOUSTRACTION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] - droite;
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] * droite;
+                }
+                break;
+            default:
+                for (int i = 0; i < taille; i++) {
+                    resultat[i] = gauche[i] / droite;
+                }
+                break;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package com.jpandas.core;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Noyaux num&eacute;riques vectoriels (SIMD), &eacute;crits avec l'API Vector de Java ({@code jdk.incubator.vector}).
+ * <br>
+ * Chaque instruction traite autant de valeurs que le permettent les registres du processeur
+ * ({@code SPECIES_PREFERRED} : 4 {@code double} avec AVX2, 8 avec AVX-512). Les derni&egrave;res positions, qui ne
+ * remplissent pas un vecteur complet, sont trait&eacute;es une par une.
+ * <br>
+ * Cette classe n'est charg&eacute;e que par {@link NoyauxNumeriques#INSTANCE}, et seulement si le module est pr&eacute;sent.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://openjdk.org/jeps/414">JEP 414 - Vector API</a>
+ */
+final class NoyauxVectoriels extends NoyauxNumeriques {
+    private static final VectorSpecies<Double> ESPECE = DoubleVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> ESPECE_LONG = LongVector.SPECIES_PREFERRED;
+
+    @Override
+    String getNom() {
+        return "vectoriels (" + ESPECE.length() + " doubles par instruction)";
+    }
+
+    @Override
+    Statistiques statistiques(double[] valeurs, int debut, int fin) {
+        int nombre = fin - debut;
+        if (nombre == 0) {
+            return new Statistiques();
+        }
+        int finVecteurs = debut + ESPECE.loopBound(nombre);
+
+        // Premier passage : une somme compensée de Kahan-Neumaier par voie, minimum et maximum
+        DoubleVector sommes = DoubleVector.zero(ESPECE);
+        DoubleVector compensations = DoubleVector.zero(ESPECE);
+        DoubleVector minimums = DoubleVector.broadcast(ESPECE, Double.POSITIVE_INFINITY);
+        DoubleVector maximums = DoubleVector.broadcast(ESPECE, Double.NEGATIVE_INFINITY);
+        for (int i = debut; i < finVecteurs; i += ESPECE.length()) {
+            DoubleVector bloc = DoubleVector.fromArray(ESPECE, valeurs, i);
+            DoubleVector totaux = sommes.add(bloc);
+            VectorMask<Double> sommeDominante = sommes.abs().compare(VectorOperators.GE, bloc.abs());
+            compensations = compensations.add(bloc.sub(totaux).add(sommes).blend(sommes.sub(totaux).add(bloc), sommeDominante));
+            sommes = totaux;
+            minimums = minimums.min(bloc);
+            maximums = maximums.max(bloc);
+        }
+
+        double somme = 0;
+        double compensation = 0;
+        for (int voie = 0; voie < ESPECE.length(); voie++) {
+            double valeur = sommes.lane(voie);
+            double total = somme + valeur;
+            compensation += Math.abs(somme) >= Math.abs(valeur) ? (somme - total) + valeur : (valeur - total) + somme;
+            somme = total;
+            compensation += compensations.lane(voie);
+        }
+        double minimum = minimums.reduceLanes(VectorOperators.MIN);
+        double maximum = maximums.reduceLanes(VectorOperators.MAX);
+        for (int i = finVecteurs; i < fin; i++) {
+            double valeur = valeurs[i];
+            double total = somme + valeur;
+            compensation += Math.abs(somme) >= Math.abs(valeur) ? (somme - total) + valeur : (valeur - total) + somme;
+            somme = total;
+            minimum = Math.min(minimum, valeur);
+            maximum = Math.max(maximum, valeur);
+        }
+
+        // Second passage : écarts à la moyenne
+        double moyenne = moyenne(nombre, somme, compensation);
+        DoubleVector moyennes = DoubleVector.broadcast(ESPECE, moyenne);
+        DoubleVector carres = DoubleVector.zero(ESPECE);
+        DoubleVector ecarts = DoubleVector.zero(ESPECE);
+        for (int i = debut; i < finVecteurs; i += ESPECE.length()) {
+            DoubleVector ecart = DoubleVector.fromArray(ESPECE, valeurs, i).sub(moyennes);
+            carres = ecart.fma(ecart, carres);
+            ecarts = ecarts.add(ecart);
+        }
+        double sommeDesCarres = carres.reduceLanes(VectorOperators.ADD);
+        double sommeDesEcarts = ecarts.reduceLanes(VectorOperators.ADD);
+        for (int i = finVecteurs; i < fin; i++) {
+            double ecart = valeurs[i] - moyenne;
+            sommeDesCarres += ecart * ecart;
+            sommeDesEcarts += ecart;
+        }
+        return terminer(nombre, somme, compensation, moyenne, sommeDesCarres, sommeDesEcarts, minimum, maximum);
+    }
+
+    @Override
+    void masqueEntre(double[] valeurs, int taille, double minimum, double maximum, long[] mots) {
+        // Un mot de 64 lignes est assemblé à partir des masques de plusieurs vecteurs (la largeur divise 64)
+        int finMots = taille & ~63;
+        for (int debut = 0; debut < finMots; debut += 64) {
+            long mot = 0;
+            for (int j = 0; j < 64; j += ESPECE.length()) {
+                DoubleVector bloc = DoubleVector.fromArray(ESPECE, valeurs, debut + j);
+                mot |= bloc.compare(VectorOperators.GE, minimum).and(bloc.compare(VectorOperators.LE, maximum)).toLong() << j;
+            }
+            mots[debut >>> 6] = mot;
+        }
+        if (finMots < taille) {
+            long mot = 0;
+            for (int i = finMots; i < taille; i++) {
+                double valeur = valeurs[i];
+                mot |= (valeur >= minimum & valeur <= maximum ? 1L : 0L) << i;
+            }
+            mots[finMots >>> 6] = mot;
+        }
+    }
+
+    @Override
+    void masqueEntre(long[] valeurs, int taille, long minimum, long maximum, long[] mots) {
+        int finMots = taille & ~63;
+        for (int debut = 0; debut < finMots; debut += 64) {
+            long mot = 0;
+            for (int j = 0; j < 64; j += ESPECE_LONG.length()) {
+                LongVector bloc = LongVector.fromArray(ESPECE_LONG, valeurs, debut + j);
+                mot |= bloc.compare(VectorOperators.GE, minimum).and(bloc.compare(VectorOperators.LE, maximum)).toLong() << j;
+            }
+            mots[debut >>> 6] = mot;
+        }
+        if (finMots < taille) {
+            long mot = 0;
+            for (int i = finMots; i < taille; i++) {
+                long valeur = valeurs[i];
+                mot |= (valeur >= minimum & valeur <= maximum ? 1L : 0L) << i;
+            }
+            mots[finMots >>> 6] = mot;
+        }
+    }
+
+    @Override
+    void appliquer(Operation operation, double[] gauche, double[] droite, double[] resultat, int taille) {
+        // Une boucle par opération : l'opérateur doit être une constante pour être compilé en instruction SIMD
+        int finVecteurs = ESPECE.loopBound(taille);
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).add(DoubleVector.fromArray(ESPECE, droite, i)).intoArray(resultat, i);
+                }
+                break;
+            case SOUSTRACTION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).sub(DoubleVector.fromArray(ESPECE, droite, i)).intoArray(resultat, i);
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).mul(DoubleVector.fromArray(ESPECE, droite, i)).intoArray(resultat, i);
+                }
+                break;
+            default:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).div(DoubleVector.fromArray(ESPECE, droite, i)).intoArray(resultat, i);
+                }
+                break;
+        }
+        for (int i = finVecteurs; i < taille; i++) {
+            resultat[i] = calculer(operation, gauche[i], droite[i]);
+        }
+    }
+
+    @Override
+    void appliquer(Operation operation, double[] gauche, double droite, double[] resultat, int taille) {
+        int finVecteurs = ESPECE.loopBound(taille);
+        switch (operation) {
+            case ADDITION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).add(droite).intoArray(resultat, i);
+                }
+                break;
+            case SOUSTRACTION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).sub(droite).intoArray(resultat, i);
+                }
+                break;
+            case MULTIPLICATION:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).mul(droite).intoArray(resultat, i);
+                }
+                break;
+            default:
+                for (int i = 0; i < finVecteurs; i += ESPECE.length()) {
+                    DoubleVector.fromArray(ESPECE, gauche, i).div(droite).intoArray(resultat, i);
+                }
+                break;
+        }
+        for (int i = finVecteurs; i < taille; i++) {
+            resultat[i] = calculer(operation, gauche[i], droite);
+        }
+    }
+}
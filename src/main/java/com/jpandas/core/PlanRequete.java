@@ -0,0 +1,669 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.jpandas.io.OptionsCSV;
+
+/**
+ * Plan d'une requ&ecirc;te diff&eacute;r&eacute;e ({@link LazyFrame}) : arbre d'op&eacute;rations dont chaque n&oelig;ud lit le
+ * r&eacute;sultat de son enfant, et dont les feuilles sont des {@code DataFrame} ou des fichiers CSV.
+ * <br>
+ * Avant l'ex&eacute;cution, {@link #optimiser(PlanRequete)} r&eacute;&eacute;crit l'arbre :
+ * <ul>
+ *   <li>les filtres cons&eacute;cutifs sont fusionn&eacute;s en un seul, &eacute;valu&eacute; en un seul masque</li>
+ *   <li>les filtres descendent sous les tris, sous les s&eacute;lections de colonnes et, s'ils ne lisent que les cl&eacute;s,
+ *       sous les regroupements : les lignes rejet&eacute;es ne sont ni tri&eacute;es ni regroup&eacute;es</li>
+ *   <li>un filtre arriv&eacute; sur un fichier CSV est test&eacute; pendant la lecture ({@link OptionsCSV#avecFiltre(Condition)}) :
+ *       les lignes rejet&eacute;es ne sont jamais enti&egrave;rement converties</li>
+ *   <li>chaque source ne garde que les colonnes lues par la suite du plan (une s&eacute;lection de colonnes ne co&ucirc;te
+ *       rien &agrave; l'ex&eacute;cution : elle ne change que la liste des colonnes visibles) ; un fichier CSV n'est lu
+ *       que pour ces colonnes</li>
+ * </ul>
+ * L'ex&eacute;cution ne construit pas de {@code DataFrame} interm&eacute;diaire : filtres, tranches et tris ne font que
+ * r&eacute;duire ou r&eacute;ordonner un tableau de positions dans la source (ou une tranche r&eacute;guli&egrave;re d&eacute;but, nombre, pas),
+ * en ne recopiant que les colonnes qu'ils lisent. Les colonnes du r&eacute;sultat sont recopi&eacute;es une seule fois, &agrave; la fin ;
+ * seul un regroupement produit un r&eacute;sultat interm&eacute;diaire, qui devient la source de la suite du plan.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+abstract class PlanRequete {
+    protected final PlanRequete enfant;
+
+    PlanRequete(PlanRequete enfant) {
+        this.enfant = enfant;
+    }
+
+    /**
+     * Recr&eacute;e ce n&oelig;ud au-dessus d'un autre enfant.
+     *
+     * @param nouvelEnfant Le nouvel enfant
+     * @return Le n&oelig;ud recr&eacute;&eacute;
+     */
+    abstract PlanRequete avecEnfant(PlanRequete nouvelEnfant);
+
+    /**
+     * Renvoie les colonnes que l'enfant doit fournir &agrave; ce n&oelig;ud.
+     *
+     * @param requises Les colonnes lues au-dessus de ce n&oelig;ud ({@code null} pour toutes)
+     * @return Les colonnes lues par ce n&oelig;ud et au-dessus ({@code null} pour toutes)
+     */
+    abstract Set<String> colonnesLues(Set<String> requises);
+
+    /**
+     * Applique l'op&eacute;ration &agrave; l'&eacute;tat de l'ex&eacute;cution, laiss&eacute; par l'enfant.
+     *
+     * @param execution L'&eacute;tat de l'ex&eacute;cution
+     */
+    abstract void appliquer(Execution execution);
+
+    /**
+     * D&eacute;crit l'op&eacute;ration sur une ligne, pour {@link #expliquer(PlanRequete)}.
+     *
+     * @return La description
+     */
+    abstract String decrire();
+
+    /**
+     * Optimise un plan : fusion et descente des filtres, puis restriction des colonnes lues aux sources.
+     *
+     * @param plan Le plan &agrave; optimiser
+     * @return Le plan optimis&eacute;, qui donne le m&ecirc;me r&eacute;sultat
+     */
+    static PlanRequete optimiser(PlanRequete plan) {
+        return restreindreColonnes(pousserFiltres(plan), null);
+    }
+
+    /**
+     * Ex&eacute;cute un plan (d&eacute;j&agrave; optimis&eacute; ou non).
+     *
+     * @param plan Le plan &agrave; ex&eacute;cuter
+     * @return Le {@code DataFrame} r&eacute;sultat
+     */
+    static DataFrame executer(PlanRequete plan) {
+        Execution execution = new Execution();
+        appliquerDepuisLaSource(plan, execution);
+        return execution.rendre();
+    }
+
+    /**
+     * D&eacute;crit un plan, un n&oelig;ud par ligne, de la derni&egrave;re op&eacute;ration jusqu'&agrave; la source.
+     *
+     * @param plan Le plan &agrave; d&eacute;crire
+     * @return La description du plan
+     */
+    static String expliquer(PlanRequete plan) {
+        StringBuilder description = new StringBuilder();
+        String retrait = "";
+        for (PlanRequete noeud = plan; noeud != null; noeud = noeud.enfant) {
+            if (description.length() > 0) {
+                description.append('\n');
+            }
+            description.append(retrait).append(noeud.decrire());
+            retrait += "  ";
+        }
+        return description.toString();
+    }
+
+    private static void appliquerDepuisLaSource(PlanRequete plan, Execution execution) {
+        if (plan.enfant != null) {
+            appliquerDepuisLaSource(plan.enfant, execution);
+        }
+        plan.appliquer(execution);
+    }
+
+    // Descend les filtres le plus bas possible, en fusionnant les filtres qui se suivent
+    private static PlanRequete pousserFiltres(PlanRequete plan) {
+        if (plan.enfant == null) {
+            return plan;
+        }
+        PlanRequete enfant = pousserFiltres(plan.enfant);
+        if (plan instanceof Filtre) {
+            Filtre filtre = (Filtre) plan;
+            return descendre(filtre.condition, filtre.nbConditions, enfant);
+        }
+        return plan.avecEnfant(enfant);
+    }
+
+    // Place un filtre au-dessus de "enfant", ou plus bas si le résultat est le même
+    private static PlanRequete descendre(Condition condition, int nbConditions, PlanRequete enfant) {
+        if (enfant instanceof Filtre) {
+            Filtre filtre = (Filtre) enfant;
+            return descendre(filtre.condition.et(condition), filtre.nbConditions + nbConditions, filtre.enfant);
+        }
+        if (enfant instanceof TriLignes) {
+            return enfant.avecEnfant(descendre(condition, nbConditions, enfant.enfant));
+        }
+        if (enfant instanceof Projection) {
+            // Sous la sélection, la condition ne doit toujours voir que les colonnes sélectionnées
+            Projection projection = (Projection) enfant;
+            Condition restreinte = estInclus(condition.colonnes(), projection.colonnes, true)
+                    ? condition : restreindre(condition, projection.colonnes);
+            return enfant.avecEnfant(descendre(restreinte, nbConditions, enfant.enfant));
+        }
+        if (enfant instanceof SourceCSV) {
+            // Le filtre est testé pendant la lecture du fichier, sur les mêmes colonnes que juste au-dessus de la source
+            return ((SourceCSV) enfant).avecFiltre(condition, nbConditions);
+        }
+        if (enfant instanceof Agregat && estInclus(condition.colonnes(), Arrays.asList(((Agregat) enfant).cles), false)) {
+            // Une condition sur les clés garde ou rejette des groupes entiers (l'index du résultat, lui, est recréé)
+            return enfant.avecEnfant(descendre(condition, nbConditions, enfant.enfant));
+        }
+        return new Filtre(enfant, condition, nbConditions);
+    }
+
+    // Transmet à chaque nœud les colonnes lues au-dessus de lui, jusqu'aux sources
+    private static PlanRequete restreindreColonnes(PlanRequete plan, Set<String> requises) {
+        if (plan instanceof Source) {
+            return new Source(((Source) plan).dataframe, requises);
+        }
+        if (plan instanceof SourceCSV) {
+            // Les colonnes lues par un filtre testé à la lecture doivent aussi être lues
+            SourceCSV source = (SourceCSV) plan;
+            Set<String> lues = source.filtre == null ? requises : reunir(requises, source.filtre.colonnes());
+            return new SourceCSV(source.chemin, source.options, lues, source.filtre, source.nbConditions);
+        }
+        return plan.avecEnfant(restreindreColonnes(plan.enfant, plan.colonnesLues(requises)));
+    }
+
+    // Indique si des colonnes connues font toutes partie des colonnes visibles (avec ou sans "Index")
+    private static boolean estInclus(Set<String> colonnes, List<String> visibles, boolean avecIndex) {
+        if (colonnes == null) {
+            return false;
+        }
+        for (String nom : colonnes) {
+            if (!(avecIndex && nom.equals("Index")) && !visibles.contains(nom)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Condition évaluée sur les seules colonnes données (et "Index"), comme si elle était au-dessus d'une sélection
+    private static Condition restreindre(Condition condition, List<String> colonnes) {
+        return dataframe -> {
+            Map<String, Series<?>> visibles = new LinkedHashMap<>();
+            visibles.put("Index", dataframe.getColonneByName("Index"));
+            for (String nom : colonnes) {
+                if (dataframe.getColonneByName(nom) != null) {
+                    visibles.put(nom, dataframe.getColonneByName(nom));
+                }
+            }
+            return condition.evaluer(new DataFrame(visibles));
+        };
+    }
+
+    private static Set<String> reunir(Set<String> colonnes, Collection<String> autres) {
+        if (colonnes == null || autres == null) {
+            return null;
+        }
+        Set<String> reunion = new LinkedHashSet<>(colonnes);
+        reunion.addAll(autres);
+        return reunion;
+    }
+
+    /**
+     * Source du plan : un {@code DataFrame}, dont seules les colonnes requises sont visibles.
+     */
+    static final class Source extends PlanRequete {
+        final DataFrame dataframe;
+        final Set<String> colonnes;
+
+        Source(DataFrame dataframe, Set<String> colonnes) {
+            super(null);
+            this.dataframe = dataframe;
+            this.colonnes = colonnes;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return this;
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return requises;
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            List<String> visibles = new ArrayList<>();
+            for (String nom : dataframe.colonne.keySet()) {
+                if (!nom.equals("Index") && (colonnes == null || colonnes.contains(nom))) {
+                    visibles.add(nom);
+                }
+            }
+            execution.demarrer(dataframe, visibles);
+        }
+
+        @Override
+        String decrire() {
+            return "Source : DataFrame de " + dataframe.getColonneByName("Index").size() + " lignes, "
+                    + (colonnes == null ? "toutes les colonnes" : "colonnes " + colonnes);
+        }
+    }
+
+    /**
+     * Source du plan : un fichier CSV, lu &agrave; l'ex&eacute;cution en ne convertissant que les colonnes requises
+     * ({@link OptionsCSV#avecColonnes(String...)}) et en ne gardant que les lignes qui v&eacute;rifient le filtre
+     * ({@link OptionsCSV#avecFiltre(Condition)}, conjonction de {@code nbConditions} filtres descendus jusqu'ici).
+     */
+    static final class SourceCSV extends PlanRequete {
+        final String chemin;
+        final OptionsCSV options;
+        final Set<String> colonnes;
+        final Condition filtre;
+        final int nbConditions;
+
+        SourceCSV(String chemin, OptionsCSV options, Set<String> colonnes) {
+            this(chemin, options, colonnes, null, 0);
+        }
+
+        SourceCSV(String chemin, OptionsCSV options, Set<String> colonnes, Condition filtre, int nbConditions) {
+            super(null);
+            this.chemin = chemin;
+            this.options = options;
+            this.colonnes = colonnes;
+            this.filtre = filtre;
+            this.nbConditions = nbConditions;
+        }
+
+        SourceCSV avecFiltre(Condition condition, int nbAjoutees) {
+            return new SourceCSV(chemin, options, colonnes, filtre == null ? condition : filtre.et(condition), nbConditions + nbAjoutees);
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return this;
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return requises;
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            OptionsCSV lecture = new OptionsCSV(options);
+            if (colonnes != null) {
+                // Une restriction déjà présente dans les options est conservée
+                List<String> lues = new ArrayList<>();
+                for (String nom : colonnes) {
+                    if (options.getColonnes() == null || options.getColonnes().contains(nom)) {
+                        lues.add(nom);
+                    }
+                }
+                lecture.avecColonnes(lues.toArray(new String[0]));
+            }
+            if (filtre != null) {
+                lecture.avecFiltre(filtre);
+            }
+            DataFrame dataframe = new DataFrame(chemin, lecture);
+            execution.demarrer(dataframe, new ArrayList<>(dataframe.colonne.keySet()).subList(1, dataframe.getNbColonne()));
+        }
+
+        @Override
+        String decrire() {
+            String description = "Source : fichier CSV " + chemin + ", " + (colonnes == null ? "toutes les colonnes" : "colonnes " + colonnes);
+            if (filtre == null) {
+                return description;
+            }
+            Set<String> lues = filtre.colonnes();
+            return description + ", filtre à la lecture : " + nbConditions + (nbConditions > 1 ? " conditions fusionnées" : " condition")
+                    + ", " + (lues == null ? "colonnes lues inconnues" : "colonnes lues " + lues);
+        }
+    }
+
+    /**
+     * Filtre : ne garde que les lignes qui v&eacute;rifient une condition (conjonction de {@code nbConditions} filtres fusionn&eacute;s).
+     */
+    static final class Filtre extends PlanRequete {
+        final Condition condition;
+        final int nbConditions;
+
+        Filtre(PlanRequete enfant, Condition condition, int nbConditions) {
+            super(enfant);
+            this.condition = condition;
+            this.nbConditions = nbConditions;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return new Filtre(nouvelEnfant, condition, nbConditions);
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return reunir(requises, condition.colonnes());
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            Set<String> lues = condition.colonnes();
+            if (lues != null || execution.estComplete()) {
+                // Seules les colonnes lues sont recopiées, pour les lignes encore retenues
+                execution.garder(condition.evaluer(execution.cadre(lues)).positions());
+            } else {
+                // Colonnes inconnues : la condition est évaluée sur toute la source, plutôt que de recopier chaque colonne
+                Masque masque = condition.evaluer(execution.cadreSource());
+                int[] lignes = execution.positions();
+                int nbGardees = 0;
+                for (int ligne : lignes) {
+                    if (masque.get(ligne)) {
+                        lignes[nbGardees++] = ligne;
+                    }
+                }
+                execution.lignes = Arrays.copyOf(lignes, nbGardees);
+            }
+        }
+
+        @Override
+        String decrire() {
+            Set<String> lues = condition.colonnes();
+            return "Filtre : " + nbConditions + (nbConditions > 1 ? " conditions fusionnées" : " condition")
+                    + ", " + (lues == null ? "colonnes lues inconnues" : "colonnes lues " + lues);
+        }
+    }
+
+    /**
+     * S&eacute;lection de colonnes (la colonne "Index" est toujours gard&eacute;e).
+     */
+    static final class Projection extends PlanRequete {
+        final List<String> colonnes;
+
+        Projection(PlanRequete enfant, List<String> colonnes) {
+            super(enfant);
+            this.colonnes = colonnes;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return new Projection(nouvelEnfant, colonnes);
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return new LinkedHashSet<>(colonnes);
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            for (String nom : colonnes) {
+                execution.colonne(nom);
+            }
+            execution.colonnes = colonnes;
+        }
+
+        @Override
+        String decrire() {
+            return "Sélection des colonnes " + colonnes;
+        }
+    }
+
+    /**
+     * Tranche r&eacute;guli&egrave;re de lignes, par positions, comme {@link DataFrame#iloc(int, int, int, int, int, int)}.
+     */
+    static final class Tranche extends PlanRequete {
+        final int debut;
+        final int fin;
+        final int pas;
+
+        Tranche(PlanRequete enfant, int debut, int fin, int pas) {
+            super(enfant);
+            this.debut = debut;
+            this.fin = fin;
+            this.pas = pas;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return new Tranche(nouvelEnfant, debut, fin, pas);
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return requises;
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            if (fin > execution.nbLignes()) {
+                throw new IndexOutOfBoundsException("Les indices sont hors limites.");
+            }
+            int nombre = fin > debut ? (fin - debut + pas - 1) / pas : 0;
+            if (execution.lignes != null) {
+                int[] lignes = new int[nombre];
+                for (int i = 0; i < nombre; i++) {
+                    lignes[i] = execution.lignes[debut + i * pas];
+                }
+                execution.lignes = lignes;
+            } else {
+                // Tranche d'une tranche : les décalages et les pas se composent, aucune position n'est écrite
+                execution.debut += debut * execution.pas;
+                execution.pas *= pas;
+                execution.nombre = nombre;
+            }
+        }
+
+        @Override
+        String decrire() {
+            return "Tranche des lignes [" + debut + ", " + fin + "[" + (pas > 1 ? " par pas de " + pas : "");
+        }
+    }
+
+    /**
+     * Tri stable des lignes selon une ou plusieurs colonnes, comme {@link DataFrame#sortValues(String[], boolean...)}.
+     */
+    static final class TriLignes extends PlanRequete {
+        final String[] cles;
+        final boolean[] sens;
+
+        TriLignes(PlanRequete enfant, String[] cles, boolean[] sens) {
+            super(enfant);
+            this.cles = cles;
+            this.sens = sens;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return new TriLignes(nouvelEnfant, cles, sens);
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return reunir(requises, Arrays.asList(cles));
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            // Seules les clés sont recopiées ; la permutation est appliquée aux positions retenues
+            Series<?>[] series = new Series<?>[cles.length];
+            for (int j = 0; j < cles.length; j++) {
+                series[j] = execution.recopier(execution.colonne(cles[j]));
+            }
+            execution.garder(Tri.permutation(series, sens));
+        }
+
+        @Override
+        String decrire() {
+            StringBuilder description = new StringBuilder("Tri selon [");
+            for (int j = 0; j < cles.length; j++) {
+                description.append(j > 0 ? ", " : "").append(cles[j]).append(sens[j] ? " croissant" : " décroissant");
+            }
+            return description.append(']').toString();
+        }
+    }
+
+    /**
+     * Regroupement suivi d'une agr&eacute;gation ({@link Regroupement}) : le r&eacute;sultat devient la source de la suite du plan.
+     */
+    static final class Agregat extends PlanRequete {
+        final String[] cles;
+        final List<String> colonnes;
+        final String nom;
+        final Function<Regroupement, DataFrame> agregation;
+
+        /**
+         * @param cles Les colonnes cl&eacute;s
+         * @param colonnes Les colonnes agr&eacute;g&eacute;es ({@code null} pour toutes)
+         * @param nom Le nom de l'agr&eacute;gation, pour la description du plan
+         * @param agregation L'agr&eacute;gation &agrave; appliquer au regroupement
+         */
+        Agregat(PlanRequete enfant, String[] cles, List<String> colonnes, String nom, Function<Regroupement, DataFrame> agregation) {
+            super(enfant);
+            this.cles = cles;
+            this.colonnes = colonnes;
+            this.nom = nom;
+            this.agregation = agregation;
+        }
+
+        @Override
+        PlanRequete avecEnfant(PlanRequete nouvelEnfant) {
+            return new Agregat(nouvelEnfant, cles, colonnes, nom, agregation);
+        }
+
+        @Override
+        Set<String> colonnesLues(Set<String> requises) {
+            return colonnes == null ? null : reunir(new LinkedHashSet<>(Arrays.asList(cles)), colonnes);
+        }
+
+        @Override
+        void appliquer(Execution execution) {
+            Map<String, Series<?>> lues = new LinkedHashMap<>();
+            for (String nomColonne : execution.colonnes) {
+                if (colonnes == null || colonnes.contains(nomColonne) || Arrays.asList(cles).contains(nomColonne)) {
+                    lues.put(nomColonne, execution.recopier(execution.colonne(nomColonne)));
+                }
+            }
+            lues.put("Index", execution.recopier(execution.colonne("Index")));
+            DataFrame resultat = agregation.apply(new DataFrame(lues).groupBy(cles));
+            execution.demarrer(resultat, new ArrayList<>(resultat.colonne.keySet()).subList(1, resultat.getNbColonne()));
+        }
+
+        @Override
+        String decrire() {
+            return "Regroupement selon " + Arrays.toString(cles) + " : " + nom
+                    + (colonnes == null ? "" : colonnes.isEmpty() ? " des lignes" : " de " + colonnes);
+        }
+    }
+
+    /**
+     * &Eacute;tat de l'ex&eacute;cution d'un plan : une source, ses colonnes visibles, et les lignes retenues, soit un tableau
+     * de positions ({@code lignes}), soit une tranche r&eacute;guli&egrave;re ({@code debut}, {@code nombre}, {@code pas}).
+     */
+    static final class Execution {
+        DataFrame source;
+        List<String> colonnes;
+        int[] lignes;
+        int debut;
+        int nombre;
+        int pas;
+
+        // Repart d'une nouvelle source, dont toutes les lignes sont retenues
+        void demarrer(DataFrame nouvelleSource, List<String> visibles) {
+            source = nouvelleSource;
+            colonnes = visibles;
+            lignes = null;
+            debut = 0;
+            pas = 1;
+            nombre = nouvelleSource.getColonneByName("Index").size();
+        }
+
+        int nbLignes() {
+            return lignes != null ? lignes.length : nombre;
+        }
+
+        // Toutes les lignes de la source sont retenues, dans l'ordre
+        boolean estComplete() {
+            return lignes == null && debut == 0 && pas == 1 && nombre == source.getColonneByName("Index").size();
+        }
+
+        // Colonne visible de la source, ou exception si elle n'existe pas (ou n'a pas été sélectionnée)
+        Series<?> colonne(String nom) {
+            Series<?> serie = source.getColonneByName(nom);
+            if (serie == null || (!nom.equals("Index") && !colonnes.contains(nom))) {
+                throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + nom);
+            }
+            return serie;
+        }
+
+        // Lignes retenues d'une colonne, recopiées (en gardant le type primitif) sauf si toutes sont retenues
+        Series<?> recopier(Series<?> serie) {
+            if (estComplete()) {
+                return serie;
+            }
+            return serie.selectionner(positions());
+        }
+
+        // Lignes retenues des colonnes données (toutes les colonnes visibles si null), pour évaluer une condition
+        DataFrame cadre(Set<String> noms) {
+            Map<String, Series<?>> lues = new LinkedHashMap<>();
+            lues.put("Index", recopier(source.getColonneByName("Index")));
+            for (String nom : colonnes) {
+                if (noms == null || noms.contains(nom)) {
+                    lues.put(nom, recopier(source.getColonneByName(nom)));
+                }
+            }
+            return new DataFrame(lues);
+        }
+
+        // Colonnes visibles de la source, sans recopie
+        DataFrame cadreSource() {
+            Map<String, Series<?>> visibles = new LinkedHashMap<>();
+            visibles.put("Index", source.getColonneByName("Index"));
+            for (String nom : colonnes) {
+                visibles.put(nom, source.getColonneByName(nom));
+            }
+            return new DataFrame(visibles);
+        }
+
+        // Ne garde que les lignes retenues aux positions données (relatives aux lignes retenues), dans cet ordre
+        void garder(int[] positions) {
+            if (estComplete()) {
+                lignes = positions;
+                return;
+            }
+            int[] nouvelles = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                nouvelles[i] = lignes != null ? lignes[positions[i]] : debut + positions[i] * pas;
+            }
+            lignes = nouvelles;
+        }
+
+        int[] positions() {
+            if (lignes != null) {
+                return lignes;
+            }
+            int[] positions = new int[nombre];
+            for (int i = 0; i < nombre; i++) {
+                positions[i] = debut + i * pas;
+            }
+            return positions;
+        }
+
+        // Résultat : une vue par colonne pour une tranche (comme iloc), une copie pour des positions quelconques
+        DataFrame rendre() {
+            Map<String, Series<?>> resultat = new LinkedHashMap<>();
+            resultat.put("Index", extraire(source.getColonneByName("Index")));
+            for (String nom : colonnes) {
+                resultat.put(nom, extraire(source.getColonneByName(nom)));
+            }
+            return new DataFrame(resultat);
+        }
+
+        private <T> Series<T> extraire(Series<T> serie) {
+            if (lignes != null) {
+                return serie.selectionner(lignes);
+            }
+            return new SeriesVue<>(serie, debut, nombre, pas);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lignes d'un {@link DataFrame} regroup&eacute;es selon les valeurs d'une ou plusieurs colonnes (les cl&eacute;s),
+ * renvoy&eacute;es par {@link DataFrame#groupBy(String...)}.
+ * <br>
+ * Le regroupement est calcul&eacute; une seule fois, &agrave; la construction : chaque ligne re&ccedil;oit le num&eacute;ro de son groupe
+ * ({@link CodageCles}, tables de hachage &agrave; adressage ouvert sur les valeurs primitives ou les codes des colonnes
+ * cat&eacute;gorielles). Les agr&eacute;gations parcourent ensuite chaque colonne une fois, sans cr&eacute;er d'objet par ligne.
+ * <br>
+ * Chaque agr&eacute;gation renvoie un {@code DataFrame} avec une ligne par groupe : les colonnes cl&eacute;s (de leur type
+ * d'origine), puis les colonnes agr&eacute;g&eacute;es. Les groupes sont dans l'ordre de leur premi&egrave;re apparition
+ * (comme {@code sort=False} en Pandas) et les cl&eacute;s restent des colonnes (comme {@code as_index=False}).
+ * Les lignes dont une cl&eacute; est manquante sont ignor&eacute;es, comme en Pandas.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * Regroupement parPays = df.groupBy("Pays", "Annee");
+ * DataFrame totaux = parPays.somme("Montant");
+ * DataFrame moyennes = parPays.moyenne();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.groupby.html">Documentation Pandas - groupby</a>
+ */
+public final class Regroupement {
+    private final DataFrame dataframe;
+    private final String[] cles;
+    private final int[] groupes;
+    private final int nbGroupes;
+    private final int[] premieresLignes;
+
+    /**
+     * Mesures calcul&eacute;es par une m&ecirc;me passe sur une colonne num&eacute;rique.
+     */
+    private enum Mesure {
+        SOMME, MOYENNE, MINIMUM, MAXIMUM, ECART_TYPE
+    }
+
+    /**
+     * Regroupe les lignes d'un {@code DataFrame}.
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; regrouper
+     * @param cles Les noms des colonnes cl&eacute;s
+     *
+     * @throws IllegalArgumentException si aucune cl&eacute; n'est donn&eacute;e ou si une colonne n'existe pas
+     */
+    Regroupement(DataFrame dataframe, String... cles) {
+        if (cles.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour regrouper les lignes.");
+        }
+        this.dataframe = dataframe;
+        this.cles = cles.clone();
+        Series<?>[] colonnesCles = new Series<?>[cles.length];
+        for (int j = 0; j < cles.length; j++) {
+            colonnesCles[j] = colonne(cles[j]);
+        }
+        CodageCles codage = new CodageCles(cles.length);
+        this.groupes = codage.coder(colonnesCles, true);
+        this.nbGroupes = codage.getNbCles();
+
+        // Les groupes sont numérotés dans l'ordre d'apparition : la première ligne d'un groupe est celle qui l'a créé
+        this.premieresLignes = new int[nbGroupes];
+        int prochain = 0;
+        for (int i = 0; i < groupes.length && prochain < nbGroupes; i++) {
+            if (groupes[i] == prochain) {
+                premieresLignes[prochain++] = i;
+            }
+        }
+    }
+
+    /**
+     * Renvoie le nombre de groupes.
+     *
+     * @return Le nombre de combinaisons distinctes des cl&eacute;s (hors cl&eacute;s manquantes)
+     */
+    public int getNbGroupes() {
+        return nbGroupes;
+    }
+
+    /**
+     * Compte les lignes de chaque groupe.
+     *
+     * @return Un {@code DataFrame} avec les cl&eacute;s et une colonne "Effectif"
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.size.html">Documentation Pandas - size</a>
+     */
+    public DataFrame effectifs() {
+        long[] effectifs = new long[nbGroupes];
+        for (int groupe : groupes) {
+            if (groupe >= 0) {
+                effectifs[groupe]++;
+            }
+        }
+        Map<String, Series<?>> agregats = new LinkedHashMap<>();
+        agregats.put("Effectif", new SeriesLong(effectifs));
+        return creerResultat(agregats);
+    }
+
+    /**
+     * Compte les valeurs non manquantes de chaque groupe, pour les colonnes donn&eacute;es.
+     *
+     * @param colonnes Les colonnes &agrave; compter (toutes les colonnes sauf les cl&eacute;s et "Index" si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et une colonne {@link SeriesLong} par colonne compt&eacute;e
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.count.html">Documentation Pandas - count</a>
+     */
+    public DataFrame compter(String... colonnes) {
+        Map<String, Series<?>> agregats = new LinkedHashMap<>();
+        for (String nom : colonnesAgregees(colonnes, false)) {
+            Series<?> serie = colonne(nom);
+            long[] nombres = new long[nbGroupes];
+            for (int i = 0; i < groupes.length; i++) {
+                if (groupes[i] >= 0 && !serie.estNul(i)) {
+                    nombres[groupes[i]]++;
+                }
+            }
+            agregats.put(nom, new SeriesLong(nombres));
+        }
+        return creerResultat(agregats);
+    }
+
+    /**
+     * Calcule la somme de chaque groupe, pour les colonnes num&eacute;riques donn&eacute;es.
+     * <br>
+     * La somme d'une colonne enti&egrave;re ({@link SeriesInt}, {@link SeriesLong}) est une {@link SeriesLong} ;
+     * celle des autres colonnes une {@link SeriesDouble}. Un groupe sans valeur a une somme nulle.
+     * <br>
+     * La somme d'une colonne enti&egrave;re est exacte : elle est calcul&eacute;e sur des {@code long}, sans conversion en
+     * {@code double}, et un d&eacute;passement de capacit&eacute; est signal&eacute; au lieu de donner un r&eacute;sultat faux.
+     *
+     * @param colonnes Les colonnes &agrave; sommer (toutes les colonnes num&eacute;riques sauf les cl&eacute;s si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et les sommes
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas ou n'est pas num&eacute;rique
+     * @throws ArithmeticException si la somme d'une colonne enti&egrave;re d&eacute;passe la capacit&eacute; d'un {@code long}
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.sum.html">Documentation Pandas - sum</a>
+     */
+    public DataFrame somme(String... colonnes) {
+        return agreger(Mesure.SOMME, colonnes);
+    }
+
+    /**
+     * Calcule la moyenne de chaque groupe, pour les colonnes num&eacute;riques donn&eacute;es.
+     *
+     * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques sauf les cl&eacute;s si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et les moyennes (manquantes pour un groupe sans valeur)
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas ou n'est pas num&eacute;rique
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.mean.html">Documentation Pandas - mean</a>
+     */
+    public DataFrame moyenne(String... colonnes) {
+        return agreger(Mesure.MOYENNE, colonnes);
+    }
+
+    /**
+     * Calcule la plus petite valeur de chaque groupe, pour les colonnes num&eacute;riques donn&eacute;es.
+     *
+     * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques sauf les cl&eacute;s si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et les minimums (enti&egrave;res pour une colonne enti&egrave;re)
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas ou n'est pas num&eacute;rique
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.min.html">Documentation Pandas - min</a>
+     */
+    public DataFrame minimum(String... colonnes) {
+        return agreger(Mesure.MINIMUM, colonnes);
+    }
+
+    /**
+     * Calcule la plus grande valeur de chaque groupe, pour les colonnes num&eacute;riques donn&eacute;es.
+     *
+     * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques sauf les cl&eacute;s si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et les maximums (enti&egrave;res pour une colonne enti&egrave;re)
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas ou n'est pas num&eacute;rique
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.max.html">Documentation Pandas - max</a>
+     */
+    public DataFrame maximum(String... colonnes) {
+        return agreger(Mesure.MAXIMUM, colonnes);
+    }
+
+    /**
+     * Calcule l'&eacute;cart-type (corrig&eacute;, divis&eacute; par n - 1) de chaque groupe, pour les colonnes num&eacute;riques donn&eacute;es.
+     *
+     * @param colonnes Les colonnes concern&eacute;es (toutes les colonnes num&eacute;riques sauf les cl&eacute;s si aucune n'est donn&eacute;e)
+     * @return Un {@code DataFrame} avec les cl&eacute;s et les &eacute;carts-types (manquants pour un groupe de moins de deux valeurs)
+     *
+     * @throws IllegalArgumentException si une colonne n'existe pas ou n'est pas num&eacute;rique
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.core.groupby.DataFrameGroupBy.std.html">Documentation Pandas - std</a>
+     */
+    public DataFrame ecartType(String... colonnes) {
+        return agreger(Mesure.ECART_TYPE, colonnes);
+    }
+
+    /**
+     * Applique une agr&eacute;gation personnalis&eacute;e &agrave; chaque groupe d'une colonne num&eacute;rique.
+     * <br>
+     * Les valeurs non manquantes sont d'abord rang&eacute;es groupe par groupe dans un seul tableau (tri par d&eacute;nombrement
+     * des num&eacute;ros de groupe, en O(n)), puis l'agr&eacute;gation est appel&eacute;e une fois par groupe.
+     *
+     * @param nomColonne La colonne &agrave; agr&eacute;ger
+     * @param agregation L'agr&eacute;gation &agrave; appliquer
+     * @return Un {@code DataFrame} avec les cl&eacute;s et une colonne {@link SeriesDouble} nomm&eacute;e comme la colonne agr&eacute;g&eacute;e
+     *
+     * @throws IllegalArgumentException si la colonne n'existe pas ou n'est pas num&eacute;rique
+     *
+     * @see Agregation
+     */
+    public DataFrame agreger(String nomColonne, Agregation agregation) {
+        Series<?> serie = colonneNumerique(nomColonne);
+
+        // debuts[g] : position de la première valeur du groupe g dans le tableau rangé par groupe
+        int[] debuts = new int[nbGroupes + 1];
+        for (int i = 0; i < groupes.length; i++) {
+            if (groupes[i] >= 0 && !serie.estNul(i)) {
+                debuts[groupes[i] + 1]++;
+            }
+        }
+        for (int g = 0; g < nbGroupes; g++) {
+            debuts[g + 1] += debuts[g];
+        }
+        double[] valeurs = new double[debuts[nbGroupes]];
+        int[] prochaines = Arrays.copyOf(debuts, nbGroupes);
+        for (int i = 0; i < groupes.length; i++) {
+            if (groupes[i] >= 0 && !serie.estNul(i)) {
+                valeurs[prochaines[groupes[i]]++] = serie.getDouble(i);
+            }
+        }
+
+        double[] resultats = new double[nbGroupes];
+        for (int g = 0; g < nbGroupes; g++) {
+            resultats[g] = agregation.agreger(valeurs, debuts[g], debuts[g + 1]);
+        }
+        Map<String, Series<?>> agregats = new LinkedHashMap<>();
+        agregats.put(nomColonne, new SeriesDouble(resultats));
+        return creerResultat(agregats);
+    }
+
+    // Calcule une mesure pour chaque colonne, par une seule passe par colonne
+    private DataFrame agreger(Mesure mesure, String[] colonnes) {
+        Map<String, Series<?>> agregats = new LinkedHashMap<>();
+        for (String nom : colonnesAgregees(colonnes, true)) {
+            Series<?> serie = colonneNumerique(nom);
+            boolean entiere = serie instanceof SeriesInt || serie instanceof SeriesLong;
+            if (entiere && mesure != Mesure.MOYENNE && mesure != Mesure.ECART_TYPE) {
+                agregats.put(nom, agregerEntiers(mesure, serie));
+                continue;
+            }
+            Statistiques[] statistiques = new Statistiques[nbGroupes];
+            for (int g = 0; g < nbGroupes; g++) {
+                statistiques[g] = new Statistiques();
+            }
+            for (int i = 0; i < groupes.length; i++) {
+                int groupe = groupes[i];
+                if (groupe < 0) {
+                    continue;
+                }
+                if (serie.estNul(i)) {
+                    statistiques[groupe].ajouterNul();
+                } else {
+                    statistiques[groupe].ajouter(serie.getDouble(i));
+                }
+            }
+            agregats.put(nom, creerSerie(mesure, statistiques));
+        }
+        return creerResultat(agregats);
+    }
+
+    // Calcule la somme, le minimum ou le maximum d'une colonne entière en arithmétique entière exacte,
+    // sans passer par des double (inexacts au-delà de 2^53)
+    private SeriesLong agregerEntiers(Mesure mesure, Series<?> serie) {
+        SeriesInt entiers = serie instanceof SeriesInt ? (SeriesInt) serie : null;
+        SeriesLong longs = entiers == null ? (SeriesLong) serie : null;
+        long[] resultats = new long[nbGroupes];
+        boolean[] renseignes = new boolean[nbGroupes];
+        for (int i = 0; i < groupes.length; i++) {
+            int groupe = groupes[i];
+            if (groupe < 0 || serie.estNul(i)) {
+                continue;
+            }
+            long valeur = entiers != null ? entiers.getInt(i) : longs.getLong(i);
+            if (!renseignes[groupe]) {
+                resultats[groupe] = valeur;
+                renseignes[groupe] = true;
+            } else if (mesure == Mesure.SOMME) {
+                resultats[groupe] = Math.addExact(resultats[groupe], valeur);
+            } else if (mesure == Mesure.MINIMUM) {
+                resultats[groupe] = Math.min(resultats[groupe], valeur);
+            } else {
+                resultats[groupe] = Math.max(resultats[groupe], valeur);
+            }
+        }
+        SeriesLong resultat = new SeriesLong(nbGroupes);
+        for (int g = 0; g < nbGroupes; g++) {
+            // Un groupe sans valeur a une somme nulle, mais pas de minimum ni de maximum
+            if (renseignes[g] || mesure == Mesure.SOMME) {
+                resultat.ajouter(resultats[g]);
+            } else {
+                resultat.ajouterNul();
+            }
+        }
+        return resultat;
+    }
+
+    // Construit la colonne résultat d'une mesure ; une valeur indéfinie (groupe vide) est une valeur manquante
+    private static Series<?> creerSerie(Mesure mesure, Statistiques[] statistiques) {
+        SeriesDouble resultat = new SeriesDouble(statistiques.length);
+        for (Statistiques stats : statistiques) {
+            double valeur;
+            switch (mesure) {
+                case SOMME:
+                    valeur = stats.getSomme();
+                    break;
+                case MOYENNE:
+                    valeur = stats.getMoyenne();
+                    break;
+                case MINIMUM:
+                    valeur = stats.getMinimum();
+                    break;
+                case MAXIMUM:
+                    valeur = stats.getMaximum();
+                    break;
+                default:
+                    valeur = stats.getEcartType();
+                    break;
+            }
+            if (Double.isNaN(valeur) && (mesure != Mesure.SOMME || stats.getNombre() == 0)) {
+                resultat.ajouterNul();
+            } else {
+                resultat.ajouter(valeur);
+            }
+        }
+        return resultat;
+    }
+
+    // Assemble le résultat : les colonnes clés (valeurs de la première ligne de chaque groupe), puis les agrégats
+    private DataFrame creerResultat(Map<String, Series<?>> agregats) {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        for (String cle : cles) {
+            colonnes.put(cle, colonne(cle).selectionner(premieresLignes));
+        }
+        colonnes.putAll(agregats);
+        return new DataFrame(colonnes);
+    }
+
+    // Renvoie les colonnes demandées, ou par défaut toutes les colonnes hors clés et "Index" (numériques si demandé)
+    private List<String> colonnesAgregees(String[] colonnes, boolean numeriques) {
+        if (colonnes.length > 0) {
+            return Arrays.asList(colonnes);
+        }
+        List<String> noms = new ArrayList<>();
+        List<String> listeCles = Arrays.asList(cles);
+        for (Map.Entry<String, Series<?>> entree : dataframe.colonne.entrySet()) {
+            String nom = entree.getKey();
+            if (!nom.equals("Index") && !listeCles.contains(nom) && (!numeriques || entree.getValue().estNumerique())) {
+                noms.add(nom);
+            }
+        }
+        return noms;
+    }
+
+    private Series<?> colonne(String nom) {
+        Series<?> serie = dataframe.getColonneByName(nom);
+        if (serie == null) {
+            throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + nom);
+        }
+        return serie;
+    }
+
+    private Series<?> colonneNumerique(String nom) {
+        Series<?> serie = colonne(nom);
+        if (!serie.estNumerique()) {
+            throw new IllegalArgumentException("La colonne '" + nom + "' n'est pas numérique.");
+        }
+        return serie;
+    }
+}
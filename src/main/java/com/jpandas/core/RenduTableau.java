@@ -0,0 +1,189 @@
+package com.jpandas.core;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.util.Map;
+
+/**
+ * Rendu textuel des lignes d'un DataFrame sous forme de tableau, utilis&eacute; par les m&eacute;thodes d'affichage de
+ * {@link DataFrame}.
+ * <br>
+ * Le tableau est &eacute;crit ligne par ligne dans un {@link Appendable} (une {@link PrintStream}, un {@link StringBuilder},
+ * un fichier...) : chaque ligne est compos&eacute;e dans un m&ecirc;me {@link StringBuilder}, sans cha&icirc;ne de format
+ * ni concat&eacute;nation. Chaque valeur affich&eacute;e n'est convertie en texte qu'une fois, lors du calcul de la largeur
+ * des colonnes.
+ * <br>
+ * Comme en Pandas, l'affichage peut &ecirc;tre tronqu&eacute; : au-del&agrave; de {@code maxLignes} lignes, seules les
+ * premi&egrave;res et les derni&egrave;res sont &eacute;crites, s&eacute;par&eacute;es par une ligne de {@code ...} et suivies des
+ * dimensions du tableau. Les valeurs plus longues que {@code largeurMax} caract&egrave;res sont coup&eacute;es. Le temps et
+ * la m&eacute;moire de l'affichage ne d&eacute;pendent alors plus du nombre de lignes du DataFrame.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pandas.pydata.org/docs/user_guide/options.html#frequently-used-options">Pandas - display.max_rows, display.max_colwidth</a>
+ */
+final class RenduTableau {
+
+    // Marque des lignes omises et des valeurs coupées
+    private static final String POINTS = "...";
+    // Texte affiché pour une valeur manquante
+    private static final String MANQUANTE = "NaN";
+    // Espaces ajoutés après la valeur la plus longue de chaque colonne
+    private static final int ESPACEMENT = 2;
+
+    private final String[] noms;
+    private final Series<?>[] series;
+
+    /**
+     * Constructeur du rendu des colonnes d'un DataFrame.
+     *
+     * @param colonnes Les colonnes &agrave; afficher, dans l'ordre d'affichage
+     */
+    RenduTableau(Map<String, Series<?>> colonnes) {
+        noms = colonnes.keySet().toArray(new String[0]);
+        series = new Series<?>[noms.length];
+        for (int j = 0; j < noms.length; j++) {
+            series[j] = colonnes.get(noms[j]);
+        }
+    }
+
+    /**
+     * Renvoie le nombre de lignes des colonnes (0 s'il n'y a aucune colonne).
+     *
+     * @return Le nombre de lignes
+     */
+    int nbLignes() {
+        return series.length == 0 ? 0 : series[0].size();
+    }
+
+    /**
+     * &Eacute;crit le tableau des lignes {@code debut} (incluse) &agrave; {@code fin} (exclue).
+     *
+     * @param sortie     La destination du tableau
+     * @param debut      La position de la premi&egrave;re ligne
+     * @param fin        La position qui suit la derni&egrave;re ligne
+     * @param maxLignes  Le nombre maximal de lignes &eacute;crites avant troncature (0 : aucune limite)
+     * @param largeurMax Le nombre maximal de caract&egrave;res d'une valeur (0 : aucune limite)
+     * @throws IOException si la destination ne peut pas &ecirc;tre &eacute;crite
+     */
+    void ecrire(Appendable sortie, int debut, int fin, int maxLignes, int largeurMax) throws IOException {
+        int nbAffichees = fin - debut;
+        boolean tronque = maxLignes > 0 && nbAffichees > maxLignes;
+        int nbTete = tronque ? (maxLignes + 1) / 2 : nbAffichees;
+        int nbQueue = tronque ? maxLignes / 2 : 0;
+
+        // Un seul parcours des lignes affichées : conversion en texte et largeur de chaque colonne
+        int[] largeurs = new int[noms.length];
+        for (int j = 0; j < noms.length; j++) {
+            largeurs[j] = tronque ? Math.max(noms[j].length(), POINTS.length()) : noms[j].length();
+        }
+        String[][] cellules = new String[nbTete + nbQueue][];
+        for (int k = 0; k < cellules.length; k++) {
+            int position = k < nbTete ? debut + k : fin - nbQueue + (k - nbTete);
+            String[] valeurs = new String[noms.length];
+            for (int j = 0; j < noms.length; j++) {
+                valeurs[j] = formater(series[j].get(position), largeurMax);
+                largeurs[j] = Math.max(largeurs[j], valeurs[j].length());
+            }
+            cellules[k] = valeurs;
+        }
+
+        // Noms des colonnes, puis soulignement de chaque nom
+        StringBuilder ligne = new StringBuilder();
+        for (int j = 0; j < noms.length; j++) {
+            completer(ligne.append(noms[j]), noms[j].length(), largeurs[j]);
+        }
+        terminer(sortie, ligne);
+        for (int j = 0; j < noms.length; j++) {
+            for (int i = 0; i < noms[j].length(); i++) {
+                ligne.append('-');
+            }
+            completer(ligne, noms[j].length(), largeurs[j]);
+        }
+        terminer(sortie, ligne);
+
+        for (int k = 0; k < cellules.length; k++) {
+            if (tronque && k == nbTete) {
+                for (int j = 0; j < noms.length; j++) {
+                    completer(ligne.append(POINTS), POINTS.length(), largeurs[j]);
+                }
+                terminer(sortie, ligne);
+            }
+            for (int j = 0; j < noms.length; j++) {
+                completer(ligne.append(cellules[k][j]), cellules[k][j].length(), largeurs[j]);
+            }
+            terminer(sortie, ligne);
+        }
+
+        if (tronque) {
+            // Comme en Pandas, la colonne d'index n'est pas comptée parmi les colonnes
+            int nbColonnes = noms.length;
+            for (String nom : noms) {
+                if (nom.equals("Index")) {
+                    nbColonnes--;
+                }
+            }
+            ligne.append('\n').append('[').append(nbAffichees).append(" lignes x ").append(nbColonnes).append(" colonnes]");
+            terminer(sortie, ligne);
+        }
+    }
+
+    /**
+     * &Eacute;crit le tableau dans un flux d'impression, qui ne signale pas ses erreurs d'&eacute;criture.
+     *
+     * @param sortie     Le flux de destination
+     * @param debut      La position de la premi&egrave;re ligne
+     * @param fin        La position qui suit la derni&egrave;re ligne
+     * @param maxLignes  Le nombre maximal de lignes &eacute;crites avant troncature (0 : aucune limite)
+     * @param largeurMax Le nombre maximal de caract&egrave;res d'une valeur (0 : aucune limite)
+     */
+    void ecrire(PrintStream sortie, int debut, int fin, int maxLignes, int largeurMax) {
+        try {
+            ecrire((Appendable) sortie, debut, fin, maxLignes, largeurMax);
+        } catch (IOException e) {
+            // Une PrintStream n'en lève jamais
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Renvoie le tableau sous forme de cha&icirc;ne.
+     *
+     * @param debut      La position de la premi&egrave;re ligne
+     * @param fin        La position qui suit la derni&egrave;re ligne
+     * @param maxLignes  Le nombre maximal de lignes &eacute;crites avant troncature (0 : aucune limite)
+     * @param largeurMax Le nombre maximal de caract&egrave;res d'une valeur (0 : aucune limite)
+     * @return Le tableau, chaque ligne termin&eacute;e par un saut de ligne
+     */
+    String enChaine(int debut, int fin, int maxLignes, int largeurMax) {
+        StringBuilder chaine = new StringBuilder();
+        try {
+            ecrire(chaine, debut, fin, maxLignes, largeurMax);
+        } catch (IOException e) {
+            // Un StringBuilder n'en lève jamais
+            throw new UncheckedIOException(e);
+        }
+        return chaine.toString();
+    }
+
+    private static String formater(Object valeur, int largeurMax) {
+        String texte = valeur == null ? MANQUANTE : valeur.toString();
+        if (largeurMax > 0 && texte.length() > largeurMax) {
+            texte = texte.substring(0, Math.max(largeurMax - POINTS.length(), 0)) + POINTS;
+        }
+        return texte;
+    }
+
+    // Complète la cellule qui vient d'être ajoutée à la ligne par des espaces jusqu'à la largeur de sa colonne
+    private static void completer(StringBuilder ligne, int longueur, int largeur) {
+        for (int i = longueur; i < largeur + ESPACEMENT; i++) {
+            ligne.append(' ');
+        }
+    }
+
+    private static void terminer(Appendable sortie, StringBuilder ligne) throws IOException {
+        sortie.append(ligne.append('\n'));
+        ligne.setLength(0);
+    }
+}
@@ -1,13 +1,23 @@
 package com.jpandas.core;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.RandomAccess;
 import java.util.stream.Collectors;
 
 /**
  * Cette classe repr&eacute;sente une colonne du DataFrame, stocke les donn&eacute;es d'une colonne sous forme de liste.
  * <br>
+ * Les statistiques de la s&eacute;rie ({@link #decrire()}, et donc {@link #estNumerique()}, {@link #moyenne()}, ...)
+ * sont m&eacute;moris&eacute;es apr&egrave;s leur premier calcul. Chaque modification faite par l'API de la s&eacute;rie
+ * (par {@link #getData()} ou les m&eacute;thodes d'ajout des sous-classes) incr&eacute;mente un num&eacute;ro de version,
+ * qui invalide ces valeurs. Une modification faite directement sur la liste pass&eacute;e au constructeur
+ * n'est pas d&eacute;tect&eacute;e.
+ * <br>
  * <b>Param&eacute;trage :</b>
  * <ul>
  *   <li><code>&lt;T&gt;</code> : Le type des &eacute;l&eacute;ments stock&eacute;s dans la s&eacute;rie (ex: String, Integer, etc.).</li>
@@ -20,6 +30,10 @@ import java.util.stream.Collectors;
  */
 public class Series<T> {
     private List<T> data;
+    private final List<T> vue;
+    private long version;
+    private Statistiques statistiques;
+    private long versionStatistiques;
 
     /**
      * Constructeur pour initialiser une Series avec un param&egrave;tre "data".
@@ -28,15 +42,50 @@ public class Series<T> {
      */
     public Series(List<T> data){
         this.data = data;
+        this.vue = data == null ? null : new ListeSuivie();
+    }
+
+    /**
+     * Constructeur r&eacute;serv&eacute; aux sous-classes qui g&egrave;rent elles-m&ecirc;mes le stockage
+     * de leurs valeurs (par exemple dans un tableau primitif).
+     * 
+     * @see SeriesPrimitive
+     */
+    protected Series() {
+        this.data = null;
+        this.vue = null;
     }
 
     /**
      * Cette m&eacute;thode renvoie les valeurs de la s&eacute;rie.
+     * <br>
+     * La liste renvoy&eacute;e est une vue sur les donn&eacute;es : les modifications faites par cette vue sont
+     * r&eacute;percut&eacute;es dans la s&eacute;rie et invalident ses statistiques m&eacute;moris&eacute;es.
      *
      * @return {@code List<T>} : les valeurs de la s&eacute;rie.
      */
     public List<T> getData(){
-        return this.data;
+        return this.vue;
+    }
+
+    /**
+     * Signale une modification des valeurs de la s&eacute;rie : les statistiques m&eacute;moris&eacute;es seront recalcul&eacute;es.
+     * <br>
+     * Les sous-classes doivent appeler cette m&eacute;thode dans chacune de leurs m&eacute;thodes d'&eacute;criture.
+     */
+    protected void signalerModification() {
+        version++;
+    }
+
+    /**
+     * Renvoie le num&eacute;ro de version de la s&eacute;rie, qui augmente &agrave; chaque modification.
+     * <br>
+     * Les index du {@link DataFrame} s'en servent pour savoir s'ils doivent &ecirc;tre reconstruits.
+     *
+     * @return Le num&eacute;ro de version
+     */
+    long getVersion() {
+        return version;
     }
 
     /**
@@ -48,6 +97,85 @@ public class Series<T> {
         return data.size();
     }
 
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur (de 0 &agrave; {@code size() - 1})
+     * @return La valeur, ou {@code null} si elle est manquante
+     * 
+     * @throws IndexOutOfBoundsException si la position est hors limites
+     */
+    public T get(int position) {
+        return data.get(position);
+    }
+
+    /**
+     * Indique si la valeur situ&eacute;e &agrave; la position donn&eacute;e est manquante ({@code null}).
+     *
+     * @param position La position de la valeur
+     * @return {@code true} si la valeur est manquante, {@code false} sinon
+     */
+    public boolean estNul(int position) {
+        return get(position) == null;
+    }
+
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e convertie en {@code double}.
+     * <p>
+     * Les s&eacute;ries primitives red&eacute;finissent cette m&eacute;thode pour lire directement leur tableau,
+     * sans cr&eacute;er d'objet interm&eacute;diaire.
+     * </p>
+     *
+     * @param position La position de la valeur
+     * @return La valeur en {@code double}, ou {@code NaN} si elle est manquante
+     * 
+     * @throws ClassCastException si la valeur n'est pas un {@code Number}
+     */
+    public double getDouble(int position) {
+        T valeur = get(position);
+        return valeur == null ? Double.NaN : ((Number) valeur).doubleValue();
+    }
+
+    /**
+     * Construit une nouvelle s&eacute;rie contenant les valeurs situ&eacute;es aux positions donn&eacute;es, dans l'ordre donn&eacute;.
+     * <p>
+     * Une position n&eacute;gative produit une valeur manquante. La s&eacute;rie renvoy&eacute;e est du m&ecirc;me
+     * type que la s&eacute;rie d'origine : une s&eacute;rie primitive reste primitive.
+     * </p>
+     *
+     * @param positions Les positions des valeurs &agrave; recopier
+     * @return Une nouvelle s&eacute;rie de {@code positions.length} valeurs
+     * 
+     * @throws IndexOutOfBoundsException si une position est sup&eacute;rieure ou &eacute;gale &agrave; {@code size()}
+     */
+    public Series<T> selectionner(int[] positions) {
+        List<T> valeurs = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            valeurs.add(position < 0 ? null : get(position));
+        }
+        return new Series<>(valeurs);
+    }
+
+    /**
+     * Renvoie les positions des valeurs &eacute;gales (au sens de {@link Object#equals(Object)}) &agrave; la valeur donn&eacute;e.
+     * <p>
+     * Les s&eacute;ries cat&eacute;gorielles red&eacute;finissent cette m&eacute;thode pour comparer des codes entiers.
+     * </p>
+     *
+     * @param valeur La valeur cherch&eacute;e ({@code null} pour les valeurs manquantes)
+     * @return Les positions (croissantes) des valeurs &eacute;gales
+     */
+    int[] positionsEgales(Object valeur) {
+        int[] positions = new int[size()];
+        int nb = 0;
+        for (int i = 0; i < positions.length; i++) {
+            if (Objects.equals(get(i), valeur)) {
+                positions[nb++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, nb);
+    }
+
     /**
      * V&eacute;rifie si la s&eacute;rie contient uniquement des valeurs num&eacute;riques,
      * en ignorant les {@code null}.
@@ -55,9 +183,16 @@ public class Series<T> {
      * @return {@code true} si toutes les valeurs non nulles sont des {@code Number}, {@code false} sinon.
      */
     public boolean estNumerique() {
-        return data.stream()
-                .filter(Objects::nonNull)
-                .allMatch(val -> val instanceof Number);
+        return decrire().estNumerique();
+    }
+
+    /**
+     * Renvoie le nombre de valeurs manquantes de la s&eacute;rie (valeur m&eacute;moris&eacute;e avec les statistiques).
+     *
+     * @return Le nombre de valeurs {@code null}
+     */
+    public int nombreNuls() {
+        return (int) decrire().getNombreNuls();
     }
 
     /**
@@ -70,12 +205,59 @@ public class Series<T> {
             return Collections.emptyList();
         }
 
-        return data.stream()
+        return getData().stream()
                 .filter(Objects::nonNull)
                 .map(val -> ((Number) val).doubleValue())
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Calcule en un seul parcours les statistiques descriptives de la s&eacute;rie : nombre de valeurs, valeurs manquantes,
+     * somme, moyenne, minimum, maximum, variance et &eacute;cart-type.
+     * <br>
+     * Contrairement &agrave; {@link #getValeursNumeriques()}, aucune liste n'est construite. Le r&eacute;sultat est m&eacute;moris&eacute; :
+     * tant que la s&eacute;rie n'est pas modifi&eacute;e, les appels suivants ne la parcourent plus.
+     * <br>
+     * Si une valeur non nulle n'est pas un {@code Number}, toutes les statistiques (sauf le nombre de valeurs manquantes)
+     * valent {@code NaN}.
+     *
+     * @return Les statistiques de la s&eacute;rie
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.describe.html">Documentation Pandas - describe</a>
+     */
+    public Statistiques decrire() {
+        long versionActuelle = getVersion();
+        if (statistiques == null || versionStatistiques != versionActuelle) {
+            statistiques = calculerStatistiques();
+            versionStatistiques = versionActuelle;
+        }
+        return statistiques;
+    }
+
+    /**
+     * Calcule les statistiques de la s&eacute;rie (sans utiliser la valeur m&eacute;moris&eacute;e).
+     * <br>
+     * Au-del&agrave; de {@link CalculStatistiques#SEUIL_PARALLELE} valeurs, le calcul est r&eacute;parti sur le pool commun
+     * de threads, avec un r&eacute;sultat identique quel que soit le nombre de threads. Les s&eacute;ries num&eacute;riques
+     * primitives red&eacute;finissent cette m&eacute;thode pour lire directement leurs valeurs, sans cr&eacute;er d'objet.
+     *
+     * @return Les statistiques de la s&eacute;rie
+     */
+    protected Statistiques calculerStatistiques() {
+        return CalculStatistiques.calculer(this, false);
+    }
+
+    /**
+     * Calcule la somme des valeurs num&eacute;riques de la s&eacute;rie.
+     *
+     * @return La somme sous forme de {@code double} (0 pour une s&eacute;rie vide), ou {@code NaN} si la s&eacute;rie n'est pas num&eacute;rique.
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.sum.html">Documentation Pandas - sum</a>
+     */
+    public double somme() {
+        return decrire().getSomme();
+    }
+
     /**
      * Calcule la moyenne des valeurs num&eacute;riques de la s&eacute;rie.
      *
@@ -84,14 +266,7 @@ public class Series<T> {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.mean.html">Documentation Pandas - mean</a>
      */
     public double moyenne() {
-        List<Double> valeurs = getValeursNumeriques();
-
-        if (valeurs.isEmpty()) {
-            return Double.NaN;
-        } else {
-            double somme = valeurs.stream().mapToDouble(Double::doubleValue).sum();
-            return somme / valeurs.size();
-        }
+        return decrire().getMoyenne();
     }
 
     /**
@@ -102,13 +277,7 @@ public class Series<T> {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.min.html">Documentation Pandas - min</a>
      */
     public double minimum() {
-        List<Double> valeurs = getValeursNumeriques();
-
-        if (valeurs.isEmpty()) {
-            return Double.NaN;
-        } else {
-            return valeurs.stream().mapToDouble(Double::doubleValue).min().orElse(Double.NaN);
-        }
+        return decrire().getMinimum();
     }
 
     /**
@@ -119,13 +288,7 @@ public class Series<T> {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.max.html">Documentation Pandas - max</a>
      */
     public double maximum() {
-        List<Double> valeurs = getValeursNumeriques();
-
-        if (valeurs.isEmpty()) {
-            return Double.NaN;
-        } else {
-            return valeurs.stream().mapToDouble(Double::doubleValue).max().orElse(Double.NaN);
-        }
+        return decrire().getMaximum();
     }
 
     /**
@@ -136,18 +299,51 @@ public class Series<T> {
      * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.DataFrame.std.html">Documentation Pandas - std</a>
      */
     public double ecartType() {
-        List<Double> valeurs = getValeursNumeriques();
+        return decrire().getEcartType();
+    }
+
+    /**
+     * Vue {@code List<T>} sur la liste de la s&eacute;rie : chaque &eacute;criture est signal&eacute;e &agrave; la s&eacute;rie.
+     */
+    private class ListeSuivie extends AbstractList<T> implements RandomAccess {
 
-        if (valeurs.size() < 2) {
-            return Double.NaN;
-        } else {
-            double moyenne = valeurs.stream().mapToDouble(Double::doubleValue).average().orElse(Double.NaN);
-            double sommeDesCarres = valeurs.stream()
-                .mapToDouble(val -> Math.pow(val - moyenne, 2))
-                .sum();
+        @Override
+        public T get(int position) {
+            return data.get(position);
+        }
 
-            return Math.sqrt(sommeDesCarres / (valeurs.size() - 1));
+        @Override
+        public int size() {
+            return data.size();
         }
-    }
 
+        @Override
+        public T set(int position, T valeur) {
+            T ancienne = data.set(position, valeur);
+            signalerModification();
+            return ancienne;
+        }
+
+        @Override
+        public void add(int position, T valeur) {
+            data.add(position, valeur);
+            signalerModification();
+            modCount++;
+        }
+
+        @Override
+        public T remove(int position) {
+            T ancienne = data.remove(position);
+            signalerModification();
+            modCount++;
+            return ancienne;
+        }
+
+        @Override
+        public void clear() {
+            data.clear();
+            signalerModification();
+            modCount++;
+        }
+    }
 }
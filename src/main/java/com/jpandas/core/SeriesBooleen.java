@@ -0,0 +1,174 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+
+/**
+ * S&eacute;rie de bool&eacute;ens stock&eacute;s dans un tableau {@code boolean[]}.
+ * <br>
+ * Chaque valeur occupe 1 octet, contre une r&eacute;f&eacute;rence vers un {@code Boolean} dans une
+ * {@code Series<Boolean>} classique.
+ * <br>
+ * Comme pour une {@code Series<Boolean>}, la s&eacute;rie n'est pas consid&eacute;r&eacute;e comme num&eacute;rique.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public class SeriesBooleen extends SeriesPrimitive<Boolean> {
+    private boolean[] valeurs;
+
+    /**
+     * Constructeur d'une s&eacute;rie vide.
+     */
+    public SeriesBooleen() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie vide dont le tableau peut d&eacute;j&agrave; contenir {@code capacite} valeurs.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    public SeriesBooleen(int capacite) {
+        super(0);
+        this.valeurs = new boolean[capacite];
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie &agrave; partir d'un tableau existant.
+     * <br>
+     * Le tableau n'est pas copi&eacute; : il est utilis&eacute; directement comme stockage de la s&eacute;rie.
+     *
+     * @param valeurs Les valeurs de la s&eacute;rie
+     */
+    public SeriesBooleen(boolean[] valeurs) {
+        super(valeurs.length);
+        this.valeurs = valeurs;
+    }
+
+    /**
+     * Ajoute une valeur &agrave; la fin de la s&eacute;rie.
+     *
+     * @param valeur La valeur &agrave; ajouter
+     */
+    public void ajouter(boolean valeur) {
+        assurerCapacite(taille + 1);
+        valeurs[taille++] = valeur;
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie toutes les valeurs d'une autre s&eacute;rie de bool&eacute;ens, par copie de tableau
+     * (sans cr&eacute;er d'objet par valeur).
+     *
+     * @param autre La s&eacute;rie dont on recopie les valeurs
+     */
+    public void ajouterTout(SeriesBooleen autre) {
+        int nombre = autre.taille;
+        assurerCapacite(taille + nombre);
+        System.arraycopy(autre.valeurs, 0, valeurs, taille, nombre);
+        recopierNuls(autre, nombre, taille);
+        taille += nombre;
+        signalerModification();
+    }
+
+    /**
+     * Remplace la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur &agrave; remplacer
+     * @param valeur La nouvelle valeur
+     */
+    public void definir(int position, boolean valeur) {
+        verifierPosition(position);
+        valeurs[position] = valeur;
+        marquerNul(position, false);
+        signalerModification();
+    }
+
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e sans la convertir en objet.
+     *
+     * @param position La position de la valeur
+     * @return La valeur, ou {@code false} si elle est manquante
+     */
+    public boolean getBooleen(int position) {
+        verifierPosition(position);
+        return !estNul(position) && valeurs[position];
+    }
+
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e convertie en {@code double} (1 pour vrai, 0 pour faux).
+     *
+     * @param position La position de la valeur
+     * @return 1 ou 0, ou {@code NaN} si la valeur est manquante
+     */
+    @Override
+    public double getDouble(int position) {
+        verifierPosition(position);
+        if (estNul(position)) {
+            return Double.NaN;
+        }
+        return valeurs[position] ? 1 : 0;
+    }
+
+    /**
+     * Une s&eacute;rie de bool&eacute;ens n'est num&eacute;rique que si toutes ses valeurs sont manquantes,
+     * comme pour une {@code Series<Boolean>}.
+     *
+     * @return {@code true} si la s&eacute;rie ne contient aucune valeur non nulle
+     */
+    @Override
+    public boolean estNumerique() {
+        return nombreNuls() == taille;
+    }
+
+    /**
+     * Renvoie une copie des valeurs de la s&eacute;rie (les valeurs manquantes valent {@code false}).
+     *
+     * @return Un tableau de {@code size()} valeurs
+     */
+    public boolean[] toArray() {
+        boolean[] copie = Arrays.copyOf(valeurs, taille);
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                copie[i] = false;
+            }
+        }
+        return copie;
+    }
+
+    @Override
+    public SeriesBooleen selectionner(int[] positions) {
+        boolean[] resultat = new boolean[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                verifierPosition(positions[i]);
+                resultat[i] = valeurs[positions[i]];
+            }
+        }
+        SeriesBooleen serie = new SeriesBooleen(resultat);
+        selectionnerNuls(serie, positions);
+        return serie;
+    }
+
+    @Override
+    protected Boolean valeur(int position) {
+        return valeurs[position];
+    }
+
+    @Override
+    protected void affecter(int position, Boolean valeur) {
+        valeurs[position] = valeur;
+    }
+
+    @Override
+    protected void assurerCapacite(int capacite) {
+        if (capacite > valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, nouvelleCapacite(valeurs.length, capacite));
+        }
+    }
+
+    @Override
+    protected void deplacer(int source, int destination, int longueur) {
+        System.arraycopy(valeurs, source, valeurs, destination, longueur);
+    }
+}
@@ -0,0 +1,465 @@
+package com.jpandas.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * S&eacute;rie de cha&icirc;nes de caract&egrave;res cod&eacute;e par dictionnaire (variable cat&eacute;gorielle).
+ * <br>
+ * Chaque valeur distincte (modalit&eacute;) n'est stock&eacute;e qu'une fois, dans un dictionnaire ; la s&eacute;rie
+ * elle-m&ecirc;me ne contient qu'un tableau {@code int[]} de codes (la position de la modalit&eacute; dans le dictionnaire).
+ * Pour une colonne comme un pays ou un statut, chaque ligne occupe ainsi 4 octets au lieu d'un objet {@code String}
+ * (plus de 40 octets). Les comparaisons d'&eacute;galit&eacute; se font sur les codes, par simple comparaison d'entiers.
+ * <br>
+ * Une valeur manquante a le code {@value #CODE_NUL}.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * SeriesCategorielle pays = new SeriesCategorielle();
+ * pays.ajouter("France");
+ * pays.ajouter("Italie");
+ * pays.ajouter("France");
+ * int[] lignes = pays.positionsEgales("France"); // {0, 2}
+ * }</pre>
+ * Les s&eacute;ries obtenues par {@link #selectionner(int[])} partagent le dictionnaire de la s&eacute;rie d'origine :
+ * il ne fait que grandir, si bien qu'un code garde toujours la m&ecirc;me modalit&eacute;.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see TypeColonne#CATEGORIE
+ */
+public class SeriesCategorielle extends SeriesPrimitive<String> {
+
+    /**
+     * Code d'une valeur manquante.
+     */
+    public static final int CODE_NUL = -1;
+
+    private final Dictionnaire dictionnaire;
+    private int[] codes;
+    // Codes rangés hors du tas, à la place du tableau, pour une copie faite par copierHorsTas
+    private IntBuffer horsTas;
+
+    /**
+     * Constructeur d'une s&eacute;rie vide.
+     */
+    public SeriesCategorielle() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie vide dont le tableau de codes peut d&eacute;j&agrave; contenir {@code capacite} valeurs.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    public SeriesCategorielle(int capacite) {
+        this(new Dictionnaire(), new int[capacite], 0);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie &agrave; partir d'une liste de valeurs (qui peut contenir {@code null}).
+     *
+     * @param valeurs Les valeurs de la s&eacute;rie
+     */
+    public SeriesCategorielle(List<String> valeurs) {
+        this(valeurs.size());
+        for (String valeur : valeurs) {
+            ajouter(valeur);
+        }
+    }
+
+    /**
+     * Construit une s&eacute;rie &agrave; partir de ses codes et de son dictionnaire, sans rechercher chaque valeur.
+     * <br>
+     * Le tableau de codes n'est pas copi&eacute; : il est utilis&eacute; directement comme stockage de la s&eacute;rie.
+     * Fonctionne comme en Pandas : <code>pd.Categorical.from_codes(codes, categories)</code>
+     *
+     * @param codes Le code de chaque valeur (la position de sa modalit&eacute;), ou {@value #CODE_NUL} pour une valeur manquante
+     * @param modalites Les modalit&eacute;s distinctes, dans l'ordre de leur code
+     * @return La s&eacute;rie cat&eacute;gorielle correspondante
+     *
+     * @throws IllegalArgumentException si une modalit&eacute; est nulle ou appara&icirc;t deux fois, ou si un code est hors du dictionnaire
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Categorical.from_codes.html">Documentation Pandas - Categorical.from_codes</a>
+     */
+    public static SeriesCategorielle depuisCodes(int[] codes, List<String> modalites) {
+        Dictionnaire dictionnaire = new Dictionnaire();
+        for (String modalite : modalites) {
+            if (modalite == null) {
+                throw new IllegalArgumentException("Une modalité ne peut pas être nulle");
+            }
+            // Une modalité déjà présente ne fait pas grandir le dictionnaire
+            int taille = dictionnaire.taille();
+            dictionnaire.coder(modalite);
+            if (dictionnaire.taille() == taille) {
+                throw new IllegalArgumentException("La modalité apparaît deux fois : " + modalite);
+            }
+        }
+        SeriesCategorielle serie = new SeriesCategorielle(dictionnaire, codes, codes.length);
+        for (int i = 0; i < codes.length; i++) {
+            if (codes[i] == CODE_NUL) {
+                serie.marquerNul(i, true);
+            } else if (codes[i] < 0 || codes[i] >= dictionnaire.taille()) {
+                throw new IllegalArgumentException("Code hors du dictionnaire : " + codes[i]);
+            }
+        }
+        return serie;
+    }
+
+    private SeriesCategorielle(Dictionnaire dictionnaire, int[] codes, int taille) {
+        super(taille);
+        this.dictionnaire = dictionnaire;
+        this.codes = codes;
+    }
+
+    /**
+     * Ajoute une valeur &agrave; la fin de la s&eacute;rie (une nouvelle modalit&eacute; est ajout&eacute;e au dictionnaire si besoin).
+     *
+     * @param valeur La valeur &agrave; ajouter, ou {@code null} pour une valeur manquante
+     */
+    public void ajouter(String valeur) {
+        if (valeur == null) {
+            ajouterNul();
+            return;
+        }
+        assurerCapacite(taille + 1);
+        ecrireCode(taille++, dictionnaire.coder(valeur));
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie la valeur encod&eacute;e en UTF-8 dans les octets {@code [debut, fin[}.
+     * <br>
+     * La modalit&eacute; est cherch&eacute;e dans le dictionnaire directement &agrave; partir des octets : une cha&icirc;ne n'est
+     * cr&eacute;&eacute;e que pour une modalit&eacute; encore inconnue. C'est ce qu'utilise la lecture des fichiers CSV.
+     *
+     * @param octets Le tampon contenant la valeur
+     * @param debut La position du premier octet de la valeur
+     * @param fin La position qui suit le dernier octet de la valeur
+     */
+    public void ajouter(byte[] octets, int debut, int fin) {
+        assurerCapacite(taille + 1);
+        ecrireCode(taille++, dictionnaire.coder(octets, debut, fin));
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie toutes les valeurs d'une autre s&eacute;rie cat&eacute;gorielle.
+     * <br>
+     * Chaque modalit&eacute; de l'autre s&eacute;rie n'est cherch&eacute;e qu'une fois dans le dictionnaire ; les codes sont
+     * ensuite recopi&eacute;s par correspondance.
+     *
+     * @param autre La s&eacute;rie dont on recopie les valeurs
+     */
+    public void ajouterTout(SeriesCategorielle autre) {
+        int[] correspondance = new int[autre.dictionnaire.taille()];
+        for (int code = 0; code < correspondance.length; code++) {
+            correspondance[code] = autre.dictionnaire == dictionnaire ? code : dictionnaire.coder(autre.dictionnaire.modalite(code));
+        }
+        autre.verifierAccessible();
+        assurerCapacite(taille + autre.taille);
+        for (int i = 0; i < autre.taille; i++) {
+            int code = autre.lireCode(i);
+            if (code == CODE_NUL) {
+                taille++;
+                marquerNul(taille - 1, true);
+            } else {
+                ecrireCode(taille++, correspondance[code]);
+            }
+        }
+        signalerModification();
+    }
+
+    /**
+     * Renvoie le code de la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur
+     * @return Le code de la valeur, ou {@value #CODE_NUL} si elle est manquante
+     */
+    public int getCode(int position) {
+        verifierPosition(position);
+        return lireCode(position);
+    }
+
+    /**
+     * Renvoie le code d'une modalit&eacute;.
+     *
+     * @param valeur La modalit&eacute; cherch&eacute;e
+     * @return Son code, ou {@value #CODE_NUL} si elle n'appara&icirc;t pas dans le dictionnaire
+     */
+    public int code(String valeur) {
+        return valeur == null ? CODE_NUL : dictionnaire.chercher(valeur);
+    }
+
+    /**
+     * Renvoie les modalit&eacute;s du dictionnaire, dans l'ordre de leur code.
+     *
+     * @return Une vue non modifiable du dictionnaire
+     */
+    public List<String> getModalites() {
+        return Collections.unmodifiableList(dictionnaire.modalites);
+    }
+
+    /**
+     * Renvoie le nombre de modalit&eacute;s du dictionnaire.
+     *
+     * @return La taille du dictionnaire
+     */
+    public int getNbModalites() {
+        return dictionnaire.taille();
+    }
+
+    /**
+     * Renvoie les positions des valeurs &eacute;gales &agrave; une modalit&eacute;, par comparaison des codes :
+     * la modalit&eacute; est traduite une seule fois en code, puis chaque ligne ne co&ucirc;te qu'une comparaison d'entiers.
+     *
+     * @param valeur La modalit&eacute; cherch&eacute;e ({@code null} pour les valeurs manquantes)
+     * @return Les positions (croissantes) des valeurs &eacute;gales
+     */
+    @Override
+    int[] positionsEgales(Object valeur) {
+        if (valeur != null && !(valeur instanceof String)) {
+            return new int[0];
+        }
+        int code = code((String) valeur);
+        if (valeur != null && code == CODE_NUL) {
+            return new int[0];
+        }
+        verifierAccessible();
+        int[] positions = new int[taille];
+        int nb = 0;
+        for (int i = 0; i < taille; i++) {
+            if (lireCode(i) == code) {
+                positions[nb++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, nb);
+    }
+
+    /**
+     * Renvoie les positions des valeurs appartenant &agrave; un ensemble de modalit&eacute;s.
+     * <br>
+     * Les modalit&eacute;s sont traduites une fois en codes ; chaque ligne ne co&ucirc;te ensuite qu'une lecture de tableau.
+     *
+     * @param valeurs Les modalit&eacute;s cherch&eacute;es
+     * @return Les positions (croissantes) des valeurs appartenant &agrave; l'ensemble
+     */
+    public int[] positionsParmi(Collection<String> valeurs) {
+        boolean[] codesCherches = new boolean[dictionnaire.taille()];
+        for (String valeur : valeurs) {
+            int code = code(valeur);
+            if (code != CODE_NUL) {
+                codesCherches[code] = true;
+            }
+        }
+        verifierAccessible();
+        int[] positions = new int[taille];
+        int nb = 0;
+        for (int i = 0; i < taille; i++) {
+            int code = lireCode(i);
+            if (code != CODE_NUL && code < codesCherches.length && codesCherches[code]) {
+                positions[nb++] = i;
+            }
+        }
+        return Arrays.copyOf(positions, nb);
+    }
+
+    @Override
+    public boolean estNumerique() {
+        // Seule une série entièrement vide est considérée comme numérique (comme pour une Series classique)
+        return nombreNuls() == taille;
+    }
+
+    @Override
+    public SeriesCategorielle selectionner(int[] positions) {
+        int[] resultat = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                verifierPosition(positions[i]);
+                resultat[i] = lireCode(positions[i]);
+            } else {
+                resultat[i] = CODE_NUL;
+            }
+        }
+        SeriesCategorielle serie = new SeriesCategorielle(dictionnaire, resultat, positions.length);
+        selectionnerNuls(serie, positions);
+        return serie;
+    }
+
+    @Override
+    protected String valeur(int position) {
+        return dictionnaire.modalite(lireCode(position));
+    }
+
+    @Override
+    protected void affecter(int position, String valeur) {
+        ecrireCode(position, dictionnaire.coder(valeur));
+    }
+
+    @Override
+    protected void marquerNul(int position, boolean nul) {
+        super.marquerNul(position, nul);
+        if (nul) {
+            ecrireCode(position, CODE_NUL);
+        }
+    }
+
+    @Override
+    protected void assurerCapacite(int capacite) {
+        if (horsTas != null) {
+            if (capacite > horsTas.capacity()) {
+                // Le tampon est remplacé par un plus grand, alloué dans la même arène
+                IntBuffer agrandi = arena.allouerInt(nouvelleCapacite(horsTas.capacity(), capacite));
+                agrandi.put(0, horsTas, 0, taille);
+                arena.liberer(horsTas);
+                horsTas = agrandi;
+            }
+        } else if (capacite > codes.length) {
+            codes = Arrays.copyOf(codes, nouvelleCapacite(codes.length, capacite));
+        }
+    }
+
+    @Override
+    protected void deplacer(int source, int destination, int longueur) {
+        if (horsTas == null) {
+            System.arraycopy(codes, source, codes, destination, longueur);
+        } else if (source < destination) {
+            for (int i = longueur - 1; i >= 0; i--) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        } else {
+            for (int i = 0; i < longueur; i++) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        }
+    }
+
+    /**
+     * Copie la s&eacute;rie dans une ar&egrave;ne : les codes sont rang&eacute;s hors du tas, dans un tampon de l'ar&egrave;ne.
+     * Le dictionnaire reste dans le tas, partag&eacute; avec la s&eacute;rie copi&eacute;e (comme pour {@link #selectionner(int[])}).
+     *
+     * @param arena L'ar&egrave;ne qui re&ccedil;oit les codes
+     * @return La copie, qui ne peut plus &ecirc;tre lue une fois l'ar&egrave;ne ferm&eacute;e
+     */
+    SeriesCategorielle copierHorsTas(ArenaHorsTas arena) {
+        SeriesCategorielle copie = new SeriesCategorielle(dictionnaire, null, taille);
+        copie.horsTas = arena.allouerInt(taille);
+        if (horsTas == null) {
+            copie.horsTas.put(0, codes, 0, taille);
+        } else {
+            verifierAccessible();
+            copie.horsTas.put(0, horsTas, 0, taille);
+        }
+        copie.nuls = nuls == null ? null : (BitSet) nuls.clone();
+        copie.arena = arena;
+        arena.inscrire(copie);
+        return copie;
+    }
+
+    @Override
+    void liberer() {
+        horsTas = IntBuffer.allocate(0);
+    }
+
+    private int lireCode(int position) {
+        return horsTas == null ? codes[position] : horsTas.get(position);
+    }
+
+    private void ecrireCode(int position, int code) {
+        if (horsTas == null) {
+            codes[position] = code;
+        } else {
+            horsTas.put(position, code);
+        }
+    }
+
+    /**
+     * Dictionnaire des modalit&eacute;s : table de hachage &agrave; adressage ouvert sur les octets UTF-8 de chaque modalit&eacute;.
+     */
+    private static class Dictionnaire {
+        private final List<String> modalites = new ArrayList<>();
+        private final List<byte[]> octetsModalites = new ArrayList<>();
+        // Chaque case contient le code de la modalité + 1 (0 pour une case vide)
+        private int[] table = new int[16];
+
+        int taille() {
+            return modalites.size();
+        }
+
+        String modalite(int code) {
+            return modalites.get(code);
+        }
+
+        int coder(String valeur) {
+            byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+            return coder(octets, 0, octets.length);
+        }
+
+        int chercher(String valeur) {
+            byte[] octets = valeur.getBytes(StandardCharsets.UTF_8);
+            int caseTable = trouverCase(octets, 0, octets.length, hacher(octets, 0, octets.length));
+            return table[caseTable] - 1;
+        }
+
+        int coder(byte[] octets, int debut, int fin) {
+            int hachage = hacher(octets, debut, fin);
+            int caseTable = trouverCase(octets, debut, fin, hachage);
+            if (table[caseTable] != 0) {
+                return table[caseTable] - 1;
+            }
+            int code = modalites.size();
+            modalites.add(new String(octets, debut, fin - debut, StandardCharsets.UTF_8));
+            octetsModalites.add(Arrays.copyOfRange(octets, debut, fin));
+            table[caseTable] = code + 1;
+            // On garde la table au plus à moitié pleine pour que les recherches restent courtes
+            if (modalites.size() * 2 > table.length) {
+                agrandir();
+            }
+            return code;
+        }
+
+        // Renvoie la case qui contient la modalité, ou la case vide où l'insérer
+        private int trouverCase(byte[] octets, int debut, int fin, int hachage) {
+            int masque = table.length - 1;
+            int caseTable = hachage & masque;
+            while (table[caseTable] != 0 && !egaux(octetsModalites.get(table[caseTable] - 1), octets, debut, fin)) {
+                caseTable = (caseTable + 1) & masque;
+            }
+            return caseTable;
+        }
+
+        private void agrandir() {
+            int[] ancienne = table;
+            table = new int[ancienne.length * 2];
+            int masque = table.length - 1;
+            for (int entree : ancienne) {
+                if (entree != 0) {
+                    byte[] octets = octetsModalites.get(entree - 1);
+                    int caseTable = hacher(octets, 0, octets.length) & masque;
+                    while (table[caseTable] != 0) {
+                        caseTable = (caseTable + 1) & masque;
+                    }
+                    table[caseTable] = entree;
+                }
+            }
+        }
+
+        private static int hacher(byte[] octets, int debut, int fin) {
+            int h = 1;
+            for (int i = debut; i < fin; i++) {
+                h = 31 * h + octets[i];
+            }
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean egaux(byte[] modalite, byte[] octets, int debut, int fin) {
+            return Arrays.equals(modalite, 0, modalite.length, octets, debut, fin);
+        }
+    }
+}
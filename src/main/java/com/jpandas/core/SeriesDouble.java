@@ -0,0 +1,268 @@
+package com.jpandas.core;
+
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * S&eacute;rie de nombres &agrave; virgule flottante stock&eacute;s dans un tableau {@code double[]}.
+ * <br>
+ * Chaque valeur occupe 8 octets, contre 16 &agrave; 24 octets (plus une r&eacute;f&eacute;rence) pour un {@code Double}
+ * dans une {@code Series<Double>} classique. Une copie rang&eacute;e hors du tas ({@link DataFrame#horsTas()})
+ * garde ses valeurs dans un {@link DoubleBuffer} direct au lieu du tableau.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * SeriesDouble notes = new SeriesDouble(new double[] {12.5, 14.0, 9.5});
+ * notes.ajouter(16.0);
+ * double moyenne = notes.moyenne();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public class SeriesDouble extends SeriesNumerique<Double> {
+    private double[] valeurs;
+    // Valeurs rangées hors du tas, à la place du tableau, pour une copie faite par copierHorsTas
+    private DoubleBuffer horsTas;
+
+    /**
+     * Constructeur d'une s&eacute;rie vide.
+     */
+    public SeriesDouble() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie vide dont le tableau peut d&eacute;j&agrave; contenir {@code capacite} valeurs.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    public SeriesDouble(int capacite) {
+        super(0);
+        this.valeurs = new double[capacite];
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie &agrave; partir d'un tableau existant.
+     * <br>
+     * Le tableau n'est pas copi&eacute; : il est utilis&eacute; directement comme stockage de la s&eacute;rie.
+     *
+     * @param valeurs Les valeurs de la s&eacute;rie
+     */
+    public SeriesDouble(double[] valeurs) {
+        super(valeurs.length);
+        this.valeurs = valeurs;
+    }
+
+    /**
+     * Ajoute une valeur &agrave; la fin de la s&eacute;rie.
+     *
+     * @param valeur La valeur &agrave; ajouter
+     */
+    public void ajouter(double valeur) {
+        assurerCapacite(taille + 1);
+        ecrire(taille++, valeur);
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie toutes les valeurs d'une autre s&eacute;rie de nombres &agrave; virgule, par copie de tableau
+     * (sans cr&eacute;er d'objet par valeur).
+     *
+     * @param autre La s&eacute;rie dont on recopie les valeurs
+     */
+    public void ajouterTout(SeriesDouble autre) {
+        autre.verifierAccessible();
+        int nombre = autre.taille;
+        assurerCapacite(taille + nombre);
+        if (horsTas == null && autre.horsTas == null) {
+            System.arraycopy(autre.valeurs, 0, valeurs, taille, nombre);
+        } else {
+            for (int i = 0; i < nombre; i++) {
+                ecrire(taille + i, autre.lire(i));
+            }
+        }
+        recopierNuls(autre, nombre, taille);
+        taille += nombre;
+        signalerModification();
+    }
+
+    /**
+     * Remplace la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur &agrave; remplacer
+     * @param valeur La nouvelle valeur
+     */
+    public void definir(int position, double valeur) {
+        verifierPosition(position);
+        ecrire(position, valeur);
+        marquerNul(position, false);
+        signalerModification();
+    }
+
+    @Override
+    public double getDouble(int position) {
+        verifierPosition(position);
+        return estNul(position) ? Double.NaN : lire(position);
+    }
+
+    /**
+     * Renvoie une copie des valeurs de la s&eacute;rie (les valeurs manquantes valent {@code NaN}).
+     *
+     * @return Un tableau de {@code size()} valeurs
+     */
+    public double[] toArray() {
+        double[] copie;
+        if (horsTas == null) {
+            copie = Arrays.copyOf(valeurs, taille);
+        } else {
+            verifierAccessible();
+            copie = new double[taille];
+            horsTas.get(0, copie);
+        }
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                copie[i] = Double.NaN;
+            }
+        }
+        return copie;
+    }
+
+    @Override
+    public SeriesDouble selectionner(int[] positions) {
+        double[] resultat = new double[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                verifierPosition(positions[i]);
+                resultat[i] = lire(positions[i]);
+            }
+        }
+        SeriesDouble serie = new SeriesDouble(resultat);
+        selectionnerNuls(serie, positions);
+        return serie;
+    }
+
+    @Override
+    Masque masqueEntre(double minimum, double maximum) {
+        long[] mots = new long[Masque.nombreMots(taille)];
+        if (horsTas == null) {
+            NoyauxNumeriques.INSTANCE.masqueEntre(valeurs, taille, minimum, maximum, mots);
+        } else {
+            masqueHorsTas(minimum, maximum, mots);
+        }
+        retirerNuls(mots);
+        return new Masque(taille, mots);
+    }
+
+    /**
+     * Renvoie le tableau de stockage, sans copie : il peut &ecirc;tre plus long que la s&eacute;rie, et les positions
+     * des valeurs manquantes y contiennent une valeur quelconque. Une s&eacute;rie rang&eacute;e hors du tas n'a pas de tableau.
+     *
+     * @return Le tableau des valeurs, ou {@code null} si la s&eacute;rie est rang&eacute;e hors du tas
+     */
+    double[] tableau() {
+        return valeurs;
+    }
+
+    // Pour une série rangée hors du tas, les valeurs sont recopiées dans un tableau du tas
+    @Override
+    double[] tableauDoubles() {
+        if (horsTas == null) {
+            return valeurs;
+        }
+        verifierAccessible();
+        double[] doubles = new double[taille];
+        horsTas.get(0, doubles);
+        return doubles;
+    }
+
+    @Override
+    protected Double valeur(int position) {
+        return lire(position);
+    }
+
+    @Override
+    protected void affecter(int position, Double valeur) {
+        ecrire(position, valeur);
+    }
+
+    @Override
+    protected void assurerCapacite(int capacite) {
+        if (horsTas != null) {
+            if (capacite > horsTas.capacity()) {
+                // Le tampon est remplacé par un plus grand, alloué dans la même arène
+                DoubleBuffer agrandi = arena.allouerDouble(nouvelleCapacite(horsTas.capacity(), capacite));
+                agrandi.put(0, horsTas, 0, taille);
+                arena.liberer(horsTas);
+                horsTas = agrandi;
+            }
+        } else if (capacite > valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, nouvelleCapacite(valeurs.length, capacite));
+        }
+    }
+
+    @Override
+    protected void deplacer(int source, int destination, int longueur) {
+        if (horsTas == null) {
+            System.arraycopy(valeurs, source, valeurs, destination, longueur);
+        } else if (source < destination) {
+            for (int i = longueur - 1; i >= 0; i--) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        } else {
+            for (int i = 0; i < longueur; i++) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        }
+    }
+
+    @Override
+    SeriesDouble copierHorsTas(ArenaHorsTas arena) {
+        SeriesDouble copie = new SeriesDouble(0);
+        copie.horsTas = arena.allouerDouble(taille);
+        if (horsTas == null) {
+            copie.horsTas.put(0, valeurs, 0, taille);
+        } else {
+            verifierAccessible();
+            copie.horsTas.put(0, horsTas, 0, taille);
+        }
+        copie.valeurs = null;
+        copie.taille = taille;
+        copie.nuls = nuls == null ? null : (BitSet) nuls.clone();
+        copie.arena = arena;
+        arena.inscrire(copie);
+        return copie;
+    }
+
+    @Override
+    void liberer() {
+        horsTas = DoubleBuffer.allocate(0);
+    }
+
+    // Masque d'une série rangée hors du tas : les valeurs sont recopiées par blocs dans un petit tableau,
+    // pour que le noyau numérique les compare sans qu'elles soient toutes ramenées dans le tas
+    private void masqueHorsTas(double minimum, double maximum, long[] mots) {
+        verifierAccessible();
+        double[] bloc = new double[TAILLE_BLOC_HORS_TAS];
+        long[] motsBloc = new long[Masque.nombreMots(TAILLE_BLOC_HORS_TAS)];
+        for (int debut = 0; debut < taille; debut += TAILLE_BLOC_HORS_TAS) {
+            int longueur = Math.min(TAILLE_BLOC_HORS_TAS, taille - debut);
+            horsTas.get(debut, bloc, 0, longueur);
+            NoyauxNumeriques.INSTANCE.masqueEntre(bloc, longueur, minimum, maximum, motsBloc);
+            System.arraycopy(motsBloc, 0, mots, debut >>> 6, Masque.nombreMots(longueur));
+        }
+    }
+
+    private double lire(int position) {
+        return horsTas == null ? valeurs[position] : horsTas.get(position);
+    }
+
+    private void ecrire(int position, double valeur) {
+        if (horsTas == null) {
+            valeurs[position] = valeur;
+        } else {
+            horsTas.put(position, valeur);
+        }
+    }
+}
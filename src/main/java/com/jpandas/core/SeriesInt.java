@@ -0,0 +1,275 @@
+package com.jpandas.core;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * S&eacute;rie d'entiers stock&eacute;s dans un tableau {@code int[]}.
+ * <br>
+ * Chaque valeur occupe 4 octets, contre 16 octets (plus une r&eacute;f&eacute;rence) pour un {@code Integer}
+ * dans une {@code Series<Integer>} classique. Une copie rang&eacute;e hors du tas ({@link DataFrame#horsTas()})
+ * garde ses valeurs dans un {@link IntBuffer} direct au lieu du tableau.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * SeriesInt ages = new SeriesInt(new int[] {21, 14, 26});
+ * ages.ajouter(24);
+ * double moyenne = ages.moyenne();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public class SeriesInt extends SeriesNumerique<Integer> {
+    private int[] valeurs;
+    // Valeurs rangées hors du tas, à la place du tableau, pour une copie faite par copierHorsTas
+    private IntBuffer horsTas;
+
+    /**
+     * Constructeur d'une s&eacute;rie vide.
+     */
+    public SeriesInt() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie vide dont le tableau peut d&eacute;j&agrave; contenir {@code capacite} valeurs.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    public SeriesInt(int capacite) {
+        super(0);
+        this.valeurs = new int[capacite];
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie &agrave; partir d'un tableau existant.
+     * <br>
+     * Le tableau n'est pas copi&eacute; : il est utilis&eacute; directement comme stockage de la s&eacute;rie.
+     *
+     * @param valeurs Les valeurs de la s&eacute;rie
+     */
+    public SeriesInt(int[] valeurs) {
+        super(valeurs.length);
+        this.valeurs = valeurs;
+    }
+
+    /**
+     * Ajoute une valeur &agrave; la fin de la s&eacute;rie.
+     *
+     * @param valeur La valeur &agrave; ajouter
+     */
+    public void ajouter(int valeur) {
+        assurerCapacite(taille + 1);
+        ecrire(taille++, valeur);
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie toutes les valeurs d'une autre s&eacute;rie d'entiers, par copie de tableau
+     * (sans cr&eacute;er d'objet par valeur).
+     *
+     * @param autre La s&eacute;rie dont on recopie les valeurs
+     */
+    public void ajouterTout(SeriesInt autre) {
+        autre.verifierAccessible();
+        int nombre = autre.taille;
+        assurerCapacite(taille + nombre);
+        if (horsTas == null && autre.horsTas == null) {
+            System.arraycopy(autre.valeurs, 0, valeurs, taille, nombre);
+        } else {
+            for (int i = 0; i < nombre; i++) {
+                ecrire(taille + i, autre.lire(i));
+            }
+        }
+        recopierNuls(autre, nombre, taille);
+        taille += nombre;
+        signalerModification();
+    }
+
+    /**
+     * Remplace la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur &agrave; remplacer
+     * @param valeur La nouvelle valeur
+     */
+    public void definir(int position, int valeur) {
+        verifierPosition(position);
+        ecrire(position, valeur);
+        marquerNul(position, false);
+        signalerModification();
+    }
+
+    @Override
+    public double getDouble(int position) {
+        verifierPosition(position);
+        return estNul(position) ? Double.NaN : lire(position);
+    }
+
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e sans la convertir en objet.
+     *
+     * @param position La position de la valeur
+     * @return La valeur, ou 0 si elle est manquante
+     */
+    public int getInt(int position) {
+        verifierPosition(position);
+        return estNul(position) ? 0 : lire(position);
+    }
+
+    /**
+     * Renvoie une copie des valeurs de la s&eacute;rie (les valeurs manquantes valent 0).
+     *
+     * @return Un tableau de {@code size()} valeurs
+     */
+    public int[] toArray() {
+        int[] copie;
+        if (horsTas == null) {
+            copie = Arrays.copyOf(valeurs, taille);
+        } else {
+            verifierAccessible();
+            copie = new int[taille];
+            horsTas.get(0, copie);
+        }
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                copie[i] = 0;
+            }
+        }
+        return copie;
+    }
+
+    @Override
+    public SeriesInt selectionner(int[] positions) {
+        int[] resultat = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                verifierPosition(positions[i]);
+                resultat[i] = lire(positions[i]);
+            }
+        }
+        SeriesInt serie = new SeriesInt(resultat);
+        selectionnerNuls(serie, positions);
+        return serie;
+    }
+
+    @Override
+    Masque masqueEntre(double minimum, double maximum) {
+        // Les bornes sont ramenées une fois pour toutes à des entiers : la boucle ne compare que des long
+        if (!(minimum <= maximum) || minimum >= 0x1p63 || maximum < -0x1p63) {
+            return new Masque(taille);
+        }
+        return masqueEntre((long) Math.ceil(minimum), (long) Math.floor(maximum));
+    }
+
+    /**
+     * Calcule le masque des valeurs comprises entre deux bornes enti&egrave;res (incluses), compar&eacute;es exactement.
+     *
+     * @param bas La borne inf&eacute;rieure ({@code Long.MIN_VALUE} pour ne pas la limiter)
+     * @param haut La borne sup&eacute;rieure ({@code Long.MAX_VALUE} pour ne pas la limiter)
+     * @return Le masque des lignes dont la valeur est dans l'intervalle
+     */
+    Masque masqueEntre(long bas, long haut) {
+        long[] mots = new long[Masque.nombreMots(taille)];
+        if (bas <= haut) {
+            verifierAccessible();
+            for (int debut = 0; debut < taille; debut += 64) {
+                int fin = Math.min(debut + 64, taille);
+                long mot = 0;
+                for (int i = debut; i < fin; i++) {
+                    int valeur = lire(i);
+                    mot |= (valeur >= bas & valeur <= haut ? 1L : 0L) << i;
+                }
+                mots[debut >>> 6] = mot;
+            }
+            retirerNuls(mots);
+        }
+        return new Masque(taille, mots);
+    }
+
+    @Override
+    double[] tableauDoubles() {
+        verifierAccessible();
+        double[] doubles = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            doubles[i] = lire(i);
+        }
+        return doubles;
+    }
+
+    @Override
+    protected Integer valeur(int position) {
+        return lire(position);
+    }
+
+    @Override
+    protected void affecter(int position, Integer valeur) {
+        ecrire(position, valeur);
+    }
+
+    @Override
+    protected void assurerCapacite(int capacite) {
+        if (horsTas != null) {
+            if (capacite > horsTas.capacity()) {
+                // Le tampon est remplacé par un plus grand, alloué dans la même arène
+                IntBuffer agrandi = arena.allouerInt(nouvelleCapacite(horsTas.capacity(), capacite));
+                agrandi.put(0, horsTas, 0, taille);
+                arena.liberer(horsTas);
+                horsTas = agrandi;
+            }
+        } else if (capacite > valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, nouvelleCapacite(valeurs.length, capacite));
+        }
+    }
+
+    @Override
+    protected void deplacer(int source, int destination, int longueur) {
+        if (horsTas == null) {
+            System.arraycopy(valeurs, source, valeurs, destination, longueur);
+        } else if (source < destination) {
+            for (int i = longueur - 1; i >= 0; i--) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        } else {
+            for (int i = 0; i < longueur; i++) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        }
+    }
+
+    @Override
+    SeriesInt copierHorsTas(ArenaHorsTas arena) {
+        SeriesInt copie = new SeriesInt(0);
+        copie.horsTas = arena.allouerInt(taille);
+        if (horsTas == null) {
+            copie.horsTas.put(0, valeurs, 0, taille);
+        } else {
+            verifierAccessible();
+            copie.horsTas.put(0, horsTas, 0, taille);
+        }
+        copie.valeurs = null;
+        copie.taille = taille;
+        copie.nuls = nuls == null ? null : (BitSet) nuls.clone();
+        copie.arena = arena;
+        arena.inscrire(copie);
+        return copie;
+    }
+
+    @Override
+    void liberer() {
+        horsTas = IntBuffer.allocate(0);
+    }
+
+    private int lire(int position) {
+        return horsTas == null ? valeurs[position] : horsTas.get(position);
+    }
+
+    private void ecrire(int position, int valeur) {
+        if (horsTas == null) {
+            valeurs[position] = valeur;
+        } else {
+            horsTas.put(position, valeur);
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.jpandas.core;
+
+import java.nio.LongBuffer;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * S&eacute;rie d'entiers longs stock&eacute;s dans un tableau {@code long[]}.
+ * <br>
+ * Chaque valeur occupe 8 octets, contre 16 &agrave; 24 octets (plus une r&eacute;f&eacute;rence) pour un {@code Long}
+ * dans une {@code Series<Long>} classique. Une copie rang&eacute;e hors du tas ({@link DataFrame#horsTas()})
+ * garde ses valeurs dans un {@link LongBuffer} direct au lieu du tableau.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * SeriesLong ventes = new SeriesLong(new long[] {1200L, 850L, 4300L});
+ * ventes.ajouter(990L);
+ * double moyenne = ventes.moyenne();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public class SeriesLong extends SeriesNumerique<Long> {
+    private long[] valeurs;
+    // Valeurs rangées hors du tas, à la place du tableau, pour une copie faite par copierHorsTas
+    private LongBuffer horsTas;
+
+    /**
+     * Constructeur d'une s&eacute;rie vide.
+     */
+    public SeriesLong() {
+        this(CAPACITE_PAR_DEFAUT);
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie vide dont le tableau peut d&eacute;j&agrave; contenir {@code capacite} valeurs.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    public SeriesLong(int capacite) {
+        super(0);
+        this.valeurs = new long[capacite];
+    }
+
+    /**
+     * Constructeur d'une s&eacute;rie &agrave; partir d'un tableau existant.
+     * <br>
+     * Le tableau n'est pas copi&eacute; : il est utilis&eacute; directement comme stockage de la s&eacute;rie.
+     *
+     * @param valeurs Les valeurs de la s&eacute;rie
+     */
+    public SeriesLong(long[] valeurs) {
+        super(valeurs.length);
+        this.valeurs = valeurs;
+    }
+
+    /**
+     * Ajoute une valeur &agrave; la fin de la s&eacute;rie.
+     *
+     * @param valeur La valeur &agrave; ajouter
+     */
+    public void ajouter(long valeur) {
+        assurerCapacite(taille + 1);
+        ecrire(taille++, valeur);
+        signalerModification();
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la s&eacute;rie toutes les valeurs d'une autre s&eacute;rie d'entiers longs, par copie de tableau
+     * (sans cr&eacute;er d'objet par valeur).
+     *
+     * @param autre La s&eacute;rie dont on recopie les valeurs
+     */
+    public void ajouterTout(SeriesLong autre) {
+        autre.verifierAccessible();
+        int nombre = autre.taille;
+        assurerCapacite(taille + nombre);
+        if (horsTas == null && autre.horsTas == null) {
+            System.arraycopy(autre.valeurs, 0, valeurs, taille, nombre);
+        } else {
+            for (int i = 0; i < nombre; i++) {
+                ecrire(taille + i, autre.lire(i));
+            }
+        }
+        recopierNuls(autre, nombre, taille);
+        taille += nombre;
+        signalerModification();
+    }
+
+    /**
+     * Remplace la valeur situ&eacute;e &agrave; la position donn&eacute;e.
+     *
+     * @param position La position de la valeur &agrave; remplacer
+     * @param valeur La nouvelle valeur
+     */
+    public void definir(int position, long valeur) {
+        verifierPosition(position);
+        ecrire(position, valeur);
+        marquerNul(position, false);
+        signalerModification();
+    }
+
+    @Override
+    public double getDouble(int position) {
+        verifierPosition(position);
+        return estNul(position) ? Double.NaN : lire(position);
+    }
+
+    /**
+     * Renvoie la valeur situ&eacute;e &agrave; la position donn&eacute;e sans la convertir en objet.
+     *
+     * @param position La position de la valeur
+     * @return La valeur, ou 0 si elle est manquante
+     */
+    public long getLong(int position) {
+        verifierPosition(position);
+        return estNul(position) ? 0 : lire(position);
+    }
+
+    /**
+     * Renvoie une copie des valeurs de la s&eacute;rie (les valeurs manquantes valent 0).
+     *
+     * @return Un tableau de {@code size()} valeurs
+     */
+    public long[] toArray() {
+        long[] copie;
+        if (horsTas == null) {
+            copie = Arrays.copyOf(valeurs, taille);
+        } else {
+            verifierAccessible();
+            copie = new long[taille];
+            horsTas.get(0, copie);
+        }
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                copie[i] = 0;
+            }
+        }
+        return copie;
+    }
+
+    @Override
+    public SeriesLong selectionner(int[] positions) {
+        long[] resultat = new long[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] >= 0) {
+                verifierPosition(positions[i]);
+                resultat[i] = lire(positions[i]);
+            }
+        }
+        SeriesLong serie = new SeriesLong(resultat);
+        selectionnerNuls(serie, positions);
+        return serie;
+    }
+
+    @Override
+    Masque masqueEntre(double minimum, double maximum) {
+        // Les bornes sont ramenées une fois pour toutes à des entiers : le noyau ne compare que des long
+        if (!(minimum <= maximum) || minimum >= 0x1p63 || maximum < -0x1p63) {
+            return new Masque(taille);
+        }
+        return masqueEntre((long) Math.ceil(minimum), (long) Math.floor(maximum));
+    }
+
+    /**
+     * Calcule le masque des valeurs comprises entre deux bornes enti&egrave;res (incluses), compar&eacute;es exactement,
+     * sans passer par les {@code double} (qui ne repr&eacute;sentent pas tous les {@code long} au-del&agrave; de 2<sup>53</sup>).
+     *
+     * @param minimum La borne inf&eacute;rieure ({@code Long.MIN_VALUE} pour ne pas la limiter)
+     * @param maximum La borne sup&eacute;rieure ({@code Long.MAX_VALUE} pour ne pas la limiter)
+     * @return Le masque des lignes dont la valeur est dans l'intervalle
+     */
+    Masque masqueEntre(long minimum, long maximum) {
+        long[] mots = new long[Masque.nombreMots(taille)];
+        if (minimum <= maximum) {
+            if (horsTas == null) {
+                NoyauxNumeriques.INSTANCE.masqueEntre(valeurs, taille, minimum, maximum, mots);
+            } else {
+                masqueHorsTas(minimum, maximum, mots);
+            }
+            retirerNuls(mots);
+        }
+        return new Masque(taille, mots);
+    }
+
+    @Override
+    double[] tableauDoubles() {
+        verifierAccessible();
+        double[] doubles = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            doubles[i] = lire(i);
+        }
+        return doubles;
+    }
+
+    @Override
+    protected Long valeur(int position) {
+        return lire(position);
+    }
+
+    @Override
+    protected void affecter(int position, Long valeur) {
+        ecrire(position, valeur);
+    }
+
+    @Override
+    protected void assurerCapacite(int capacite) {
+        if (horsTas != null) {
+            if (capacite > horsTas.capacity()) {
+                // Le tampon est remplacé par un plus grand, alloué dans la même arène
+                LongBuffer agrandi = arena.allouerLong(nouvelleCapacite(horsTas.capacity(), capacite));
+                agrandi.put(0, horsTas, 0, taille);
+                arena.liberer(horsTas);
+                horsTas = agrandi;
+            }
+        } else if (capacite > valeurs.length) {
+            valeurs = Arrays.copyOf(valeurs, nouvelleCapacite(valeurs.length, capacite));
+        }
+    }
+
+    @Override
+    protected void deplacer(int source, int destination, int longueur) {
+        if (horsTas == null) {
+            System.arraycopy(valeurs, source, valeurs, destination, longueur);
+        } else if (source < destination) {
+            for (int i = longueur - 1; i >= 0; i--) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        } else {
+            for (int i = 0; i < longueur; i++) {
+                horsTas.put(destination + i, horsTas.get(source + i));
+            }
+        }
+    }
+
+    @Override
+    SeriesLong copierHorsTas(ArenaHorsTas arena) {
+        SeriesLong copie = new SeriesLong(0);
+        copie.horsTas = arena.allouerLong(taille);
+        if (horsTas == null) {
+            copie.horsTas.put(0, valeurs, 0, taille);
+        } else {
+            verifierAccessible();
+            copie.horsTas.put(0, horsTas, 0, taille);
+        }
+        copie.valeurs = null;
+        copie.taille = taille;
+        copie.nuls = nuls == null ? null : (BitSet) nuls.clone();
+        copie.arena = arena;
+        arena.inscrire(copie);
+        return copie;
+    }
+
+    @Override
+    void liberer() {
+        horsTas = LongBuffer.allocate(0);
+    }
+
+    // Masque d'une série rangée hors du tas : les valeurs sont recopiées par blocs dans un petit tableau,
+    // pour que le noyau numérique les compare sans qu'elles soient toutes ramenées dans le tas
+    private void masqueHorsTas(long minimum, long maximum, long[] mots) {
+        verifierAccessible();
+        long[] bloc = new long[TAILLE_BLOC_HORS_TAS];
+        long[] motsBloc = new long[Masque.nombreMots(TAILLE_BLOC_HORS_TAS)];
+        for (int debut = 0; debut < taille; debut += TAILLE_BLOC_HORS_TAS) {
+            int longueur = Math.min(TAILLE_BLOC_HORS_TAS, taille - debut);
+            horsTas.get(debut, bloc, 0, longueur);
+            NoyauxNumeriques.INSTANCE.masqueEntre(bloc, longueur, minimum, maximum, motsBloc);
+            System.arraycopy(motsBloc, 0, mots, debut >>> 6, Masque.nombreMots(longueur));
+        }
+    }
+
+    private long lire(int position) {
+        return horsTas == null ? valeurs[position] : horsTas.get(position);
+    }
+
+    private void ecrire(int position, long valeur) {
+        if (horsTas == null) {
+            valeurs[position] = valeur;
+        } else {
+            horsTas.put(position, valeur);
+        }
+    }
+}
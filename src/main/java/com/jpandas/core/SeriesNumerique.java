@@ -0,0 +1,288 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.jpandas.core.NoyauxNumeriques.Operation;
+
+/**
+ * Classe de base des s&eacute;ries primitives num&eacute;riques ({@link SeriesDouble}, {@link SeriesLong}, {@link SeriesInt}).
+ * <br>
+ * Les statistiques ({@link #decrire()}) sont calcul&eacute;es directement sur le tableau primitif, sans cr&eacute;er de
+ * {@code Double}. Les filtres et les op&eacute;rations arithm&eacute;tiques ({@link #additionner(SeriesNumerique)},
+ * {@link #multiplier(double)}...) utilisent les noyaux de {@link NoyauxNumeriques}, vectoriels (SIMD) quand
+ * l'API Vector est disponible. Les {@link SeriesLong} font exception : leurs valeurs ne sont jamais converties en
+ * {@code double} avant un calcul, ce qui serait inexact au-del&agrave; de 2<sup>53</sup>.
+ *
+ * @param <T> Le type objet correspondant au type primitif stock&eacute; (Double, Long ou Integer).
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public abstract class SeriesNumerique<T extends Number> extends SeriesPrimitive<T> {
+
+    /**
+     * Nombre de valeurs recopi&eacute;es ensemble dans le tas quand un noyau num&eacute;rique parcourt une s&eacute;rie rang&eacute;e hors du tas.
+     */
+    static final int TAILLE_BLOC_HORS_TAS = 1 << 12;
+
+    /**
+     * Constructeur utilis&eacute; par les sous-classes.
+     *
+     * @param taille Le nombre de valeurs d&eacute;j&agrave; pr&eacute;sentes dans le tableau de la sous-classe
+     */
+    protected SeriesNumerique(int taille) {
+        super(taille);
+    }
+
+    /**
+     * Une s&eacute;rie num&eacute;rique primitive ne contient que des nombres (ou des valeurs manquantes).
+     *
+     * @return toujours {@code true}
+     */
+    @Override
+    public boolean estNumerique() {
+        return true;
+    }
+
+    @Override
+    public List<Double> getValeursNumeriques() {
+        List<Double> valeurs = new ArrayList<>(taille);
+        for (int i = 0; i < taille; i++) {
+            if (!estNul(i)) {
+                valeurs.add(getDouble(i));
+            }
+        }
+        return valeurs;
+    }
+
+    @Override
+    protected Statistiques calculerStatistiques() {
+        return CalculStatistiques.calculer(this, true);
+    }
+
+    /**
+     * Calcule le masque des valeurs comprises entre deux bornes (incluses).
+     * <br>
+     * Chaque sous-classe parcourt directement son tableau primitif et construit le masque 64 lignes &agrave; la fois,
+     * sans cr&eacute;er d'objet ni de branchement par ligne. Les valeurs manquantes ne sont jamais s&eacute;lectionn&eacute;es.
+     *
+     * @param minimum La borne inf&eacute;rieure ({@code Double.NEGATIVE_INFINITY} pour ne pas la limiter)
+     * @param maximum La borne sup&eacute;rieure ({@code Double.POSITIVE_INFINITY} pour ne pas la limiter)
+     * @return Le masque des lignes dont la valeur est dans l'intervalle
+     */
+    abstract Masque masqueEntre(double minimum, double maximum);
+
+    /**
+     * Renvoie les valeurs de la s&eacute;rie sous forme de {@code double}, sans copie quand c'est possible.
+     * <br>
+     * Le tableau renvoy&eacute; peut &ecirc;tre le stockage de la s&eacute;rie ({@link SeriesDouble}) : il ne doit pas &ecirc;tre modifi&eacute;,
+     * il peut &ecirc;tre plus long que la s&eacute;rie, et les positions des valeurs manquantes y contiennent une valeur quelconque.
+     *
+     * @return Un tableau d'au moins {@code size()} valeurs
+     */
+    abstract double[] tableauDoubles();
+
+    /**
+     * Copie la s&eacute;rie dans une ar&egrave;ne : la copie range ses valeurs hors du tas, dans un tampon de l'ar&egrave;ne.
+     *
+     * @param arena L'ar&egrave;ne qui re&ccedil;oit les valeurs
+     * @return La copie, du m&ecirc;me type, qui ne peut plus &ecirc;tre lue une fois l'ar&egrave;ne ferm&eacute;e
+     */
+    abstract SeriesNumerique<T> copierHorsTas(ArenaHorsTas arena);
+
+    /**
+     * Renvoie une copie des valeurs de la s&eacute;rie sous forme de tableau de {@code double}
+     * (les valeurs manquantes valent {@code NaN}).
+     *
+     * @return Un tableau de {@code size()} valeurs
+     */
+    public double[] versDoubles() {
+        double[] doubles = Arrays.copyOf(tableauDoubles(), taille);
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                doubles[i] = Double.NaN;
+            }
+        }
+        return doubles;
+    }
+
+    /**
+     * Additionne deux s&eacute;ries position par position.
+     *
+     * @param autre La s&eacute;rie &agrave; ajouter, de m&ecirc;me taille
+     * @return Une nouvelle s&eacute;rie, manquante l&agrave; o&ugrave; l'une des deux valeurs l'est
+     *
+     * @throws IllegalArgumentException si les deux s&eacute;ries n'ont pas la m&ecirc;me taille
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.add.html">Documentation Pandas - add</a>
+     */
+    public SeriesDouble additionner(SeriesNumerique<?> autre) {
+        return appliquer(Operation.ADDITION, autre);
+    }
+
+    /**
+     * Soustrait une s&eacute;rie &agrave; celle-ci, position par position.
+     *
+     * @param autre La s&eacute;rie &agrave; soustraire, de m&ecirc;me taille
+     * @return Une nouvelle s&eacute;rie, manquante l&agrave; o&ugrave; l'une des deux valeurs l'est
+     *
+     * @throws IllegalArgumentException si les deux s&eacute;ries n'ont pas la m&ecirc;me taille
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.sub.html">Documentation Pandas - sub</a>
+     */
+    public SeriesDouble soustraire(SeriesNumerique<?> autre) {
+        return appliquer(Operation.SOUSTRACTION, autre);
+    }
+
+    /**
+     * Multiplie deux s&eacute;ries position par position.
+     *
+     * @param autre La s&eacute;rie multiplicatrice, de m&ecirc;me taille
+     * @return Une nouvelle s&eacute;rie, manquante l&agrave; o&ugrave; l'une des deux valeurs l'est
+     *
+     * @throws IllegalArgumentException si les deux s&eacute;ries n'ont pas la m&ecirc;me taille
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.mul.html">Documentation Pandas - mul</a>
+     */
+    public SeriesDouble multiplier(SeriesNumerique<?> autre) {
+        return appliquer(Operation.MULTIPLICATION, autre);
+    }
+
+    /**
+     * Divise cette s&eacute;rie par une autre, position par position (la division par 0 donne une valeur infinie ou {@code NaN}).
+     *
+     * @param autre La s&eacute;rie des diviseurs, de m&ecirc;me taille
+     * @return Une nouvelle s&eacute;rie, manquante l&agrave; o&ugrave; l'une des deux valeurs l'est
+     *
+     * @throws IllegalArgumentException si les deux s&eacute;ries n'ont pas la m&ecirc;me taille
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.div.html">Documentation Pandas - div</a>
+     */
+    public SeriesDouble diviser(SeriesNumerique<?> autre) {
+        return appliquer(Operation.DIVISION, autre);
+    }
+
+    /**
+     * Ajoute une constante &agrave; toutes les valeurs.
+     *
+     * @param valeur La constante &agrave; ajouter
+     * @return Une nouvelle s&eacute;rie (les valeurs manquantes le restent)
+     */
+    public SeriesDouble additionner(double valeur) {
+        return appliquer(Operation.ADDITION, valeur);
+    }
+
+    /**
+     * Soustrait une constante &agrave; toutes les valeurs.
+     *
+     * @param valeur La constante &agrave; soustraire
+     * @return Une nouvelle s&eacute;rie (les valeurs manquantes le restent)
+     */
+    public SeriesDouble soustraire(double valeur) {
+        return appliquer(Operation.SOUSTRACTION, valeur);
+    }
+
+    /**
+     * Multiplie toutes les valeurs par une constante.
+     *
+     * @param valeur Le multiplicateur
+     * @return Une nouvelle s&eacute;rie (les valeurs manquantes le restent)
+     */
+    public SeriesDouble multiplier(double valeur) {
+        return appliquer(Operation.MULTIPLICATION, valeur);
+    }
+
+    /**
+     * Divise toutes les valeurs par une constante.
+     *
+     * @param valeur Le diviseur
+     * @return Une nouvelle s&eacute;rie (les valeurs manquantes le restent)
+     */
+    public SeriesDouble diviser(double valeur) {
+        return appliquer(Operation.DIVISION, valeur);
+    }
+
+    // Applique une opération entre deux séries de même taille ; les valeurs manquantes des deux séries sont reportées
+    private SeriesDouble appliquer(Operation operation, SeriesNumerique<?> autre) {
+        if (autre.size() != taille) {
+            throw new IllegalArgumentException("Les deux séries n'ont pas la même taille : " + taille + " et " + autre.size() + ".");
+        }
+        double[] resultat = new double[taille];
+        if (this instanceof SeriesLong || autre instanceof SeriesLong) {
+            // Un long converti en double avant l'opération serait arrondi au-delà de 2^53 : les séries de long
+            // ne passent pas par les noyaux, et l'opération est faite valeur par valeur, sans recopie de la colonne
+            boolean entiers = !(this instanceof SeriesDouble) && !(autre instanceof SeriesDouble);
+            for (int i = 0; i < taille; i++) {
+                if (estNul(i) || autre.estNul(i)) {
+                    continue;
+                }
+                resultat[i] = entiers ? calculerEntiers(operation, lireEntier(this, i), lireEntier(autre, i))
+                        : NoyauxNumeriques.calculer(operation, getDouble(i), autre.getDouble(i));
+            }
+        } else {
+            NoyauxNumeriques.INSTANCE.appliquer(operation, tableauDoubles(), autre.tableauDoubles(), resultat, taille);
+        }
+        SeriesDouble serie = new SeriesDouble(resultat);
+        reporterNuls(serie);
+        autre.reporterNuls(serie);
+        return serie;
+    }
+
+    // Applique une opération entre la série et une constante
+    private SeriesDouble appliquer(Operation operation, double valeur) {
+        double[] resultat = new double[taille];
+        if (this instanceof SeriesLong) {
+            // Même chemin exact que pour deux séries, avec une constante entière
+            boolean entiere = valeur == Math.rint(valeur) && Math.abs(valeur) < 0x1p63;
+            for (int i = 0; i < taille; i++) {
+                if (!estNul(i)) {
+                    resultat[i] = entiere ? calculerEntiers(operation, lireEntier(this, i), (long) valeur)
+                            : NoyauxNumeriques.calculer(operation, getDouble(i), valeur);
+                }
+            }
+        } else {
+            NoyauxNumeriques.INSTANCE.appliquer(operation, tableauDoubles(), valeur, resultat, taille);
+        }
+        SeriesDouble serie = new SeriesDouble(resultat);
+        reporterNuls(serie);
+        return serie;
+    }
+
+    // Lit la valeur d'une série entière (SeriesInt ou SeriesLong) sans passer par un double
+    private static long lireEntier(SeriesNumerique<?> serie, int position) {
+        return serie instanceof SeriesLong ? ((SeriesLong) serie).getLong(position) : ((SeriesInt) serie).getInt(position);
+    }
+
+    // Applique une opération à deux entiers : le résultat exact n'est arrondi qu'une fois, en double.
+    // En cas de dépassement de capacité d'un long, l'opération est faite en double.
+    private static double calculerEntiers(Operation operation, long gauche, long droite) {
+        try {
+            switch (operation) {
+                case ADDITION:
+                    return Math.addExact(gauche, droite);
+                case SOUSTRACTION:
+                    return Math.subtractExact(gauche, droite);
+                case MULTIPLICATION:
+                    return Math.multiplyExact(gauche, droite);
+                default:
+                    if (droite == -1) {
+                        return Math.negateExact(gauche);
+                    }
+                    return droite != 0 && gauche % droite == 0 ? gauche / droite : (double) gauche / droite;
+            }
+        } catch (ArithmeticException e) {
+            return NoyauxNumeriques.calculer(operation, gauche, droite);
+        }
+    }
+
+    // Marque dans la série résultat les positions manquantes de cette série
+    private void reporterNuls(SeriesDouble resultat) {
+        if (nuls != null) {
+            for (int i = nuls.nextSetBit(0); i >= 0 && i < taille; i = nuls.nextSetBit(i + 1)) {
+                resultat.marquerNul(i, true);
+            }
+        }
+    }
+}
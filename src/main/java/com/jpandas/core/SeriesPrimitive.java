@@ -0,0 +1,376 @@
+package com.jpandas.core;
+
+import java.util.AbstractList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Classe de base des s&eacute;ries qui stockent leurs valeurs dans un tableau primitif
+ * ({@code double[]}, {@code long[]}, {@code int[]}, ...) plut&ocirc;t que dans une liste d'objets.
+ * <br>
+ * Les valeurs manquantes sont m&eacute;moris&eacute;es dans un {@link BitSet}, cr&eacute;&eacute; uniquement
+ * lorsque la s&eacute;rie contient au moins une valeur {@code null}.
+ * <br>
+ * La m&eacute;thode {@link #getData()} renvoie une vue {@code List<T>} sur le tableau : la s&eacute;rie reste
+ * utilisable partout o&ugrave; une {@link Series} classique est attendue (par exemple dans {@code DataFrame.colonne}),
+ * mais chaque acc&egrave;s par cette vue cr&eacute;e un objet. Les m&eacute;thodes sp&eacute;cialis&eacute;es des sous-classes
+ * &eacute;vitent cette conversion.
+ * <br>
+ * Les s&eacute;ries num&eacute;riques et cat&eacute;gorielles peuvent aussi ranger leurs valeurs hors du tas, dans une
+ * {@link ArenaHorsTas} : elles s'utilisent alors de la m&ecirc;me fa&ccedil;on, jusqu'&agrave; la fermeture de l'ar&egrave;ne.
+ *
+ * @param <T> Le type objet correspondant au type primitif stock&eacute; (ex: Double pour double).
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see SeriesNumerique
+ * @see SeriesBooleen
+ */
+public abstract class SeriesPrimitive<T> extends Series<T> {
+
+    /**
+     * Capacit&eacute; initiale utilis&eacute;e lorsqu'aucune taille n'est pr&eacute;cis&eacute;e.
+     */
+    protected static final int CAPACITE_PAR_DEFAUT = 16;
+
+    /**
+     * Nombre de valeurs r&eacute;ellement pr&eacute;sentes dans la s&eacute;rie (le tableau peut &ecirc;tre plus grand).
+     */
+    protected int taille;
+
+    /**
+     * Positions des valeurs manquantes, ou {@code null} si la s&eacute;rie n'en contient aucune.
+     */
+    protected BitSet nuls;
+
+    /**
+     * Ar&egrave;ne qui contient les valeurs de la s&eacute;rie, ou {@code null} si elles sont dans un tableau du tas.
+     */
+    ArenaHorsTas arena;
+
+    private final List<T> vue = new VueListe();
+
+    /**
+     * Constructeur utilis&eacute; par les sous-classes.
+     *
+     * @param taille Le nombre de valeurs d&eacute;j&agrave; pr&eacute;sentes dans le tableau de la sous-classe
+     */
+    protected SeriesPrimitive(int taille) {
+        super();
+        this.taille = taille;
+    }
+
+    /**
+     * Renvoie la valeur (non manquante) stock&eacute;e &agrave; la position donn&eacute;e, convertie en objet.
+     *
+     * @param position La position de la valeur
+     * @return La valeur convertie en objet
+     */
+    protected abstract T valeur(int position);
+
+    /**
+     * &Eacute;crit une valeur non nulle &agrave; la position donn&eacute;e du tableau.
+     *
+     * @param position La position &agrave; &eacute;crire
+     * @param valeur La valeur &agrave; &eacute;crire
+     */
+    protected abstract void affecter(int position, T valeur);
+
+    /**
+     * Garantit que le tableau peut contenir au moins {@code capacite} valeurs.
+     *
+     * @param capacite La capacit&eacute; minimale souhait&eacute;e
+     */
+    protected abstract void assurerCapacite(int capacite);
+
+    /**
+     * D&eacute;place un bloc de valeurs du tableau (m&ecirc;me s&eacute;mantique que {@link System#arraycopy}).
+     *
+     * @param source Position de d&eacute;part du bloc
+     * @param destination Position d'arriv&eacute;e du bloc
+     * @param longueur Nombre de valeurs &agrave; d&eacute;placer
+     */
+    protected abstract void deplacer(int source, int destination, int longueur);
+
+    /**
+     * Abandonne le tampon hors tas de la s&eacute;rie, juste avant que l'ar&egrave;ne ne le lib&egrave;re.
+     * <br>
+     * Le tampon est remplac&eacute; par un tampon vide : une lecture oubli&eacute;e l&egrave;ve une exception au lieu de lire
+     * une m&eacute;moire rendue au syst&egrave;me.
+     */
+    void liberer() {
+        // Rien à faire pour une série rangée dans le tas
+    }
+
+    /**
+     * Indique si les valeurs de la s&eacute;rie sont rang&eacute;es hors du tas.
+     *
+     * @return {@code true} si la s&eacute;rie a &eacute;t&eacute; copi&eacute;e dans une {@link ArenaHorsTas}
+     */
+    public boolean estHorsTas() {
+        return arena != null;
+    }
+
+    /**
+     * V&eacute;rifie que les valeurs de la s&eacute;rie peuvent &ecirc;tre lues, avant un parcours qui ne passe pas par
+     * {@link #verifierPosition(int)}.
+     *
+     * @throws IllegalStateException si les valeurs &eacute;taient hors du tas et que leur ar&egrave;ne est ferm&eacute;e
+     */
+    void verifierAccessible() {
+        if (arena != null) {
+            arena.verifierOuverte();
+        }
+    }
+
+    /**
+     * Cette m&eacute;thode renvoie une vue {@code List<T>} sur les valeurs de la s&eacute;rie.
+     * <br>
+     * Les modifications faites par cette vue sont r&eacute;percut&eacute;es dans le tableau primitif.
+     *
+     * @return {@code List<T>} : une vue sur les valeurs de la s&eacute;rie.
+     */
+    @Override
+    public List<T> getData() {
+        return vue;
+    }
+
+    @Override
+    public int size() {
+        return taille;
+    }
+
+    @Override
+    public T get(int position) {
+        verifierPosition(position);
+        return estNul(position) ? null : valeur(position);
+    }
+
+    @Override
+    public boolean estNul(int position) {
+        return nuls != null && nuls.get(position);
+    }
+
+    /**
+     * Indique si la s&eacute;rie contient au moins une valeur manquante.
+     *
+     * @return {@code true} si au moins une valeur est {@code null}
+     */
+    public boolean contientNuls() {
+        return nuls != null && !nuls.isEmpty();
+    }
+
+    /**
+     * Indique si la s&eacute;rie contient une valeur manquante entre deux positions.
+     *
+     * @param debut La premi&egrave;re position examin&eacute;e
+     * @param fin La position qui suit la derni&egrave;re position examin&eacute;e
+     * @return {@code true} si au moins une valeur de {@code [debut, fin[} est {@code null}
+     */
+    boolean contientNuls(int debut, int fin) {
+        if (nuls == null) {
+            return false;
+        }
+        int premierNul = nuls.nextSetBit(debut);
+        return premierNul >= 0 && premierNul < fin;
+    }
+
+    /**
+     * Renvoie le nombre de valeurs manquantes de la s&eacute;rie, compt&eacute;es directement dans le {@link BitSet}.
+     *
+     * @return Le nombre de valeurs {@code null}
+     */
+    @Override
+    public int nombreNuls() {
+        return nuls == null ? 0 : nuls.cardinality();
+    }
+
+    /**
+     * Ajoute une valeur manquante &agrave; la fin de la s&eacute;rie.
+     */
+    public void ajouterNul() {
+        assurerCapacite(taille + 1);
+        taille++;
+        marquerNul(taille - 1, true);
+        signalerModification();
+    }
+
+    /**
+     * Marque (ou d&eacute;marque) une position comme valeur manquante.
+     *
+     * @param position La position concern&eacute;e
+     * @param nul {@code true} pour marquer la valeur comme manquante
+     */
+    protected void marquerNul(int position, boolean nul) {
+        if (nul) {
+            if (nuls == null) {
+                nuls = new BitSet();
+            }
+            nuls.set(position);
+        } else if (nuls != null) {
+            nuls.clear(position);
+        }
+    }
+
+    /**
+     * Marque comme manquantes les positions {@code destination + i} de cette s&eacute;rie pour chaque valeur manquante
+     * d'indice {@code i < nombre} de la s&eacute;rie {@code source} (utilis&eacute; par les ajouts de s&eacute;ries enti&egrave;res).
+     *
+     * @param source La s&eacute;rie dont on recopie le marquage
+     * @param nombre Le nombre de positions recopi&eacute;es
+     * @param destination La position, dans cette s&eacute;rie, de la premi&egrave;re valeur recopi&eacute;e
+     */
+    protected void recopierNuls(SeriesPrimitive<?> source, int nombre, int destination) {
+        if (source.nuls == null) {
+            return;
+        }
+        for (int i = source.nuls.nextSetBit(0); i >= 0 && i < nombre; i = source.nuls.nextSetBit(i + 1)) {
+            marquerNul(destination + i, true);
+        }
+    }
+
+    /**
+     * Calcule la nouvelle capacit&eacute; d'un tableau qui doit contenir au moins {@code capacite} valeurs.
+     *
+     * @param actuelle La capacit&eacute; actuelle du tableau
+     * @param capacite La capacit&eacute; minimale souhait&eacute;e
+     * @return La nouvelle capacit&eacute; (croissance d'un facteur 1,5)
+     */
+    protected static int nouvelleCapacite(int actuelle, int capacite) {
+        return Math.max(capacite, Math.max(CAPACITE_PAR_DEFAUT, actuelle + (actuelle >> 1)));
+    }
+
+    /**
+     * Recopie dans {@code destination} le marquage des valeurs manquantes pour les positions s&eacute;lectionn&eacute;es.
+     *
+     * @param destination La s&eacute;rie construite par {@link #selectionner(int[])}
+     * @param positions Les positions s&eacute;lectionn&eacute;es
+     */
+    protected void selectionnerNuls(SeriesPrimitive<T> destination, int[] positions) {
+        for (int i = 0; i < positions.length; i++) {
+            if (positions[i] < 0 || estNul(positions[i])) {
+                destination.marquerNul(i, true);
+            }
+        }
+    }
+
+    /**
+     * Calcule le masque des valeurs manquantes de la s&eacute;rie.
+     *
+     * @return Un masque s&eacute;lectionnant les positions {@code null}
+     */
+    Masque masqueNuls() {
+        long[] mots = new long[Masque.nombreMots(taille)];
+        if (nuls != null) {
+            long[] bits = nuls.toLongArray();
+            System.arraycopy(bits, 0, mots, 0, Math.min(bits.length, mots.length));
+            if ((taille & 63) != 0) {
+                mots[mots.length - 1] &= (1L << taille) - 1;
+            }
+        }
+        return new Masque(taille, mots);
+    }
+
+    /**
+     * Retire d'un masque (repr&eacute;sent&eacute; par ses mots) les positions des valeurs manquantes.
+     *
+     * @param mots Les mots du masque, modifi&eacute;s sur place
+     */
+    void retirerNuls(long[] mots) {
+        if (nuls == null) {
+            return;
+        }
+        long[] bits = nuls.toLongArray();
+        for (int k = 0; k < Math.min(bits.length, mots.length); k++) {
+            mots[k] &= ~bits[k];
+        }
+    }
+
+    /**
+     * V&eacute;rifie qu'une position est comprise entre 0 et {@code size() - 1}.
+     *
+     * @param position La position &agrave; v&eacute;rifier
+     *
+     * @throws IndexOutOfBoundsException si la position est hors limites
+     * @throws IllegalStateException si les valeurs &eacute;taient hors du tas et que leur ar&egrave;ne est ferm&eacute;e
+     */
+    protected void verifierPosition(int position) {
+        verifierAccessible();
+        if (position < 0 || position >= taille) {
+            throw new IndexOutOfBoundsException("Position " + position + " hors limites (taille " + taille + ").");
+        }
+    }
+
+    /**
+     * Vue {@code List<T>} sur le tableau primitif de la s&eacute;rie.
+     */
+    private class VueListe extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int position) {
+            return SeriesPrimitive.this.get(position);
+        }
+
+        @Override
+        public int size() {
+            return taille;
+        }
+
+        @Override
+        public T set(int position, T valeur) {
+            T ancienne = SeriesPrimitive.this.get(position);
+            ecrire(position, valeur);
+            return ancienne;
+        }
+
+        @Override
+        public void add(int position, T valeur) {
+            if (position < 0 || position > taille) {
+                throw new IndexOutOfBoundsException("Position " + position + " hors limites (taille " + taille + ").");
+            }
+            assurerCapacite(taille + 1);
+            if (position < taille) {
+                deplacer(position, position + 1, taille - position);
+                decalerNuls(position, 1);
+            }
+            taille++;
+            ecrire(position, valeur);
+            modCount++;
+        }
+
+        @Override
+        public T remove(int position) {
+            T ancienne = SeriesPrimitive.this.get(position);
+            deplacer(position + 1, position, taille - position - 1);
+            decalerNuls(position + 1, -1);
+            taille--;
+            marquerNul(taille, false);
+            signalerModification();
+            modCount++;
+            return ancienne;
+        }
+
+        private void ecrire(int position, T valeur) {
+            if (valeur == null) {
+                marquerNul(position, true);
+            } else {
+                affecter(position, valeur);
+                marquerNul(position, false);
+            }
+            signalerModification();
+        }
+
+        // Décale de "decalage" positions le marquage des nuls situés à partir de "debut"
+        private void decalerNuls(int debut, int decalage) {
+            if (nuls == null) {
+                return;
+            }
+            BitSet decales = nuls.get(0, Math.max(0, debut + Math.min(0, decalage)));
+            for (int i = nuls.nextSetBit(debut); i >= 0; i = nuls.nextSetBit(i + 1)) {
+                decales.set(i + decalage);
+            }
+            nuls = decales;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.jpandas.core;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Vue sur une tranche r&eacute;guli&egrave;re d'une autre s&eacute;rie (d&eacute;but, nombre de valeurs, pas), utilis&eacute;e par
+ * {@link DataFrame#ilocVue(int, int, int, int, int, int)}.
+ * <br>
+ * La vue ne copie aucune valeur : la position {@code i} de la vue correspond &agrave; la position
+ * {@code debut + i * pas} de la s&eacute;rie d'origine, lue &agrave; la demande. Sa cr&eacute;ation co&ucirc;te donc O(1), quelle que
+ * soit la taille de la tranche. Comme en Pandas, une modification de la s&eacute;rie d'origine est visible dans la vue.
+ * <br>
+ * La premi&egrave;re &eacute;criture par {@link #getData()} (ajout, remplacement, suppression) recopie la tranche dans une
+ * s&eacute;rie ind&eacute;pendante, du m&ecirc;me type que la s&eacute;rie d'origine : la s&eacute;rie d'origine n'est jamais modifi&eacute;e
+ * par la vue.
+ *
+ * @param <T> Le type des &eacute;l&eacute;ments de la s&eacute;rie d'origine
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class SeriesVue<T> extends Series<T> {
+    private final Series<T> origine;
+    private final int debut;
+    private final int taille;
+    private final int pas;
+    private final List<T> vue = new VueListe();
+    private Series<T> copie;
+    // Version de la vue juste avant la recopie, à laquelle s'ajoute ensuite la version de la copie
+    private long versionRecopie;
+
+    /**
+     * Constructeur d'une vue. Si {@code origine} est elle-m&ecirc;me une vue non recopi&eacute;e, la nouvelle vue porte
+     * directement sur sa s&eacute;rie d'origine (les d&eacute;calages et les pas sont compos&eacute;s).
+     *
+     * @param origine La s&eacute;rie observ&eacute;e
+     * @param debut La position, dans {@code origine}, de la premi&egrave;re valeur de la vue
+     * @param taille Le nombre de valeurs de la vue
+     * @param pas L'&eacute;cart entre deux valeurs successives de la vue dans {@code origine} (&gt; 0)
+     */
+    SeriesVue(Series<T> origine, int debut, int taille, int pas) {
+        super();
+        if (origine instanceof SeriesVue && ((SeriesVue<T>) origine).copie == null) {
+            SeriesVue<T> parent = (SeriesVue<T>) origine;
+            this.origine = parent.origine;
+            this.debut = parent.debut + debut * parent.pas;
+            this.pas = pas * parent.pas;
+        } else {
+            this.origine = origine;
+            this.debut = debut;
+            this.pas = pas;
+        }
+        this.taille = taille;
+    }
+
+    /**
+     * Indique si la tranche a &eacute;t&eacute; recopi&eacute;e (apr&egrave;s une &eacute;criture) : la vue ne d&eacute;pend alors plus
+     * de la s&eacute;rie d'origine.
+     *
+     * @return {@code true} si la vue poss&egrave;de sa propre copie des valeurs
+     */
+    boolean estRecopiee() {
+        return copie != null;
+    }
+
+    @Override
+    public List<T> getData() {
+        return copie != null ? copie.getData() : vue;
+    }
+
+    @Override
+    public int size() {
+        return copie != null ? copie.size() : taille;
+    }
+
+    @Override
+    public T get(int position) {
+        return copie != null ? copie.get(position) : origine.get(positionOrigine(position));
+    }
+
+    @Override
+    public boolean estNul(int position) {
+        return copie != null ? copie.estNul(position) : origine.estNul(positionOrigine(position));
+    }
+
+    @Override
+    public double getDouble(int position) {
+        return copie != null ? copie.getDouble(position) : origine.getDouble(positionOrigine(position));
+    }
+
+    /**
+     * Recopie les valeurs situ&eacute;es aux positions donn&eacute;es. La s&eacute;rie renvoy&eacute;e est du type de la s&eacute;rie
+     * d'origine (une colonne primitive reste primitive).
+     */
+    @Override
+    public Series<T> selectionner(int[] positions) {
+        if (copie != null) {
+            return copie.selectionner(positions);
+        }
+        int[] positionsOrigine = new int[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            positionsOrigine[i] = positions[i] < 0 ? -1 : positionOrigine(positions[i]);
+        }
+        return origine.selectionner(positionsOrigine);
+    }
+
+    @Override
+    public boolean estNumerique() {
+        if (copie != null) {
+            return copie.estNumerique();
+        }
+        return origine instanceof SeriesNumerique || super.estNumerique();
+    }
+
+    /**
+     * La version d'une vue suit celle de la s&eacute;rie observ&eacute;e, puis celle de sa copie. Elle ne fait qu'augmenter :
+     * apr&egrave;s la recopie, elle part de la derni&egrave;re version observ&eacute;e, qu'elle d&eacute;passe d&egrave;s la recopie.
+     */
+    @Override
+    long getVersion() {
+        return copie != null ? versionRecopie + copie.getVersion() : origine.getVersion();
+    }
+
+    @Override
+    protected Statistiques calculerStatistiques() {
+        if (copie != null) {
+            return copie.calculerStatistiques();
+        }
+        // Sur une série numérique primitive, les doubles sont lus directement, sans créer d'objet
+        return CalculStatistiques.calculer(this, origine instanceof SeriesNumerique);
+    }
+
+    // Traduit une position de la vue en position dans la série d'origine
+    private int positionOrigine(int position) {
+        if (position < 0 || position >= taille) {
+            throw new IndexOutOfBoundsException("Position " + position + " hors limites (taille " + taille + ").");
+        }
+        return debut + position * pas;
+    }
+
+    // Recopie la tranche dans une série indépendante, avant la première écriture
+    private List<T> donneesModifiables() {
+        if (copie == null) {
+            int[] positions = new int[taille];
+            for (int i = 0; i < taille; i++) {
+                positions[i] = debut + i * pas;
+            }
+            long versionAvant = origine.getVersion();
+            copie = origine.selectionner(positions);
+            versionRecopie = versionAvant + 1;
+        }
+        return copie.getData();
+    }
+
+    /**
+     * Vue {@code List<T>} en lecture sur la tranche ; toute &eacute;criture recopie d'abord la tranche.
+     */
+    private class VueListe extends AbstractList<T> implements RandomAccess {
+
+        @Override
+        public T get(int position) {
+            return SeriesVue.this.get(position);
+        }
+
+        @Override
+        public int size() {
+            return SeriesVue.this.size();
+        }
+
+        @Override
+        public T set(int position, T valeur) {
+            return donneesModifiables().set(position, valeur);
+        }
+
+        @Override
+        public void add(int position, T valeur) {
+            donneesModifiables().add(position, valeur);
+            modCount++;
+        }
+
+        @Override
+        public T remove(int position) {
+            T ancienne = donneesModifiables().remove(position);
+            modCount++;
+            return ancienne;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.jpandas.core;
+
+/**
+ * Statistiques descriptives d'une s&eacute;rie, calcul&eacute;es par {@link Series#decrire()}.
+ * <br>
+ * Un objet {@code Statistiques} est immuable une fois renvoy&eacute; : il est m&eacute;moris&eacute; par la s&eacute;rie et partag&eacute;
+ * entre les appels tant que la s&eacute;rie n'est pas modifi&eacute;e.
+ * <br>
+ * Les statistiques d'un bloc de valeurs sont calcul&eacute;es par les noyaux de {@link NoyauxNumeriques} (vectoriels
+ * si possible), en deux passages num&eacute;riquement stables. Elles peuvent aussi &ecirc;tre construites valeur par valeur
+ * ({@link #ajouter(double)}, algorithme de Welford), sans conserver les valeurs ni cr&eacute;er d'objet par valeur.
+ * La somme est compens&eacute;e (algorithme de Kahan-Neumaier) pour ne pas perdre les petites valeurs.
+ * <br>
+ * Deux statistiques calcul&eacute;es sur des parties disjointes se combinent par {@link #fusionner(Statistiques, Statistiques)}
+ * (formule de Chan pour la variance) : c'est ce qui permet le calcul en parall&egrave;le des grandes colonnes.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * Statistiques stats = df.getColonneByName("Age").decrire();
+ * double moyenne = stats.getMoyenne();
+ * double ecartType = stats.getEcartType();
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.Series.describe.html">Documentation Pandas - describe</a>
+ */
+public final class Statistiques {
+    private long nombre;
+    private long nombreNuls;
+    private double somme;
+    private double compensation;
+    private double moyenne;
+    private double sommeDesCarres;
+    private double minimum = Double.NaN;
+    private double maximum = Double.NaN;
+    private boolean numerique = true;
+
+    /**
+     * Ajoute une valeur aux statistiques.
+     *
+     * @param valeur La valeur &agrave; ajouter
+     */
+    void ajouter(double valeur) {
+        nombre++;
+        ajouterASomme(valeur);
+        double ecart = valeur - moyenne;
+        moyenne += ecart / nombre;
+        sommeDesCarres += ecart * (valeur - moyenne);
+        if (nombre == 1 || valeur < minimum) {
+            minimum = valeur;
+        }
+        if (nombre == 1 || valeur > maximum) {
+            maximum = valeur;
+        }
+    }
+
+    /**
+     * Combine les statistiques de deux parties disjointes d'une s&eacute;rie, comme si leurs valeurs avaient &eacute;t&eacute;
+     * ajout&eacute;es &agrave; un m&ecirc;me objet. Les deux objets ne sont pas modifi&eacute;s.
+     *
+     * @param gauche Les statistiques de la premi&egrave;re partie
+     * @param droite Les statistiques de la seconde partie
+     * @return Les statistiques de la r&eacute;union des deux parties
+     */
+    static Statistiques fusionner(Statistiques gauche, Statistiques droite) {
+        Statistiques resultat = new Statistiques();
+        resultat.nombre = gauche.nombre + droite.nombre;
+        resultat.nombreNuls = gauche.nombreNuls + droite.nombreNuls;
+        resultat.numerique = gauche.numerique && droite.numerique;
+        resultat.somme = gauche.somme;
+        resultat.compensation = gauche.compensation + droite.compensation;
+        resultat.ajouterASomme(droite.somme);
+        if (gauche.nombre == 0 || droite.nombre == 0) {
+            Statistiques nonVide = gauche.nombre == 0 ? droite : gauche;
+            resultat.moyenne = nonVide.moyenne;
+            resultat.sommeDesCarres = nonVide.sommeDesCarres;
+            resultat.minimum = nonVide.minimum;
+            resultat.maximum = nonVide.maximum;
+            return resultat;
+        }
+        double ecart = droite.moyenne - gauche.moyenne;
+        double partDroite = (double) droite.nombre / resultat.nombre;
+        resultat.moyenne = gauche.moyenne + ecart * partDroite;
+        resultat.sommeDesCarres = gauche.sommeDesCarres + droite.sommeDesCarres + ecart * ecart * gauche.nombre * partDroite;
+        resultat.minimum = droite.minimum < gauche.minimum ? droite.minimum : gauche.minimum;
+        resultat.maximum = droite.maximum > gauche.maximum ? droite.maximum : gauche.maximum;
+        return resultat;
+    }
+
+    /**
+     * Construit les statistiques d'un bloc de valeurs (sans valeur manquante) calcul&eacute;es par un noyau
+     * de {@link NoyauxNumeriques}.
+     *
+     * @param nombre Le nombre de valeurs (&gt; 0)
+     * @param somme La somme des valeurs
+     * @param compensation L'erreur d'arrondi accumul&eacute;e par la somme
+     * @param moyenne La moyenne des valeurs
+     * @param sommeDesCarres La somme des carr&eacute;s des &eacute;carts &agrave; la moyenne
+     * @param minimum La plus petite valeur
+     * @param maximum La plus grande valeur
+     * @return Les statistiques du bloc
+     */
+    static Statistiques depuisBloc(long nombre, double somme, double compensation, double moyenne, double sommeDesCarres,
+            double minimum, double maximum) {
+        Statistiques resultat = new Statistiques();
+        resultat.nombre = nombre;
+        resultat.somme = somme;
+        resultat.compensation = compensation;
+        resultat.moyenne = moyenne;
+        resultat.sommeDesCarres = sommeDesCarres;
+        resultat.minimum = minimum;
+        resultat.maximum = maximum;
+        return resultat;
+    }
+
+    // Somme compensée de Kahan-Neumaier : l'erreur d'arrondi de chaque addition est accumulée à part
+    private void ajouterASomme(double valeur) {
+        double total = somme + valeur;
+        if (Math.abs(somme) >= Math.abs(valeur)) {
+            compensation += (somme - total) + valeur;
+        } else {
+            compensation += (valeur - total) + somme;
+        }
+        somme = total;
+    }
+
+    /**
+     * Compte une valeur manquante.
+     */
+    void ajouterNul() {
+        nombreNuls++;
+    }
+
+    /**
+     * Compte plusieurs valeurs manquantes.
+     *
+     * @param nombreNuls Le nombre de valeurs {@code null} &agrave; ajouter
+     */
+    void ajouterNuls(long nombreNuls) {
+        this.nombreNuls += nombreNuls;
+    }
+
+    /**
+     * Indique que la s&eacute;rie contient une valeur non num&eacute;rique : toutes les statistiques valent alors {@code NaN}.
+     */
+    void marquerNonNumerique() {
+        numerique = false;
+    }
+
+    /**
+     * Indique si toutes les valeurs non manquantes &eacute;taient des nombres.
+     *
+     * @return {@code true} si la s&eacute;rie est num&eacute;rique
+     */
+    public boolean estNumerique() {
+        return numerique;
+    }
+
+    /**
+     * Renvoie le nombre de valeurs non manquantes.
+     *
+     * @return Le nombre de valeurs prises en compte (0 pour une s&eacute;rie non num&eacute;rique)
+     */
+    public long getNombre() {
+        return numerique ? nombre : 0;
+    }
+
+    /**
+     * Renvoie le nombre de valeurs manquantes.
+     *
+     * @return Le nombre de valeurs {@code null}
+     */
+    public long getNombreNuls() {
+        return nombreNuls;
+    }
+
+    /**
+     * Renvoie la somme des valeurs.
+     *
+     * @return La somme, 0 pour une s&eacute;rie vide, ou {@code NaN} si la s&eacute;rie n'est pas num&eacute;rique
+     */
+    public double getSomme() {
+        if (!numerique) {
+            return Double.NaN;
+        }
+        // Avec une valeur infinie ou NaN, la compensation n'a plus de sens
+        return Double.isFinite(somme) ? somme + compensation : somme;
+    }
+
+    /**
+     * Renvoie la moyenne des valeurs.
+     *
+     * @return La moyenne, ou {@code NaN} si la s&eacute;rie n'est pas num&eacute;rique ou vide
+     */
+    public double getMoyenne() {
+        return getNombre() == 0 ? Double.NaN : moyenne;
+    }
+
+    /**
+     * Renvoie la plus petite valeur.
+     *
+     * @return Le minimum, ou {@code NaN} si la s&eacute;rie n'est pas num&eacute;rique ou vide
+     */
+    public double getMinimum() {
+        return getNombre() == 0 ? Double.NaN : minimum;
+    }
+
+    /**
+     * Renvoie la plus grande valeur.
+     *
+     * @return Le maximum, ou {@code NaN} si la s&eacute;rie n'est pas num&eacute;rique ou vide
+     */
+    public double getMaximum() {
+        return getNombre() == 0 ? Double.NaN : maximum;
+    }
+
+    /**
+     * Renvoie la variance (corrig&eacute;e, divis&eacute;e par n - 1, comme en Pandas).
+     *
+     * @return La variance, ou {@code NaN} s'il y a moins de deux valeurs
+     */
+    public double getVariance() {
+        return getNombre() < 2 ? Double.NaN : sommeDesCarres / (nombre - 1);
+    }
+
+    /**
+     * Renvoie l'&eacute;cart-type (corrig&eacute;, comme en Pandas).
+     *
+     * @return L'&eacute;cart-type, ou {@code NaN} s'il y a moins de deux valeurs
+     */
+    public double getEcartType() {
+        return Math.sqrt(getVariance());
+    }
+
+    @Override
+    public String toString() {
+        return "  Nombre      : " + getNombre() + System.lineSeparator()
+                + "  Manquantes  : " + getNombreNuls() + System.lineSeparator()
+                + "  Somme       : " + getSomme() + System.lineSeparator()
+                + "  Moyenne     : " + getMoyenne() + System.lineSeparator()
+                + "  Minimum     : " + getMinimum() + System.lineSeparator()
+                + "  Maximum     : " + getMaximum() + System.lineSeparator()
+                + "  Écart-type  : " + getEcartType();
+    }
+}
@@ -0,0 +1,324 @@
+package com.jpandas.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tri des lignes d'un {@link DataFrame} selon une ou plusieurs colonnes, utilis&eacute; par
+ * {@link DataFrame#sortValues(String[], boolean...)}.
+ * <br>
+ * Le tri ne d&eacute;place aucune valeur : il calcule la permutation des lignes, que le {@code DataFrame} applique
+ * ensuite &agrave; chaque colonne en une seule fois ({@link Series#selectionner(int[])}).
+ * <br>
+ * Chaque colonne cl&eacute; est d'abord traduite en une cl&eacute; {@code long} dont l'ordre non sign&eacute; est celui des valeurs :
+ * <ul>
+ *   <li>entiers et bool&eacute;ens : la valeur, bit de signe invers&eacute; ;</li>
+ *   <li>nombres &agrave; virgule : les bits du {@code double}, retourn&eacute;s pour les n&eacute;gatifs ;</li>
+ *   <li>colonnes cat&eacute;gorielles : le rang de la modalit&eacute;, les modalit&eacute;s (peu nombreuses) &eacute;tant tri&eacute;es une fois ;</li>
+ *   <li>autres colonnes : le rang de la valeur parmi les valeurs distinctes ({@link CodageCles}), tri&eacute;es une fois.</li>
+ * </ul>
+ * Les cl&eacute;s enti&egrave;res (entiers, bool&eacute;ens, rangs) sont tri&eacute;es par un tri par base (radix LSD, octet par octet,
+ * en sautant les octets communs &agrave; toutes les cl&eacute;s), stable et en O(n). Les cl&eacute;s des nombres &agrave; virgule, dont
+ * presque tous les octets varient, sont tri&eacute;es par {@link Arrays#parallelSort(long[])} : chaque cl&eacute; est r&eacute;duite
+ * &agrave; ses 32 bits de poids fort, accol&eacute;s &agrave; sa position (ce qui rend le tri stable), puis les rares groupes de
+ * cl&eacute;s &eacute;gales sur ces 32 bits sont d&eacute;partag&eacute;s par les 32 bits de poids faible. Sur un seul processeur,
+ * o&ugrave; ce tri n'a plus d'avantage, elles passent aussi par le tri par base.
+ * <br>
+ * Pour plusieurs colonnes, on trie de la derni&egrave;re &agrave; la premi&egrave;re : la stabilit&eacute; de chaque passage donne
+ * l'ordre lexicographique. Aucune valeur n'est convertie en objet.
+ * <br>
+ * Les valeurs manquantes (et {@code NaN}) sont plac&eacute;es &agrave; la fin, quel que soit le sens du tri, comme en Pandas.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+final class Tri {
+
+    private Tri() {
+    }
+
+    /**
+     * Calcule la permutation qui trie les lignes selon plusieurs colonnes.
+     *
+     * @param colonnes Les colonnes cl&eacute;s, de la plus importante &agrave; la moins importante, de m&ecirc;me taille
+     * @param croissants Le sens du tri de chaque colonne ({@code true} pour croissant)
+     * @return Les positions des lignes dans l'ordre tri&eacute; (les lignes &eacute;gales gardent leur ordre)
+     */
+    static int[] permutation(Series<?>[] colonnes, boolean[] croissants) {
+        int nbLignes = colonnes[0].size();
+        int[] permutation = new int[nbLignes];
+        Arrays.setAll(permutation, i -> i);
+        long[] cles = new long[nbLignes];
+        boolean[] nuls = new boolean[nbLignes];
+        for (int j = colonnes.length - 1; j >= 0; j--) {
+            boolean reels = lireCles(colonnes[j], cles, nuls);
+            if (!croissants[j]) {
+                for (int i = 0; i < nbLignes; i++) {
+                    cles[i] = ~cles[i];
+                }
+            }
+            trierPassage(permutation, cles, nuls, reels);
+        }
+        return permutation;
+    }
+
+    // Trie la permutation de façon stable selon les clés ; les lignes manquantes vont à la fin, dans leur ordre
+    private static void trierPassage(int[] permutation, long[] cles, boolean[] nuls, boolean reels) {
+        int nbLignes = permutation.length;
+        int[] lignes = new int[nbLignes];
+        long[] clesRangees = new long[nbLignes];
+        int nb = 0;
+        int nbNuls = 0;
+        for (int ligne : permutation) {
+            if (nuls[ligne]) {
+                nbNuls++;
+            }
+        }
+        // Les manquantes sont rangées directement à leur place finale, après les autres
+        int prochainNul = nbLignes - nbNuls;
+        for (int ligne : permutation) {
+            if (nuls[ligne]) {
+                lignes[prochainNul++] = ligne;
+            } else {
+                lignes[nb] = ligne;
+                clesRangees[nb++] = cles[ligne];
+            }
+        }
+        if (reels && ForkJoinPool.getCommonPoolParallelism() > 1) {
+            trierEnParallele(lignes, clesRangees, nb);
+        } else {
+            trierParBase(lignes, clesRangees, nb);
+        }
+        System.arraycopy(lignes, 0, permutation, 0, nbLignes);
+    }
+
+    /**
+     * Tri par base (LSD) stable des {@code taille} premi&egrave;res cl&eacute;s, en d&eacute;pla&ccedil;ant les lignes avec elles.
+     *
+     * @param lignes Les lignes, r&eacute;ordonn&eacute;es en place
+     * @param cles Les cl&eacute;s des lignes (ordre non sign&eacute;), r&eacute;ordonn&eacute;es en place
+     * @param taille Le nombre de cl&eacute;s &agrave; trier
+     */
+    static void trierParBase(int[] lignes, long[] cles, int taille) {
+        // Un seul parcours pour les histogrammes des 8 octets
+        int[][] comptes = new int[8][257];
+        for (int i = 0; i < taille; i++) {
+            long cle = cles[i];
+            for (int octet = 0; octet < 8; octet++) {
+                comptes[octet][(int) ((cle >>> (octet * 8)) & 0xFF) + 1]++;
+            }
+        }
+        int[] lignesTampon = new int[taille];
+        long[] clesTampon = new long[taille];
+        int[] lignesSource = lignes;
+        long[] clesSource = cles;
+        for (int octet = 0; octet < 8; octet++) {
+            int[] compte = comptes[octet];
+            // Un octet identique pour toutes les clés ne change pas l'ordre : on saute ce passage
+            boolean commun = false;
+            for (int b = 1; b <= 256; b++) {
+                if (compte[b] == taille) {
+                    commun = true;
+                    break;
+                }
+                if (compte[b] != 0) {
+                    break;
+                }
+            }
+            if (commun) {
+                continue;
+            }
+            for (int b = 0; b < 256; b++) {
+                compte[b + 1] += compte[b];
+            }
+            int[] lignesDestination = lignesSource == lignes ? lignesTampon : lignes;
+            long[] clesDestination = clesSource == cles ? clesTampon : cles;
+            int decalage = octet * 8;
+            for (int i = 0; i < taille; i++) {
+                long cle = clesSource[i];
+                int position = compte[(int) ((cle >>> decalage) & 0xFF)]++;
+                lignesDestination[position] = lignesSource[i];
+                clesDestination[position] = cle;
+            }
+            lignesSource = lignesDestination;
+            clesSource = clesDestination;
+        }
+        if (lignesSource != lignes) {
+            System.arraycopy(lignesSource, 0, lignes, 0, taille);
+            System.arraycopy(clesSource, 0, cles, 0, taille);
+        }
+    }
+
+    /**
+     * Tri stable des {@code taille} premi&egrave;res lignes selon leurs cl&eacute;s, par {@link Arrays#parallelSort(long[])}.
+     * <br>
+     * Adapt&eacute; aux cl&eacute;s dont les 32 bits de poids fort suffisent presque toujours &agrave; les d&eacute;partager
+     * (nombres &agrave; virgule).
+     *
+     * @param lignes Les lignes, r&eacute;ordonn&eacute;es en place
+     * @param cles Les cl&eacute;s des lignes (ordre non sign&eacute;)
+     * @param taille Le nombre de lignes &agrave; trier
+     */
+    static void trierEnParallele(int[] lignes, long[] cles, int taille) {
+        // Poids fort de la clé, puis position : deux clés égales restent dans leur ordre (le bit de signe est inversé
+        // pour que l'ordre signé des long soit l'ordre non signé des clés)
+        long[] paires = new long[taille];
+        for (int k = 0; k < taille; k++) {
+            paires[k] = ((cles[k] & 0xFFFFFFFF00000000L) | k) ^ Long.MIN_VALUE;
+        }
+        Arrays.parallelSort(paires);
+
+        // Les groupes de même poids fort sont triés selon le poids faible, puis la position
+        int debut = 0;
+        while (debut < taille) {
+            long poidsFort = paires[debut] & 0xFFFFFFFF00000000L;
+            int fin = debut + 1;
+            while (fin < taille && (paires[fin] & 0xFFFFFFFF00000000L) == poidsFort) {
+                fin++;
+            }
+            if (fin - debut > 1) {
+                for (int r = debut; r < fin; r++) {
+                    int k = (int) paires[r];
+                    paires[r] = ((cles[k] << 32) | k) ^ Long.MIN_VALUE;
+                }
+                Arrays.sort(paires, debut, fin);
+            }
+            debut = fin;
+        }
+
+        int[] lignesTriees = new int[taille];
+        for (int r = 0; r < taille; r++) {
+            lignesTriees[r] = lignes[(int) paires[r]];
+        }
+        System.arraycopy(lignesTriees, 0, lignes, 0, taille);
+    }
+
+    // Remplit "cles" avec la clé triable de chaque ligne et "nuls" avec ses valeurs manquantes ;
+    // renvoie true pour des clés de nombres à virgule
+    private static boolean lireCles(Series<?> serie, long[] cles, boolean[] nuls) {
+        int nbLignes = serie.size();
+        if (serie instanceof SeriesVue) {
+            // Une vue est d'abord recopiée dans une série de son type, pour lire ses valeurs sans les convertir en objets
+            int[] lignes = new int[nbLignes];
+            Arrays.setAll(lignes, i -> i);
+            serie = serie.selectionner(lignes);
+        }
+        if (serie instanceof SeriesInt) {
+            SeriesInt entiers = (SeriesInt) serie;
+            for (int i = 0; i < nbLignes; i++) {
+                nuls[i] = entiers.estNul(i);
+                cles[i] = entiers.getInt(i) ^ Long.MIN_VALUE;
+            }
+        } else if (serie instanceof SeriesLong) {
+            SeriesLong longs = (SeriesLong) serie;
+            for (int i = 0; i < nbLignes; i++) {
+                nuls[i] = longs.estNul(i);
+                cles[i] = longs.getLong(i) ^ Long.MIN_VALUE;
+            }
+        } else if (serie instanceof SeriesDouble) {
+            for (int i = 0; i < nbLignes; i++) {
+                double valeur = serie.getDouble(i);
+                nuls[i] = Double.isNaN(valeur);
+                cles[i] = cleDouble(valeur);
+            }
+            return true;
+        } else if (serie instanceof SeriesBooleen) {
+            SeriesBooleen booleens = (SeriesBooleen) serie;
+            for (int i = 0; i < nbLignes; i++) {
+                nuls[i] = booleens.estNul(i);
+                cles[i] = booleens.getBooleen(i) ? 1 : 0;
+            }
+        } else if (serie instanceof SeriesCategorielle) {
+            SeriesCategorielle categories = (SeriesCategorielle) serie;
+            int[] rangs = rangs(categories.getModalites().toArray());
+            for (int i = 0; i < nbLignes; i++) {
+                int code = categories.getCode(i);
+                nuls[i] = code == SeriesCategorielle.CODE_NUL;
+                cles[i] = nuls[i] ? 0 : rangs[code];
+            }
+        } else {
+            // Les valeurs distinctes sont numérotées, puis triées une seule fois
+            int[] numeros = new CodageCles(1).coder(new Series<?>[] { serie }, true);
+            int nbDistinctes = 0;
+            for (int numero : numeros) {
+                nbDistinctes = Math.max(nbDistinctes, numero + 1);
+            }
+            Object[] distinctes = new Object[nbDistinctes];
+            for (int i = 0; i < nbLignes; i++) {
+                if (numeros[i] >= 0 && distinctes[numeros[i]] == null) {
+                    distinctes[numeros[i]] = serie.get(i);
+                }
+            }
+            int[] rangs = rangs(distinctes);
+            for (int i = 0; i < nbLignes; i++) {
+                nuls[i] = numeros[i] < 0;
+                cles[i] = nuls[i] ? 0 : rangs[numeros[i]];
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Traduit un {@code double} en une cl&eacute; dont l'ordre non sign&eacute; est celui des nombres.
+     *
+     * @param valeur Le nombre (non {@code NaN})
+     * @return La cl&eacute; triable
+     */
+    static long cleDouble(double valeur) {
+        long bits = Double.doubleToLongBits(valeur);
+        // Négatif : tous les bits sont inversés (ordre renversé) ; positif : seul le bit de signe
+        return bits < 0 ? ~bits : bits ^ Long.MIN_VALUE;
+    }
+
+    // Renvoie le rang de chaque valeur dans l'ordre croissant des valeurs
+    private static int[] rangs(Object[] valeurs) {
+        Integer[] ordre = new Integer[valeurs.length];
+        for (int k = 0; k < ordre.length; k++) {
+            ordre[k] = k;
+        }
+        Arrays.sort(ordre, Comparator.comparing(k -> valeurs[k], Tri::comparer));
+        int[] rangs = new int[valeurs.length];
+        for (int r = 0; r < ordre.length; r++) {
+            rangs[ordre[r]] = r;
+        }
+        return rangs;
+    }
+
+    // Compare deux valeurs : comme des nombres si ce sont des nombres, par leur ordre naturel si elles sont du même type,
+    // sinon comme des textes
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int comparer(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Comparable && a.getClass() == b.getClass()) {
+            return ((Comparable) a).compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    /**
+     * Renvoie le sens du tri de chaque colonne.
+     *
+     * @param nbColonnes Le nombre de colonnes cl&eacute;s
+     * @param croissants Un sens par colonne, un seul sens pour toutes, ou aucun (croissant)
+     * @return Le sens du tri de chaque colonne
+     *
+     * @throws IllegalArgumentException si le nombre de sens ne correspond pas au nombre de colonnes
+     */
+    static boolean[] sens(int nbColonnes, boolean[] croissants) {
+        boolean[] sens = new boolean[nbColonnes];
+        if (croissants.length == 0) {
+            Arrays.fill(sens, true);
+        } else if (croissants.length == 1) {
+            Arrays.fill(sens, croissants[0]);
+        } else if (croissants.length == nbColonnes) {
+            System.arraycopy(croissants, 0, sens, 0, sens.length);
+        } else {
+            throw new IllegalArgumentException("Il faut un sens de tri par colonne : " + croissants.length
+                    + " sens pour " + nbColonnes + " colonnes.");
+        }
+        return sens;
+    }
+}
@@ -0,0 +1,130 @@
+package com.jpandas.core;
+
+import java.util.ArrayList;
+
+/**
+ * &Eacute;num&eacute;ration des types de colonnes qu'un {@link DataFrame} sait stocker de fa&ccedil;on typ&eacute;e.
+ * <br>
+ * Chaque type correspond &agrave; une impl&eacute;mentation de {@link Series} :
+ * <ul>
+ *   <li>{@link #ENTIER} : {@link SeriesInt}</li>
+ *   <li>{@link #LONG} : {@link SeriesLong}</li>
+ *   <li>{@link #DOUBLE} : {@link SeriesDouble}</li>
+ *   <li>{@link #BOOLEEN} : {@link SeriesBooleen}</li>
+ *   <li>{@link #CHAINE} : {@code Series<String>}</li>
+ *   <li>{@link #CATEGORIE} : {@link SeriesCategorielle}</li>
+ * </ul>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+public enum TypeColonne {
+    /** Entiers cod&eacute;s sur 32 bits. */
+    ENTIER,
+    /** Entiers cod&eacute;s sur 64 bits. */
+    LONG,
+    /** Nombres &agrave; virgule flottante. */
+    DOUBLE,
+    /** Bool&eacute;ens ({@code true} / {@code false}). */
+    BOOLEEN,
+    /** Cha&icirc;nes de caract&egrave;res. */
+    CHAINE,
+    /** Cha&icirc;nes de caract&egrave;res cod&eacute;es par dictionnaire (peu de valeurs distinctes). */
+    CATEGORIE;
+
+    /**
+     * Cr&eacute;e une s&eacute;rie vide de ce type.
+     *
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     * @return Une s&eacute;rie vide dont l'impl&eacute;mentation correspond au type
+     */
+    public Series<?> creerSerie(int capacite) {
+        switch (this) {
+            case ENTIER:
+                return new SeriesInt(capacite);
+            case LONG:
+                return new SeriesLong(capacite);
+            case DOUBLE:
+                return new SeriesDouble(capacite);
+            case BOOLEEN:
+                return new SeriesBooleen(capacite);
+            case CATEGORIE:
+                return new SeriesCategorielle(capacite);
+            default:
+                return new Series<String>(new ArrayList<>(capacite));
+        }
+    }
+
+    /**
+     * Renvoie le type le plus restrictif capable de repr&eacute;senter &agrave; la fois les valeurs de ce type
+     * et celles du type donn&eacute; (par exemple ENTIER et DOUBLE donnent DOUBLE).
+     *
+     * @param autre L'autre type
+     * @return Le type commun aux deux types
+     */
+    public TypeColonne generaliser(TypeColonne autre) {
+        if (this == autre) {
+            return this;
+        }
+        if (this == BOOLEEN || autre == BOOLEEN || this == CHAINE || autre == CHAINE || this == CATEGORIE || autre == CATEGORIE) {
+            return CHAINE;
+        }
+        // Il ne reste que des types numériques, ordonnés du plus restrictif au plus général
+        return this.ordinal() > autre.ordinal() ? this : autre;
+    }
+
+    /**
+     * D&eacute;termine le type le plus restrictif capable de repr&eacute;senter un texte lu dans un fichier.
+     * <br>
+     * Les nombres doivent suivre une grammaire d&eacute;cimale stricte, en chiffres ASCII :
+     * {@code [+-]chiffres[.chiffres][e[+-]chiffres]} (la partie enti&egrave;re ou d&eacute;cimale peut &ecirc;tre vide, pas
+     * les deux). Les textes que Java accepte en plus comme nombres ({@code "1f"}, {@code "1d"}, {@code "NaN"},
+     * {@code "Infinity"}, {@code "0x1p3"}, chiffres non ASCII...) sont du texte.
+     *
+     * @param texte Le texte &agrave; analyser (non vide)
+     * @return Le type d&eacute;duit du texte
+     */
+    public static TypeColonne inferer(String texte) {
+        if (texte.equalsIgnoreCase("true") || texte.equalsIgnoreCase("false")) {
+            return BOOLEEN;
+        }
+        int debut = texte.startsWith("-") || texte.startsWith("+") ? 1 : 0;
+        int finEntier = finChiffres(texte, debut);
+        if (finEntier == texte.length() && finEntier > debut) {
+            try {
+                long valeur = Long.parseLong(texte);
+                return valeur >= Integer.MIN_VALUE && valeur <= Integer.MAX_VALUE ? ENTIER : LONG;
+            } catch (NumberFormatException e) {
+                // Entier trop grand pour un long : c'est un nombre à virgule
+                return DOUBLE;
+            }
+        }
+        int fin = finEntier;
+        int nbChiffres = finEntier - debut;
+        if (fin < texte.length() && texte.charAt(fin) == '.') {
+            int finDecimales = finChiffres(texte, fin + 1);
+            nbChiffres += finDecimales - fin - 1;
+            fin = finDecimales;
+        }
+        if (nbChiffres == 0) {
+            return CHAINE;
+        }
+        if (fin < texte.length() && (texte.charAt(fin) == 'e' || texte.charAt(fin) == 'E')) {
+            int debutExposant = fin + 1 < texte.length() && (texte.charAt(fin + 1) == '-' || texte.charAt(fin + 1) == '+') ? fin + 2 : fin + 1;
+            fin = finChiffres(texte, debutExposant);
+            if (fin == debutExposant) {
+                return CHAINE;
+            }
+        }
+        return fin == texte.length() ? DOUBLE : CHAINE;
+    }
+
+    // Position qui suit la suite de chiffres ASCII commençant à "debut"
+    private static int finChiffres(String texte, int debut) {
+        int i = debut;
+        while (i < texte.length() && texte.charAt(i) >= '0' && texte.charAt(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,339 @@
+package com.jpandas.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * D&eacute;coupe un fichier CSV en enregistrements et en champs, directement sur ses octets (RFC 4180).
+ * <br>
+ * L'analyseur est un automate qui parcourt un tampon d'octets r&eacute;utilis&eacute; d'un enregistrement &agrave; l'autre :
+ * pour chaque champ, il ne retient que ses bornes dans le tampon. Les valeurs sont ensuite transmises
+ * telles quelles &agrave; un {@link ConstructeurColonne}, qui convertit les nombres sans cr&eacute;er de {@code String}.
+ * <br>
+ * Sont g&eacute;r&eacute;s :
+ * <ul>
+ *   <li>les champs entre guillemets, qui peuvent contenir le s&eacute;parateur ou des fins de ligne ;</li>
+ *   <li>les guillemets &eacute;chapp&eacute;s ({@code ""} dans un champ entre guillemets) ;</li>
+ *   <li>un s&eacute;parateur quelconque d'un octet (virgule par d&eacute;faut) ;</li>
+ *   <li>les fins de ligne {@code \n}, {@code \r\n} et {@code \r}.</li>
+ * </ul>
+ * Les lignes vides sont ignor&eacute;es. Le texte est suppos&eacute; encod&eacute; en UTF-8 (ou en ASCII).
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class AnalyseurCSV {
+
+    /**
+     * Taille initiale (en octets) du tampon de lecture ; il est agrandi si un enregistrement ne tient pas dedans.
+     */
+    static final int TAILLE_TAMPON = 1 << 16;
+
+    private static final byte GUILLEMET = '"';
+
+    private final ReadableByteChannel canal;
+    private final ByteBuffer source;
+    private final byte separateur;
+
+    private byte[] tampon = new byte[TAILLE_TAMPON];
+    private int limite;
+    private int position;
+    private boolean finSource;
+    private long positionAbsolue;
+
+    private int debutEnregistrement;
+    private int nbChamps;
+    private int[] debuts = new int[16];
+    private int[] fins = new int[16];
+    private boolean[] bruts = new boolean[16];
+
+    /**
+     * Constructeur d'un analyseur lisant un canal (par exemple un fichier).
+     *
+     * @param canal Le canal &agrave; lire (il n'est pas ferm&eacute; par l'analyseur)
+     * @param separateur Le s&eacute;parateur des champs
+     */
+    AnalyseurCSV(ReadableByteChannel canal, byte separateur) {
+        this.canal = canal;
+        this.source = null;
+        this.separateur = separateur;
+    }
+
+    /**
+     * Constructeur d'un analyseur lisant des octets d&eacute;j&agrave; en m&eacute;moire (par exemple une plage projet&eacute;e d'un fichier).
+     *
+     * @param octets Les octets &agrave; lire, de leur position &agrave; leur limite
+     * @param separateur Le s&eacute;parateur des champs
+     */
+    AnalyseurCSV(ByteBuffer octets, byte separateur) {
+        this.canal = null;
+        this.source = octets;
+        this.separateur = separateur;
+    }
+
+    /**
+     * Lit l'enregistrement suivant (les lignes vides sont saut&eacute;es).
+     *
+     * @return {@code true} si un enregistrement a &eacute;t&eacute; lu, {@code false} &agrave; la fin des donn&eacute;es
+     *
+     * @throws IOException si la lecture du canal &eacute;choue
+     */
+    boolean suivant() throws IOException {
+        while (true) {
+            int debut = position;
+            int fin = analyserEnregistrement();
+            if (fin < 0) {
+                // L'enregistrement n'est pas entièrement dans le tampon : on recharge et on recommence
+                if (!remplir()) {
+                    return false;
+                }
+                continue;
+            }
+            positionAbsolue += fin - position;
+            position = fin;
+            if (nbChamps > 1 || fins[0] > debuts[0] || bruts[0]) {
+                debutEnregistrement = debut;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Renvoie le nombre de champs de l'enregistrement courant.
+     *
+     * @return Le nombre de champs
+     */
+    int getNbChamps() {
+        return nbChamps;
+    }
+
+    /**
+     * Renvoie la position (en octets, depuis le d&eacute;but des donn&eacute;es) qui suit l'enregistrement courant.
+     *
+     * @return Le nombre d'octets consomm&eacute;s
+     */
+    long getPosition() {
+        return positionAbsolue;
+    }
+
+    /**
+     * Renvoie le texte d'un champ de l'enregistrement courant, sans ses guillemets.
+     *
+     * @param champ La position du champ
+     * @return Le texte du champ
+     */
+    String getTexte(int champ) {
+        if (bruts[champ]) {
+            return decoderBrut(debuts[champ], fins[champ]);
+        }
+        return new String(tampon, debuts[champ], fins[champ] - debuts[champ], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Renvoie le texte de tous les champs de l'enregistrement courant.
+     *
+     * @return Les textes des champs
+     */
+    String[] getTextes() {
+        String[] textes = new String[nbChamps];
+        for (int j = 0; j < nbChamps; j++) {
+            textes[j] = getTexte(j);
+        }
+        return textes;
+    }
+
+    /**
+     * Ajoute un champ de l'enregistrement courant &agrave; une colonne. Un champ absent donne une cellule vide.
+     * <br>
+     * Les octets du champ sont transmis directement : aucune cha&icirc;ne n'est cr&eacute;&eacute;e pour les nombres.
+     *
+     * @param champ La position du champ
+     * @param colonne La colonne qui re&ccedil;oit la valeur
+     */
+    void transmettre(int champ, ConstructeurColonne colonne) {
+        if (champ >= nbChamps) {
+            colonne.ajouter("");
+        } else if (bruts[champ]) {
+            colonne.ajouter(decoderBrut(debuts[champ], fins[champ]));
+        } else {
+            colonne.ajouter(tampon, debuts[champ], fins[champ]);
+        }
+    }
+
+    /**
+     * &Eacute;crit l'enregistrement courant tel qu'il est dans les donn&eacute;es (guillemets compris), suivi d'un {@code '\n'}.
+     * <br>
+     * Aucun champ n'est d&eacute;cod&eacute; : c'est ce qu'utilise la fusion des fichiers tri&eacute;s de {@link TriExterne}.
+     *
+     * @param sortie Le flux qui re&ccedil;oit les octets
+     *
+     * @throws IOException si l'&eacute;criture &eacute;choue
+     */
+    void copierEnregistrement(OutputStream sortie) throws IOException {
+        int fin = position;
+        while (fin > debutEnregistrement && (tampon[fin - 1] == '\n' || tampon[fin - 1] == '\r')) {
+            fin--;
+        }
+        sortie.write(tampon, debutEnregistrement, fin - debutEnregistrement);
+        sortie.write('\n');
+    }
+
+    // Analyse l'enregistrement qui commence à "position" et renvoie la position qui le suit,
+    // ou -1 s'il n'est pas terminé dans le tampon alors que la source n'est pas épuisée
+    private int analyserEnregistrement() {
+        nbChamps = 0;
+        int i = position;
+        if (i >= limite && finSource) {
+            return -1;
+        }
+        while (true) {
+            int debutChamp = i;
+            boolean brut = false;
+            int finChamp;
+            if (i < limite && tampon[i] == GUILLEMET) {
+                // Champ entre guillemets : on cherche le guillemet fermant, en sautant les guillemets doublés
+                i++;
+                int debutContenu = i;
+                while (true) {
+                    if (i >= limite) {
+                        return finSource ? terminerGuillemetNonFerme(debutChamp) : -1;
+                    }
+                    if (tampon[i] == GUILLEMET) {
+                        if (i + 1 >= limite && !finSource) {
+                            return -1;
+                        }
+                        if (i + 1 < limite && tampon[i + 1] == GUILLEMET) {
+                            brut = true;
+                            i += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    i++;
+                }
+                finChamp = i;
+                i++;
+                if (i < limite && !estFinDeChamp(tampon[i])) {
+                    // Texte après le guillemet fermant : on garde le champ entier et on le décodera
+                    brut = true;
+                    while (i < limite && !estFinDeChamp(tampon[i])) {
+                        i++;
+                    }
+                    finChamp = i;
+                } else if (!brut) {
+                    debutChamp = debutContenu;
+                }
+                if (brut) {
+                    finChamp = i;
+                }
+            } else {
+                while (i < limite && !estFinDeChamp(tampon[i])) {
+                    i++;
+                }
+                finChamp = i;
+            }
+            if (i >= limite && !finSource) {
+                return -1;
+            }
+            ajouterChamp(debutChamp, finChamp, brut);
+
+            if (i >= limite) {
+                return i;
+            }
+            byte octet = tampon[i];
+            if (octet == separateur) {
+                i++;
+                continue;
+            }
+            // Fin de ligne : "\r\n" est consommé d'un coup, sinon un "\r" ou un "\n" seul
+            if (octet == '\r') {
+                if (i + 1 >= limite && !finSource) {
+                    return -1;
+                }
+                if (i + 1 < limite && tampon[i + 1] == '\n') {
+                    return i + 2;
+                }
+            }
+            return i + 1;
+        }
+    }
+
+    // Un guillemet ouvert n'est jamais fermé : le reste des données forme le dernier champ
+    private int terminerGuillemetNonFerme(int debutChamp) {
+        ajouterChamp(debutChamp, limite, true);
+        return limite;
+    }
+
+    private boolean estFinDeChamp(byte octet) {
+        return octet == separateur || octet == '\n' || octet == '\r';
+    }
+
+    private void ajouterChamp(int debut, int fin, boolean brut) {
+        if (nbChamps == debuts.length) {
+            debuts = Arrays.copyOf(debuts, nbChamps * 2);
+            fins = Arrays.copyOf(fins, nbChamps * 2);
+            bruts = Arrays.copyOf(bruts, nbChamps * 2);
+        }
+        debuts[nbChamps] = debut;
+        fins[nbChamps] = fin;
+        bruts[nbChamps] = brut;
+        nbChamps++;
+    }
+
+    // Décode un champ contenant des guillemets : ils sont retirés, et les guillemets doublés à l'intérieur en donnent un seul
+    private String decoderBrut(int debut, int fin) {
+        byte[] contenu = new byte[fin - debut];
+        int taille = 0;
+        boolean entreGuillemets = false;
+        for (int i = debut; i < fin; i++) {
+            byte octet = tampon[i];
+            if (octet != GUILLEMET) {
+                contenu[taille++] = octet;
+            } else if (entreGuillemets && i + 1 < fin && tampon[i + 1] == GUILLEMET) {
+                contenu[taille++] = GUILLEMET;
+                i++;
+            } else {
+                entreGuillemets = !entreGuillemets;
+            }
+        }
+        return new String(contenu, 0, taille, StandardCharsets.UTF_8);
+    }
+
+    // Décale les octets non consommés au début du tampon (en l'agrandissant s'il est plein) et le complète
+    private boolean remplir() throws IOException {
+        if (finSource) {
+            return false;
+        }
+        int restant = limite - position;
+        if (restant == tampon.length) {
+            tampon = Arrays.copyOf(tampon, tampon.length * 2);
+        } else {
+            System.arraycopy(tampon, position, tampon, 0, restant);
+        }
+        position = 0;
+        limite = restant;
+
+        while (limite < tampon.length) {
+            int lus;
+            if (canal != null) {
+                lus = canal.read(ByteBuffer.wrap(tampon, limite, tampon.length - limite));
+            } else {
+                lus = Math.min(source.remaining(), tampon.length - limite);
+                source.get(tampon, limite, lus);
+                if (lus == 0) {
+                    lus = -1;
+                }
+            }
+            if (lus < 0) {
+                finSource = true;
+                break;
+            }
+            limite += lus;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,141 @@
+package com.jpandas.io;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import com.jpandas.core.Series;
+
+/**
+ * Colonnes d'un {@code DataFrame} dont chaque s&eacute;rie n'est construite qu'au premier acc&egrave;s &agrave; sa valeur.
+ * <br>
+ * Tant qu'une colonne n'est pas lue, la table ne garde que la fa&ccedil;on de la construire : parcourir les noms
+ * des colonnes, en retirer ou en remplacer une ne construit rien. Une s&eacute;rie construite est gard&eacute;e, et les
+ * colonnes ajout&eacute;es ensuite sont des s&eacute;ries ordinaires. L'ordre des colonnes est conserv&eacute;.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see FichierColonnaire#colonnes()
+ */
+final class ColonnesDifferees extends AbstractMap<String, Series<?>> {
+
+    // Chaque valeur est une Series déjà construite, ou le Supplier qui la construit
+    private final Map<String, Object> colonnes = new LinkedHashMap<>();
+
+    /**
+     * Constructeur des colonnes diff&eacute;r&eacute;es.
+     *
+     * @param lectures La fa&ccedil;on de construire chaque colonne, dans l'ordre des colonnes
+     */
+    ColonnesDifferees(Map<String, Supplier<Series<?>>> lectures) {
+        colonnes.putAll(lectures);
+    }
+
+    @Override
+    public Series<?> get(Object nom) {
+        Object valeur = colonnes.get(nom);
+        if (valeur == null || valeur instanceof Series) {
+            return (Series<?>) valeur;
+        }
+        Series<?> serie = construire(valeur);
+        colonnes.put((String) nom, serie);
+        return serie;
+    }
+
+    @Override
+    public boolean containsKey(Object nom) {
+        return colonnes.containsKey(nom);
+    }
+
+    @Override
+    public int size() {
+        return colonnes.size();
+    }
+
+    // Une colonne remplacée ou retirée sans avoir été lue n'est pas construite : on renvoie alors null
+    @Override
+    public Series<?> put(String nom, Series<?> serie) {
+        Object ancienne = colonnes.put(nom, serie);
+        return ancienne instanceof Series ? (Series<?>) ancienne : null;
+    }
+
+    @Override
+    public Series<?> remove(Object nom) {
+        Object ancienne = colonnes.remove(nom);
+        return ancienne instanceof Series ? (Series<?>) ancienne : null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, Series<?>>> entrySet() {
+        return new AbstractSet<Map.Entry<String, Series<?>>>() {
+            @Override
+            public Iterator<Map.Entry<String, Series<?>>> iterator() {
+                Iterator<Map.Entry<String, Object>> entrees = colonnes.entrySet().iterator();
+                return new Iterator<Map.Entry<String, Series<?>>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return entrees.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, Series<?>> next() {
+                        Map.Entry<String, Object> entree = entrees.next();
+                        return new Entree(entree);
+                    }
+
+                    @Override
+                    public void remove() {
+                        entrees.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return colonnes.size();
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Series<?> construire(Object lecture) {
+        return ((Supplier<Series<?>>) lecture).get();
+    }
+
+    /**
+     * Entr&eacute;e de la table : la s&eacute;rie n'est construite que si sa valeur est demand&eacute;e.
+     */
+    private static final class Entree implements Map.Entry<String, Series<?>> {
+        private final Map.Entry<String, Object> entree;
+
+        Entree(Map.Entry<String, Object> entree) {
+            this.entree = entree;
+        }
+
+        @Override
+        public String getKey() {
+            return entree.getKey();
+        }
+
+        @Override
+        public Series<?> getValue() {
+            Object valeur = entree.getValue();
+            if (valeur instanceof Series) {
+                return (Series<?>) valeur;
+            }
+            Series<?> serie = construire(valeur);
+            entree.setValue(serie);
+            return serie;
+        }
+
+        @Override
+        public Series<?> setValue(Series<?> serie) {
+            Object ancienne = entree.setValue(serie);
+            return ancienne instanceof Series ? (Series<?>) ancienne : null;
+        }
+    }
+}
@@ -0,0 +1,527 @@
+package com.jpandas.io;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+import com.jpandas.core.SeriesPrimitive;
+import com.jpandas.core.TypeColonne;
+
+/**
+ * Construit une colonne typ&eacute;e &agrave; partir des textes lus dans un fichier CSV.
+ * <br>
+ * Chaque texte est converti d&egrave;s sa lecture dans le type de la colonne et stock&eacute; directement
+ * dans une s&eacute;rie primitive. Un texte vide donne une valeur manquante (sauf pour les cha&icirc;nes,
+ * o&ugrave; il est conserv&eacute; tel quel). Une colonne cat&eacute;gorielle construit son dictionnaire au fil de la lecture.
+ * <br>
+ * Si le type a &eacute;t&eacute; d&eacute;duit d'un &eacute;chantillon et qu'une valeur lue plus loin ne le respecte pas,
+ * la colonne est promue vers un type plus g&eacute;n&eacute;ral (par exemple ENTIER vers DOUBLE) et les valeurs
+ * d&eacute;j&agrave; lues sont converties. Si le type a &eacute;t&eacute; impos&eacute; par l'utilisateur, une exception est lev&eacute;e.
+ * Une colonne promue en texte garde le texte d'origine de chaque valeur ({@code "007"}, {@code "TRUE"},
+ * {@code "1e3"}) : seuls les textes que la conversion inverse ne redonne pas sont conserv&eacute;s pendant la lecture.
+ * <br>
+ * Les valeurs peuvent aussi &ecirc;tre transmises sous la forme d'octets ({@link #ajouter(byte[], int, int)}) :
+ * les nombres et les bool&eacute;ens sont alors lus directement dans les octets, sans cr&eacute;er de {@code String}.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class ConstructeurColonne {
+    /**
+     * Plus grand entier qu'un {@code double} repr&eacute;sente exactement (2<sup>53</sup>).
+     */
+    private static final long MANTISSE_MAX = 1L << 53;
+
+    /**
+     * Puissances de 10 repr&eacute;sent&eacute;es exactement par un {@code double}.
+     */
+    private static final double[] PUISSANCES_DE_DIX = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private TypeColonne type;
+    private final boolean typeImpose;
+    private Series<?> serie;
+    private long entierLu;
+    private double nombreLu;
+
+    // Textes d'origine des valeurs que String.valueOf ne redonne pas, rangés par position croissante :
+    // ils remplacent ces valeurs si la colonne est promue en texte
+    private int[] positionsBrutes = new int[0];
+    private String[] textesBruts = new String[0];
+    private int nbBruts;
+    // Colonne DOUBLE : valeurs écrites comme des entiers ("3" et non "3.0")
+    private BitSet entiers;
+
+    /**
+     * Constructeur d'une colonne vide.
+     *
+     * @param type Le type de la colonne
+     * @param typeImpose {@code true} si le type vient du sch&eacute;ma de l'utilisateur (pas de promotion possible)
+     * @param capacite Le nombre de valeurs pr&eacute;vues
+     */
+    ConstructeurColonne(TypeColonne type, boolean typeImpose, int capacite) {
+        this.type = type;
+        this.typeImpose = typeImpose;
+        this.serie = type.creerSerie(capacite);
+    }
+
+    /**
+     * Convertit un texte dans le type de la colonne et l'ajoute &agrave; la fin de la colonne.
+     *
+     * @param texte Le texte lu dans le fichier
+     *
+     * @throws IllegalArgumentException si le type est impos&eacute; et que le texte ne peut pas &ecirc;tre converti
+     */
+    @SuppressWarnings("unchecked")
+    void ajouter(String texte) {
+        if (type == TypeColonne.CATEGORIE) {
+            ((SeriesCategorielle) serie).ajouter(texte);
+            return;
+        }
+        if (type == TypeColonne.CHAINE) {
+            ((List<String>) serie.getData()).add(texte);
+            return;
+        }
+        if (texte.isEmpty()) {
+            ((SeriesPrimitive<?>) serie).ajouterNul();
+            return;
+        }
+        // Un type déduit n'accepte que la grammaire stricte de TypeColonne.inferer ("NaN", "1f"... sont du texte)
+        if (!typeImpose && type.generaliser(TypeColonne.inferer(texte)) != type) {
+            promouvoir(texte);
+            ajouter(texte);
+            return;
+        }
+        try {
+            switch (type) {
+                case ENTIER:
+                    ((SeriesInt) serie).ajouter(Integer.parseInt(texte));
+                    break;
+                case LONG:
+                    ((SeriesLong) serie).ajouter(Long.parseLong(texte));
+                    break;
+                case DOUBLE:
+                    ((SeriesDouble) serie).ajouter(Double.parseDouble(texte));
+                    break;
+                default:
+                    ((SeriesBooleen) serie).ajouter(lireBooleen(texte));
+                    break;
+            }
+        } catch (NumberFormatException e) {
+            promouvoir(texte);
+            ajouter(texte);
+            return;
+        }
+        if (!typeImpose) {
+            noterTexte(serie.size() - 1, texte);
+        }
+    }
+
+    /**
+     * Convertit les octets {@code [debut, fin[} d'un tampon dans le type de la colonne et ajoute la valeur
+     * &agrave; la fin de la colonne. Le texte est suppos&eacute; encod&eacute; en UTF-8.
+     * <br>
+     * Les entiers, les nombres &agrave; virgule simples (au plus 15 chiffres significatifs environ) et les bool&eacute;ens
+     * sont lus sans cr&eacute;er de {@code String} ; les autres valeurs passent par {@link #ajouter(String)}.
+     *
+     * @param octets Le tampon contenant la valeur
+     * @param debut La position du premier octet de la valeur
+     * @param fin La position qui suit le dernier octet de la valeur
+     *
+     * @throws IllegalArgumentException si le type est impos&eacute; et que la valeur ne peut pas &ecirc;tre convertie
+     */
+    void ajouter(byte[] octets, int debut, int fin) {
+        if (type == TypeColonne.CATEGORIE) {
+            // La modalité est cherchée dans le dictionnaire à partir des octets, sans créer de String
+            ((SeriesCategorielle) serie).ajouter(octets, debut, fin);
+            return;
+        }
+        if (type == TypeColonne.CHAINE) {
+            ajouter(new String(octets, debut, fin - debut, StandardCharsets.UTF_8));
+            return;
+        }
+        if (debut == fin) {
+            ((SeriesPrimitive<?>) serie).ajouterNul();
+            return;
+        }
+        switch (type) {
+            case ENTIER:
+                if (lireEntier(octets, debut, fin) && entierLu == (int) entierLu) {
+                    ((SeriesInt) serie).ajouter((int) entierLu);
+                    noterOctets(octets, debut, fin, estEntierCanonique(octets, debut, fin));
+                    return;
+                }
+                break;
+            case LONG:
+                if (lireEntier(octets, debut, fin)) {
+                    ((SeriesLong) serie).ajouter(entierLu);
+                    noterOctets(octets, debut, fin, estEntierCanonique(octets, debut, fin));
+                    return;
+                }
+                break;
+            case DOUBLE:
+                if (lireNombre(octets, debut, fin)) {
+                    ((SeriesDouble) serie).ajouter(nombreLu);
+                    if (!typeImpose && estEntierCanonique(octets, debut, fin)) {
+                        marquerEntier(serie.size() - 1);
+                    } else {
+                        noterOctets(octets, debut, fin, estDecimalCanonique(octets, debut, fin));
+                    }
+                    return;
+                }
+                break;
+            default:
+                if (egalIgnorantCasse(octets, debut, fin, "true")) {
+                    ((SeriesBooleen) serie).ajouter(true);
+                    noterOctets(octets, debut, fin, estMinuscule(octets, debut, fin));
+                    return;
+                }
+                if (egalIgnorantCasse(octets, debut, fin, "false")) {
+                    ((SeriesBooleen) serie).ajouter(false);
+                    noterOctets(octets, debut, fin, estMinuscule(octets, debut, fin));
+                    return;
+                }
+                break;
+        }
+        // Cas rare (valeur hors du type, notation inhabituelle) : on passe par le texte, qui gère la promotion
+        ajouter(new String(octets, debut, fin - debut, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Renvoie la colonne construite.
+     *
+     * @return La s&eacute;rie contenant toutes les valeurs ajout&eacute;es
+     */
+    Series<?> construire() {
+        return serie;
+    }
+
+    /**
+     * Renvoie le type actuel de la colonne (il peut avoir &eacute;t&eacute; promu depuis la cr&eacute;ation).
+     *
+     * @return Le type de la colonne
+     */
+    TypeColonne getType() {
+        return type;
+    }
+
+    private static boolean lireBooleen(String texte) {
+        if (texte.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (texte.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new NumberFormatException("Booléen invalide : " + texte);
+    }
+
+    /**
+     * Ajoute &agrave; la fin de la colonne toutes les valeurs construites par une autre colonne (par exemple celle
+     * d'une autre plage du fichier), converties dans le type de cette colonne.
+     * <br>
+     * L'autre colonne doit &ecirc;tre d'un type au plus aussi g&eacute;n&eacute;ral que celui de cette colonne. Si les deux types
+     * sont identiques, les valeurs sont recopi&eacute;es par blocs ({@code System.arraycopy}) ; vers le texte, chaque
+     * valeur reprend son texte d'origine.
+     *
+     * @param morceau La colonne dont on recopie les valeurs
+     */
+    @SuppressWarnings("unchecked")
+    void ajouterColonne(ConstructeurColonne morceau) {
+        Series<?> valeurs = morceau.serie;
+        int decalage = serie.size();
+        if (type == TypeColonne.CHAINE && morceau.type != TypeColonne.CHAINE) {
+            List<String> textes = (List<String>) serie.getData();
+            int k = 0;
+            for (int i = 0; i < valeurs.size(); i++) {
+                textes.add(k < morceau.nbBruts && morceau.positionsBrutes[k] == i ? morceau.textesBruts[k++] : morceau.texteConverti(i));
+            }
+            return;
+        }
+        if (type == morceau.type) {
+            switch (type) {
+                case ENTIER:
+                    ((SeriesInt) serie).ajouterTout((SeriesInt) valeurs);
+                    break;
+                case LONG:
+                    ((SeriesLong) serie).ajouterTout((SeriesLong) valeurs);
+                    break;
+                case DOUBLE:
+                    ((SeriesDouble) serie).ajouterTout((SeriesDouble) valeurs);
+                    break;
+                case BOOLEEN:
+                    ((SeriesBooleen) serie).ajouterTout((SeriesBooleen) valeurs);
+                    break;
+                case CATEGORIE:
+                    ((SeriesCategorielle) serie).ajouterTout((SeriesCategorielle) valeurs);
+                    break;
+                default:
+                    ((List<String>) serie.getData()).addAll((List<String>) valeurs.getData());
+                    break;
+            }
+            for (int k = 0; k < morceau.nbBruts; k++) {
+                ajouterTexteBrut(decalage + morceau.positionsBrutes[k], morceau.textesBruts[k]);
+            }
+            if (morceau.entiers != null) {
+                for (int i = morceau.entiers.nextSetBit(0); i >= 0; i = morceau.entiers.nextSetBit(i + 1)) {
+                    marquerEntier(decalage + i);
+                }
+            }
+            return;
+        }
+
+        // Élargissement numérique (ENTIER vers LONG ou DOUBLE, LONG vers DOUBLE) : conversion valeur par valeur ;
+        // vers DOUBLE, les entiers restent écrits comme des entiers, et un long qu'un double ne représente pas
+        // exactement garde son texte
+        int k = 0;
+        for (int i = 0; i < valeurs.size(); i++) {
+            if (valeurs.estNul(i)) {
+                ((SeriesPrimitive<?>) serie).ajouterNul();
+                continue;
+            }
+            long valeur = valeurs instanceof SeriesInt ? ((SeriesInt) valeurs).getInt(i) : ((SeriesLong) valeurs).getLong(i);
+            boolean brut = k < morceau.nbBruts && morceau.positionsBrutes[k] == i;
+            if (type == TypeColonne.LONG) {
+                ((SeriesLong) serie).ajouter(valeur);
+            } else {
+                ((SeriesDouble) serie).ajouter(valeur);
+                if (!brut && (long) (double) valeur == valeur && valeur != Long.MAX_VALUE) {
+                    marquerEntier(decalage + i);
+                } else if (!brut) {
+                    ajouterTexteBrut(decalage + i, Long.toString(valeur));
+                }
+            }
+            if (brut) {
+                ajouterTexteBrut(decalage + i, morceau.textesBruts[k++]);
+            }
+        }
+    }
+
+    // Lit un entier décimal signé (comme Long.parseLong) dans "entierLu" ; renvoie false s'il n'est pas valide
+    private boolean lireEntier(byte[] octets, int debut, int fin) {
+        int i = debut;
+        boolean negatif = octets[i] == '-';
+        if (negatif || octets[i] == '+') {
+            i++;
+        }
+        if (i == fin) {
+            return false;
+        }
+        // On accumule en négatif pour pouvoir représenter Long.MIN_VALUE
+        long resultat = 0;
+        for (; i < fin; i++) {
+            int chiffre = octets[i] - '0';
+            if (chiffre < 0 || chiffre > 9 || resultat < (Long.MIN_VALUE + chiffre) / 10) {
+                return false;
+            }
+            resultat = resultat * 10 - chiffre;
+        }
+        if (!negatif && resultat == Long.MIN_VALUE) {
+            return false;
+        }
+        entierLu = negatif ? resultat : -resultat;
+        return true;
+    }
+
+    // Lit un nombre décimal simple ([signe]chiffres[.chiffres][e[signe]chiffres]) dans "nombreLu", lorsque
+    // la mantisse et la puissance de 10 sont exactes en double : le résultat est alors celui de Double.parseDouble.
+    // Renvoie false dans les autres cas, qui sont confiés à Double.parseDouble.
+    private boolean lireNombre(byte[] octets, int debut, int fin) {
+        int i = debut;
+        boolean negatif = octets[i] == '-';
+        if (negatif || octets[i] == '+') {
+            i++;
+        }
+        long mantisse = 0;
+        int exposant = 0;
+        int nbChiffres = 0;
+        for (; i < fin && octets[i] >= '0' && octets[i] <= '9'; i++, nbChiffres++) {
+            mantisse = mantisse * 10 + (octets[i] - '0');
+            if (mantisse > MANTISSE_MAX) {
+                return false;
+            }
+        }
+        if (i < fin && octets[i] == '.') {
+            for (i++; i < fin && octets[i] >= '0' && octets[i] <= '9'; i++, nbChiffres++) {
+                mantisse = mantisse * 10 + (octets[i] - '0');
+                exposant--;
+                if (mantisse > MANTISSE_MAX) {
+                    return false;
+                }
+            }
+        }
+        if (nbChiffres == 0) {
+            return false;
+        }
+        if (i < fin && (octets[i] == 'e' || octets[i] == 'E')) {
+            i++;
+            boolean exposantNegatif = i < fin && octets[i] == '-';
+            if (i < fin && (exposantNegatif || octets[i] == '+')) {
+                i++;
+            }
+            if (i == fin) {
+                return false;
+            }
+            int valeur = 0;
+            for (; i < fin && octets[i] >= '0' && octets[i] <= '9' && valeur < 1000; i++) {
+                valeur = valeur * 10 + (octets[i] - '0');
+            }
+            exposant += exposantNegatif ? -valeur : valeur;
+        }
+        if (i != fin || exposant < -22 || exposant > 22) {
+            return false;
+        }
+        double resultat = exposant < 0 ? mantisse / PUISSANCES_DE_DIX[-exposant] : mantisse * PUISSANCES_DE_DIX[exposant];
+        nombreLu = negatif ? -resultat : resultat;
+        return true;
+    }
+
+    // Compare des octets ASCII à un mot en minuscules, sans tenir compte de la casse
+    private static boolean egalIgnorantCasse(byte[] octets, int debut, int fin, String mot) {
+        if (fin - debut != mot.length()) {
+            return false;
+        }
+        for (int i = 0; i < mot.length(); i++) {
+            if ((octets[debut + i] | 0x20) != mot.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Texte d'une valeur sans texte d'origine conservé : celui que la conversion en texte redonne
+    private String texteConverti(int position) {
+        if (serie.estNul(position)) {
+            return "";
+        }
+        if (entiers != null && entiers.get(position)) {
+            return Long.toString((long) serie.getDouble(position));
+        }
+        return String.valueOf(serie.get(position));
+    }
+
+    // Conserve le texte d'origine de la dernière valeur ajoutée si sa conversion en texte ne le redonne pas
+    private void noterTexte(int position, String texte) {
+        if (texte.equals(String.valueOf(serie.get(position)))) {
+            return;
+        }
+        if (type == TypeColonne.DOUBLE) {
+            double valeur = serie.getDouble(position);
+            if (valeur == Math.rint(valeur) && texte.equals(Long.toString((long) valeur))) {
+                marquerEntier(position);
+                return;
+            }
+        }
+        ajouterTexteBrut(position, texte);
+    }
+
+    // Version de noterTexte pour une valeur lue dans des octets : "canonique" indique que la conversion
+    // en texte redonne ces octets, ce qui évite de créer une String
+    private void noterOctets(byte[] octets, int debut, int fin, boolean canonique) {
+        if (!typeImpose && !canonique) {
+            ajouterTexteBrut(serie.size() - 1, new String(octets, debut, fin - debut, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void ajouterTexteBrut(int position, String texte) {
+        if (nbBruts == positionsBrutes.length) {
+            positionsBrutes = Arrays.copyOf(positionsBrutes, Math.max(16, nbBruts * 2));
+            textesBruts = Arrays.copyOf(textesBruts, positionsBrutes.length);
+        }
+        positionsBrutes[nbBruts] = position;
+        textesBruts[nbBruts++] = texte;
+    }
+
+    private void marquerEntier(int position) {
+        if (entiers == null) {
+            entiers = new BitSet();
+        }
+        entiers.set(position);
+    }
+
+    // Entier écrit comme par Long.toString : sans "+", sans zéro en tête, et pas "-0"
+    // (les octets sont déjà reconnus comme un entier décimal)
+    private static boolean estEntierCanonique(byte[] octets, int debut, int fin) {
+        int i = octets[debut] == '-' ? debut + 1 : debut;
+        for (int j = i; j < fin; j++) {
+            if (octets[j] < '0' || octets[j] > '9') {
+                return false;
+            }
+        }
+        return i < fin && octets[i] != '+' && (octets[i] != '0' || (fin - i == 1 && i == debut));
+    }
+
+    // Nombre à virgule écrit comme par Double.toString, pour une valeur lue exactement (lireNombre) :
+    // [-](0|[1-9]chiffres).chiffres sans zéro final inutile, au plus 15 chiffres significatifs,
+    // et une valeur comprise entre 10^-3 et 10^7 (Double.toString passe au-delà en notation scientifique)
+    private static boolean estDecimalCanonique(byte[] octets, int debut, int fin) {
+        int i = octets[debut] == '-' ? debut + 1 : debut;
+        int point = i;
+        while (point < fin && octets[point] >= '0' && octets[point] <= '9') {
+            point++;
+        }
+        int nbEntiers = point - i;
+        if (point == fin || octets[point] != '.' || nbEntiers == 0 || nbEntiers > 7
+                || (octets[i] == '0' && nbEntiers > 1) || point + 1 == fin) {
+            return false;
+        }
+        for (int j = point + 1; j < fin; j++) {
+            if (octets[j] < '0' || octets[j] > '9') {
+                return false;
+            }
+        }
+        int nbDecimales = fin - point - 1;
+        if (nbDecimales > 1 && octets[fin - 1] == '0') {
+            return false;
+        }
+        if (octets[i] != '0') {
+            return nbEntiers + nbDecimales <= 15;
+        }
+        // Partie entière nulle : zéro exactement ("0.0"), ou au plus deux zéros après la virgule (>= 10^-3)
+        int zeros = 0;
+        while (point + 1 + zeros < fin && octets[point + 1 + zeros] == '0') {
+            zeros++;
+        }
+        return zeros == nbDecimales ? nbDecimales == 1 : zeros <= 2 && nbDecimales - zeros <= 15;
+    }
+
+    // Mot ASCII sans majuscule ("true" et non "TRUE")
+    private static boolean estMinuscule(byte[] octets, int debut, int fin) {
+        for (int i = debut; i < fin; i++) {
+            if (octets[i] >= 'A' && octets[i] <= 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Passe la colonne à un type capable de représenter "texte" et convertit les valeurs déjà lues ;
+    // vers le texte, chaque valeur reprend son texte d'origine
+    private void promouvoir(String texte) {
+        if (typeImpose) {
+            throw new IllegalArgumentException("La valeur '" + texte + "' ne peut pas être lue comme " + type + ".");
+        }
+        ConstructeurColonne anciennes = new ConstructeurColonne(type, true, 0);
+        anciennes.serie = serie;
+        anciennes.positionsBrutes = positionsBrutes;
+        anciennes.textesBruts = textesBruts;
+        anciennes.nbBruts = nbBruts;
+        anciennes.entiers = entiers;
+
+        this.type = type.generaliser(TypeColonne.inferer(texte));
+        this.serie = type.creerSerie(anciennes.serie.size() + 1);
+        this.positionsBrutes = new int[0];
+        this.textesBruts = new String[0];
+        this.nbBruts = 0;
+        this.entiers = null;
+        ajouterColonne(anciennes);
+    }
+}
@@ -0,0 +1,496 @@
+package com.jpandas.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+
+/**
+ * La classe EcrivainCSV &eacute;crit un {@link DataFrame} au format CSV, en flux, dans un fichier, un {@link OutputStream}
+ * ou un {@link Writer}.
+ * <br>
+ * Les lignes sont format&eacute;es directement en octets UTF-8 dans un grand tampon, vid&eacute; dans la sortie tous les
+ * {@value #TAILLE_TAMPON} octets environ : aucun {@code String.format} ni {@code toString()} n'est utilis&eacute; pour les
+ * colonnes primitives, les modalit&eacute;s d'une colonne cat&eacute;gorielle sont encod&eacute;es une seule fois, et les textes sont
+ * encod&eacute;s caract&egrave;re par caract&egrave;re dans le tampon. Un champ n'est entour&eacute; de guillemets que s'il contient le
+ * s&eacute;parateur, un guillemet ou une fin de ligne ; une valeur manquante donne un champ vide.
+ * <br>
+ * Les nombres &agrave; virgule sont &eacute;crits avec le moins de d&eacute;cimales qui redonnent exactement la m&ecirc;me valeur &agrave; la
+ * relecture (au moins une, pour que la colonne soit relue comme d&eacute;cimale) ; les valeurs tr&egrave;s grandes ou tr&egrave;s petites
+ * passent par {@link Double#toString(double)}.
+ * <br>
+ * Avec {@link OptionsCSV#avecParallelisme(int)}, les lignes sont format&eacute;es par morceaux de {@value #LIGNES_PAR_MORCEAU}
+ * sur un pool fork-join, et les morceaux sont &eacute;crits dans l'ordre des lignes. Le s&eacute;parateur est celui des options.
+ * <br>
+ * Le fichier commence par l'en-t&ecirc;te (noms des colonnes, dont "Index") : il peut &ecirc;tre relu par {@link LecteurCSV}.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * new EcrivainCSV(new OptionsCSV().avecParallelisme(4)).ecrire(df, "resultat.csv");
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see DataFrame#ecrireCSV(String)
+ */
+public class EcrivainCSV {
+
+    /**
+     * Taille du tampon d'&eacute;criture : il est vid&eacute; dans la sortie d&egrave;s qu'il d&eacute;passe cette taille.
+     */
+    static final int TAILLE_TAMPON = 1 << 20;
+
+    /**
+     * Nombre de lignes format&eacute;es par une t&acirc;che lors d'une &eacute;criture parall&egrave;le.
+     */
+    static final int LIGNES_PAR_MORCEAU = 1 << 14;
+
+    private static final byte[] VRAI = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FAUX = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] LONG_MIN = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+    // Puissances de 10 exactes en double (comme à la lecture) et plus grand entier exact en double
+    private static final double[] PUISSANCES_DE_DIX = new double[18];
+    private static final double ENTIER_EXACT_MAX = 0x1p53;
+
+    static {
+        PUISSANCES_DE_DIX[0] = 1;
+        for (int k = 1; k < PUISSANCES_DE_DIX.length; k++) {
+            PUISSANCES_DE_DIX[k] = PUISSANCES_DE_DIX[k - 1] * 10;
+        }
+    }
+
+    private final OptionsCSV options;
+
+    /**
+     * Constructeur d'un &eacute;crivain avec les options par d&eacute;faut (virgule, un seul thread).
+     */
+    public EcrivainCSV() {
+        this(new OptionsCSV());
+    }
+
+    /**
+     * Constructeur d'un &eacute;crivain.
+     *
+     * @param options Les options d'&eacute;criture : s&eacute;parateur et nombre de threads (les autres options sont ignor&eacute;es)
+     */
+    public EcrivainCSV(OptionsCSV options) {
+        this.options = new OptionsCSV(options);
+    }
+
+    /**
+     * &Eacute;crit un {@code DataFrame} dans un fichier CSV (remplac&eacute; s'il existe).
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; &eacute;crire
+     * @param path Le chemin du fichier
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre &eacute;crit
+     */
+    public void ecrire(DataFrame dataframe, String path) throws IOException {
+        try (OutputStream sortie = Files.newOutputStream(Paths.get(path))) {
+            ecrire(dataframe, sortie);
+        }
+    }
+
+    /**
+     * &Eacute;crit un {@code DataFrame} au format CSV (encod&eacute; en UTF-8) dans un flux d'octets.
+     * Le flux n'est pas ferm&eacute;.
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; &eacute;crire
+     * @param sortie Le flux qui re&ccedil;oit le CSV
+     *
+     * @throws IOException si l'&eacute;criture &eacute;choue
+     */
+    public void ecrire(DataFrame dataframe, OutputStream sortie) throws IOException {
+        ecrire(dataframe, (octets, longueur) -> sortie.write(octets, 0, longueur));
+        sortie.flush();
+    }
+
+    /**
+     * &Eacute;crit un {@code DataFrame} au format CSV dans un flux de caract&egrave;res. Le flux n'est pas ferm&eacute;.
+     * <br>
+     * Les lignes sont format&eacute;es de la m&ecirc;me fa&ccedil;on, puis chaque tampon plein est transmis au flux en une fois.
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; &eacute;crire
+     * @param sortie Le flux qui re&ccedil;oit le CSV
+     *
+     * @throws IOException si l'&eacute;criture &eacute;choue
+     */
+    public void ecrire(DataFrame dataframe, Writer sortie) throws IOException {
+        // Le tampon n'est vidé qu'en fin de ligne : il ne coupe jamais un caractère encodé sur plusieurs octets
+        ecrire(dataframe, (octets, longueur) -> sortie.write(new String(octets, 0, longueur, StandardCharsets.UTF_8)));
+        sortie.flush();
+    }
+
+    /**
+     * &Eacute;crit une seule ligne CSV (par exemple un en-t&ecirc;te), avec les m&ecirc;mes r&egrave;gles de guillemets.
+     *
+     * @param champs Les champs de la ligne
+     * @param sortie Le flux qui re&ccedil;oit la ligne
+     *
+     * @throws IOException si l'&eacute;criture &eacute;choue
+     */
+    void ecrireLigne(String[] champs, OutputStream sortie) throws IOException {
+        Tampon tampon = new Tampon(256, separateur());
+        for (int j = 0; j < champs.length; j++) {
+            if (j > 0) {
+                tampon.ajouter(tampon.separateur);
+            }
+            tampon.ajouterTexte(champs[j]);
+        }
+        tampon.ajouter((byte) '\n');
+        sortie.write(tampon.octets, 0, tampon.taille);
+    }
+
+    private void ecrire(DataFrame dataframe, Sortie sortie) throws IOException {
+        List<String> noms = new ArrayList<>(dataframe.colonne.keySet());
+        Format[] formats = new Format[noms.size()];
+        int nbLignes = 0;
+        for (int j = 0; j < formats.length; j++) {
+            Series<?> serie = dataframe.colonne.get(noms.get(j));
+            formats[j] = Format.pour(serie, separateur());
+            nbLignes = Math.max(nbLignes, serie.size());
+        }
+
+        Tampon tampon = new Tampon(TAILLE_TAMPON + (TAILLE_TAMPON >> 3), separateur());
+        for (int j = 0; j < formats.length; j++) {
+            if (j > 0) {
+                tampon.ajouter(tampon.separateur);
+            }
+            tampon.ajouterTexte(noms.get(j));
+        }
+        tampon.ajouter((byte) '\n');
+
+        if (options.getParallelisme() > 1 && nbLignes > LIGNES_PAR_MORCEAU) {
+            sortie.ecrire(tampon.octets, tampon.taille);
+            ecrireEnParallele(formats, nbLignes, sortie);
+            return;
+        }
+        for (int i = 0; i < nbLignes; i++) {
+            formaterLigne(formats, i, tampon);
+            if (tampon.taille >= TAILLE_TAMPON) {
+                sortie.ecrire(tampon.octets, tampon.taille);
+                tampon.taille = 0;
+            }
+        }
+        sortie.ecrire(tampon.octets, tampon.taille);
+    }
+
+    // Les morceaux sont formatés par le pool, et écrits dans l'ordre dès qu'ils sont prêts. Au plus deux morceaux
+    // par thread sont en mémoire à la fois : l'écriture du premier se fait pendant le formatage des suivants.
+    private void ecrireEnParallele(Format[] formats, int nbLignes, Sortie sortie) throws IOException {
+        int parallelisme = options.getParallelisme();
+        byte separateur = separateur();
+        ForkJoinPool pool = new ForkJoinPool(parallelisme);
+        try {
+            ArrayDeque<ForkJoinTask<Tampon>> enCours = new ArrayDeque<>();
+            for (int debut = 0; debut < nbLignes; debut += LIGNES_PAR_MORCEAU) {
+                if (enCours.size() >= 2 * parallelisme) {
+                    Tampon morceau = enCours.poll().join();
+                    sortie.ecrire(morceau.octets, morceau.taille);
+                }
+                int premiere = debut;
+                int fin = Math.min(nbLignes, debut + LIGNES_PAR_MORCEAU);
+                enCours.add(pool.submit(() -> {
+                    Tampon morceau = new Tampon(1 << 16, separateur);
+                    for (int i = premiere; i < fin; i++) {
+                        formaterLigne(formats, i, morceau);
+                    }
+                    return morceau;
+                }));
+            }
+            while (!enCours.isEmpty()) {
+                Tampon morceau = enCours.poll().join();
+                sortie.ecrire(morceau.octets, morceau.taille);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void formaterLigne(Format[] formats, int ligne, Tampon tampon) {
+        for (int j = 0; j < formats.length; j++) {
+            if (j > 0) {
+                tampon.ajouter(tampon.separateur);
+            }
+            formats[j].ecrire(ligne, tampon);
+        }
+        tampon.ajouter((byte) '\n');
+    }
+
+    private byte separateur() {
+        return (byte) options.getSeparateur();
+    }
+
+    /**
+     * Destination des octets format&eacute;s (flux d'octets ou de caract&egrave;res).
+     */
+    @FunctionalInterface
+    private interface Sortie {
+        void ecrire(byte[] octets, int longueur) throws IOException;
+    }
+
+    /**
+     * Formatage des valeurs d'une colonne, choisi une fois pour toutes d'apr&egrave;s son type.
+     */
+    private abstract static class Format {
+
+        // Valeur de la ligne, sans le séparateur ; rien pour une valeur manquante
+        abstract void ecrire(int ligne, Tampon tampon);
+
+        static Format pour(Series<?> serie, byte separateur) {
+            if (serie instanceof SeriesInt) {
+                SeriesInt entiers = (SeriesInt) serie;
+                return new Format() {
+                    @Override
+                    void ecrire(int ligne, Tampon tampon) {
+                        if (!entiers.estNul(ligne)) {
+                            tampon.ajouterEntier(entiers.getInt(ligne));
+                        }
+                    }
+                };
+            }
+            if (serie instanceof SeriesLong) {
+                SeriesLong entiers = (SeriesLong) serie;
+                return new Format() {
+                    @Override
+                    void ecrire(int ligne, Tampon tampon) {
+                        if (!entiers.estNul(ligne)) {
+                            tampon.ajouterEntier(entiers.getLong(ligne));
+                        }
+                    }
+                };
+            }
+            if (serie instanceof SeriesDouble) {
+                SeriesDouble nombres = (SeriesDouble) serie;
+                return new Format() {
+                    @Override
+                    void ecrire(int ligne, Tampon tampon) {
+                        if (!nombres.estNul(ligne)) {
+                            tampon.ajouterDouble(nombres.getDouble(ligne));
+                        }
+                    }
+                };
+            }
+            if (serie instanceof SeriesBooleen) {
+                SeriesBooleen booleens = (SeriesBooleen) serie;
+                return new Format() {
+                    @Override
+                    void ecrire(int ligne, Tampon tampon) {
+                        if (!booleens.estNul(ligne)) {
+                            tampon.ajouter(booleens.getBooleen(ligne) ? VRAI : FAUX);
+                        }
+                    }
+                };
+            }
+            if (serie instanceof SeriesCategorielle) {
+                // Chaque modalité est encodée (et mise entre guillemets si besoin) une seule fois
+                SeriesCategorielle categories = (SeriesCategorielle) serie;
+                List<String> modalites = categories.getModalites();
+                byte[][] octetsModalites = new byte[modalites.size()][];
+                Tampon encodage = new Tampon(64, separateur);
+                for (int code = 0; code < octetsModalites.length; code++) {
+                    encodage.taille = 0;
+                    encodage.ajouterTexte(modalites.get(code));
+                    octetsModalites[code] = Arrays.copyOf(encodage.octets, encodage.taille);
+                }
+                return new Format() {
+                    @Override
+                    void ecrire(int ligne, Tampon tampon) {
+                        int code = categories.getCode(ligne);
+                        if (code != SeriesCategorielle.CODE_NUL) {
+                            tampon.ajouter(octetsModalites[code]);
+                        }
+                    }
+                };
+            }
+            return new Format() {
+                @Override
+                void ecrire(int ligne, Tampon tampon) {
+                    tampon.ajouterObjet(serie.get(ligne));
+                }
+            };
+        }
+    }
+
+    /**
+     * Tableau d'octets qui s'agrandit, dans lequel les champs sont format&eacute;s.
+     */
+    private static final class Tampon {
+        private final byte separateur;
+        private byte[] octets;
+        private int taille;
+
+        Tampon(int capacite, byte separateur) {
+            this.octets = new byte[capacite];
+            this.separateur = separateur;
+        }
+
+        void ajouter(byte octet) {
+            assurerCapacite(1);
+            octets[taille++] = octet;
+        }
+
+        void ajouter(byte[] valeur) {
+            assurerCapacite(valeur.length);
+            System.arraycopy(valeur, 0, octets, taille, valeur.length);
+            taille += valeur.length;
+        }
+
+        // Chiffres écrits de droite à gauche, directement à leur place
+        void ajouterEntier(long valeur) {
+            if (valeur == Long.MIN_VALUE) {
+                ajouter(LONG_MIN);
+                return;
+            }
+            assurerCapacite(20);
+            if (valeur < 0) {
+                octets[taille++] = '-';
+                valeur = -valeur;
+            }
+            int nbChiffres = 1;
+            for (long reste = valeur / 10; reste != 0; reste /= 10) {
+                nbChiffres++;
+            }
+            int position = taille + nbChiffres;
+            taille = position;
+            do {
+                octets[--position] = (byte) ('0' + valeur % 10);
+                valeur /= 10;
+            } while (valeur != 0);
+        }
+
+        // Cherche le plus petit nombre de décimales k tel que m / 10^k redonne exactement la valeur (m entier exact
+        // et 10^k exact en double : la division est alors correctement arrondie, comme la relecture du texte)
+        void ajouterDouble(double valeur) {
+            if (valeur == 0) {
+                ajouterAscii(1 / valeur < 0 ? "-0.0" : "0.0");
+                return;
+            }
+            double absolue = Math.abs(valeur);
+            for (int k = 0; k < PUISSANCES_DE_DIX.length; k++) {
+                double mantisse = Math.rint(absolue * PUISSANCES_DE_DIX[k]);
+                if (mantisse >= ENTIER_EXACT_MAX) {
+                    break;
+                }
+                if (mantisse / PUISSANCES_DE_DIX[k] == absolue) {
+                    if (valeur < 0) {
+                        ajouter((byte) '-');
+                    }
+                    ajouterDecimal((long) mantisse, Math.max(k, 1), k == 0);
+                    return;
+                }
+            }
+            // Valeur très grande, très petite ou non finie : cas rare, confié à Double.toString
+            ajouterAscii(Double.toString(valeur));
+        }
+
+        // Écrit mantisse / 10^decimales avec exactement "decimales" chiffres après la virgule
+        private void ajouterDecimal(long mantisse, int decimales, boolean entier) {
+            if (entier) {
+                ajouterEntier(mantisse);
+                ajouter((byte) '.');
+                ajouter((byte) '0');
+                return;
+            }
+            long diviseur = (long) PUISSANCES_DE_DIX[decimales];
+            ajouterEntier(mantisse / diviseur);
+            ajouter((byte) '.');
+            long fraction = mantisse % diviseur;
+            assurerCapacite(decimales);
+            for (int position = taille + decimales - 1; position >= taille; position--) {
+                octets[position] = (byte) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            taille += decimales;
+        }
+
+        void ajouterObjet(Object valeur) {
+            if (valeur == null) {
+                return;
+            }
+            if (valeur instanceof String) {
+                ajouterTexte((String) valeur);
+            } else if (valeur instanceof Integer || valeur instanceof Long || valeur instanceof Short || valeur instanceof Byte) {
+                ajouterEntier(((Number) valeur).longValue());
+            } else if (valeur instanceof Double || valeur instanceof Float) {
+                ajouterDouble(((Number) valeur).doubleValue());
+            } else if (valeur instanceof Boolean) {
+                ajouter((Boolean) valeur ? VRAI : FAUX);
+            } else {
+                ajouterTexte(valeur.toString());
+            }
+        }
+
+        // Encode un texte en UTF-8 ; il n'est entouré de guillemets (doublés à l'intérieur) que si c'est nécessaire
+        void ajouterTexte(String texte) {
+            boolean guillemets = false;
+            for (int i = 0; i < texte.length() && !guillemets; i++) {
+                char c = texte.charAt(i);
+                guillemets = c == separateur || c == '"' || c == '\n' || c == '\r';
+            }
+            assurerCapacite(3 * texte.length() + 2);
+            if (guillemets) {
+                octets[taille++] = '"';
+            }
+            for (int i = 0; i < texte.length(); i++) {
+                char c = texte.charAt(i);
+                if (c < 0x80) {
+                    if (c == '"' && guillemets) {
+                        // La place réservée (3 octets par caractère) suffit pour doubler le guillemet
+                        octets[taille++] = '"';
+                    }
+                    octets[taille++] = (byte) c;
+                } else if (c < 0x800) {
+                    octets[taille++] = (byte) (0xC0 | (c >> 6));
+                    octets[taille++] = (byte) (0x80 | (c & 0x3F));
+                } else if (Character.isHighSurrogate(c) && i + 1 < texte.length() && Character.isLowSurrogate(texte.charAt(i + 1))) {
+                    int point = Character.toCodePoint(c, texte.charAt(++i));
+                    octets[taille++] = (byte) (0xF0 | (point >> 18));
+                    octets[taille++] = (byte) (0x80 | ((point >> 12) & 0x3F));
+                    octets[taille++] = (byte) (0x80 | ((point >> 6) & 0x3F));
+                    octets[taille++] = (byte) (0x80 | (point & 0x3F));
+                } else if (Character.isSurrogate(c)) {
+                    // Demi-caractère isolé : remplacé par '?', comme String.getBytes
+                    octets[taille++] = '?';
+                } else {
+                    octets[taille++] = (byte) (0xE0 | (c >> 12));
+                    octets[taille++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                    octets[taille++] = (byte) (0x80 | (c & 0x3F));
+                }
+            }
+            if (guillemets) {
+                octets[taille++] = '"';
+            }
+        }
+
+        private void ajouterAscii(String texte) {
+            assurerCapacite(texte.length());
+            for (int i = 0; i < texte.length(); i++) {
+                octets[taille++] = (byte) texte.charAt(i);
+            }
+        }
+
+        private void assurerCapacite(int supplement) {
+            if (taille + supplement > octets.length) {
+                octets = Arrays.copyOf(octets, Math.max(taille + supplement, octets.length + (octets.length >> 1)));
+            }
+        }
+    }
+}
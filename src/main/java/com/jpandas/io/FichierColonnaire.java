@@ -0,0 +1,725 @@
+package com.jpandas.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+import com.jpandas.core.SeriesPrimitive;
+import com.jpandas.core.TypeColonne;
+
+/**
+ * La classe FichierColonnaire enregistre un {@link DataFrame} dans un fichier binaire rang&eacute; par colonnes,
+ * et le relit par projection en m&eacute;moire ({@code FileChannel.map}).
+ * <br>
+ * Le fichier commence par un en-t&ecirc;te (signature, nombre de lignes, taille des blocs, puis pour chaque colonne
+ * son nom, son type et la position de ses donn&eacute;es). Les donn&eacute;es de chaque colonne sont rang&eacute;es &agrave; la suite,
+ * en petit-boutiste et align&eacute;es sur 8 octets :
+ * <ul>
+ *   <li>le masque des valeurs manquantes (un bit par ligne), s'il y en a ;</li>
+ *   <li>pour les colonnes num&eacute;riques, le minimum et le maximum de chaque bloc de {@value #TAILLE_BLOC} lignes ;</li>
+ *   <li>les valeurs : le tableau primitif ({@code int}, {@code long}, {@code double}, un bit par bool&eacute;en), les
+ *       octets UTF-8 des cha&icirc;nes suivis de leurs positions de fin, ou, pour une colonne cat&eacute;gorielle, les codes
+ *       puis le dictionnaire.</li>
+ * </ul>
+ * Une colonne "Index" g&eacute;n&eacute;r&eacute;e (0, 1, 2, ...) n'est pas enregistr&eacute;e : seul son type l'indique.
+ * <br>
+ * L'ouverture ne lit que l'en-t&ecirc;te : chaque colonne est seulement projet&eacute;e en m&eacute;moire, et ses valeurs ne
+ * sont d&eacute;cod&eacute;es (et ses pages lues sur le disque) qu'au premier acc&egrave;s &agrave; la colonne. Les statistiques par
+ * bloc se lisent sans d&eacute;coder la colonne : elles indiquent quels blocs peuvent contenir une valeur cherch&eacute;e.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * FichierColonnaire.ecrire(df, "ventes.jpcol");
+ * DataFrame relu = DataFrame.charger("ventes.jpcol"); // quasi instantan&eacute;
+ * }</pre>
+ * Le format joue le r&ocirc;le du format Feather de Pandas ; une colonne est limit&eacute;e &agrave; 2 Go.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see DataFrame#sauvegarder(String)
+ * @see DataFrame#charger(String)
+ * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.read_feather.html">Documentation Pandas - read_feather</a>
+ */
+public final class FichierColonnaire {
+
+    /**
+     * Nombre de lignes d'un bloc de statistiques (minimum et maximum).
+     */
+    public static final int TAILLE_BLOC = 1 << 16;
+
+    private static final byte[] SIGNATURE = { 'J', 'P', 'C', 'O', 'L', 'O', 'N', 1 };
+    private static final int TAILLE_EN_TETE_FIXE = 32;
+    private static final byte INDEX_GENERE = -1;
+    private static final int TAILLE_TAMPON = 1 << 20;
+
+    private final int nbLignes;
+    private final int tailleBloc;
+    private final List<String> noms;
+    private final byte[] types;
+    private final boolean[] avecNuls;
+    private final ByteBuffer[] donnees;
+
+    private FichierColonnaire(int nbLignes, int tailleBloc, List<String> noms, byte[] types, boolean[] avecNuls, ByteBuffer[] donnees) {
+        this.nbLignes = nbLignes;
+        this.tailleBloc = tailleBloc;
+        this.noms = noms;
+        this.types = types;
+        this.avecNuls = avecNuls;
+        this.donnees = donnees;
+    }
+
+    /**
+     * Enregistre toutes les colonnes d'un {@code DataFrame} (y compris "Index") dans un fichier colonnaire.
+     * <br>
+     * Les colonnes primitives et cat&eacute;gorielles gardent leur type ; une {@code Series} d'objets est enregistr&eacute;e
+     * dans le type commun de ses valeurs (par exemple des {@code Integer} comme une colonne d'entiers), ou &agrave;
+     * d&eacute;faut comme des cha&icirc;nes de caract&egrave;res.
+     *
+     * @param dataframe Le {@code DataFrame} &agrave; enregistrer
+     * @param path Le chemin du fichier (remplac&eacute; s'il existe)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre &eacute;crit
+     */
+    public static void ecrire(DataFrame dataframe, String path) throws IOException {
+        List<String> noms = new ArrayList<>(dataframe.colonne.keySet());
+        int nbColonnes = noms.size();
+        int nbLignes = dataframe.getColonneByName("Index").size();
+        List<Series<?>> series = new ArrayList<>();
+        byte[] types = new byte[nbColonnes];
+        byte[][] nomsEncodes = new byte[nbColonnes][];
+        int tailleEnTete = TAILLE_EN_TETE_FIXE;
+        for (int j = 0; j < nbColonnes; j++) {
+            Series<?> serie = dataframe.getColonneByName(noms.get(j));
+            if (noms.get(j).equals("Index") && estIndexGenere(serie)) {
+                types[j] = INDEX_GENERE;
+            } else {
+                serie = normaliser(serie);
+                types[j] = (byte) typeDe(serie).ordinal();
+            }
+            series.add(serie);
+            nomsEncodes[j] = noms.get(j).getBytes(StandardCharsets.UTF_8);
+            tailleEnTete += 4 + nomsEncodes[j].length + 2 + 16;
+        }
+
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ecrire(canal, series, types, nomsEncodes, tailleEnTete, nbLignes);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Écrit les données de chaque colonne après la place réservée à l'en-tête, puis l'en-tête lui-même
+    private static void ecrire(FileChannel canal, List<Series<?>> series, byte[] types, byte[][] nomsEncodes, int tailleEnTete,
+            int nbLignes) throws IOException {
+        int nbColonnes = types.length;
+        Sortie sortie = new Sortie(canal, tailleEnTete);
+        long[] debuts = new long[nbColonnes];
+        long[] longueurs = new long[nbColonnes];
+        boolean[] avecNuls = new boolean[nbColonnes];
+        for (int j = 0; j < nbColonnes; j++) {
+            sortie.aligner(8);
+            debuts[j] = sortie.position();
+            if (types[j] != INDEX_GENERE) {
+                avecNuls[j] = ecrireColonne(sortie, series.get(j), TypeColonne.values()[types[j]], nbLignes);
+            }
+            longueurs[j] = sortie.position() - debuts[j];
+        }
+        sortie.vider();
+
+        ByteBuffer enTete = ByteBuffer.allocate(tailleEnTete).order(ByteOrder.LITTLE_ENDIAN);
+        enTete.put(SIGNATURE).putInt(tailleEnTete).putInt(nbColonnes).putLong(nbLignes).putInt(TAILLE_BLOC).putInt(0);
+        for (int j = 0; j < nbColonnes; j++) {
+            enTete.putInt(nomsEncodes[j].length).put(nomsEncodes[j]).put(types[j]).put((byte) (avecNuls[j] ? 1 : 0));
+            enTete.putLong(debuts[j]).putLong(longueurs[j]);
+        }
+        enTete.flip();
+        long position = 0;
+        while (enTete.hasRemaining()) {
+            position += canal.write(enTete, position);
+        }
+    }
+
+    /**
+     * Ouvre un fichier colonnaire : seul l'en-t&ecirc;te est lu, chaque colonne est projet&eacute;e en m&eacute;moire sans &ecirc;tre lue.
+     *
+     * @param path Le chemin du fichier
+     * @return Le fichier ouvert
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre lu
+     * @throws IllegalArgumentException si le fichier n'est pas un fichier colonnaire JPandas
+     */
+    public static FichierColonnaire ouvrir(String path) throws IOException {
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            if (canal.size() < TAILLE_EN_TETE_FIXE) {
+                throw new IllegalArgumentException("Le fichier n'est pas au format colonnaire JPandas : " + path);
+            }
+            ByteBuffer fixe = lire(canal, 0, TAILLE_EN_TETE_FIXE);
+            byte[] signature = new byte[SIGNATURE.length];
+            fixe.get(signature);
+            if (!Arrays.equals(signature, SIGNATURE)) {
+                throw new IllegalArgumentException("Le fichier n'est pas au format colonnaire JPandas : " + path);
+            }
+            int tailleEnTete = fixe.getInt();
+            int nbColonnes = fixe.getInt();
+            int nbLignes = (int) fixe.getLong();
+            int tailleBloc = fixe.getInt();
+
+            // Les colonnes sont projetées en mémoire : aucune de leurs pages n'est encore lue
+            ByteBuffer enTete = lire(canal, TAILLE_EN_TETE_FIXE, tailleEnTete - TAILLE_EN_TETE_FIXE);
+            List<String> noms = new ArrayList<>(nbColonnes);
+            byte[] types = new byte[nbColonnes];
+            boolean[] avecNuls = new boolean[nbColonnes];
+            ByteBuffer[] donnees = new ByteBuffer[nbColonnes];
+            for (int j = 0; j < nbColonnes; j++) {
+                byte[] nom = new byte[enTete.getInt()];
+                enTete.get(nom);
+                noms.add(new String(nom, StandardCharsets.UTF_8));
+                types[j] = enTete.get();
+                avecNuls[j] = enTete.get() != 0;
+                long debut = enTete.getLong();
+                long longueur = enTete.getLong();
+                donnees[j] = canal.map(FileChannel.MapMode.READ_ONLY, debut, longueur);
+            }
+            return new FichierColonnaire(nbLignes, tailleBloc, Collections.unmodifiableList(noms), types, avecNuls, donnees);
+        }
+    }
+
+    /**
+     * Renvoie le nombre de lignes enregistr&eacute;es.
+     *
+     * @return Le nombre de lignes de chaque colonne
+     */
+    public int getNbLignes() {
+        return nbLignes;
+    }
+
+    /**
+     * Renvoie les noms des colonnes, dans l'ordre du {@code DataFrame} enregistr&eacute;.
+     *
+     * @return Les noms des colonnes
+     */
+    public List<String> getNoms() {
+        return noms;
+    }
+
+    /**
+     * Renvoie le type d'une colonne.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @return Le type des valeurs de la colonne
+     *
+     * @throws IllegalArgumentException si la colonne n'existe pas
+     */
+    public TypeColonne getType(String nomColonne) {
+        byte type = types[position(nomColonne)];
+        return type == INDEX_GENERE ? TypeColonne.CHAINE : TypeColonne.values()[type];
+    }
+
+    /**
+     * Renvoie le nombre de blocs de statistiques de chaque colonne num&eacute;rique.
+     *
+     * @return Le nombre de blocs de {@link #getTailleBloc()} lignes (le dernier peut &ecirc;tre incomplet)
+     */
+    public int getNbBlocs() {
+        return (int) ((nbLignes + (long) tailleBloc - 1) / tailleBloc);
+    }
+
+    /**
+     * Renvoie le nombre de lignes d'un bloc de statistiques.
+     *
+     * @return La taille des blocs
+     */
+    public int getTailleBloc() {
+        return tailleBloc;
+    }
+
+    /**
+     * Renvoie la plus petite valeur d'un bloc d'une colonne num&eacute;rique, sans d&eacute;coder la colonne.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param bloc Le num&eacute;ro du bloc
+     * @return La plus petite valeur non manquante du bloc ({@code Long} ou {@code Double}), ou {@code null} s'il n'en a aucune
+     *
+     * @throws IllegalArgumentException si la colonne n'existe pas ou n'est pas num&eacute;rique
+     * @throws IndexOutOfBoundsException si le bloc n'existe pas
+     */
+    public Number getMinimum(String nomColonne, int bloc) {
+        return statistique(nomColonne, bloc, 0);
+    }
+
+    /**
+     * Renvoie la plus grande valeur d'un bloc d'une colonne num&eacute;rique, sans d&eacute;coder la colonne.
+     *
+     * @param nomColonne Le nom de la colonne
+     * @param bloc Le num&eacute;ro du bloc
+     * @return La plus grande valeur non manquante du bloc ({@code Long} ou {@code Double}), ou {@code null} s'il n'en a aucune
+     *
+     * @throws IllegalArgumentException si la colonne n'existe pas ou n'est pas num&eacute;rique
+     * @throws IndexOutOfBoundsException si le bloc n'existe pas
+     */
+    public Number getMaximum(String nomColonne, int bloc) {
+        return statistique(nomColonne, bloc, 1);
+    }
+
+    /**
+     * D&eacute;code une colonne (ses pages sont alors lues sur le disque).
+     *
+     * @param nomColonne Le nom de la colonne
+     * @return Une nouvelle s&eacute;rie contenant les valeurs de la colonne
+     *
+     * @throws IllegalArgumentException si la colonne n'existe pas
+     */
+    public Series<?> lireColonne(String nomColonne) {
+        return decoder(position(nomColonne));
+    }
+
+    /**
+     * Renvoie les colonnes du fichier, chacune d&eacute;cod&eacute;e seulement au premier acc&egrave;s &agrave; sa valeur.
+     *
+     * @return Les colonnes index&eacute;es par nom, dans l'ordre du fichier
+     */
+    public Map<String, Series<?>> colonnes() {
+        Map<String, Supplier<Series<?>>> lectures = new LinkedHashMap<>();
+        for (int j = 0; j < noms.size(); j++) {
+            int colonne = j;
+            lectures.put(noms.get(j), () -> decoder(colonne));
+        }
+        return new ColonnesDifferees(lectures);
+    }
+
+    private int position(String nomColonne) {
+        int position = noms.indexOf(nomColonne);
+        if (position < 0) {
+            throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + nomColonne);
+        }
+        return position;
+    }
+
+    private Number statistique(String nomColonne, int bloc, int rang) {
+        int j = position(nomColonne);
+        if (types[j] == INDEX_GENERE || !aDesStatistiques(TypeColonne.values()[types[j]])) {
+            throw new IllegalArgumentException("La colonne n'a pas de statistiques par bloc : " + nomColonne);
+        }
+        if (bloc < 0 || bloc >= getNbBlocs()) {
+            throw new IndexOutOfBoundsException("Bloc " + bloc + " hors limites (" + getNbBlocs() + " blocs).");
+        }
+        ByteBuffer octets = donnees[j].duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int debut = (avecNuls[j] ? nombreMots(nbLignes) * 8 : 0) + bloc * 16;
+        if (types[j] == TypeColonne.DOUBLE.ordinal()) {
+            double minimum = octets.getDouble(debut);
+            double maximum = octets.getDouble(debut + 8);
+            return minimum > maximum ? null : (Double) (rang == 0 ? minimum : maximum);
+        }
+        long minimum = octets.getLong(debut);
+        long maximum = octets.getLong(debut + 8);
+        return minimum > maximum ? null : (Long) (rang == 0 ? minimum : maximum);
+    }
+
+    // Décode toutes les valeurs d'une colonne à partir de sa projection en mémoire
+    private Series<?> decoder(int j) {
+        int n = nbLignes;
+        if (types[j] == INDEX_GENERE) {
+            List<String> index = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                index.add(String.valueOf(i));
+            }
+            return new Series<>(index);
+        }
+        TypeColonne type = TypeColonne.values()[types[j]];
+        ByteBuffer octets = donnees[j];
+        int position = 0;
+        long[] nuls = null;
+        if (avecNuls[j]) {
+            nuls = new long[nombreMots(n)];
+            tranche(octets, 0).asLongBuffer().get(nuls);
+            position = nuls.length * 8;
+        }
+        if (aDesStatistiques(type)) {
+            position += getNbBlocs() * 16;
+        }
+        ByteBuffer valeurs = tranche(octets, position);
+
+        SeriesPrimitive<?> serie;
+        switch (type) {
+            case ENTIER:
+                int[] entiers = new int[n];
+                valeurs.asIntBuffer().get(entiers);
+                serie = new SeriesInt(entiers);
+                break;
+            case LONG:
+                long[] longs = new long[n];
+                valeurs.asLongBuffer().get(longs);
+                serie = new SeriesLong(longs);
+                break;
+            case DOUBLE:
+                double[] doubles = new double[n];
+                valeurs.asDoubleBuffer().get(doubles);
+                serie = new SeriesDouble(doubles);
+                break;
+            case BOOLEEN:
+                long[] bits = new long[nombreMots(n)];
+                valeurs.asLongBuffer().get(bits);
+                boolean[] booleens = new boolean[n];
+                for (int i = 0; i < n; i++) {
+                    booleens[i] = (bits[i >>> 6] >>> i & 1L) != 0;
+                }
+                serie = new SeriesBooleen(booleens);
+                break;
+            case CATEGORIE:
+                int nbModalites = valeurs.getInt(0);
+                int[] codes = new int[n];
+                tranche(valeurs, 4).asIntBuffer().get(codes);
+                List<String> modalites = lireTextes(valeurs, 4 + 4 * n, valeurs.limit() - 4 * (nbModalites + 1), nbModalites, null);
+                return SeriesCategorielle.depuisCodes(codes, modalites);
+            default:
+                return new Series<>(lireTextes(valeurs, 0, valeurs.limit() - 4 * (n + 1), n, nuls));
+        }
+        if (nuls != null) {
+            @SuppressWarnings("unchecked")
+            List<Object> vue = (List<Object>) serie.getData();
+            for (int i = 0; i < n; i++) {
+                if ((nuls[i >>> 6] >>> i & 1L) != 0) {
+                    vue.set(i, null);
+                }
+            }
+        }
+        return serie;
+    }
+
+    // Lit "nombre" textes : leurs octets commencent à "debutOctets", leurs positions de fin à "debutFins"
+    private static List<String> lireTextes(ByteBuffer valeurs, int debutOctets, int debutFins, int nombre, long[] nuls) {
+        int[] fins = new int[nombre + 1];
+        tranche(valeurs, debutFins).asIntBuffer().get(fins);
+        byte[] contenu = new byte[fins[nombre]];
+        tranche(valeurs, debutOctets).get(contenu);
+        List<String> textes = new ArrayList<>(nombre);
+        for (int i = 0; i < nombre; i++) {
+            boolean nul = nuls != null && (nuls[i >>> 6] >>> i & 1L) != 0;
+            textes.add(nul ? null : new String(contenu, fins[i], fins[i + 1] - fins[i], StandardCharsets.UTF_8));
+        }
+        return textes;
+    }
+
+    // Écrit les données d'une colonne ; renvoie true si un masque de valeurs manquantes a été écrit
+    private static boolean ecrireColonne(Sortie sortie, Series<?> serie, TypeColonne type, int n) {
+        boolean avecNuls = type != TypeColonne.CATEGORIE && contientNuls(serie);
+        if (avecNuls) {
+            for (int debut = 0; debut < n; debut += 64) {
+                long mot = 0;
+                for (int i = debut; i < Math.min(debut + 64, n); i++) {
+                    if (serie.estNul(i)) {
+                        mot |= 1L << i;
+                    }
+                }
+                sortie.putLong(mot);
+            }
+        }
+
+        switch (type) {
+            case ENTIER:
+            case LONG:
+                ecrireStatistiquesEntieres(sortie, serie, n);
+                for (int i = 0; i < n; i++) {
+                    long valeur = serie.estNul(i) ? 0 : entier(serie, i);
+                    if (type == TypeColonne.ENTIER) {
+                        sortie.putInt((int) valeur);
+                    } else {
+                        sortie.putLong(valeur);
+                    }
+                }
+                break;
+            case DOUBLE:
+                ecrireStatistiquesDecimales(sortie, serie, n);
+                for (int i = 0; i < n; i++) {
+                    sortie.putDouble(serie.getDouble(i));
+                }
+                break;
+            case BOOLEEN:
+                for (int debut = 0; debut < n; debut += 64) {
+                    long mot = 0;
+                    for (int i = debut; i < Math.min(debut + 64, n); i++) {
+                        if (!serie.estNul(i) && booleen(serie, i)) {
+                            mot |= 1L << i;
+                        }
+                    }
+                    sortie.putLong(mot);
+                }
+                break;
+            case CATEGORIE:
+                SeriesCategorielle categories = (SeriesCategorielle) serie;
+                sortie.putInt(categories.getNbModalites());
+                for (int i = 0; i < n; i++) {
+                    sortie.putInt(categories.getCode(i));
+                }
+                ecrireTextes(sortie, categories.getModalites());
+                break;
+            default:
+                ecrireTextes(sortie, serie.getData());
+                break;
+        }
+        return avecNuls;
+    }
+
+    // Écrit les octets UTF-8 des textes (rien pour une valeur manquante), puis la position de fin de chacun
+    private static void ecrireTextes(Sortie sortie, List<?> textes) {
+        int[] fins = new int[textes.size() + 1];
+        long total = 0;
+        for (int i = 0; i < textes.size(); i++) {
+            Object texte = textes.get(i);
+            if (texte != null) {
+                byte[] octets = String.valueOf(texte).getBytes(StandardCharsets.UTF_8);
+                sortie.put(octets);
+                total += octets.length;
+                if (total > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Une colonne de texte est limitée à 2 Go.");
+                }
+            }
+            fins[i + 1] = (int) total;
+        }
+        sortie.aligner(4);
+        for (int fin : fins) {
+            sortie.putInt(fin);
+        }
+    }
+
+    private static void ecrireStatistiquesEntieres(Sortie sortie, Series<?> serie, int n) {
+        for (int debut = 0; debut < n; debut += TAILLE_BLOC) {
+            long minimum = Long.MAX_VALUE;
+            long maximum = Long.MIN_VALUE;
+            for (int i = debut; i < Math.min(debut + TAILLE_BLOC, n); i++) {
+                if (!serie.estNul(i)) {
+                    long valeur = entier(serie, i);
+                    minimum = Math.min(minimum, valeur);
+                    maximum = Math.max(maximum, valeur);
+                }
+            }
+            sortie.putLong(minimum);
+            sortie.putLong(maximum);
+        }
+    }
+
+    private static void ecrireStatistiquesDecimales(Sortie sortie, Series<?> serie, int n) {
+        for (int debut = 0; debut < n; debut += TAILLE_BLOC) {
+            double minimum = Double.POSITIVE_INFINITY;
+            double maximum = Double.NEGATIVE_INFINITY;
+            for (int i = debut; i < Math.min(debut + TAILLE_BLOC, n); i++) {
+                double valeur = serie.getDouble(i);
+                // Les valeurs manquantes (NaN) ne comptent pas : un bloc sans valeur garde minimum > maximum
+                if (!Double.isNaN(valeur)) {
+                    minimum = Math.min(minimum, valeur);
+                    maximum = Math.max(maximum, valeur);
+                }
+            }
+            sortie.putDouble(minimum);
+            sortie.putDouble(maximum);
+        }
+    }
+
+    private static boolean contientNuls(Series<?> serie) {
+        if (serie instanceof SeriesPrimitive) {
+            return ((SeriesPrimitive<?>) serie).contientNuls();
+        }
+        for (int i = 0; i < serie.size(); i++) {
+            if (serie.estNul(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long entier(Series<?> serie, int i) {
+        if (serie instanceof SeriesInt) {
+            return ((SeriesInt) serie).getInt(i);
+        }
+        if (serie instanceof SeriesLong) {
+            return ((SeriesLong) serie).getLong(i);
+        }
+        return ((Number) serie.get(i)).longValue();
+    }
+
+    private static boolean booleen(Series<?> serie, int i) {
+        return serie instanceof SeriesBooleen ? ((SeriesBooleen) serie).getBooleen(i) : (Boolean) serie.get(i);
+    }
+
+    // Une vue (par exemple une tranche) est recopiée dans une série de son type ; les autres séries sont gardées
+    private static Series<?> normaliser(Series<?> serie) {
+        if (serie instanceof SeriesPrimitive || serie.getClass() == Series.class) {
+            return serie;
+        }
+        int[] positions = new int[serie.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = i;
+        }
+        return serie.selectionner(positions);
+    }
+
+    private static TypeColonne typeDe(Series<?> serie) {
+        if (serie instanceof SeriesInt) {
+            return TypeColonne.ENTIER;
+        }
+        if (serie instanceof SeriesLong) {
+            return TypeColonne.LONG;
+        }
+        if (serie instanceof SeriesDouble) {
+            return TypeColonne.DOUBLE;
+        }
+        if (serie instanceof SeriesBooleen) {
+            return TypeColonne.BOOLEEN;
+        }
+        if (serie instanceof SeriesCategorielle) {
+            return TypeColonne.CATEGORIE;
+        }
+        // Series d'objets : type commun de ses valeurs non manquantes
+        TypeColonne type = null;
+        for (Object valeur : serie.getData()) {
+            if (valeur != null) {
+                TypeColonne typeValeur = valeur instanceof Integer || valeur instanceof Short || valeur instanceof Byte ? TypeColonne.ENTIER
+                        : valeur instanceof Long ? TypeColonne.LONG
+                        : valeur instanceof Number ? TypeColonne.DOUBLE
+                        : valeur instanceof Boolean ? TypeColonne.BOOLEEN : TypeColonne.CHAINE;
+                type = type == null ? typeValeur : type.generaliser(typeValeur);
+                if (type == TypeColonne.CHAINE) {
+                    break;
+                }
+            }
+        }
+        return type == null ? TypeColonne.CHAINE : type;
+    }
+
+    // Indique si la colonne contient exactement "0", "1", "2", ... (sans créer de chaîne)
+    private static boolean estIndexGenere(Series<?> index) {
+        for (int i = 0; i < index.size(); i++) {
+            Object etiquette = index.get(i);
+            if (!(etiquette instanceof String) || !estEcriture((String) etiquette, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean estEcriture(String texte, int nombre) {
+        int position = texte.length();
+        do {
+            if (--position < 0 || texte.charAt(position) != '0' + nombre % 10) {
+                return false;
+            }
+            nombre /= 10;
+        } while (nombre > 0);
+        return position == 0;
+    }
+
+    private static boolean aDesStatistiques(TypeColonne type) {
+        return type == TypeColonne.ENTIER || type == TypeColonne.LONG || type == TypeColonne.DOUBLE;
+    }
+
+    private static int nombreMots(int taille) {
+        return (taille + 63) >>> 6;
+    }
+
+    // Tranche petit-boutiste des octets, à partir de la position "debut"
+    private static ByteBuffer tranche(ByteBuffer octets, int debut) {
+        ByteBuffer copie = octets.duplicate();
+        copie.position(debut);
+        return copie.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static ByteBuffer lire(FileChannel canal, long position, int taille) throws IOException {
+        ByteBuffer octets = ByteBuffer.allocate(taille).order(ByteOrder.LITTLE_ENDIAN);
+        while (octets.hasRemaining()) {
+            if (canal.read(octets, position + octets.position()) < 0) {
+                throw new IllegalArgumentException("Le fichier colonnaire est tronqué.");
+            }
+        }
+        octets.flip();
+        return octets;
+    }
+
+    /**
+     * Tampon d'&eacute;criture petit-boutiste vers un canal, &agrave; partir d'une position donn&eacute;e du fichier.
+     */
+    private static final class Sortie {
+        private final FileChannel canal;
+        private final ByteBuffer tampon = ByteBuffer.allocate(TAILLE_TAMPON).order(ByteOrder.LITTLE_ENDIAN);
+        private long ecrits;
+
+        Sortie(FileChannel canal, long debut) {
+            this.canal = canal;
+            this.ecrits = debut;
+        }
+
+        long position() {
+            return ecrits + tampon.position();
+        }
+
+        void putInt(int valeur) {
+            reserver(4);
+            tampon.putInt(valeur);
+        }
+
+        void putLong(long valeur) {
+            reserver(8);
+            tampon.putLong(valeur);
+        }
+
+        void putDouble(double valeur) {
+            reserver(8);
+            tampon.putDouble(valeur);
+        }
+
+        void put(byte[] octets) {
+            int debut = 0;
+            while (debut < octets.length) {
+                reserver(1);
+                int longueur = Math.min(octets.length - debut, tampon.remaining());
+                tampon.put(octets, debut, longueur);
+                debut += longueur;
+            }
+        }
+
+        // Complète avec des zéros jusqu'à une position multiple de "multiple"
+        void aligner(int multiple) {
+            while (position() % multiple != 0) {
+                reserver(1);
+                tampon.put((byte) 0);
+            }
+        }
+
+        void vider() {
+            tampon.flip();
+            try {
+                while (tampon.hasRemaining()) {
+                    ecrits += canal.write(tampon, ecrits);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            tampon.clear();
+        }
+
+        private void reserver(int taille) {
+            if (tampon.remaining() < taille) {
+                vider();
+            }
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.jpandas.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import com.jpandas.core.Condition;
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+
+/**
+ * Filtre les enregistrements d'un {@link AnalyseurCSV} selon une {@link Condition}, pendant la lecture.
+ * <br>
+ * Principe : les enregistrements sont lus par blocs de {@value #TAILLE_BLOC}. Pour chaque enregistrement, seuls les
+ * champs des colonnes utilis&eacute;es par la condition sont convertis (dans de petites colonnes de test), et ses octets
+ * bruts sont recopi&eacute;s sans &ecirc;tre d&eacute;cod&eacute;s. La condition est ensuite &eacute;valu&eacute;e colonne par colonne sur le
+ * bloc, et seuls les enregistrements retenus sont rendus, par un second analyseur, pour que leurs champs soient
+ * transmis aux colonnes du r&eacute;sultat. Les autres champs d'un enregistrement rejet&eacute; ne sont jamais convertis.
+ * <br>
+ * Si les colonnes de la condition sont inconnues (condition &eacute;crite par une lambda), toutes les colonnes lues
+ * sont converties pour le test. La colonne "Index" vue par la condition est celle du fichier, ou &agrave; d&eacute;faut le
+ * num&eacute;ro de la ligne (sans qu'aucune &eacute;tiquette ne soit cr&eacute;&eacute;e si la condition ne la lit pas).
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see OptionsCSV#avecFiltre(Condition)
+ */
+class FiltreCSV {
+
+    /**
+     * Nombre d'enregistrements test&eacute;s ensemble par la condition.
+     */
+    static final int TAILLE_BLOC = 4096;
+
+    private final AnalyseurCSV source;
+    private final SchemaCSV schema;
+    private final Condition condition;
+    private final byte separateur;
+    private final int[] colonnesTestees;
+    private final Tampon bloc = new Tampon();
+    private final int[] finsEnregistrements = new int[TAILLE_BLOC];
+    private final long[] numeros = new long[TAILLE_BLOC];
+    private long nbLus;
+    private boolean finSource;
+    private AnalyseurCSV retenus;
+    private int rang;
+
+    /**
+     * Constructeur d'un filtre.
+     *
+     * @param source L'analyseur plac&eacute; sur la premi&egrave;re ligne de donn&eacute;es
+     * @param schema Le sch&eacute;ma des colonnes lues
+     * @param condition La condition que les lignes doivent v&eacute;rifier
+     * @param separateur Le s&eacute;parateur des champs
+     */
+    FiltreCSV(AnalyseurCSV source, SchemaCSV schema, Condition condition, byte separateur) {
+        this.source = source;
+        this.schema = schema;
+        this.condition = condition;
+        this.separateur = separateur;
+
+        Set<String> lues = condition.colonnes();
+        int[] colonnes = new int[schema.getNbColonnes()];
+        int nbColonnes = 0;
+        for (int j = 0; j < schema.getNbColonnes(); j++) {
+            if (lues == null || lues.contains(schema.getNom(j))) {
+                colonnes[nbColonnes++] = j;
+            }
+        }
+        this.colonnesTestees = Arrays.copyOf(colonnes, nbColonnes);
+    }
+
+    /**
+     * Passe &agrave; l'enregistrement retenu suivant.
+     *
+     * @return {@code false} s'il n'y a plus d'enregistrement qui v&eacute;rifie la condition
+     *
+     * @throws IOException si la lecture &eacute;choue
+     * @throws IllegalArgumentException si une colonne utilis&eacute;e par la condition n'est pas lue
+     */
+    boolean suivant() throws IOException {
+        while (retenus == null || !retenus.suivant()) {
+            if (!testerBloc()) {
+                return false;
+            }
+        }
+        rang++;
+        return true;
+    }
+
+    /**
+     * Transmet un champ de l'enregistrement retenu courant &agrave; une colonne.
+     *
+     * @param champ La position du champ dans l'enregistrement
+     * @param colonne La colonne qui re&ccedil;oit la valeur
+     */
+    void transmettre(int champ, ConstructeurColonne colonne) {
+        retenus.transmettre(champ, colonne);
+    }
+
+    /**
+     * Renvoie le num&eacute;ro de l'enregistrement retenu courant parmi toutes les lignes de donn&eacute;es lues (&agrave; partir de 0).
+     *
+     * @return Le num&eacute;ro de la ligne dans la source
+     */
+    long getNumeroLigne() {
+        return numeros[rang];
+    }
+
+    /**
+     * Renvoie le nombre d'enregistrements lus dans la source (retenus ou non) depuis la cr&eacute;ation du filtre.
+     *
+     * @return Le nombre de lignes test&eacute;es
+     */
+    long getNbLignesLues() {
+        return nbLus;
+    }
+
+    // Lit et teste le bloc suivant ; renvoie false si la source est épuisée
+    private boolean testerBloc() throws IOException {
+        if (finSource) {
+            return false;
+        }
+        ConstructeurColonne[] testees = new ConstructeurColonne[colonnesTestees.length];
+        for (int k = 0; k < testees.length; k++) {
+            testees[k] = schema.creerConstructeur(colonnesTestees[k], TAILLE_BLOC);
+        }
+
+        // Seuls les champs testés sont convertis ; l'enregistrement entier est gardé sous forme d'octets
+        bloc.reset();
+        int nbEnregistrements = 0;
+        while (nbEnregistrements < TAILLE_BLOC && source.suivant()) {
+            for (int k = 0; k < testees.length; k++) {
+                source.transmettre(schema.getChamp(colonnesTestees[k]), testees[k]);
+            }
+            source.copierEnregistrement(bloc);
+            finsEnregistrements[nbEnregistrements++] = bloc.size();
+        }
+        finSource = nbEnregistrements < TAILLE_BLOC;
+        long premier = nbLus;
+        nbLus += nbEnregistrements;
+        if (nbEnregistrements == 0) {
+            return false;
+        }
+
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        for (int k = 0; k < testees.length; k++) {
+            colonnes.put(schema.getNom(colonnesTestees[k]), testees[k].construire());
+        }
+        colonnes.putIfAbsent("Index", new Series<>(etiquettes(premier, nbEnregistrements)));
+        int[] positions = condition.evaluer(new DataFrame(colonnes)).positions();
+
+        // Les enregistrements retenus sont rapprochés au début du bloc (dans l'ordre), puis analysés à nouveau
+        byte[] octets = bloc.octets();
+        int taille = 0;
+        for (int i = 0; i < positions.length; i++) {
+            int p = positions[i];
+            int debut = p == 0 ? 0 : finsEnregistrements[p - 1];
+            int longueur = finsEnregistrements[p] - debut;
+            System.arraycopy(octets, debut, octets, taille, longueur);
+            taille += longueur;
+            numeros[i] = premier + p;
+        }
+        retenus = new AnalyseurCSV(ByteBuffer.wrap(octets, 0, taille), separateur);
+        rang = -1;
+        return true;
+    }
+
+    // Étiquettes "premier", "premier + 1", ... créées seulement si la condition les lit
+    private static AbstractList<String> etiquettes(long premier, int taille) {
+        return new AbstractList<String>() {
+            @Override
+            public String get(int i) {
+                return String.valueOf(premier + i);
+            }
+
+            @Override
+            public int size() {
+                return taille;
+            }
+        };
+    }
+
+    // Flux d'octets dont on peut lire le tableau interne sans le recopier
+    private static final class Tampon extends ByteArrayOutputStream {
+        Tampon() {
+            super(1 << 16);
+        }
+
+        byte[] octets() {
+            return buf;
+        }
+    }
+}
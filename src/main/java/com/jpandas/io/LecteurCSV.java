@@ -1,18 +1,24 @@
 package com.jpandas.io;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.UncheckedIOException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.jpandas.core.DataFrame;
-import com.jpandas.core.Series;
 
 /**
  * La classe LecteurCSV est utilis&eacute;e pour lire les donn&eacute;es d'un fichier CSV
  * et les convertir en un DataFrame, ou chaque colonne du CSV devient une Series
  * dans le DataFrame.
+ * <br>
+ * Le type de chaque colonne (entier, nombre &agrave; virgule, bool&eacute;en, cha&icirc;ne) est d&eacute;duit des premi&egrave;res
+ * lignes ou impos&eacute; par un sch&eacute;ma (voir {@link OptionsCSV}), et les valeurs sont converties d&egrave;s la lecture.
+ * <br>
+ * Le fichier est lu en flux : pour les tr&egrave;s gros fichiers, {@link #lireParMorceaux(String, int)} permet
+ * de le traiter par morceaux sans jamais le charger en entier.
  * 
  * @author Lisa ZANNETTACCI, REAT Justine
  * @version 1.0
@@ -31,63 +37,119 @@ public class LecteurCSV {
     }
 
     /**
-     * Cette m&eacute;thode lit toutes les lignes d'un fichier CSV et cr&eacute;e un DataFrame.
+     * Cette m&eacute;thode lit toutes les lignes d'un fichier CSV et cr&eacute;e un DataFrame,
+     * en d&eacute;duisant le type de chaque colonne (voir {@link #parseCSV(String, DataFrame, OptionsCSV)}).
+     * 
+     * @param path Chemin du fichier
+     * @param dataframe Le dataframe qui va contenir les donn&eacute;es de notre CSV
+     */
+    public static void parseCSV(String path, DataFrame dataframe) {
+        parseCSV(path, dataframe, new OptionsCSV());
+    }
+
+    /**
+     * Cette m&eacute;thode lit toutes les lignes d'un fichier CSV et cr&eacute;e un DataFrame dont les colonnes sont typ&eacute;es.
      * <p>
-     * Principe : On commence par lire la premi&egrave;re ligne (les en-t&ecirc;tes) et on cr&eacute;e une Series pour chaque colonne du DataFrame.
-     * Ensuite, on parcourt les lignes suivantes (les donn&eacute;es) et on ajoute chaque valeur dans la colonne appropri&eacute;e.
+     * Principe : On commence par lire la premi&egrave;re ligne (les en-t&ecirc;tes). Le type de chaque colonne est
+     * ensuite impos&eacute; par le sch&eacute;ma des options, ou d&eacute;duit d'un &eacute;chantillon des premi&egrave;res lignes de donn&eacute;es
+     * (entier, entier long, nombre &agrave; virgule, bool&eacute;en ou cha&icirc;ne de caract&egrave;res).
+     * On parcourt alors les lignes de donn&eacute;es une par une (le fichier n'est jamais charg&eacute; en entier)
+     * et chaque valeur est convertie une seule fois, directement
+     * dans une colonne primitive ({@link com.jpandas.core.SeriesInt}, {@link com.jpandas.core.SeriesDouble}, ...).
      * Si le CSV ne contient pas de colonne "Index", on l'ajoute.
      * </p>
+     * <p>
+     * La colonne "Index" est toujours lue comme une cha&icirc;ne de caract&egrave;res, sauf si son type est impos&eacute;
+     * par le sch&eacute;ma.
+     * </p>
+     * <p>
+     * Si les options restreignent les colonnes &agrave; lire ({@link OptionsCSV#avecColonnes(String...)}), seules
+     * celles-ci (et la colonne "Index" du fichier) sont cr&eacute;&eacute;es : l'analyseur d&eacute;limite toujours tous les champs,
+     * mais ceux des autres colonnes ne sont ni convertis ni conserv&eacute;s.
+     * </p>
+     * <p>
+     * Si les options contiennent un filtre ({@link OptionsCSV#avecFiltre(com.jpandas.core.Condition)}), les lignes
+     * sont test&eacute;es par blocs d&egrave;s que les champs de la condition sont convertis : les autres champs des lignes
+     * rejet&eacute;es ne sont jamais convertis ni ajout&eacute;s aux colonnes.
+     * </p>
+     * <p>
+     * Si les options demandent plusieurs threads ({@link OptionsCSV#avecParallelisme(int)}), le fichier est
+     * projet&eacute; en m&eacute;moire et ses plages de lignes sont analys&eacute;es en parall&egrave;le.
+     * </p>
      * 
      * @param path Chemin du fichier
      * @param dataframe Le dataframe qui va contenir les donn&eacute;es de notre CSV
+     * @param options Les options de lecture (sch&eacute;ma, inf&eacute;rence des types)
+     *
+     * @throws IllegalArgumentException si le fichier est mal form&eacute; ou si une valeur ne respecte pas le sch&eacute;ma impos&eacute;
      */
-    public static void parseCSV(String path, DataFrame dataframe) {
-        try {
-            List<String> lignes = Files.readAllLines(Paths.get(path));
-    
-            if (lignes.size() < 2) {
+    public static void parseCSV(String path, DataFrame dataframe, OptionsCSV options) {
+        // Le fichier est lu en flux, comme un unique morceau : on ne garde jamais toutes ses lignes en mémoire
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(path, Integer.MAX_VALUE, options)) {
+            if (!lecteur.hasNext()) {
                 throw new IllegalArgumentException("Le fichier CSV est mal form&eacute;.");
             }
     
-            String[] enTetes = lignes.get(0).split(",");
-    
-            // V&eacute;rifie si une colonne Index est d&eacute;j&agrave; pr&eacute;sente
-            boolean indexColonne = false;
-            for (String enTete : enTetes) {
-                if (enTete.equalsIgnoreCase("Index")) {
-                    indexColonne = true;
-                    break;
-                }
-            }
-    
-            // On cr&eacute;e TOUTES les colonnes du fichier, y compris "Index" s&rsquo;il est d&eacute;j&agrave; l&agrave;
-            for (String enTete : enTetes) {
-                dataframe.colonne.put(enTete, new Series<>(new ArrayList<>()));
-            }
-    
-            // On parcourt les lignes de donn&eacute;es et on les ajoute dans les bonnes colonnes
-            for (int i = 1; i < lignes.size(); i++) {
-                String[] valeurs = lignes.get(i).split(",");
-                for (int j = 0; j < enTetes.length; j++) {
-                    String nomColonne = enTetes[j];
-                    Series<String> colonne = (Series<String>) dataframe.colonne.get(nomColonne);
-                    if (colonne != null) {
-                        colonne.getData().add(valeurs[j]);
-                    }
-                }
+            // On cr&eacute;e les colonnes lues du fichier, y compris "Index" s&rsquo;il est d&eacute;j&agrave; l&agrave;
+            // (si le CSV n’a PAS de colonne Index, le lecteur en ajoute une automatiquement)
+            if (options.getParallelisme() > 1) {
+                dataframe.colonne.putAll(LecteurCSVParallele.lire(path, lecteur.getSchema(), lecteur.getDebutDonnees(), options));
+            } else {
+                dataframe.colonne.putAll(lecteur.lireColonnes());
             }
     
-            // Si le CSV n’a PAS de colonne Index, on en ajoute une automatiquement
-            if (!indexColonne) {
-                List<String> index = new ArrayList<>();
-                for (int i = 0; i < lignes.size() - 1; i++) {
-                    index.add(String.valueOf(i));
-                }
-                dataframe.colonne.put("Index", new Series<>(index));
-            }
-    
-        } catch (IOException e) {
+        } catch (IOException | UncheckedIOException e) {
             e.printStackTrace();
         }
     }
+
+    /**
+     * Lit un fichier CSV en flux, sous la forme d'une suite de {@code DataFrame} d'au plus {@code tailleMorceau} lignes.
+     * <br>
+     * Le flux doit &ecirc;tre ferm&eacute; apr&egrave;s usage pour lib&eacute;rer le fichier :
+     * <pre>{@code
+     * try (Stream<DataFrame> morceaux = LecteurCSV.lireParMorceaux("ventes.csv", 100_000)) {
+     *     morceaux.forEach(morceau -> morceau.afficherStatistiques("Montant"));
+     * }
+     * }</pre>
+     *
+     * @param path Chemin du fichier
+     * @param tailleMorceau Le nombre maximal de lignes de chaque morceau (&gt; 0)
+     * @return Un flux ordonn&eacute; des morceaux du fichier
+     *
+     * @throws UncheckedIOException si le fichier ne peut pas &ecirc;tre ouvert ou lu
+     *
+     * @see LecteurCSVParMorceaux
+     */
+    public static Stream<DataFrame> lireParMorceaux(String path, int tailleMorceau) {
+        return lireParMorceaux(path, tailleMorceau, new OptionsCSV());
+    }
+
+    /**
+     * Lit un fichier CSV en flux, sous la forme d'une suite de {@code DataFrame} d'au plus {@code tailleMorceau} lignes,
+     * avec des options de lecture.
+     *
+     * @param path Chemin du fichier
+     * @param tailleMorceau Le nombre maximal de lignes de chaque morceau (&gt; 0)
+     * @param options Les options de lecture (sch&eacute;ma, inf&eacute;rence des types)
+     * @return Un flux ordonn&eacute; des morceaux du fichier, &agrave; fermer apr&egrave;s usage
+     *
+     * @throws UncheckedIOException si le fichier ne peut pas &ecirc;tre ouvert ou lu
+     */
+    public static Stream<DataFrame> lireParMorceaux(String path, int tailleMorceau, OptionsCSV options) {
+        LecteurCSVParMorceaux lecteur;
+        try {
+            lecteur = new LecteurCSVParMorceaux(path, tailleMorceau, options);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Spliterator<DataFrame> morceaux = Spliterators.spliteratorUnknownSize(lecteur, Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(morceaux, false).onClose(() -> {
+            try {
+                lecteur.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 }
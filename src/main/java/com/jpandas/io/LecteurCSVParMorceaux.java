@@ -0,0 +1,264 @@
+package com.jpandas.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+
+/**
+ * La classe LecteurCSVParMorceaux lit un fichier CSV en flux, sous la forme d'une suite de {@link DataFrame}
+ * d'au plus {@code tailleMorceau} lignes chacun.
+ * <br>
+ * Le fichier n'est jamais charg&eacute; en entier : ses octets sont lus &agrave; travers un tampon par un {@link AnalyseurCSV}
+ * (champs entre guillemets, s&eacute;parateur au choix, fins de ligne Windows), et seul le morceau en cours de construction
+ * est gard&eacute; en m&eacute;moire. On peut ainsi traiter des fichiers bien plus gros que la m&eacute;moire disponible.
+ * <br>
+ * Le type des colonnes est d&eacute;duit une seule fois, &agrave; partir des premi&egrave;res lignes du fichier, et
+ * utilis&eacute; pour tous les morceaux. Si un morceau doit promouvoir une colonne vers un type plus g&eacute;n&eacute;ral,
+ * les morceaux suivants utilisent directement ce nouveau type.
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux("ventes.csv", 100_000)) {
+ *     while (lecteur.hasNext()) {
+ *         DataFrame morceau = lecteur.next();
+ *         // traitement du morceau
+ *     }
+ * }
+ * }</pre>
+ * Si le fichier ne contient pas de colonne "Index", celle-ci est ajout&eacute;e avec le num&eacute;ro de la ligne
+ * dans le fichier (la num&eacute;rotation continue d'un morceau &agrave; l'autre).
+ * <br>
+ * Si les options contiennent un filtre ({@link OptionsCSV#avecFiltre(com.jpandas.core.Condition)}), seules les lignes
+ * qui le v&eacute;rifient sont rendues (chaque morceau en contient au plus {@code tailleMorceau}) ; leur index reste
+ * le num&eacute;ro de la ligne dans le fichier.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see LecteurCSV#lireParMorceaux(String, int)
+ */
+public class LecteurCSVParMorceaux implements Iterator<DataFrame>, Closeable {
+
+    /**
+     * Capacit&eacute; initiale maximale (en lignes) des colonnes d'un morceau.
+     */
+    static final int CAPACITE_MAX = 1 << 16;
+
+    private final FileChannel canal;
+    private final AnalyseurCSV analyseur;
+    private final SchemaCSV schema;
+    private final int tailleMorceau;
+    private final long debutDonnees;
+    private final FiltreCSV filtre;
+    private final Deque<String[]> lignesEnAttente = new ArrayDeque<>();
+    private boolean enregistrementEnAttente;
+    private boolean finFichier;
+    private long numeroLigne;
+
+    /**
+     * Constructeur d'un lecteur par morceaux, avec d&eacute;duction du type des colonnes.
+     *
+     * @param path Chemin du fichier
+     * @param tailleMorceau Le nombre maximal de lignes de chaque morceau (&gt; 0)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre ouvert
+     * @throws IllegalArgumentException si le fichier ne contient pas d'en-t&ecirc;te
+     */
+    public LecteurCSVParMorceaux(String path, int tailleMorceau) throws IOException {
+        this(path, tailleMorceau, new OptionsCSV());
+    }
+
+    /**
+     * Constructeur d'un lecteur par morceaux.
+     * <br>
+     * L'en-t&ecirc;te et l'&eacute;chantillon servant &agrave; d&eacute;duire les types sont lus d&egrave;s la construction.
+     *
+     * @param path Chemin du fichier
+     * @param tailleMorceau Le nombre maximal de lignes de chaque morceau (&gt; 0)
+     * @param options Les options de lecture (sch&eacute;ma, inf&eacute;rence des types)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre ouvert
+     * @throws IllegalArgumentException si le fichier ne contient pas d'en-t&ecirc;te ou si la taille est invalide
+     */
+    public LecteurCSVParMorceaux(String path, int tailleMorceau, OptionsCSV options) throws IOException {
+        if (tailleMorceau <= 0) {
+            throw new IllegalArgumentException("La taille des morceaux doit être strictement positive.");
+        }
+        this.tailleMorceau = tailleMorceau;
+        this.canal = FileChannel.open(Paths.get(path), StandardOpenOption.READ);
+        this.analyseur = new AnalyseurCSV(canal, (byte) options.getSeparateur());
+
+        try {
+            if (!analyseur.suivant()) {
+                throw new IllegalArgumentException("Le fichier CSV est mal form&eacute;.");
+            }
+            String[] enTetes = analyseur.getTextes();
+            this.debutDonnees = analyseur.getPosition();
+
+            // On met de côté les premières lignes : elles servent à déduire les types, puis seront lues normalement
+            while (lignesEnAttente.size() < options.getTailleEchantillon() && analyseur.suivant()) {
+                lignesEnAttente.add(analyseur.getTextes());
+            }
+            this.finFichier = lignesEnAttente.size() < options.getTailleEchantillon();
+            this.schema = new SchemaCSV(enTetes, lignesEnAttente, options);
+
+            // Avec un filtre, l'échantillon ne sert qu'aux types : les lignes sont relues depuis le début et testées par blocs
+            if (options.getFiltre() != null) {
+                lignesEnAttente.clear();
+                finFichier = false;
+                canal.position(debutDonnees);
+                this.filtre = new FiltreCSV(new AnalyseurCSV(canal, (byte) options.getSeparateur()), schema,
+                        options.getFiltre(), (byte) options.getSeparateur());
+            } else {
+                this.filtre = null;
+            }
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Renvoie les noms des colonnes lues dans le fichier : toutes celles de l'en-t&ecirc;te, ou seulement celles
+     * demand&eacute;es par {@link OptionsCSV#avecColonnes(String...)}.
+     *
+     * @return Les noms des colonnes, dans l'ordre du fichier
+     */
+    public String[] getEnTetes() {
+        return schema.getNoms();
+    }
+
+    /**
+     * Renvoie le sch&eacute;ma (noms et types des colonnes) d&eacute;duit de l'en-t&ecirc;te et de l'&eacute;chantillon.
+     *
+     * @return Le sch&eacute;ma du fichier lu
+     */
+    SchemaCSV getSchema() {
+        return schema;
+    }
+
+    /**
+     * Renvoie la position (en octets) du d&eacute;but des donn&eacute;es dans le fichier, juste apr&egrave;s l'en-t&ecirc;te.
+     *
+     * @return La position de la premi&egrave;re ligne de donn&eacute;es
+     */
+    long getDebutDonnees() {
+        return debutDonnees;
+    }
+
+    /**
+     * Indique s'il reste des lignes &agrave; lire dans le fichier.
+     *
+     * @return {@code true} si un appel &agrave; {@link #next()} renverra un morceau
+     *
+     * @throws UncheckedIOException si la lecture du fichier &eacute;choue
+     */
+    @Override
+    public boolean hasNext() {
+        if (!lignesEnAttente.isEmpty() || enregistrementEnAttente) {
+            return true;
+        }
+        if (!finFichier) {
+            try {
+                enregistrementEnAttente = filtre != null ? filtre.suivant() : analyseur.suivant();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            finFichier = !enregistrementEnAttente;
+        }
+        return enregistrementEnAttente;
+    }
+
+    /**
+     * Lit le morceau suivant du fichier.
+     *
+     * @return Un {@code DataFrame} contenant au plus {@code tailleMorceau} lignes
+     *
+     * @throws NoSuchElementException s'il ne reste plus de ligne &agrave; lire
+     * @throws UncheckedIOException si la lecture du fichier &eacute;choue
+     */
+    @Override
+    public DataFrame next() {
+        return new DataFrame(lireColonnes());
+    }
+
+    /**
+     * Ferme le fichier lu.
+     *
+     * @throws IOException si la fermeture &eacute;choue
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    /**
+     * Lit le morceau suivant sous la forme de ses colonnes, dans l'ordre du fichier
+     * (la colonne "Index" g&eacute;n&eacute;r&eacute;e est ajout&eacute;e &agrave; la fin).
+     * Avec un filtre, seules les lignes retenues sont lues et compt&eacute;es.
+     *
+     * @return Les colonnes du morceau, index&eacute;es par nom
+     */
+    Map<String, Series<?>> lireColonnes() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("Il n'y a plus de ligne à lire.");
+        }
+        int capacite = Math.min(tailleMorceau, CAPACITE_MAX);
+        ConstructeurColonne[] constructeurs = schema.creerConstructeurs(capacite);
+        List<String> index = schema.contientIndex() ? null : new ArrayList<>(capacite);
+
+        // On parcourt les lignes de données et on convertit chaque valeur dans le type de sa colonne
+        int nbLignes = 0;
+        while (nbLignes < tailleMorceau && hasNext()) {
+            if (!lignesEnAttente.isEmpty()) {
+                String[] valeurs = lignesEnAttente.poll();
+                for (int j = 0; j < constructeurs.length; j++) {
+                    int champ = schema.getChamp(j);
+                    constructeurs[j].ajouter(champ < valeurs.length ? valeurs[champ] : "");
+                }
+            } else if (filtre != null) {
+                // Ligne retenue par le filtre : ses champs sont transmis depuis les octets recopiés du bloc testé
+                for (int j = 0; j < constructeurs.length; j++) {
+                    filtre.transmettre(schema.getChamp(j), constructeurs[j]);
+                }
+                enregistrementEnAttente = false;
+                numeroLigne = filtre.getNumeroLigne();
+            } else {
+                // Les octets des champs sont transmis directement aux colonnes ; les champs des colonnes non lues sont sautés
+                for (int j = 0; j < constructeurs.length; j++) {
+                    analyseur.transmettre(schema.getChamp(j), constructeurs[j]);
+                }
+                enregistrementEnAttente = false;
+            }
+            if (index != null) {
+                index.add(String.valueOf(numeroLigne));
+            }
+            numeroLigne++;
+            nbLignes++;
+        }
+
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        for (int j = 0; j < constructeurs.length; j++) {
+            colonnes.put(schema.getNom(j), constructeurs[j].construire());
+            // Une colonne promue dans ce morceau garde son nouveau type pour les suivants
+            schema.definirType(j, constructeurs[j].getType());
+        }
+        if (index != null) {
+            colonnes.put("Index", new Series<>(index));
+        }
+        return colonnes;
+    }
+}
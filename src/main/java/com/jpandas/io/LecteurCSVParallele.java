@@ -0,0 +1,276 @@
+package com.jpandas.io;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import com.jpandas.core.Series;
+import com.jpandas.core.TypeColonne;
+
+/**
+ * Lecture parall&egrave;le d'un fichier CSV local.
+ * <br>
+ * Principe :
+ * <ol>
+ *   <li>le fichier est d&eacute;coup&eacute; en tranches d'octets ; chaque tranche, projet&eacute;e en m&eacute;moire ({@code FileChannel.map}),
+ *       est parcourue en parall&egrave;le pour compter ses guillemets et rep&eacute;rer ses premi&egrave;res fins de ligne ;</li>
+ *   <li>la parit&eacute; des guillemets qui pr&eacute;c&egrave;dent chaque tranche indique lesquelles de ces fins de ligne sont hors
+ *       guillemets : les plages sont d&eacute;plac&eacute;es jusqu'&agrave; elles, si bien qu'un champ entre guillemets contenant
+ *       une fin de ligne n'est jamais coup&eacute; ;</li>
+ *   <li>chaque plage est analys&eacute;e par une t&acirc;che d'un pool fork-join (avec un {@link AnalyseurCSV}),
+ *       qui construit ses propres morceaux de colonnes ;</li>
+ *   <li>les morceaux de colonnes sont raccord&eacute;s dans l'ordre du fichier, une t&acirc;che par colonne, par copies
+ *       de tableaux (une colonne promue dans une plage est promue dans le r&eacute;sultat, et garde le texte
+ *       d'origine des valeurs si elle devient textuelle).</li>
+ * </ol>
+ * Avec un filtre ({@link OptionsCSV#avecFiltre(com.jpandas.core.Condition)}), chaque plage teste ses lignes avec son
+ * propre {@link FiltreCSV} et garde le num&eacute;ro de ses lignes retenues : l'index est recal&eacute; au raccordement.
+ * Le sch&eacute;ma (en-t&ecirc;te et types) est d&eacute;duit au pr&eacute;alable par {@link LecteurCSVParMorceaux}, exactement
+ * comme pour une lecture s&eacute;quentielle.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see OptionsCSV#avecParallelisme(int)
+ */
+class LecteurCSVParallele {
+
+    /**
+     * Nombre de plages cr&eacute;&eacute;es par thread, pour &eacute;quilibrer la charge entre les threads.
+     */
+    static final int PLAGES_PAR_THREAD = 4;
+
+    /**
+     * Taille maximale (en octets) d'une plage : une projection en m&eacute;moire est limit&eacute;e &agrave; 2 Go.
+     */
+    static final long TAILLE_MAX_PLAGE = 1L << 30;
+
+    private LecteurCSVParallele() {
+        // Classe utilitaire : pas d'instance
+    }
+
+    /**
+     * Lit toutes les lignes de donn&eacute;es d'un fichier CSV en parall&egrave;le.
+     *
+     * @param path Chemin du fichier
+     * @param schema Le sch&eacute;ma du fichier (noms et types des colonnes)
+     * @param debutDonnees La position (en octets) de la premi&egrave;re ligne de donn&eacute;es
+     * @param options Les options de lecture (nombre de threads, s&eacute;parateur, filtre)
+     * @return Les colonnes lues, dans l'ordre de l'en-t&ecirc;te (suivies de la colonne "Index" si elle a &eacute;t&eacute; g&eacute;n&eacute;r&eacute;e)
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre lu
+     */
+    static Map<String, Series<?>> lire(String path, SchemaCSV schema, long debutDonnees, OptionsCSV options) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(options.getParallelisme());
+        try (FileChannel canal = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            long[] bornes = calculerBornes(canal, debutDonnees, nombrePlages(canal.size() - debutDonnees, options.getParallelisme()), pool);
+
+            // Chaque plage est analysée par une tâche du pool, dans son propre jeu de colonnes
+            List<ForkJoinTask<Plage>> taches = new ArrayList<>();
+            for (int k = 0; k + 1 < bornes.length; k++) {
+                long debut = bornes[k];
+                long fin = bornes[k + 1];
+                taches.add(pool.submit(() -> analyserPlage(canal, debut, fin, schema, options)));
+            }
+            List<Plage> plages = new ArrayList<>();
+            for (ForkJoinTask<Plage> tache : taches) {
+                plages.add(tache.join());
+            }
+            return raccorder(plages, schema, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Nombre de plages : quelques-unes par thread, chacune assez petite pour être projetée en mémoire
+    private static int nombrePlages(long tailleDonnees, int parallelisme) {
+        long nbPlages = Math.max((long) parallelisme * PLAGES_PAR_THREAD, (tailleDonnees + TAILLE_MAX_PLAGE - 1) / TAILLE_MAX_PLAGE);
+        return (int) Math.max(1, Math.min(nbPlages, tailleDonnees));
+    }
+
+    /**
+     * Calcule les bornes des plages d'octets du fichier. La premi&egrave;re borne est le d&eacute;but des donn&eacute;es,
+     * la derni&egrave;re est la taille du fichier, et chaque borne interm&eacute;diaire est plac&eacute;e juste apr&egrave;s
+     * une fin de ligne situ&eacute;e hors guillemets. Une tranche sans fin de ligne utilisable donne une plage vide.
+     *
+     * @param canal Le canal du fichier
+     * @param debutDonnees La position de la premi&egrave;re ligne de donn&eacute;es
+     * @param nbPlages Le nombre de plages souhait&eacute;
+     * @param pool Le pool de threads qui parcourt les tranches
+     * @return Les bornes croissantes des plages
+     *
+     * @throws IOException si le fichier ne peut pas &ecirc;tre lu
+     */
+    static long[] calculerBornes(FileChannel canal, long debutDonnees, int nbPlages, ForkJoinPool pool) throws IOException {
+        long taille = canal.size();
+        long tailleDonnees = taille - debutDonnees;
+
+        List<ForkJoinTask<long[]>> taches = new ArrayList<>();
+        for (int k = 0; k < nbPlages; k++) {
+            long debut = debutDonnees + tailleDonnees * k / nbPlages;
+            long fin = debutDonnees + tailleDonnees * (k + 1) / nbPlages;
+            taches.add(pool.submit(() -> parcourirTranche(canal, debut, fin)));
+        }
+
+        // reperes[k] = { nombre de guillemets, fin de ligne à parité paire, fin de ligne à parité impaire }
+        long[][] reperes = new long[nbPlages][];
+        for (int k = 0; k < nbPlages; k++) {
+            reperes[k] = taches.get(k).join();
+        }
+
+        long[] bornes = new long[nbPlages + 1];
+        bornes[0] = debutDonnees;
+        bornes[nbPlages] = taille;
+        long guillemets = reperes[0][0];
+        long[] candidates = new long[nbPlages];
+        for (int k = 1; k < nbPlages; k++) {
+            // Une fin de ligne est hors guillemets si le nombre total de guillemets qui la précèdent est pair
+            candidates[k] = reperes[k][1 + (int) (guillemets % 2)];
+            guillemets += reperes[k][0];
+        }
+        for (int k = nbPlages - 1; k >= 1; k--) {
+            bornes[k] = candidates[k] >= 0 ? candidates[k] : bornes[k + 1];
+        }
+        return bornes;
+    }
+
+    // Compte les guillemets d'une tranche et repère la position qui suit sa première fin de ligne
+    // précédée d'un nombre pair (resp. impair) de guillemets de la tranche (-1 si aucune)
+    private static long[] parcourirTranche(FileChannel canal, long debut, long fin) {
+        try {
+            MappedByteBuffer octets = canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut);
+            long[] reperes = {0, -1, -1};
+            int guillemets = 0;
+            int longueur = octets.limit();
+            for (int i = 0; i < longueur; i++) {
+                byte octet = octets.get(i);
+                if (octet == '"') {
+                    guillemets++;
+                } else if (octet == '\n' && reperes[1 + (guillemets & 1)] < 0) {
+                    reperes[1 + (guillemets & 1)] = debut + i + 1;
+                }
+            }
+            reperes[0] = guillemets;
+            return reperes;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Analyse une plage du fichier (qui commence au début d'un enregistrement) dans un nouveau jeu de colonnes
+    private static Plage analyserPlage(FileChannel canal, long debut, long fin, SchemaCSV schema, OptionsCSV options) {
+        try {
+            byte separateur = (byte) options.getSeparateur();
+            AnalyseurCSV analyseur = new AnalyseurCSV(canal.map(FileChannel.MapMode.READ_ONLY, debut, fin - debut), separateur);
+            Plage plage = new Plage(schema.creerConstructeurs((int) Math.min(LecteurCSVParMorceaux.CAPACITE_MAX, (fin - debut) / 16)));
+            if (options.getFiltre() == null) {
+                while (analyseur.suivant()) {
+                    for (int j = 0; j < plage.colonnes.length; j++) {
+                        analyseur.transmettre(schema.getChamp(j), plage.colonnes[j]);
+                    }
+                    plage.nbLignes++;
+                }
+                return plage;
+            }
+
+            FiltreCSV filtre = new FiltreCSV(analyseur, schema, options.getFiltre(), separateur);
+            plage.numeros = new long[64];
+            while (filtre.suivant()) {
+                for (int j = 0; j < plage.colonnes.length; j++) {
+                    filtre.transmettre(schema.getChamp(j), plage.colonnes[j]);
+                }
+                if (plage.nbRetenues == plage.numeros.length) {
+                    plage.numeros = Arrays.copyOf(plage.numeros, plage.numeros.length * 2);
+                }
+                plage.numeros[plage.nbRetenues++] = filtre.getNumeroLigne();
+            }
+            plage.nbLignes = filtre.getNbLignesLues();
+            return plage;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Raccorde, dans l'ordre du fichier, les morceaux de colonnes construits par chaque plage : chaque colonne
+    // (et l'index généré) est raccordée par une tâche du pool, par copies de tableaux lorsque les types sont égaux
+    private static Map<String, Series<?>> raccorder(List<Plage> plages, SchemaCSV schema, ForkJoinPool pool) {
+        long nbLignes = 0;
+        for (Plage plage : plages) {
+            nbLignes += plage.numeros == null ? plage.nbLignes : plage.nbRetenues;
+        }
+        if (nbLignes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Le fichier contient trop de lignes pour un DataFrame : " + nbLignes + ".");
+        }
+        int capacite = (int) nbLignes;
+
+        List<ForkJoinTask<Series<?>>> taches = new ArrayList<>();
+        for (int j = 0; j < schema.getNbColonnes(); j++) {
+            int colonne = j;
+            taches.add(pool.submit(() -> raccorderColonne(plages, colonne, schema.estTypeImpose(colonne), capacite)));
+        }
+        ForkJoinTask<Series<?>> tacheIndex = schema.contientIndex() ? null : pool.submit(() -> genererIndex(plages, capacite));
+
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        for (int j = 0; j < schema.getNbColonnes(); j++) {
+            colonnes.put(schema.getNom(j), taches.get(j).join());
+        }
+        // Si le CSV n’a PAS de colonne Index, on en ajoute une automatiquement (numéro de la ligne dans le fichier)
+        if (tacheIndex != null) {
+            colonnes.put("Index", tacheIndex.join());
+        }
+        return colonnes;
+    }
+
+    // Raccorde les morceaux d'une colonne, dans le type le plus général rencontré dans les plages
+    private static Series<?> raccorderColonne(List<Plage> plages, int j, boolean typeImpose, int capacite) {
+        TypeColonne type = plages.get(0).colonnes[j].getType();
+        for (Plage plage : plages) {
+            type = type.generaliser(plage.colonnes[j].getType());
+        }
+        ConstructeurColonne colonne = new ConstructeurColonne(type, typeImpose, capacite);
+        for (Plage plage : plages) {
+            colonne.ajouterColonne(plage.colonnes[j]);
+        }
+        return colonne.construire();
+    }
+
+    private static Series<?> genererIndex(List<Plage> plages, int capacite) {
+        List<String> index = new ArrayList<>(capacite);
+        long decalage = 0;
+        for (Plage plage : plages) {
+            if (plage.numeros == null) {
+                for (long i = 0; i < plage.nbLignes; i++) {
+                    index.add(String.valueOf(decalage + i));
+                }
+            } else {
+                for (int i = 0; i < plage.nbRetenues; i++) {
+                    index.add(String.valueOf(decalage + plage.numeros[i]));
+                }
+            }
+            decalage += plage.nbLignes;
+        }
+        return new Series<>(index);
+    }
+
+    // Résultat de l'analyse d'une plage : ses colonnes, son nombre de lignes lues et, avec un filtre,
+    // le numéro (dans la plage) de chaque ligne retenue
+    private static final class Plage {
+        private final ConstructeurColonne[] colonnes;
+        private long nbLignes;
+        private long[] numeros;
+        private int nbRetenues;
+
+        private Plage(ConstructeurColonne[] colonnes) {
+            this.colonnes = colonnes;
+        }
+    }
+}
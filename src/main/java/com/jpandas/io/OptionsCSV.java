@@ -0,0 +1,296 @@
+package com.jpandas.io;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.jpandas.core.Condition;
+import com.jpandas.core.TypeColonne;
+
+/**
+ * La classe OptionsCSV regroupe les param&egrave;tres de lecture d'un fichier CSV par {@link LecteurCSV}.
+ * <br>
+ * Les m&eacute;thodes de configuration renvoient l'objet lui-m&ecirc;me, ce qui permet de les encha&icirc;ner :
+ * <pre>{@code
+ * OptionsCSV options = new OptionsCSV()
+ *         .avecType("Age", TypeColonne.ENTIER)
+ *         .avecTailleEchantillon(500);
+ * DataFrame df = new DataFrame("personnes.csv", options);
+ * }</pre>
+ * Par d&eacute;faut, le type de chaque colonne est d&eacute;duit des {@value #TAILLE_ECHANTILLON_PAR_DEFAUT}
+ * premi&egrave;res lignes de donn&eacute;es.
+ * <br>
+ * Le s&eacute;parateur et le nombre de threads servent aussi &agrave; l'&eacute;criture d'un fichier par {@link EcrivainCSV}.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see LecteurCSV
+ */
+public class OptionsCSV {
+
+    /**
+     * Nombre de lignes de donn&eacute;es examin&eacute;es par d&eacute;faut pour d&eacute;duire le type des colonnes.
+     */
+    public static final int TAILLE_ECHANTILLON_PAR_DEFAUT = 1000;
+
+    /**
+     * Proportion maximale de valeurs distinctes, dans l'&eacute;chantillon, pour qu'une colonne de texte soit lue
+     * comme une colonne cat&eacute;gorielle (voir {@link #avecDetectionCategories(boolean)}).
+     */
+    public static final double PROPORTION_MAX_CATEGORIES = 0.5;
+
+    /**
+     * S&eacute;parateur des champs utilis&eacute; par d&eacute;faut.
+     */
+    public static final char SEPARATEUR_PAR_DEFAUT = ',';
+
+    private final Map<String, TypeColonne> schema = new LinkedHashMap<>();
+    private boolean inferenceTypes = true;
+    private int tailleEchantillon = TAILLE_ECHANTILLON_PAR_DEFAUT;
+    private int parallelisme = 1;
+    private char separateur = SEPARATEUR_PAR_DEFAUT;
+    private boolean detectionCategories = false;
+    private Set<String> colonnes;
+    private Condition filtre;
+
+    /**
+     * Constructeur des options par d&eacute;faut (inf&eacute;rence des types activ&eacute;e, aucun sch&eacute;ma impos&eacute;).
+     */
+    public OptionsCSV() {
+        // Les valeurs par défaut sont données par les attributs
+    }
+
+    /**
+     * Constructeur d'une copie d'autres options, modifiable sans les modifier.
+     *
+     * @param autres Les options &agrave; copier
+     */
+    public OptionsCSV(OptionsCSV autres) {
+        this.schema.putAll(autres.schema);
+        this.inferenceTypes = autres.inferenceTypes;
+        this.tailleEchantillon = autres.tailleEchantillon;
+        this.parallelisme = autres.parallelisme;
+        this.separateur = autres.separateur;
+        this.detectionCategories = autres.detectionCategories;
+        this.colonnes = autres.colonnes;
+        this.filtre = autres.filtre;
+    }
+
+    /**
+     * Restreint la lecture aux colonnes donn&eacute;es : les champs des autres colonnes sont saut&eacute;s par l'analyseur,
+     * sans qu'aucune valeur ne soit cr&eacute;&eacute;e pour eux (ni type d&eacute;duit, ni conversion, ni m&eacute;moire allou&eacute;e).
+     * <br>
+     * Les colonnes gardent l'ordre du fichier, et la colonne "Index" du fichier est toujours lue.
+     * Fonctionne comme en Pandas : <code>pd.read_csv(path, usecols=["Pays", "Montant"])</code>
+     *
+     * @param colonnes Les noms des colonnes &agrave; lire
+     * @return Les options elles-m&ecirc;mes
+     *
+     * @see <a href="https://pandas.pydata.org/docs/reference/api/pandas.read_csv.html">Documentation Pandas - read_csv (usecols)</a>
+     */
+    public OptionsCSV avecColonnes(String... colonnes) {
+        this.colonnes = Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(colonnes)));
+        return this;
+    }
+
+    /**
+     * Ne garde que les lignes qui v&eacute;rifient une condition, test&eacute;e pendant la lecture.
+     * <br>
+     * Les lignes sont lues par blocs : seuls les champs des colonnes utilis&eacute;es par la condition sont d'abord
+     * convertis, et la condition est &eacute;valu&eacute;e colonne par colonne sur le bloc. Les autres champs d'une ligne
+     * rejet&eacute;e ne sont jamais convertis ni ajout&eacute;s aux colonnes. Le r&eacute;sultat est celui de
+     * {@code new DataFrame(path).filtrer(condition)}, avec les m&ecirc;mes &eacute;tiquettes d'index, sans jamais construire
+     * le {@code DataFrame} complet.
+     * <br>
+     * La condition ne voit que les colonnes lues (voir {@link #avecColonnes(String...)}). Plusieurs appels
+     * combinent les conditions par un "et".
+     *
+     * @param condition La condition que les lignes lues doivent v&eacute;rifier
+     * @return Les options elles-m&ecirc;mes
+     *
+     * @see com.jpandas.core.DataFrame#filtrer(Condition)
+     */
+    public OptionsCSV avecFiltre(Condition condition) {
+        this.filtre = filtre == null ? condition : filtre.et(condition);
+        return this;
+    }
+
+    /**
+     * Impose le type d'une colonne : aucune inf&eacute;rence n'est faite pour cette colonne.
+     *
+     * @param nomColonne Le nom de la colonne (tel qu'il appara&icirc;t dans l'en-t&ecirc;te)
+     * @param type Le type de la colonne
+     * @return Les options elles-m&ecirc;mes
+     */
+    public OptionsCSV avecType(String nomColonne, TypeColonne type) {
+        schema.put(nomColonne, type);
+        return this;
+    }
+
+    /**
+     * Impose le type de plusieurs colonnes (sch&eacute;ma explicite).
+     *
+     * @param schema Le type de chaque colonne, index&eacute; par nom de colonne
+     * @return Les options elles-m&ecirc;mes
+     */
+    public OptionsCSV avecSchema(Map<String, TypeColonne> schema) {
+        this.schema.putAll(schema);
+        return this;
+    }
+
+    /**
+     * Active ou d&eacute;sactive l'inf&eacute;rence des types.
+     * <br>
+     * Sans inf&eacute;rence, les colonnes absentes du sch&eacute;ma sont lues comme des cha&icirc;nes de caract&egrave;res.
+     *
+     * @param inferenceTypes {@code true} pour d&eacute;duire le type des colonnes
+     * @return Les options elles-m&ecirc;mes
+     */
+    public OptionsCSV avecInferenceTypes(boolean inferenceTypes) {
+        this.inferenceTypes = inferenceTypes;
+        return this;
+    }
+
+    /**
+     * Modifie le nombre de lignes de donn&eacute;es examin&eacute;es pour d&eacute;duire le type des colonnes.
+     *
+     * @param tailleEchantillon Le nombre de lignes (&gt; 0)
+     * @return Les options elles-m&ecirc;mes
+     *
+     * @throws IllegalArgumentException si la taille n'est pas strictement positive
+     */
+    public OptionsCSV avecTailleEchantillon(int tailleEchantillon) {
+        if (tailleEchantillon <= 0) {
+            throw new IllegalArgumentException("La taille de l'échantillon doit être strictement positive.");
+        }
+        this.tailleEchantillon = tailleEchantillon;
+        return this;
+    }
+
+    /**
+     * Active la lecture parall&egrave;le du fichier sur {@code parallelisme} threads.
+     * <br>
+     * Le fichier est alors projet&eacute; en m&eacute;moire ({@code FileChannel.map}), d&eacute;coup&eacute; en plages d'octets
+     * align&eacute;es sur les fins de ligne, et chaque plage est analys&eacute;e par un pool fork-join avant que les
+     * morceaux de colonnes soient raccord&eacute;s. Ce mode ne s'applique qu'&agrave; la lecture compl&egrave;te d'un fichier local.
+     *
+     * @param parallelisme Le nombre de threads (1 pour une lecture s&eacute;quentielle)
+     * @return Les options elles-m&ecirc;mes
+     *
+     * @throws IllegalArgumentException si le nombre de threads n'est pas strictement positif
+     */
+    public OptionsCSV avecParallelisme(int parallelisme) {
+        if (parallelisme <= 0) {
+            throw new IllegalArgumentException("Le nombre de threads doit être strictement positif.");
+        }
+        this.parallelisme = parallelisme;
+        return this;
+    }
+
+    /**
+     * Active ou d&eacute;sactive la d&eacute;tection des colonnes cat&eacute;gorielles.
+     * <br>
+     * Lorsqu'elle est activ&eacute;e (elle ne l'est pas par d&eacute;faut), une colonne de texte dont l'&eacute;chantillon contient au plus
+     * {@value #PROPORTION_MAX_CATEGORIES} fois autant de valeurs distinctes que de valeurs est lue comme une
+     * {@link com.jpandas.core.SeriesCategorielle} (codes entiers et dictionnaire). On peut aussi imposer ce type
+     * avec {@code avecType(nom, TypeColonne.CATEGORIE)}.
+     *
+     * @param detectionCategories {@code true} pour d&eacute;tecter les colonnes cat&eacute;gorielles
+     * @return Les options elles-m&ecirc;mes
+     */
+    public OptionsCSV avecDetectionCategories(boolean detectionCategories) {
+        this.detectionCategories = detectionCategories;
+        return this;
+    }
+
+    /**
+     * Modifie le s&eacute;parateur des champs (par exemple {@code ';'} ou {@code '\t'}).
+     *
+     * @param separateur Le s&eacute;parateur, un caract&egrave;re ASCII autre que le guillemet et les fins de ligne
+     * @return Les options elles-m&ecirc;mes
+     *
+     * @throws IllegalArgumentException si le s&eacute;parateur n'est pas utilisable
+     */
+    public OptionsCSV avecSeparateur(char separateur) {
+        if (separateur > 0x7F || separateur == '"' || separateur == '\n' || separateur == '\r') {
+            throw new IllegalArgumentException("Le séparateur '" + separateur + "' n'est pas utilisable.");
+        }
+        this.separateur = separateur;
+        return this;
+    }
+
+    /**
+     * Renvoie le sch&eacute;ma explicite (types impos&eacute;s par l'utilisateur).
+     *
+     * @return Le type de chaque colonne impos&eacute;e, index&eacute; par nom de colonne
+     */
+    public Map<String, TypeColonne> getSchema() {
+        return Collections.unmodifiableMap(schema);
+    }
+
+    /**
+     * Indique si le type des colonnes absentes du sch&eacute;ma doit &ecirc;tre d&eacute;duit des donn&eacute;es.
+     *
+     * @return {@code true} si l'inf&eacute;rence est activ&eacute;e
+     */
+    public boolean isInferenceTypes() {
+        return inferenceTypes;
+    }
+
+    /**
+     * Renvoie le nombre de lignes de donn&eacute;es examin&eacute;es pour d&eacute;duire le type des colonnes.
+     *
+     * @return La taille de l'&eacute;chantillon
+     */
+    public int getTailleEchantillon() {
+        return tailleEchantillon;
+    }
+
+    /**
+     * Renvoie le nombre de threads utilis&eacute;s pour lire le fichier.
+     *
+     * @return Le nombre de threads (1 pour une lecture s&eacute;quentielle)
+     */
+    public int getParallelisme() {
+        return parallelisme;
+    }
+
+    /**
+     * Renvoie le s&eacute;parateur des champs.
+     *
+     * @return Le s&eacute;parateur (une virgule par d&eacute;faut)
+     */
+    public char getSeparateur() {
+        return separateur;
+    }
+
+    /**
+     * Renvoie les colonnes &agrave; lire, si la lecture est restreinte.
+     *
+     * @return Les noms des colonnes &agrave; lire, ou {@code null} pour toutes les colonnes du fichier
+     */
+    public Set<String> getColonnes() {
+        return colonnes;
+    }
+
+    /**
+     * Renvoie la condition test&eacute;e pendant la lecture, s'il y en a une.
+     *
+     * @return La condition que les lignes lues doivent v&eacute;rifier, ou {@code null} pour garder toutes les lignes
+     */
+    public Condition getFiltre() {
+        return filtre;
+    }
+
+    /**
+     * Indique si les colonnes de texte peu vari&eacute;es sont lues comme des colonnes cat&eacute;gorielles.
+     *
+     * @return {@code true} si la d&eacute;tection des colonnes cat&eacute;gorielles est activ&eacute;e
+     */
+    public boolean isDetectionCategories() {
+        return detectionCategories;
+    }
+}
@@ -0,0 +1,215 @@
+package com.jpandas.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.jpandas.core.TypeColonne;
+
+/**
+ * D&eacute;crit les colonnes d'un fichier CSV en cours de lecture : leur nom et leur type.
+ * <br>
+ * Le type de chaque colonne est impos&eacute; par le sch&eacute;ma des {@link OptionsCSV}, ou d&eacute;duit d'un
+ * &eacute;chantillon des premi&egrave;res lignes de donn&eacute;es. La colonne "Index" reste textuelle, comme l'index
+ * g&eacute;n&eacute;r&eacute; automatiquement, sauf si son type est impos&eacute;. Si la d&eacute;tection est demand&eacute;e
+ * ({@link OptionsCSV#avecDetectionCategories(boolean)}), une colonne de texte dont l'&eacute;chantillon contient peu de
+ * valeurs distinctes devient cat&eacute;gorielle.
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ */
+class SchemaCSV {
+    private final String[] noms;
+    private final int[] champs;
+    private final TypeColonne[] types;
+    private final boolean[] typesImposes;
+    private final boolean indexColonne;
+
+    /**
+     * Construit le sch&eacute;ma d'un fichier &agrave; partir de son en-t&ecirc;te et d'un &eacute;chantillon de ses lignes.
+     * <br>
+     * Si les options restreignent les colonnes &agrave; lire ({@link OptionsCSV#avecColonnes(String...)}), le sch&eacute;ma
+     * ne d&eacute;crit que celles-ci (et la colonne "Index" du fichier), dans l'ordre du fichier : les autres champs
+     * ne sont ni examin&eacute;s ni convertis.
+     *
+     * @param enTetes Les noms des colonnes, dans l'ordre du fichier
+     * @param echantillon Les valeurs des premi&egrave;res lignes de donn&eacute;es du fichier
+     * @param options Les options de lecture (colonnes &agrave; lire, sch&eacute;ma impos&eacute;, inf&eacute;rence des types)
+     *
+     * @throws IllegalArgumentException si une colonne demand&eacute;e n'existe pas dans l'en-t&ecirc;te
+     */
+    SchemaCSV(String[] enTetes, Collection<String[]> echantillon, OptionsCSV options) {
+        this.champs = choisirChamps(enTetes, options.getColonnes());
+        int nbColonnes = champs.length;
+        this.noms = new String[nbColonnes];
+        this.types = new TypeColonne[nbColonnes];
+        this.typesImposes = new boolean[nbColonnes];
+        for (int j = 0; j < nbColonnes; j++) {
+            noms[j] = enTetes[champs[j]];
+        }
+
+        boolean[] typesDetectes = new boolean[nbColonnes];
+        int[] nbValeurs = new int[nbColonnes];
+        // Les valeurs distinctes ne sont retenues que si la détection des colonnes catégorielles est demandée
+        boolean detectionCategories = options.isInferenceTypes() && options.isDetectionCategories();
+        List<Set<String>> valeursDistinctes = new ArrayList<>(nbColonnes);
+        for (int j = 0; j < nbColonnes; j++) {
+            valeursDistinctes.add(detectionCategories ? new HashSet<>() : null);
+        }
+        if (options.isInferenceTypes()) {
+            for (String[] valeurs : echantillon) {
+                for (int j = 0; j < nbColonnes && champs[j] < valeurs.length; j++) {
+                    String valeur = valeurs[champs[j]];
+                    if (!valeur.isEmpty()) {
+                        TypeColonne type = TypeColonne.inferer(valeur);
+                        types[j] = typesDetectes[j] ? types[j].generaliser(type) : type;
+                        typesDetectes[j] = true;
+                    }
+                    if (detectionCategories) {
+                        valeursDistinctes.get(j).add(valeur);
+                        nbValeurs[j]++;
+                    }
+                }
+            }
+        }
+
+        boolean index = false;
+        for (int j = 0; j < nbColonnes; j++) {
+            boolean estIndex = noms[j].equalsIgnoreCase("Index");
+            index |= estIndex;
+            TypeColonne typeImpose = options.getSchema().get(noms[j]);
+            typesImposes[j] = typeImpose != null;
+            if (typeImpose != null) {
+                types[j] = typeImpose;
+            } else {
+                // L'index est une étiquette : on le garde en texte, comme l'index généré automatiquement
+                types[j] = typesDetectes[j] && !estIndex ? types[j] : TypeColonne.CHAINE;
+                if (types[j] == TypeColonne.CHAINE && typesDetectes[j] && !estIndex && detectionCategories
+                        && valeursDistinctes.get(j).size() <= nbValeurs[j] * OptionsCSV.PROPORTION_MAX_CATEGORIES) {
+                    types[j] = TypeColonne.CATEGORIE;
+                }
+            }
+        }
+        this.indexColonne = index;
+    }
+
+    // Positions, dans l'enregistrement, des champs à lire : tous, ou ceux des colonnes demandées et de "Index"
+    private static int[] choisirChamps(String[] enTetes, Set<String> colonnes) {
+        if (colonnes == null) {
+            int[] champs = new int[enTetes.length];
+            for (int j = 0; j < enTetes.length; j++) {
+                champs[j] = j;
+            }
+            return champs;
+        }
+        List<String> noms = Arrays.asList(enTetes);
+        for (String colonne : colonnes) {
+            if (!colonne.equals("Index") && !noms.contains(colonne)) {
+                throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + colonne);
+            }
+        }
+        int[] champs = new int[enTetes.length];
+        int nbChamps = 0;
+        for (int j = 0; j < enTetes.length; j++) {
+            if (colonnes.contains(enTetes[j]) || enTetes[j].equalsIgnoreCase("Index")) {
+                champs[nbChamps++] = j;
+            }
+        }
+        return Arrays.copyOf(champs, nbChamps);
+    }
+
+    /**
+     * Cr&eacute;e un constructeur par colonne, dans le type actuel de chaque colonne.
+     *
+     * @param capacite Le nombre de lignes pr&eacute;vues
+     * @return Les constructeurs, dans l'ordre des en-t&ecirc;tes
+     */
+    ConstructeurColonne[] creerConstructeurs(int capacite) {
+        ConstructeurColonne[] constructeurs = new ConstructeurColonne[noms.length];
+        for (int j = 0; j < noms.length; j++) {
+            constructeurs[j] = creerConstructeur(j, capacite);
+        }
+        return constructeurs;
+    }
+
+    /**
+     * Cr&eacute;e un constructeur pour une seule colonne, dans son type actuel.
+     *
+     * @param colonne La position de la colonne
+     * @param capacite Le nombre de lignes pr&eacute;vues
+     * @return Le constructeur de la colonne
+     */
+    ConstructeurColonne creerConstructeur(int colonne, int capacite) {
+        return new ConstructeurColonne(types[colonne], typesImposes[colonne], capacite);
+    }
+
+    /**
+     * Met &agrave; jour le type d'une colonne (apr&egrave;s une promotion).
+     *
+     * @param colonne La position de la colonne
+     * @param type Le nouveau type de la colonne
+     */
+    void definirType(int colonne, TypeColonne type) {
+        types[colonne] = type;
+    }
+
+    /**
+     * Renvoie le nombre de colonnes lues.
+     *
+     * @return Le nombre de colonnes d&eacute;crites par le sch&eacute;ma
+     */
+    int getNbColonnes() {
+        return noms.length;
+    }
+
+    /**
+     * Renvoie le nom d'une colonne.
+     *
+     * @param colonne La position de la colonne
+     * @return Le nom de la colonne
+     */
+    String getNom(int colonne) {
+        return noms[colonne];
+    }
+
+    /**
+     * Renvoie la position, dans chaque enregistrement du fichier, du champ d'une colonne lue.
+     *
+     * @param colonne La position de la colonne dans le sch&eacute;ma
+     * @return La position du champ
+     */
+    int getChamp(int colonne) {
+        return champs[colonne];
+    }
+
+    /**
+     * Renvoie les noms des colonnes lues.
+     *
+     * @return Une copie des noms, dans l'ordre du fichier
+     */
+    String[] getNoms() {
+        return noms.clone();
+    }
+
+    /**
+     * Indique si le type d'une colonne est impos&eacute; par l'utilisateur.
+     *
+     * @param colonne La position de la colonne
+     * @return {@code true} si le type vient du sch&eacute;ma des options
+     */
+    boolean estTypeImpose(int colonne) {
+        return typesImposes[colonne];
+    }
+
+    /**
+     * Indique si le fichier contient d&eacute;j&agrave; une colonne "Index" (elle est toujours lue).
+     *
+     * @return {@code true} si l'un des en-t&ecirc;tes est "Index"
+     */
+    boolean contientIndex() {
+        return indexColonne;
+    }
+}
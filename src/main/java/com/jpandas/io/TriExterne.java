@@ -0,0 +1,457 @@
+package com.jpandas.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+import com.jpandas.core.SeriesNumerique;
+
+/**
+ * La classe TriExterne trie un fichier CSV plus gros que la m&eacute;moire disponible, selon une ou plusieurs colonnes.
+ * <br>
+ * Le tri se fait en deux temps :
+ * <ul>
+ *   <li>le fichier est lu en flux ({@link LecteurCSVParMorceaux}) par morceaux dont la taille respecte un budget
+ *       m&eacute;moire ; chaque morceau est tri&eacute; en m&eacute;moire ({@link DataFrame#sortValues(String[], boolean...)}) puis
+ *       &eacute;crit dans un fichier temporaire ;</li>
+ *   <li>les fichiers tri&eacute;s sont fusionn&eacute;s (fusion &agrave; k voies, par une file de priorit&eacute;) : seule la ligne
+ *       courante de chaque fichier est en m&eacute;moire, et ses octets sont recopi&eacute;s tels quels dans le r&eacute;sultat.
+ *       Au-del&agrave; de {@value #FUSION_MAX} fichiers, ils sont fusionn&eacute;s par groupes, en plusieurs passes.</li>
+ * </ul>
+ * Le tri est stable et suit les m&ecirc;mes r&egrave;gles que {@code sortValues} : valeurs manquantes &agrave; la fin,
+ * nombres compar&eacute;s comme des nombres, textes dans l'ordre lexicographique. Le type (num&eacute;rique ou non) de chaque
+ * colonne cl&eacute; est celui du premier morceau : pour un fichier h&eacute;t&eacute;rog&egrave;ne, mieux vaut l'imposer par un
+ * sch&eacute;ma ({@link OptionsCSV#avecType(String, com.jpandas.core.TypeColonne)}).
+ * <br>
+ * Le r&eacute;sultat commence par la colonne "Index" : celle du fichier, ou le num&eacute;ro de chaque ligne dans le fichier
+ * d'origine s'il n'en a pas (comme {@code to_csv} de Pandas).
+ * <br>
+ * Exemple d'utilisation :
+ * <pre>{@code
+ * new TriExterne(new String[] { "Pays", "Montant" }, true, false)
+ *         .avecBudgetMemoire(512L << 20)
+ *         .trier("ventes.csv", "ventes_triees.csv");
+ * }</pre>
+ *
+ * @author Lisa ZANNETTACCI, REAT Justine
+ * @version 1.0
+ * @see DataFrame#sortValues(String[], boolean...)
+ */
+public class TriExterne {
+
+    /**
+     * Nombre maximal de fichiers fusionn&eacute;s en une passe.
+     */
+    public static final int FUSION_MAX = 64;
+
+    /**
+     * Nombre de lignes lues pour estimer la m&eacute;moire occup&eacute;e par une ligne.
+     */
+    static final int TAILLE_ECHANTILLON = 10_000;
+
+    private static final int TAILLE_TAMPON_ECRITURE = 1 << 16;
+
+    private final String[] colonnes;
+    private final boolean[] croissants;
+    private long budgetMemoire = Runtime.getRuntime().maxMemory() / 4;
+    private Path repertoireTemporaire = Paths.get(System.getProperty("java.io.tmpdir"));
+    private OptionsCSV options = new OptionsCSV();
+    private int nbFichiersTemporaires;
+    private boolean[] clesNumeriques;
+
+    /**
+     * Constructeur d'un tri externe.
+     *
+     * @param colonnes Les noms des colonnes cl&eacute;s, de la plus importante &agrave; la moins importante
+     * @param croissants Le sens du tri : un par colonne, un seul pour toutes, ou aucun (croissant)
+     *
+     * @throws IllegalArgumentException si aucune colonne n'est donn&eacute;e ou si le nombre de sens est incorrect
+     */
+    public TriExterne(String[] colonnes, boolean... croissants) {
+        if (colonnes.length == 0) {
+            throw new IllegalArgumentException("Il faut au moins une colonne pour trier les lignes.");
+        }
+        if (croissants.length > 1 && croissants.length != colonnes.length) {
+            throw new IllegalArgumentException("Il faut un sens de tri par colonne : " + croissants.length
+                    + " sens pour " + colonnes.length + " colonnes.");
+        }
+        this.colonnes = colonnes.clone();
+        this.croissants = new boolean[colonnes.length];
+        for (int j = 0; j < colonnes.length; j++) {
+            this.croissants[j] = croissants.length == 0 || croissants[croissants.length == 1 ? 0 : j];
+        }
+    }
+
+    /**
+     * D&eacute;finit la m&eacute;moire que le tri peut utiliser pour trier un morceau (un quart de la m&eacute;moire maximale de la JVM par d&eacute;faut).
+     *
+     * @param octets Le budget m&eacute;moire, en octets (&gt; 0)
+     * @return Ce tri, pour encha&icirc;ner les appels
+     *
+     * @throws IllegalArgumentException si le budget n'est pas strictement positif
+     */
+    public TriExterne avecBudgetMemoire(long octets) {
+        if (octets <= 0) {
+            throw new IllegalArgumentException("Le budget mémoire doit être strictement positif.");
+        }
+        this.budgetMemoire = octets;
+        return this;
+    }
+
+    /**
+     * D&eacute;finit le r&eacute;pertoire des fichiers temporaires ({@code java.io.tmpdir} par d&eacute;faut).
+     *
+     * @param chemin Le r&eacute;pertoire, qui doit exister
+     * @return Ce tri, pour encha&icirc;ner les appels
+     */
+    public TriExterne avecRepertoireTemporaire(String chemin) {
+        this.repertoireTemporaire = Paths.get(chemin);
+        return this;
+    }
+
+    /**
+     * D&eacute;finit les options de lecture du fichier &agrave; trier (s&eacute;parateur, sch&eacute;ma).
+     * Le fichier tri&eacute; utilise le m&ecirc;me s&eacute;parateur.
+     *
+     * @param options Les options de lecture
+     * @return Ce tri, pour encha&icirc;ner les appels
+     */
+    public TriExterne avecOptions(OptionsCSV options) {
+        this.options = options;
+        return this;
+    }
+
+    /**
+     * Renvoie le nombre de fichiers temporaires tri&eacute;s &eacute;crits par le dernier tri (1 si le fichier tenait dans le budget).
+     *
+     * @return Le nombre de morceaux tri&eacute;s s&eacute;par&eacute;ment
+     */
+    public int getNbFichiersTemporaires() {
+        return nbFichiersTemporaires;
+    }
+
+    /**
+     * Trie un fichier CSV et &eacute;crit le r&eacute;sultat dans un autre fichier CSV.
+     *
+     * @param source Le chemin du fichier &agrave; trier
+     * @param destination Le chemin du fichier tri&eacute; (remplac&eacute; s'il existe)
+     *
+     * @throws IOException si la lecture ou l'&eacute;criture d'un fichier &eacute;choue
+     * @throws IllegalArgumentException si une colonne cl&eacute; n'existe pas dans le fichier
+     */
+    public void trier(String source, String destination) throws IOException {
+        Path repertoire = Files.createTempDirectory(repertoireTemporaire, "jpandas-tri");
+        try {
+            List<Path> fichiers = ecrireMorceauxTries(source, repertoire);
+            nbFichiersTemporaires = fichiers.size();
+            // Fusions intermédiaires, par groupes de FUSION_MAX fichiers consécutifs (ce qui garde le tri stable)
+            while (fichiers.size() > FUSION_MAX) {
+                List<Path> fusionnes = new ArrayList<>();
+                for (int debut = 0; debut < fichiers.size(); debut += FUSION_MAX) {
+                    List<Path> groupe = fichiers.subList(debut, Math.min(debut + FUSION_MAX, fichiers.size()));
+                    Path fusion = repertoire.resolve("fusion-" + fusionnes.size() + "-" + fichiers.size() + ".csv");
+                    fusionner(groupe, fusion);
+                    for (Path fichier : groupe) {
+                        Files.delete(fichier);
+                    }
+                    fusionnes.add(fusion);
+                }
+                fichiers = fusionnes;
+            }
+            fusionner(fichiers, Paths.get(destination));
+        } finally {
+            supprimer(repertoire);
+        }
+    }
+
+    /**
+     * Trie un fichier CSV et renvoie le r&eacute;sultat sous la forme d'une suite de {@code DataFrame} tri&eacute;s
+     * d'au plus {@code tailleMorceau} lignes.
+     * <br>
+     * Le fichier tri&eacute; est &eacute;crit dans le r&eacute;pertoire temporaire puis relu en flux ; il est supprim&eacute;
+     * &agrave; la fermeture du flux.
+     *
+     * @param source Le chemin du fichier &agrave; trier
+     * @param tailleMorceau Le nombre maximal de lignes de chaque morceau (&gt; 0)
+     * @return Un flux ordonn&eacute; des morceaux tri&eacute;s, &agrave; fermer apr&egrave;s usage
+     *
+     * @throws IOException si la lecture ou l'&eacute;criture d'un fichier &eacute;choue
+     * @throws IllegalArgumentException si une colonne cl&eacute; n'existe pas dans le fichier
+     */
+    public Stream<DataFrame> trierParMorceaux(String source, int tailleMorceau) throws IOException {
+        Path resultat = Files.createTempFile(repertoireTemporaire, "jpandas-tri", ".csv");
+        try {
+            trier(source, resultat.toString());
+            return LecteurCSV.lireParMorceaux(resultat.toString(), tailleMorceau, options).onClose(() -> {
+                try {
+                    Files.deleteIfExists(resultat);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(resultat);
+            throw e;
+        }
+    }
+
+    // Lit le fichier par morceaux qui tiennent dans le budget, trie chacun et l'écrit dans un fichier temporaire
+    private List<Path> ecrireMorceauxTries(String source, Path repertoire) throws IOException {
+        int lignesParMorceau = estimerLignesParMorceau(source);
+        List<Path> fichiers = new ArrayList<>();
+        clesNumeriques = new boolean[colonnes.length];
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(source, lignesParMorceau, options)) {
+            verifierColonnes(lecteur.getEnTetes());
+            if (!lecteur.hasNext()) {
+                // Fichier sans données : le résultat ne contient que l'en-tête
+                Path fichier = repertoire.resolve("morceau-0.csv");
+                try (OutputStream sortie = Files.newOutputStream(fichier)) {
+                    new EcrivainCSV(options).ecrireLigne(lecteur.getEnTetes(), sortie);
+                }
+                fichiers.add(fichier);
+            }
+            while (lecteur.hasNext()) {
+                DataFrame morceau = lecteur.next().sortValues(colonnes, croissants);
+                if (fichiers.isEmpty()) {
+                    // Les clés numériques du premier morceau sont comparées comme des nombres pendant la fusion
+                    for (int j = 0; j < colonnes.length; j++) {
+                        clesNumeriques[j] = morceau.getColonneByName(colonnes[j]) instanceof SeriesNumerique;
+                    }
+                }
+                Path fichier = repertoire.resolve("morceau-" + fichiers.size() + ".csv");
+                new EcrivainCSV(options).ecrire(morceau, fichier.toString());
+                fichiers.add(fichier);
+            }
+        }
+        return fichiers;
+    }
+
+    // Estime, sur les premières lignes du fichier, combien de lignes peuvent être triées en mémoire à la fois
+    private int estimerLignesParMorceau(String source) throws IOException {
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(source, TAILLE_ECHANTILLON, options)) {
+            if (!lecteur.hasNext()) {
+                return 1;
+            }
+            // Le tri garde le morceau lu et sa copie triée, plus une permutation et des clés (environ 24 octets par ligne)
+            long octetsParLigne = 2 * estimerOctetsParLigne(lecteur.next()) + 24;
+            return (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, budgetMemoire / octetsParLigne));
+        }
+    }
+
+    /**
+     * Estime la m&eacute;moire occup&eacute;e par une ligne d'un {@code DataFrame}, d'apr&egrave;s le type de ses colonnes
+     * (et la longueur moyenne des textes).
+     *
+     * @param dataframe Le {@code DataFrame} &eacute;chantillon
+     * @return Le nombre d'octets estim&eacute; par ligne (au moins 1)
+     */
+    static long estimerOctetsParLigne(DataFrame dataframe) {
+        long octets = 0;
+        for (Series<?> serie : dataframe.colonne.values()) {
+            if (serie instanceof SeriesInt || serie instanceof SeriesCategorielle) {
+                octets += 4;
+            } else if (serie instanceof SeriesLong || serie instanceof SeriesDouble) {
+                octets += 8;
+            } else if (serie instanceof SeriesBooleen) {
+                octets += 1;
+            } else if (serie.size() > 0) {
+                // Une référence et un objet String (en-tête, tableau d'octets) par valeur
+                long caracteres = 0;
+                for (int i = 0; i < serie.size(); i++) {
+                    Object valeur = serie.get(i);
+                    caracteres += valeur == null ? 0 : valeur.toString().length();
+                }
+                octets += 8 + 40 + caracteres / serie.size();
+            }
+        }
+        return Math.max(1, octets);
+    }
+
+    private void verifierColonnes(String[] enTetes) {
+        List<String> noms = new ArrayList<>(Arrays.asList(enTetes));
+        noms.add("Index");
+        for (String colonne : colonnes) {
+            if (!noms.contains(colonne)) {
+                throw new IllegalArgumentException("La colonne spécifiée n'existe pas : " + colonne);
+            }
+        }
+    }
+
+    // Fusionne des fichiers triés (de même en-tête) en un seul fichier trié
+    private void fusionner(List<Path> fichiers, Path destination) throws IOException {
+        List<Curseur> curseurs = new ArrayList<>();
+        try (OutputStream sortie = new BufferedOutputStream(Files.newOutputStream(destination), TAILLE_TAMPON_ECRITURE)) {
+            PriorityQueue<Curseur> file = new PriorityQueue<>(fichiers.size(), Curseur::comparer);
+            for (int r = 0; r < fichiers.size(); r++) {
+                Curseur curseur = new Curseur(fichiers.get(r), r);
+                curseurs.add(curseur);
+                if (r == 0) {
+                    new EcrivainCSV(options).ecrireLigne(curseur.enTetes, sortie);
+                }
+                if (curseur.avancer()) {
+                    file.add(curseur);
+                }
+            }
+            while (!file.isEmpty()) {
+                Curseur curseur = file.poll();
+                curseur.analyseur.copierEnregistrement(sortie);
+                if (curseur.avancer()) {
+                    file.add(curseur);
+                }
+            }
+        } finally {
+            for (Curseur curseur : curseurs) {
+                curseur.close();
+            }
+        }
+    }
+
+    private static void supprimer(Path repertoire) throws IOException {
+        try (Stream<Path> fichiers = Files.list(repertoire)) {
+            for (Path fichier : (Iterable<Path>) fichiers::iterator) {
+                Files.deleteIfExists(fichier);
+            }
+        }
+        Files.deleteIfExists(repertoire);
+    }
+
+    /**
+     * Ligne courante d'un fichier tri&eacute; pendant la fusion, avec ses cl&eacute;s d&eacute;j&agrave; converties.
+     */
+    private final class Curseur implements Closeable {
+        private final FileChannel canal;
+        private final AnalyseurCSV analyseur;
+        private final String[] enTetes;
+        private final int rang;
+        private final int[] positionsCles;
+        // Pour chaque clé : 0 manquante, 1 entier (dans "entiers"), 2 réel (dans "reels"), 3 texte (dans "textes")
+        private final byte[] genres;
+        private final long[] entiers;
+        private final double[] reels;
+        private final String[] textes;
+
+        Curseur(Path fichier, int rang) throws IOException {
+            this.canal = FileChannel.open(fichier, StandardOpenOption.READ);
+            this.analyseur = new AnalyseurCSV(canal, (byte) options.getSeparateur());
+            this.rang = rang;
+            if (!analyseur.suivant()) {
+                canal.close();
+                throw new IOException("Le fichier temporaire " + fichier + " est vide.");
+            }
+            this.enTetes = analyseur.getTextes();
+            this.positionsCles = new int[colonnes.length];
+            for (int j = 0; j < colonnes.length; j++) {
+                positionsCles[j] = Arrays.asList(enTetes).indexOf(colonnes[j]);
+            }
+            this.genres = new byte[colonnes.length];
+            this.entiers = new long[colonnes.length];
+            this.reels = new double[colonnes.length];
+            this.textes = new String[colonnes.length];
+        }
+
+        // Passe à la ligne suivante et convertit ses clés ; renvoie false à la fin du fichier
+        boolean avancer() throws IOException {
+            if (!analyseur.suivant()) {
+                return false;
+            }
+            for (int j = 0; j < positionsCles.length; j++) {
+                int champ = positionsCles[j];
+                String texte = champ < analyseur.getNbChamps() ? analyseur.getTexte(champ) : "";
+                textes[j] = texte;
+                genres[j] = 3;
+                if (clesNumeriques[j]) {
+                    lireNombre(j, texte);
+                }
+            }
+            return true;
+        }
+
+        private void lireNombre(int j, String texte) {
+            if (texte.isEmpty()) {
+                genres[j] = 0;
+                return;
+            }
+            // On évite les exceptions (coûteuses) en ne lisant comme entiers que les textes faits de chiffres
+            if (estEntier(texte)) {
+                entiers[j] = Long.parseLong(texte);
+                genres[j] = 1;
+                return;
+            }
+            try {
+                reels[j] = Double.parseDouble(texte);
+                genres[j] = Double.isNaN(reels[j]) ? 0 : (byte) 2;
+            } catch (NumberFormatException e) {
+                genres[j] = 3;
+            }
+        }
+
+        // Signe facultatif puis au plus 18 chiffres : la valeur tient toujours dans un long
+        private boolean estEntier(String texte) {
+            int debut = texte.charAt(0) == '-' || texte.charAt(0) == '+' ? 1 : 0;
+            int longueur = texte.length() - debut;
+            if (longueur == 0 || longueur > 18) {
+                return false;
+            }
+            for (int i = debut; i < texte.length(); i++) {
+                char c = texte.charAt(i);
+                if (c < '0' || c > '9') {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Compare les clés de deux lignes ; à clés égales, la ligne du fichier le plus ancien passe d'abord (tri stable)
+        int comparer(Curseur autre) {
+            for (int j = 0; j < genres.length; j++) {
+                int c = comparerCle(j, autre);
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return Integer.compare(rang, autre.rang);
+        }
+
+        private int comparerCle(int j, Curseur autre) {
+            byte genre = genres[j];
+            byte genreAutre = autre.genres[j];
+            // Les valeurs manquantes vont à la fin, quel que soit le sens du tri
+            if (genre == 0 || genreAutre == 0) {
+                return Integer.compare(genre == 0 ? 1 : 0, genreAutre == 0 ? 1 : 0);
+            }
+            int c;
+            if (genre == 1 && genreAutre == 1) {
+                c = Long.compare(entiers[j], autre.entiers[j]);
+            } else if (genre != 3 && genreAutre != 3) {
+                c = Double.compare(genre == 1 ? entiers[j] : reels[j], genreAutre == 1 ? autre.entiers[j] : autre.reels[j]);
+            } else {
+                c = textes[j].compareTo(autre.textes[j]);
+            }
+            return croissants[j] ? c : -c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            canal.close();
+        }
+    }
+}
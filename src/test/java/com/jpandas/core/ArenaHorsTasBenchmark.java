@@ -0,0 +1,96 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class ArenaHorsTasBenchmark {
+
+    // Occupation du tas et temps passé dans le ramasse-miettes avec un DataFrame de 20 millions de lignes
+    // rangé dans le tas, puis hors du tas
+    @Test
+    public void pressionSurLeRamasseMiettes() {
+        int taille = 20_000_000;
+        Random aleatoire = new Random(23);
+        int[] index = new int[taille];
+        long[] quantites = new long[taille];
+        double[] montants = new double[taille];
+        int[] pays = new int[taille];
+        for (int i = 0; i < taille; i++) {
+            index[i] = i;
+            quantites[i] = aleatoire.nextInt(1000);
+            montants[i] = aleatoire.nextInt(100_000) / 8.0;
+            pays[i] = i % 4;
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(index));
+        colonnes.put("Quantite", new SeriesLong(quantites));
+        colonnes.put("Montant", new SeriesDouble(montants));
+        colonnes.put("Pays", SeriesCategorielle.depuisCodes(pays, Arrays.asList("France", "Italie", "Espagne", "Allemagne")));
+        index = null;
+        quantites = null;
+        montants = null;
+        pays = null;
+        DataFrame dansLeTas = new DataFrame(colonnes);
+        colonnes = null;
+        double moyenne = dansLeTas.getColonneByName("Montant").moyenne();
+        Condition condition = Condition.superieur("Montant", 10_000).et(Condition.inferieur("Quantite", 500));
+        int nbRetenues = dansLeTas.masque(condition).positions().length;
+
+        long tasAvec = tasOccupe();
+        long[] ramasseMiettesAvec = mesurerRamasseMiettes();
+
+        DataFrame horsTas = dansLeTas.horsTas();
+        dansLeTas = null;
+        long tasSans = tasOccupe();
+        long[] ramasseMiettesSans = mesurerRamasseMiettes();
+
+        assertEquals(moyenne, horsTas.getColonneByName("Montant").moyenne(), 1e-9);
+        assertEquals(nbRetenues, horsTas.masque(condition).positions().length);
+        assertEquals(taille, horsTas.getColonneByName("Pays").size());
+        System.out.printf("DataFrame de %d lignes dans le tas : tas occupé %d Mo, ramasse-miettes %d passages, %d ms%n",
+                taille, tasAvec >> 20, ramasseMiettesAvec[0], ramasseMiettesAvec[1]);
+        System.out.printf("DataFrame de %d lignes hors du tas : tas occupé %d Mo, ramasse-miettes %d passages, %d ms%n",
+                taille, tasSans >> 20, ramasseMiettesSans[0], ramasseMiettesSans[1]);
+        horsTas.close();
+    }
+
+    // Mémoire occupée dans le tas après un passage complet du ramasse-miettes
+    private static long tasOccupe() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Charge de travail qui crée beaucoup d'objets de courte durée, avec quelques passages complets :
+    // renvoie le nombre de passages du ramasse-miettes et le temps total qu'ils ont pris (en ms)
+    private static long[] mesurerRamasseMiettes() {
+        long nombreAvant = 0;
+        long dureeAvant = 0;
+        for (GarbageCollectorMXBean ramasseMiettes : ManagementFactory.getGarbageCollectorMXBeans()) {
+            nombreAvant += ramasseMiettes.getCollectionCount();
+            dureeAvant += ramasseMiettes.getCollectionTime();
+        }
+        String[] retenues = new String[100_000];
+        for (int tour = 0; tour < 3; tour++) {
+            for (int i = 0; i < 5_000_000; i++) {
+                retenues[i % retenues.length] = Integer.toString(i);
+            }
+            System.gc();
+        }
+        long nombre = -nombreAvant;
+        long duree = -dureeAvant;
+        for (GarbageCollectorMXBean ramasseMiettes : ManagementFactory.getGarbageCollectorMXBeans()) {
+            nombre += ramasseMiettes.getCollectionCount();
+            duree += ramasseMiettes.getCollectionTime();
+        }
+        return new long[] { nombre, duree };
+    }
+}
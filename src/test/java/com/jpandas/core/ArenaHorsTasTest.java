@@ -0,0 +1,133 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ArenaHorsTasTest {
+
+    private static DataFrame creerDataFrame() {
+        SeriesInt ages = new SeriesInt(new int[] { 21, 0, 35, 17, 42, 28 });
+        ages.getData().set(1, null);
+        SeriesDouble tailles = new SeriesDouble(new double[] { 1.65, 1.80, Double.NaN, 1.72, 0, 1.58 });
+        tailles.getData().set(4, null);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(Arrays.asList("Lisa", "Justine", "Eva", "Anna", "Zoe", "Louis")));
+        colonnes.put("Age", ages);
+        colonnes.put("Identifiant", new SeriesLong(new long[] { Long.MAX_VALUE, 2, Long.MIN_VALUE, 4, 5, 6 }));
+        colonnes.put("Taille", tailles);
+        colonnes.put("Majeur", new SeriesBooleen(new boolean[] { true, false, true, false, true, true }));
+        colonnes.put("Ville", new SeriesCategorielle(Arrays.asList("Paris", null, "Lyon", "Paris", "Nice", "Lyon")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie que la copie hors tas a les mêmes valeurs, et que les opérations donnent les mêmes résultats
+    @Test
+    public void testCopieHorsTas() {
+        DataFrame df = creerDataFrame();
+        try (DataFrame horsTas = df.horsTas()) {
+            assertTrue(horsTas.estHorsTas());
+            assertFalse(df.estHorsTas());
+            for (String nom : df.colonne.keySet()) {
+                assertEquals(nom, df.getColonneByName(nom).getData(), horsTas.getColonneByName(nom).getData());
+            }
+            assertTrue(((SeriesPrimitive<?>) horsTas.getColonneByName("Age")).estHorsTas());
+            assertTrue(((SeriesPrimitive<?>) horsTas.getColonneByName("Taille")).estHorsTas());
+            assertTrue(((SeriesPrimitive<?>) horsTas.getColonneByName("Ville")).estHorsTas());
+            assertFalse(((SeriesPrimitive<?>) horsTas.getColonneByName("Majeur")).estHorsTas());
+            assertSame(df.getColonneByName("Nom"), horsTas.getColonneByName("Nom"));
+
+            assertEquals(df.getColonneByName("Taille").moyenne(), horsTas.getColonneByName("Taille").moyenne(), 0);
+            assertEquals(df.getColonneByName("Age").ecartType(), horsTas.getColonneByName("Age").ecartType(), 0);
+            Condition condition = Condition.superieur("Taille", 1.6).et(Condition.egal("Ville", "Paris"));
+            assertEquals(df.filtrer(condition).getColonneByName("Nom").getData(),
+                    horsTas.filtrer(condition).getColonneByName("Nom").getData());
+            assertEquals(Arrays.asList(Long.MIN_VALUE, 2L, 4L, 5L, 6L, Long.MAX_VALUE),
+                    horsTas.sortValues("Identifiant").getColonneByName("Identifiant").getData());
+            assertEquals(df.groupBy("Ville").somme("Age").getColonneByName("Age").getData(),
+                    horsTas.groupBy("Ville").somme("Age").getColonneByName("Age").getData());
+            assertEquals(Arrays.asList(35, 17), horsTas.iloc(2, 4, 0, 2).getColonneByName("Age").getData());
+        }
+    }
+
+    // On vérifie les modifications d'une série hors tas : ajouts au-delà de sa capacité, insertion, suppression
+    @Test
+    public void testModificationsHorsTas() {
+        try (DataFrame horsTas = creerDataFrame().horsTas()) {
+            SeriesInt ages = (SeriesInt) horsTas.getColonneByName("Age");
+            List<Integer> attendu = new ArrayList<>(ages.getData());
+            for (int i = 0; i < 100; i++) {
+                ages.ajouter(i);
+                attendu.add(i);
+            }
+            ages.getData().add(3, null);
+            attendu.add(3, null);
+            ages.getData().remove(0);
+            attendu.remove(0);
+            ages.definir(10, -7);
+            attendu.set(10, -7);
+            assertEquals(attendu, ages.getData());
+            assertTrue(ages.estNul(0));
+            assertTrue(ages.estNul(2));
+
+            SeriesCategorielle villes = (SeriesCategorielle) horsTas.getColonneByName("Ville");
+            villes.ajouter("Brest");
+            villes.getData().add(0, "Nice");
+            assertEquals(Arrays.asList("Nice", "Paris", null, "Lyon", "Paris", "Nice", "Lyon", "Brest"), villes.getData());
+            assertEquals(2, villes.positionsEgales("Nice").length);
+        }
+    }
+
+    // On vérifie qu'après la fermeture la mémoire est rendue et que les colonnes (et leurs vues) ne se lisent plus
+    @Test
+    public void testFermeture() {
+        int taille = 1_000_000;
+        double[] valeurs = new double[taille];
+        Arrays.fill(valeurs, 2.5);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(new int[taille]));
+        colonnes.put("Valeur", new SeriesDouble(valeurs));
+
+        DataFrame horsTas = new DataFrame(colonnes).horsTas();
+        DataFrame vue = horsTas.ilocVue(10, 20, 0, 2);
+        long directAvant = memoireDirecte();
+        horsTas.close();
+        horsTas.close();
+
+        assertFalse(horsTas.estHorsTas());
+        assertTrue(directAvant - memoireDirecte() >= (long) taille * (Integer.BYTES + Double.BYTES));
+        try {
+            horsTas.getColonneByName("Valeur").getDouble(0);
+            fail("La colonne ne doit plus être lisible");
+        } catch (IllegalStateException e) {
+            assertEquals("La mémoire hors tas de cette série a été libérée.", e.getMessage());
+        }
+        try {
+            vue.getColonneByName("Valeur").get(0);
+            fail("La vue ne doit plus être lisible");
+        } catch (IllegalStateException e) {
+            // Attendu : la vue lit la colonne libérée
+        }
+    }
+
+    private static long memoireDirecte() {
+        for (BufferPoolMXBean reserve : ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class)) {
+            if (reserve.getName().equals("direct")) {
+                return reserve.getMemoryUsed();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,39 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class CalculStatistiquesBenchmark {
+
+    // Temps de calcul séquentiel et parallèle sur une grande colonne (trois tours pour chauffer le JIT)
+    @Test
+    public void calculSequentielEtParallele() {
+        Random aleatoire = new Random(7);
+        SeriesDouble serie = new SeriesDouble(10_000_000);
+        for (int i = 0; i < 10_000_000; i++) {
+            serie.ajouter(aleatoire.nextGaussian() * 1e6 + 1e8);
+        }
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        for (int i = 0; i < 3; i++) {
+            CalculStatistiques.calculer(serie, true, null);
+            CalculStatistiques.calculer(serie, true, pool);
+        }
+
+        long debut = System.nanoTime();
+        Statistiques sequentiel = CalculStatistiques.calculer(serie, true, null);
+        long dureeSequentielle = System.nanoTime() - debut;
+        debut = System.nanoTime();
+        Statistiques parallele = CalculStatistiques.calculer(serie, true, pool);
+        long dureeParallele = System.nanoTime() - debut;
+        pool.shutdown();
+
+        System.out.println("Statistiques sur 10 M valeurs : séquentiel " + dureeSequentielle / 1_000_000 + " ms, parallèle ("
+                + pool.getParallelism() + " threads) " + dureeParallele / 1_000_000 + " ms");
+        assertEquals(sequentiel.getSomme(), parallele.getSomme(), 0);
+    }
+}
@@ -0,0 +1,118 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+public class CalculStatistiquesTest {
+
+    private static SeriesDouble creerSerie(int taille) {
+        Random aleatoire = new Random(7);
+        SeriesDouble serie = new SeriesDouble(taille);
+        for (int i = 0; i < taille; i++) {
+            if (i % 97 == 0) {
+                serie.ajouterNul();
+            } else {
+                serie.ajouter(aleatoire.nextGaussian() * 1e6 + 1e8);
+            }
+        }
+        return serie;
+    }
+
+    private static void verifierIdentiques(Statistiques attendu, Statistiques obtenu) {
+        assertEquals(attendu.getNombre(), obtenu.getNombre());
+        assertEquals(attendu.getNombreNuls(), obtenu.getNombreNuls());
+        assertEquals(Double.doubleToLongBits(attendu.getSomme()), Double.doubleToLongBits(obtenu.getSomme()));
+        assertEquals(Double.doubleToLongBits(attendu.getMoyenne()), Double.doubleToLongBits(obtenu.getMoyenne()));
+        assertEquals(Double.doubleToLongBits(attendu.getVariance()), Double.doubleToLongBits(obtenu.getVariance()));
+        assertEquals(attendu.getMinimum(), obtenu.getMinimum(), 0);
+        assertEquals(attendu.getMaximum(), obtenu.getMaximum(), 0);
+    }
+
+    // On vérifie que le résultat est identique au bit près quel que soit le nombre de threads
+    @Test
+    public void testDeterminisme() {
+        SeriesDouble serie = creerSerie(1_000_003);
+        Statistiques sequentiel = CalculStatistiques.calculer(serie, true, null);
+
+        for (int threads : new int[] {1, 2, 3, 8}) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                verifierIdentiques(sequentiel, CalculStatistiques.calculer(serie, true, pool));
+            } finally {
+                pool.shutdown();
+            }
+        }
+        verifierIdentiques(sequentiel, serie.decrire());
+    }
+
+    // On vérifie que la combinaison des blocs donne les mêmes statistiques qu'un parcours unique
+    @Test
+    public void testFusion() {
+        SeriesDouble serie = creerSerie(200_000);
+        Statistiques unique = new Statistiques();
+        for (int i = 0; i < serie.size(); i++) {
+            if (serie.estNul(i)) {
+                unique.ajouterNul();
+            } else {
+                unique.ajouter(serie.getDouble(i));
+            }
+        }
+        Statistiques parBlocs = serie.decrire();
+
+        assertEquals(unique.getNombre(), parBlocs.getNombre());
+        assertEquals(unique.getNombreNuls(), parBlocs.getNombreNuls());
+        assertEquals(unique.getMoyenne(), parBlocs.getMoyenne(), 1e-6);
+        assertEquals(unique.getVariance(), parBlocs.getVariance(), unique.getVariance() * 1e-10);
+        assertEquals(unique.getMinimum(), parBlocs.getMinimum(), 0);
+        assertEquals(unique.getMaximum(), parBlocs.getMaximum(), 0);
+    }
+
+    // On vérifie que la somme compensée ne perd pas les petites valeurs ajoutées à une grande
+    @Test
+    public void testSommeCompensee() {
+        SeriesDouble serie = new SeriesDouble(0);
+        serie.ajouter(1e16);
+        for (int i = 0; i < 300_000; i++) {
+            serie.ajouter(1.0);
+        }
+        serie.ajouter(-1e16);
+
+        assertEquals(300_000.0, serie.decrire().getSomme(), 0);
+
+        BigDecimal exacte = BigDecimal.ZERO;
+        SeriesDouble aleatoire = creerSerie(500_000);
+        for (int i = 0; i < aleatoire.size(); i++) {
+            if (!aleatoire.estNul(i)) {
+                exacte = exacte.add(new BigDecimal(aleatoire.getDouble(i)));
+            }
+        }
+        assertEquals(exacte.doubleValue(), aleatoire.decrire().getSomme(), Math.ulp(exacte.doubleValue()));
+    }
+
+    // On vérifie le calcul parallèle sur une grande série classique (valeurs objets), numérique ou non
+    @Test
+    public void testSerieClassique() {
+        List<Object> valeurs = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            valeurs.add(i % 2 == 0 ? null : (Object) (i % 10));
+        }
+        Series<Object> serie = new Series<>(valeurs);
+        Statistiques stats = serie.decrire();
+        assertTrue(stats.estNumerique());
+        assertEquals(150_000, stats.getNombreNuls());
+        assertEquals(5.0, stats.getMoyenne(), 1e-12);
+
+        serie.getData().set(299_999, "texte");
+        assertFalse(serie.estNumerique());
+        assertEquals(150_000, serie.nombreNuls());
+    }
+}
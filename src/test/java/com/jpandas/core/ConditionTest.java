@@ -0,0 +1,172 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class ConditionTest {
+
+    private DataFrame creerDataFrame() {
+        SeriesInt ages = new SeriesInt(new int[] {21, 35, 17, 42, 0});
+        ages.getData().set(4, null);
+        SeriesDouble tailles = new SeriesDouble(new double[] {1.65, 1.80, 1.52, 1.75, 1.70});
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(new ArrayList<>(Arrays.asList("Lisa", "Justine", "Eva", "Anna", "Zoe"))));
+        colonnes.put("Age", ages);
+        colonnes.put("Taille", tailles);
+        colonnes.put("Pays", new SeriesCategorielle(Arrays.asList("France", "Italie", "France", null, "Espagne")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie les opérations sur les masques, y compris au-delà de 64 lignes
+    @Test
+    public void testMasque() {
+        Masque pairs = new Masque(130);
+        for (int i = 0; i < 130; i += 2) {
+            pairs.selectionner(i);
+        }
+        Masque debut = Masque.depuisPositions(130, new int[] {0, 1, 2, 3, 128, 129});
+
+        assertEquals(65, pairs.cardinalite());
+        assertEquals(65, pairs.non().cardinalite());
+        assertEquals(130, Masque.tous(130).cardinalite());
+        assertArrayEquals(new int[] {0, 2, 128}, pairs.et(debut).positions());
+        assertEquals(68, pairs.ou(debut).cardinalite());
+        assertTrue(pairs.get(64));
+        assertFalse(pairs.get(65));
+    }
+
+    // On vérifie que des masques de tailles différentes ne peuvent pas être combinés
+    @Test(expected = IllegalArgumentException.class)
+    public void testMasqueTaillesDifferentes() {
+        new Masque(10).et(new Masque(11));
+    }
+
+    // On vérifie les comparaisons numériques : bornes strictes et larges, valeurs manquantes jamais sélectionnées
+    @Test
+    public void testComparaisons() {
+        DataFrame dataframe = creerDataFrame();
+
+        assertArrayEquals(new int[] {1, 3}, dataframe.masque(Condition.superieur("Age", 21)).positions());
+        assertArrayEquals(new int[] {0, 1, 3}, dataframe.masque(Condition.superieurOuEgal("Age", 21)).positions());
+        assertArrayEquals(new int[] {2}, dataframe.masque(Condition.inferieur("Age", 21)).positions());
+        assertArrayEquals(new int[] {0, 2}, dataframe.masque(Condition.inferieurOuEgal("Age", 21.5)).positions());
+        assertArrayEquals(new int[] {0, 4}, dataframe.masque(Condition.entre("Taille", 1.6, 1.7)).positions());
+        assertArrayEquals(new int[] {3}, dataframe.masque(Condition.egal("Taille", 1.75)).positions());
+        assertArrayEquals(new int[] {1}, dataframe.masque(Condition.egal("Age", 35.0)).positions());
+        assertArrayEquals(new int[] {4}, dataframe.masque(Condition.estNul("Age")).positions());
+    }
+
+    // On vérifie les conditions sur les textes et les catégories, ainsi que la combinaison ET / OU / NON
+    @Test
+    public void testCombinaisons() {
+        DataFrame dataframe = creerDataFrame();
+
+        Condition francais = Condition.egal("Pays", "France");
+        Condition majeurs = Condition.superieurOuEgal("Age", 18);
+        assertArrayEquals(new int[] {0}, dataframe.masque(francais.et(majeurs)).positions());
+        assertArrayEquals(new int[] {0, 1, 2, 3}, dataframe.masque(francais.ou(majeurs)).positions());
+        assertArrayEquals(new int[] {1, 3, 4}, dataframe.masque(francais.non()).positions());
+        assertArrayEquals(new int[] {1, 3, 4}, dataframe.masque(Condition.different("Pays", "France")).positions());
+        assertArrayEquals(new int[] {1, 4}, dataframe.masque(Condition.parmi("Pays", Arrays.asList("Italie", "Espagne"))).positions());
+        assertArrayEquals(new int[] {0, 3}, dataframe.masque(Condition.parmi("Age", Arrays.asList(21, 42L))).positions());
+        assertArrayEquals(new int[] {2, 4}, dataframe.masque(Condition.parmi("Nom", Arrays.asList("Eva", "Zoe"))).positions());
+        assertArrayEquals(new int[] {1, 3}, dataframe.masque(Condition.verifie("Nom", nom -> nom.toString().contains("n"))).positions());
+        assertArrayEquals(new int[] {1, 3}, dataframe.masque(Condition.verifieNombre("Taille", t -> t > 1.72)).positions());
+    }
+
+    // On vérifie que filtrer conserve les types des colonnes et l'ordre des lignes
+    @Test
+    public void testFiltrer() {
+        DataFrame resultat = creerDataFrame().filtrer(Condition.superieur("Taille", 1.6).et(Condition.estNul("Pays").non()));
+
+        assertEquals(Arrays.asList("Lisa", "Justine", "Zoe"), resultat.getColonneByName("Nom").getData());
+        assertTrue(resultat.getColonneByName("Age") instanceof SeriesInt);
+        assertTrue(resultat.getColonneByName("Pays") instanceof SeriesCategorielle);
+        assertEquals(Arrays.asList("0", "1", "4"), resultat.getColonneByName("Index").getData());
+    }
+
+    // On vérifie qu'une condition sur une colonne absente ou non numérique est refusée
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneAbsente() {
+        creerDataFrame().filtrer(Condition.egal("Ville", "Paris"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testComparaisonNonNumerique() {
+        creerDataFrame().filtrer(Condition.superieur("Nom", 3));
+    }
+
+    // On vérifie que les bornes entières d'une colonne long sont comparées exactement au-delà de 2^53
+    @Test
+    public void testBornesEntieresAuDelaDe2Puissance53() {
+        long grand = 1L << 53;
+        SeriesLong identifiants = new SeriesLong(new long[] {grand, grand + 1, grand + 2, Long.MAX_VALUE, Long.MIN_VALUE, 0});
+        identifiants.getData().set(5, null);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("id", identifiants);
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        assertArrayEquals(new int[] {1}, dataframe.masque(Condition.egal("id", grand + 1)).positions());
+        assertArrayEquals(new int[] {0, 2, 3, 4, 5}, dataframe.masque(Condition.different("id", grand + 1)).positions());
+        assertArrayEquals(new int[] {0, 4}, dataframe.masque(Condition.inferieur("id", grand + 1)).positions());
+        assertArrayEquals(new int[] {0, 1, 4}, dataframe.masque(Condition.inferieurOuEgal("id", grand + 1)).positions());
+        assertArrayEquals(new int[] {2, 3}, dataframe.masque(Condition.superieur("id", grand + 1)).positions());
+        assertArrayEquals(new int[] {1, 2}, dataframe.masque(Condition.entre("id", grand + 1, grand + 2)).positions());
+        assertArrayEquals(new int[] {3}, dataframe.masque(Condition.superieurOuEgal("id", Long.MAX_VALUE)).positions());
+        assertEquals(0, dataframe.masque(Condition.superieur("id", Long.MAX_VALUE)).cardinalite());
+        assertEquals(0, dataframe.masque(Condition.inferieur("id", Long.MIN_VALUE)).cardinalite());
+        assertEquals(0, dataframe.masque(Condition.superieurOuEgal("id", 1e300)).cardinalite());
+        assertArrayEquals(new int[] {1, 2, 3}, dataframe.masque(Condition.superieur("id", grand + 0.5)).positions());
+    }
+
+    // On vérifie qu'une borne entière stricte reste stricte sur une colonne réelle, et une borne réelle sur une colonne entière
+    @Test
+    public void testBornesEntieresEtReelles() {
+        DataFrame dataframe = creerDataFrame();
+
+        assertArrayEquals(new int[] {1, 3, 4}, dataframe.masque(Condition.superieur("Taille", 1)
+                .et(Condition.superieur("Taille", 1.65))).positions());
+        assertArrayEquals(new int[] {0, 1, 3, 4}, dataframe.masque(Condition.superieurOuEgal("Taille", 1.6f)).positions());
+        assertArrayEquals(new int[] {0, 2}, dataframe.masque(Condition.inferieur("Age", 21.5)).positions());
+        assertArrayEquals(new int[] {0}, dataframe.masque(Condition.entre("Age", 20.5, 21.5)).positions());
+        assertEquals(0, dataframe.masque(Condition.egal("Age", 21.5)).cardinalite());
+        assertArrayEquals(new int[] {0}, dataframe.masque(Condition.egal("Age", 21.0)).positions());
+    }
+
+    // On vérifie que filtrer donne le même résultat que filter (par Map) sur un DataFrame de plusieurs mots de masque
+    @Test
+    public void testEquivalenceAvecFilter() {
+        int nbLignes = 10_007;
+        double[] montants = new double[nbLignes];
+        long[] quantites = new long[nbLignes];
+        List<String> villes = new ArrayList<>(nbLignes);
+        String[] noms = {"Paris", "Lyon", "Nice", "Brest"};
+        for (int i = 0; i < nbLignes; i++) {
+            montants[i] = (i * 7919L % 1000) / 10.0;
+            quantites[i] = i % 13;
+            villes.add(noms[i % noms.length]);
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Montant", new SeriesDouble(montants));
+        colonnes.put("Quantite", new SeriesLong(quantites));
+        colonnes.put("Ville", new SeriesCategorielle(villes));
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        DataFrame parMap = dataframe.filter(ligne -> (double) ligne.get("Montant") > 50
+                && ((long) ligne.get("Quantite") <= 3 || "Nice".equals(ligne.get("Ville"))));
+        DataFrame parMasque = dataframe.filtrer(Condition.superieur("Montant", 50)
+                .et(Condition.inferieurOuEgal("Quantite", 3).ou(Condition.egal("Ville", "Nice"))));
+        assertEquals(parMap.getColonneByName("Index").getData(), parMasque.getColonneByName("Index").getData());
+        assertEquals(parMap.getColonneByName("Montant").getData(), parMasque.getColonneByName("Montant").getData());
+    }
+}
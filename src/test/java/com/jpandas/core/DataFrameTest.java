@@ -14,6 +14,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -112,7 +113,7 @@ public class DataFrameTest {
             DataFrame dataframe = new DataFrame(fichierTMP.toString());
 
             assertEquals("Alice", dataframe.getColonneByName("Nom").getData().get(0));
-            assertEquals("30", dataframe.getColonneByName("Age").getData().get(1));
+            assertEquals(30, dataframe.getColonneByName("Age").getData().get(1));
         } finally {
             fichierTMP.toFile().deleteOnExit();
         }
@@ -143,7 +144,7 @@ public class DataFrameTest {
 
         assertEquals(3, dataframe.getColonneByName("Nom").size());
         assertEquals("Alice", dataframe.getColonneByName("Nom").getData().get(0));
-        assertEquals("30", dataframe.getColonneByName("Age").getData().get(1));
+        assertEquals(30, dataframe.getColonneByName("Age").getData().get(1));
         assertEquals("Paris", dataframe.getColonneByName("Ville").getData().get(2));
     }
 
@@ -379,7 +380,7 @@ public class DataFrameTest {
 
     @Before
     public void setUpStatistiques() {
-        System.setOut(new PrintStream(output));
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
     }
 
     // On s'asssure d'afficher les bonnes valeurs statistiques pour un fonctionnement normal
@@ -393,7 +394,7 @@ public class DataFrameTest {
         // Capture de la sortie console
         ByteArrayOutputStream output = new ByteArrayOutputStream();
         PrintStream originalOut = System.out;
-        System.setOut(new PrintStream(output));
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
 
         dataframe.afficherStatistiques("Notes");
 
@@ -401,7 +402,7 @@ public class DataFrameTest {
         System.setOut(originalOut);
 
         // Texte attendu
-        String sortie = output.toString().trim();
+        String sortie = output.toString(StandardCharsets.UTF_8).trim();
 
         assertTrue(sortie.contains("Statistiques pour la colonne \"Notes\""));
         assertTrue(sortie.contains("Moyenne") && sortie.contains("12.0"));
@@ -419,13 +420,13 @@ public class DataFrameTest {
         DataFrame dataframe = new DataFrame(colonnes);
 
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(output));
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
 
         dataframe.afficherStatistiques("Inconnue");
 
         System.setOut(System.out);
 
-        assertTrue(output.toString().contains("Colonne non trouvée"));
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("Colonne non trouvée"));
     }
 
     // On s'asssure d'afficher le bon message lorsque la colonne n'est pas numérique!
@@ -437,13 +438,13 @@ public class DataFrameTest {
         DataFrame dataframe = new DataFrame(colonnes);
 
         ByteArrayOutputStream output = new ByteArrayOutputStream();
-        System.setOut(new PrintStream(output));
+        System.setOut(new PrintStream(output, true, StandardCharsets.UTF_8));
 
         dataframe.afficherStatistiques("Animaux");
 
         System.setOut(System.out);
 
-        assertTrue(output.toString().contains("La colonne n'est pas numérique"));
+        assertTrue(output.toString(StandardCharsets.UTF_8).contains("La colonne n'est pas numérique"));
     }
 
     @After
@@ -632,13 +633,33 @@ public class DataFrameTest {
 
         DataFrame dataframe = new DataFrame(colonnes);
 
-        DataFrame sousDataFrame = dataframe.iloc(0, 4, 2, 0, 1, 1);
+        DataFrame sousDataFrame = dataframe.iloc(0, 4, 2, 0, 2, 1);
 
         assertEquals(2, sousDataFrame.colonne.get("Nom").size());
         assertEquals("Lisa", sousDataFrame.colonne.get("Nom").getData().get(0));
         assertEquals("Eva", sousDataFrame.colonne.get("Nom").getData().get(1));
     }
 
+    // On vérifie que iloc avec pas ne garde que les colonnes de la plage (la colonne Index compte et est toujours gardée)
+    @Test
+    public void testIlocAvecPasSurLesColonnes() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(List.of("Lisa", "Justine", "Eva", "Louis")));
+        colonnes.put("Age", new SeriesInt(new int[] {21, 22, 23, 24}));
+        colonnes.put("Ville", new Series<>(List.of("Paris", "Lyon", "Nice", "Brest")));
+        colonnes.put("Note", new SeriesDouble(new double[] {12.5, 14, 9, 17}));
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        DataFrame sousDataFrame = dataframe.iloc(0, 4, 1, 1, 3, 2);
+        assertEquals(Arrays.asList("Index", "Nom"), new ArrayList<>(sousDataFrame.colonne.keySet()));
+        assertEquals(4, sousDataFrame.colonne.get("Nom").size());
+
+        sousDataFrame = dataframe.iloc(1, 4, 2, 2, 5, 2);
+        assertEquals(Arrays.asList("Index", "Age", "Note"), new ArrayList<>(sousDataFrame.colonne.keySet()));
+        assertEquals(Arrays.asList(22, 24), sousDataFrame.colonne.get("Age").getData());
+        assertTrue(sousDataFrame.colonne.get("Note") instanceof SeriesDouble);
+    }
+
     // On vérifie que la méthode de iloc avec slashing renvoie une erreur lorsque l'on accède à un index hors limites
     @Test(expected = IndexOutOfBoundsException.class)
     public void testIlocAvecPasIndicesHorsLimites() {
@@ -0,0 +1,45 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class FusionBenchmark {
+
+    // Temps de jointure à gauche d'une table de faits de 2 M lignes avec une table de dimension de 100 000 lignes
+    @Test
+    public void grandeJointure() {
+        int taille = 2_000_000;
+        int nbProduits = 100_000;
+        Random aleatoire = new Random(5);
+        int[] produits = new int[taille];
+        for (int i = 0; i < taille; i++) {
+            produits[i] = aleatoire.nextInt(nbProduits * 2);
+        }
+        long[] identifiants = new long[nbProduits];
+        double[] prix = new double[nbProduits];
+        for (int p = 0; p < nbProduits; p++) {
+            identifiants[p] = p * 2L;
+            prix[p] = p;
+        }
+        Map<String, Series<?>> faits = new LinkedHashMap<>();
+        faits.put("Produit", new SeriesInt(produits));
+        Map<String, Series<?>> dimension = new LinkedHashMap<>();
+        dimension.put("Produit", new SeriesLong(identifiants));
+        dimension.put("Prix", new SeriesDouble(prix));
+        DataFrame dfFaits = new DataFrame(faits);
+        DataFrame dfDimension = new DataFrame(dimension);
+
+        long debut = System.nanoTime();
+        DataFrame resultat = dfFaits.merge(dfDimension, Jointure.GAUCHE, "Produit");
+        long duree = System.nanoTime() - debut;
+
+        assertEquals(taille, resultat.getColonneByName("Prix").size());
+        System.out.println("Jointure de " + taille / 1_000_000 + " M lignes avec " + nbProduits + " lignes : " + duree / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,135 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class FusionTest {
+
+    private static DataFrame creerVentes() {
+        SeriesInt produit = new SeriesInt(4);
+        produit.ajouter(1);
+        produit.ajouter(2);
+        produit.ajouter(1);
+        produit.ajouterNul();
+        produit.ajouter(9);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Produit", produit);
+        colonnes.put("Quantite", new SeriesInt(new int[] { 10, 20, 30, 40, 50 }));
+        colonnes.put("Nom", new Series<>(Arrays.asList("v1", "v2", "v3", "v4", "v5")));
+        return new DataFrame(colonnes);
+    }
+
+    private static DataFrame creerProduits() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Produit", new SeriesLong(new long[] { 2, 1, 3 }));
+        colonnes.put("Nom", new SeriesCategorielle(Arrays.asList("Pomme", "Poire", "Prune")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie la jointure interne : ordre de gauche, clés de types différents, suffixes des colonnes communes
+    @Test
+    public void testJointureInterne() {
+        DataFrame resultat = creerVentes().merge(creerProduits(), "Produit");
+        assertEquals(Arrays.asList("Index", "Produit", "Quantite", "Nom_x", "Nom_y"), new ArrayList<>(resultat.colonne.keySet()));
+        assertEquals(Arrays.asList(1, 2, 1), resultat.getColonneByName("Produit").getData());
+        assertEquals(Arrays.asList(10, 20, 30), resultat.getColonneByName("Quantite").getData());
+        assertEquals(Arrays.asList("Poire", "Pomme", "Poire"), resultat.getColonneByName("Nom_y").getData());
+        assertTrue(resultat.getColonneByName("Nom_y") instanceof SeriesCategorielle);
+        assertTrue(resultat.getColonneByName("Quantite") instanceof SeriesInt);
+    }
+
+    // On vérifie la jointure à gauche : les lignes sans correspondance (ou de clé manquante) sont gardées
+    @Test
+    public void testJointureGauche() {
+        DataFrame resultat = creerVentes().merge(creerProduits(), Jointure.GAUCHE, "Produit");
+        assertEquals(Arrays.asList(1, 2, 1, null, 9), resultat.getColonneByName("Produit").getData());
+        assertEquals(Arrays.asList("Poire", "Pomme", "Poire", null, null), resultat.getColonneByName("Nom_y").getData());
+    }
+
+    // On vérifie la jointure à droite : ordre de droite, clés prises à droite
+    @Test
+    public void testJointureDroite() {
+        DataFrame resultat = creerVentes().merge(creerProduits(), Jointure.DROITE, "Produit");
+        assertEquals(Arrays.asList(2L, 1L, 1L, 3L), resultat.getColonneByName("Produit").getData());
+        assertEquals(Arrays.asList(20, 10, 30, null), resultat.getColonneByName("Quantite").getData());
+        assertEquals(Arrays.asList("Pomme", "Poire", "Poire", "Prune"), resultat.getColonneByName("Nom_y").getData());
+    }
+
+    // On vérifie la jointure externe : lignes de droite sans correspondance ajoutées à la fin
+    @Test
+    public void testJointureExterne() {
+        DataFrame resultat = creerVentes().merge(creerProduits(), Jointure.EXTERNE, "Produit");
+        assertEquals(6, resultat.getColonneByName("Produit").size());
+        assertEquals(3L, ((Number) resultat.getColonneByName("Produit").get(5)).longValue());
+        assertNull(resultat.getColonneByName("Quantite").get(5));
+        assertEquals("Prune", resultat.getColonneByName("Nom_y").get(5));
+        assertEquals(Arrays.asList("v1", "v2", "v3", "v4", "v5", null), resultat.getColonneByName("Nom_x").getData());
+    }
+
+    // On vérifie la jointure sur plusieurs clés avec des correspondances multiples, construite côté gauche
+    @Test
+    public void testPlusieursClesEtCorrespondancesMultiples() {
+        Map<String, Series<?>> gauche = new LinkedHashMap<>();
+        gauche.put("A", new Series<>(Arrays.asList("x", "y")));
+        gauche.put("B", new SeriesInt(new int[] { 1, 1 }));
+        Map<String, Series<?>> droite = new LinkedHashMap<>();
+        droite.put("A", new Series<>(Arrays.asList("x", "x", "y", "x")));
+        droite.put("B", new SeriesInt(new int[] { 1, 2, 1, 1 }));
+        droite.put("V", new SeriesDouble(new double[] { 0.5, 1.5, 2.5, 3.5 }));
+
+        DataFrame resultat = new DataFrame(gauche).merge(new DataFrame(droite), "A", "B");
+        assertEquals(Arrays.asList("x", "x", "y"), resultat.getColonneByName("A").getData());
+        assertEquals(Arrays.asList(0.5, 3.5, 2.5), resultat.getColonneByName("V").getData());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCleAbsente() {
+        creerVentes().merge(creerProduits(), "Inconnue");
+    }
+
+    // On vérifie la jointure à gauche d'une table de faits avec une table de dimension (clés int et long, sans correspondance une fois sur deux)
+    @Test
+    public void testTableDeFaitsEtDimension() {
+        int taille = 20_000;
+        int nbProduits = 1_000;
+        Random aleatoire = new Random(5);
+        int[] produits = new int[taille];
+        for (int i = 0; i < taille; i++) {
+            produits[i] = aleatoire.nextInt(nbProduits * 2);
+        }
+        long[] identifiants = new long[nbProduits];
+        double[] prix = new double[nbProduits];
+        for (int p = 0; p < nbProduits; p++) {
+            identifiants[p] = p * 2L;
+            prix[p] = p;
+        }
+        Map<String, Series<?>> faits = new LinkedHashMap<>();
+        faits.put("Produit", new SeriesInt(produits));
+        Map<String, Series<?>> dimension = new LinkedHashMap<>();
+        dimension.put("Produit", new SeriesLong(identifiants));
+        dimension.put("Prix", new SeriesDouble(prix));
+        DataFrame dfFaits = new DataFrame(faits);
+        DataFrame dfDimension = new DataFrame(dimension);
+
+        DataFrame resultat = dfFaits.merge(dfDimension, Jointure.GAUCHE, "Produit");
+
+        Series<?> colonnePrix = resultat.getColonneByName("Prix");
+        assertEquals(taille, colonnePrix.size());
+        for (int i = 0; i < taille; i++) {
+            if (produits[i] % 2 == 0) {
+                assertEquals(produits[i] / 2, colonnePrix.getDouble(i), 0);
+            } else {
+                assertTrue(colonnePrix.estNul(i));
+            }
+        }
+    }
+}
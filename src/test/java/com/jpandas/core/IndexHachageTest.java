@@ -0,0 +1,90 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class IndexHachageTest {
+
+    // On vérifie que les positions sont renvoyées dans l'ordre de la demande, doublons compris
+    @Test
+    public void testPositionsDansLOrdreDeLaDemande() {
+        IndexHachage index = new IndexHachage(new Series<>(Arrays.asList("a", "b", "c", "b")));
+
+        assertFalse(index.estUnique());
+        assertArrayEquals(new int[] {2, 1, 3, 0}, index.positions(List.of("c", "b", "z", "a")));
+        assertArrayEquals(new int[] {0, 0}, index.positions(List.of("a", "a")));
+    }
+
+    // On vérifie qu'un index numérique est comparé sous forme de texte et que les valeurs manquantes sont ignorées
+    @Test
+    public void testIndexNumeriqueEtValeursManquantes() {
+        SeriesInt serie = new SeriesInt(new int[] {10, 20, 30});
+        serie.getData().set(1, null);
+        IndexHachage index = new IndexHachage(serie);
+
+        assertTrue(index.estUnique());
+        assertArrayEquals(new int[] {2, 0}, index.positions(List.of("30", "20", "10")));
+    }
+
+    // On vérifie qu'un index catégoriel utilise les codes de son dictionnaire
+    @Test
+    public void testIndexCategoriel() {
+        SeriesCategorielle serie = new SeriesCategorielle(Arrays.asList("x", "y", "x"));
+        IndexHachage index = new IndexHachage(serie);
+        serie.selectionner(new int[] {0}).ajouter("nouvelle");
+
+        assertFalse(index.estUnique());
+        assertArrayEquals(new int[] {1, 0, 2}, index.positions(List.of("y", "x", "nouvelle")));
+    }
+
+    // On vérifie que l'index de loc est réutilisé, puis reconstruit quand la colonne Index est remplacée ou modifiée
+    @Test
+    public void testReutilisationDansLoc() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(new ArrayList<>(Arrays.asList("Lisa", "Justine", "Eva"))));
+        colonnes.put("Age", new SeriesInt(new int[] {21, 22, 23}));
+        DataFrame dataframe = new DataFrame(colonnes);
+        dataframe.setIndex("Nom");
+
+        assertEquals(Arrays.asList("Eva", "Lisa"), dataframe.loc(List.of("Eva", "Lisa")).getColonneByName("Index").getData());
+
+        dataframe.colonne.put("Index", new Series<>(Arrays.asList("a", "b", "c")));
+        assertEquals(22, dataframe.loc(List.of("b")).getColonneByName("Age").get(0));
+
+        // Une modification par getData est détectée sans reconstruire l'index
+        ((List<String>) dataframe.getColonneByName("Index").getData()).set(0, "z");
+        assertEquals(21, dataframe.loc(List.of("z")).getColonneByName("Age").get(0));
+        assertEquals(0, dataframe.loc(List.of("Lisa")).getColonneByName("Age").size());
+    }
+
+    // On vérifie que l'unicité suit equals : 1 et "1" sont distincts, mais tous deux trouvés par loc("1")
+    @Test
+    public void testUniciteParEquals() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Cle", new Series<Object>(Arrays.asList(1, "1", 2)));
+        colonnes.put("Valeur", new SeriesInt(new int[] {10, 11, 12}));
+        DataFrame dataframe = new DataFrame(colonnes);
+        dataframe.setIndex("Cle");
+
+        assertEquals(Arrays.asList(10, 11), dataframe.loc(List.of("1")).getColonneByName("Valeur").getData());
+        assertFalse(new IndexHachage(new Series<Object>(Arrays.asList(1, "1", 1))).estUnique());
+    }
+
+    // On vérifie que plusieurs valeurs manquantes sont des doublons, comme dans un HashSet
+    @Test(expected = IllegalArgumentException.class)
+    public void testPlusieursValeursManquantes() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Cle", new Series<>(Arrays.asList("a", null, null)));
+        new DataFrame(colonnes).setIndex("Cle");
+    }
+}
@@ -0,0 +1,98 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class IndexTrieTest {
+
+    // On vérifie la détection de la monotonie
+    @Test
+    public void testMonotonie() {
+        assertTrue(new IndexTrie(new SeriesInt(new int[] {1, 2, 2, 5})).estCroissant());
+        assertTrue(new IndexTrie(new SeriesDouble(new double[] {3, 1.5, 1.5})).estDecroissant());
+        assertFalse(new IndexTrie(new SeriesInt(new int[] {1, 3, 2})).estCroissant());
+        assertFalse(new IndexTrie(new SeriesInt(new int[] {1, 3, 2})).estDecroissant());
+
+        SeriesInt avecNul = new SeriesInt(new int[] {1, 2, 3});
+        avecNul.getData().set(1, null);
+        assertFalse(new IndexTrie(avecNul).estCroissant());
+    }
+
+    // On vérifie qu'un index de textes numériques est comparé comme des nombres ("10" après "9")
+    @Test
+    public void testTextesNumeriques() {
+        IndexTrie index = new IndexTrie(new Series<>(Arrays.asList("8", "9", "10", "11")));
+
+        assertTrue(index.estNumerique());
+        assertTrue(index.estCroissant());
+        assertArrayEquals(new int[] {1, 2}, index.positionsEntre("9", 10));
+    }
+
+    // On vérifie les intervalles sur un index textuel non trié : bornes incluses, lignes dans l'ordre du DataFrame
+    @Test
+    public void testIntervalleTextuelNonTrie() {
+        IndexTrie index = new IndexTrie(new Series<>(Arrays.asList("poire", "abricot", "kiwi", null, "banane", "kiwi")));
+
+        assertFalse(index.estNumerique());
+        assertFalse(index.estCroissant());
+        assertArrayEquals(new int[] {1, 4}, index.positionsEntre("abricot", "banane"));
+        assertArrayEquals(new int[] {2, 4, 5}, index.positionsEntre("b", "kiwi"));
+        assertArrayEquals(new int[] {0, 2, 5}, index.positionsEntre("c", null));
+        assertArrayEquals(new int[0], index.positionsEntre("z", "a"));
+    }
+
+    // On vérifie les intervalles numériques, bornes absentes de l'index comprises
+    @Test
+    public void testIntervalleNumerique() {
+        IndexTrie index = new IndexTrie(new SeriesDouble(new double[] {5.5, -1, 3, 3, 10}));
+
+        assertArrayEquals(new int[] {2, 3}, index.positionsEntre(0, 4.9));
+        assertArrayEquals(new int[] {0, 1, 2, 3}, index.positionsEntre(null, 5.5));
+        assertArrayEquals(new int[] {0, 4}, index.positionsEntre(5.5, null));
+    }
+
+    // On vérifie qu'une borne non numérique est refusée pour un index numérique
+    @Test(expected = IllegalArgumentException.class)
+    public void testBorneInvalide() {
+        new IndexTrie(new SeriesInt(new int[] {1, 2})).positionsEntre("abc", null);
+    }
+
+    // On vérifie locEntre sur un DataFrame, avant et après un setIndex, ainsi que sur un grand index trié
+    @Test
+    public void testLocEntre() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(new ArrayList<>(Arrays.asList("Lisa", "Justine", "Eva", "Anna"))));
+        colonnes.put("Age", new SeriesInt(new int[] {21, 22, 23, 24}));
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        assertTrue(dataframe.estIndexCroissant());
+        assertEquals(Arrays.asList("Justine", "Eva"), dataframe.locEntre("1", "2").getColonneByName("Nom").getData());
+
+        dataframe.setIndex("Nom");
+        assertTrue(dataframe.estIndexDecroissant());
+        DataFrame selection = dataframe.locEntre("B", "Justine");
+        assertEquals(Arrays.asList("Justine", "Eva"), selection.getColonneByName("Index").getData());
+        assertTrue(selection.getColonneByName("Age") instanceof SeriesInt);
+
+        int nbLignes = 100_000;
+        long[] dates = new long[nbLignes];
+        for (int i = 0; i < nbLignes; i++) {
+            dates[i] = 20_000_000L + i * 3L;
+        }
+        Map<String, Series<?>> grandes = new LinkedHashMap<>();
+        grandes.put("Index", new SeriesLong(dates));
+        DataFrame grand = new DataFrame(grandes);
+        List<Long> extrait = (List<Long>) grand.locEntre(20_000_010L, 20_000_020L).getColonneByName("Index").getData();
+        assertEquals(Arrays.asList(20_000_012L, 20_000_015L, 20_000_018L), extrait);
+    }
+}
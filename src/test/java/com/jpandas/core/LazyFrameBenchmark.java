@@ -0,0 +1,51 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class LazyFrameBenchmark {
+
+    // Temps d'un enchaînement filtre, tri et tranche, immédiat puis différé, sur 2 M lignes
+    @Test
+    public void filtreTriEtTranche() {
+        int taille = 2_000_000;
+        Random aleatoire = new Random(29);
+        int[] groupes = new int[taille];
+        double[] valeurs = new double[taille];
+        long[] identifiants = new long[taille];
+        for (int i = 0; i < taille; i++) {
+            groupes[i] = aleatoire.nextInt(1000);
+            valeurs[i] = aleatoire.nextDouble();
+            identifiants[i] = i;
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Groupe", new SeriesInt(groupes));
+        colonnes.put("Valeur", new SeriesDouble(valeurs));
+        colonnes.put("Identifiant", new SeriesLong(identifiants));
+        DataFrame df = new DataFrame(colonnes);
+
+        long debut = System.nanoTime();
+        DataFrame immediat = df.filtrer(Condition.inferieur("Groupe", 500))
+                .sortValues("Valeur")
+                .iloc(0, 100, 0, 3);
+        long dureeImmediate = System.nanoTime() - debut;
+
+        debut = System.nanoTime();
+        DataFrame differe = df.lazy()
+                .filtrer(Condition.inferieur("Groupe", 500))
+                .sortValues("Valeur")
+                .iloc(0, 100)
+                .collect();
+        long dureeDifferee = System.nanoTime() - debut;
+
+        assertEquals(immediat.getColonneByName("Identifiant").getData(), differe.getColonneByName("Identifiant").getData());
+        System.out.println("Filtre, tri et tranche de " + taille / 1_000_000 + " M lignes : immédiat " + dureeImmediate / 1_000_000
+                + " ms, différé " + dureeDifferee / 1_000_000 + " ms");
+    }
+}
@@ -0,0 +1,177 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class LazyFrameTest {
+
+    private static DataFrame creerDataFrame() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Pays", new SeriesCategorielle(Arrays.asList("France", "Italie", "France", "Espagne", "Italie", "France", "Espagne", "France")));
+        colonnes.put("Age", new SeriesInt(new int[] { 30, 25, 17, 40, 52, 19, 33, 61 }));
+        colonnes.put("Montant", new SeriesDouble(new double[] { 10.5, 3.0, 7.25, 1.0, 8.0, 2.5, 4.0, 6.0 }));
+        colonnes.put("Nom", new Series<>(Arrays.asList("a", "b", "c", "d", "e", "f", "g", "h")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie qu'un enchaînement différé donne le même résultat que les opérations immédiates
+    @Test
+    public void testMemeResultatQueLesOperationsImmediates() {
+        DataFrame df = creerDataFrame();
+        DataFrame attendu = df.filtrer(Condition.superieurOuEgal("Age", 18))
+                .sortValues(new String[] { "Montant" }, false)
+                .filtrer(Condition.different("Pays", "Espagne"))
+                .iloc(1, 4, 0, 4);
+
+        DataFrame obtenu = df.lazy()
+                .filtrer(Condition.superieurOuEgal("Age", 18))
+                .sortValues(new String[] { "Montant" }, false)
+                .filtrer(Condition.different("Pays", "Espagne"))
+                .iloc(1, 4)
+                .selectionner("Nom", "Montant")
+                .collect();
+
+        assertEquals(Arrays.asList("Index", "Nom", "Montant"), new ArrayList<>(obtenu.colonne.keySet()));
+        assertEquals(attendu.getColonneByName("Index").getData(), obtenu.getColonneByName("Index").getData());
+        assertEquals(Arrays.asList("e", "h", "b"), obtenu.getColonneByName("Nom").getData());
+        assertEquals(attendu.getColonneByName("Montant").getData(), obtenu.getColonneByName("Montant").getData());
+        assertTrue(obtenu.getColonneByName("Montant") instanceof SeriesDouble);
+    }
+
+    // On vérifie le plan optimisé : filtres fusionnés sous le tri et la sélection, source réduite aux colonnes lues
+    @Test
+    public void testPlanOptimise() {
+        LazyFrame requete = creerDataFrame().lazy()
+                .sortValues("Age")
+                .selectionner("Nom", "Age", "Pays")
+                .filtrer(Condition.superieur("Age", 20))
+                .filtrer(Condition.egal("Pays", "France"))
+                .selectionner("Nom");
+
+        assertEquals("Sélection des colonnes [Nom]\n"
+                + "  Sélection des colonnes [Nom, Age, Pays]\n"
+                + "    Tri selon [Age croissant]\n"
+                + "      Filtre : 2 conditions fusionnées, colonnes lues [Age, Pays]\n"
+                + "        Source : DataFrame de 8 lignes, colonnes [Nom, Age, Pays]", requete.expliquer());
+        assertEquals(Arrays.asList("a", "h"), requete.collect().getColonneByName("Nom").getData());
+    }
+
+    // On vérifie qu'un filtre sur les clés passe sous le regroupement, mais pas un filtre sur une colonne agrégée
+    @Test
+    public void testFiltresEtRegroupement() {
+        LazyFrame requete = creerDataFrame().lazy()
+                .groupBy("Pays").somme("Montant")
+                .filtrer(Condition.different("Pays", "Italie"))
+                .filtrer(Condition.superieur("Montant", 6));
+
+        assertEquals("Filtre : 1 condition, colonnes lues [Montant]\n"
+                + "  Regroupement selon [Pays] : somme de [Montant]\n"
+                + "    Filtre : 1 condition, colonnes lues [Pays]\n"
+                + "      Source : DataFrame de 8 lignes, colonnes [Pays, Montant]", requete.expliquer());
+
+        DataFrame resultat = requete.collect();
+        assertEquals(Arrays.asList("France"), resultat.getColonneByName("Pays").getData());
+        assertEquals(26.25, resultat.getColonneByName("Montant").getDouble(0), 1e-12);
+    }
+
+    // On vérifie qu'une requête sur un fichier CSV ne lit que les colonnes utiles, et teste le filtre pendant la lecture
+    @Test
+    public void testSourceCSV() throws IOException {
+        Path fichier = Files.createTempFile("lazy", ".csv");
+        fichier.toFile().deleteOnExit();
+        Files.write(fichier, Arrays.asList("Nom,Age,Ville,Montant", "a,30,Paris,1.5", "b,17,Lyon,2.5", "c,45,Nice,4.0"));
+
+        LazyFrame requete = LazyFrame.lireCSV(fichier.toString())
+                .filtrer(Condition.superieurOuEgal("Age", 18))
+                .selectionner("Nom");
+
+        assertEquals("Sélection des colonnes [Nom]\n"
+                + "  Source : fichier CSV " + fichier + ", colonnes [Nom, Age], filtre à la lecture : 1 condition, colonnes lues [Age]",
+                requete.expliquer());
+        DataFrame resultat = requete.collect();
+        assertEquals(Arrays.asList("a", "c"), resultat.getColonneByName("Nom").getData());
+        assertEquals(Arrays.asList("0", "2"), resultat.getColonneByName("Index").getData());
+    }
+
+    // On vérifie qu'une condition écrite par une lambda ne voit pas, sous une sélection, les colonnes non sélectionnées
+    @Test(expected = IllegalArgumentException.class)
+    public void testConditionSurColonneNonSelectionnee() {
+        Condition jeunes = dataframe -> Condition.inferieur("Age", 30).evaluer(dataframe);
+        creerDataFrame().lazy().selectionner("Nom").filtrer(jeunes).collect();
+    }
+
+    // On vérifie une condition écrite par une lambda (colonnes inconnues) sur des lignes déjà réordonnées
+    @Test
+    public void testConditionLambdaApresTri() {
+        Condition jeunes = dataframe -> Condition.inferieur("Age", 30).evaluer(dataframe);
+        DataFrame resultat = creerDataFrame().lazy().sortValues("Montant").iloc(0, 6).filtrer(jeunes).collect();
+        assertEquals(Arrays.asList("f", "b", "c"), resultat.getColonneByName("Nom").getData());
+    }
+
+    // On vérifie qu'une tranche seule donne des vues : modifier le résultat ne modifie pas la source
+    @Test
+    public void testTrancheSansCopie() {
+        DataFrame df = creerDataFrame();
+        DataFrame tranche = df.lazy().iloc(1, 8, 3).collect();
+        assertEquals(Arrays.asList("b", "e", "h"), tranche.getColonneByName("Nom").getData());
+        assertTrue(tranche.getColonneByName("Nom") instanceof SeriesVue);
+
+        @SuppressWarnings("unchecked")
+        Series<String> noms = (Series<String>) tranche.getColonneByName("Nom");
+        noms.getData().set(0, "z");
+        assertEquals("b", df.getColonneByName("Nom").get(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testTrancheHorsLimites() {
+        creerDataFrame().lazy().filtrer(Condition.superieur("Age", 30)).iloc(0, 5).collect();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneAbsente() {
+        creerDataFrame().lazy().selectionner("Inconnue").collect();
+    }
+
+    // On vérifie qu'un enchaînement filtre, tri et tranche donne le même résultat, immédiat ou différé, sur plusieurs milliers de lignes
+    @Test
+    public void testFiltreTriEtTranche() {
+        int taille = 5_000;
+        Random aleatoire = new Random(29);
+        int[] groupes = new int[taille];
+        double[] valeurs = new double[taille];
+        long[] identifiants = new long[taille];
+        for (int i = 0; i < taille; i++) {
+            groupes[i] = aleatoire.nextInt(1000);
+            valeurs[i] = aleatoire.nextDouble();
+            identifiants[i] = i;
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Groupe", new SeriesInt(groupes));
+        colonnes.put("Valeur", new SeriesDouble(valeurs));
+        colonnes.put("Identifiant", new SeriesLong(identifiants));
+        DataFrame df = new DataFrame(colonnes);
+
+        DataFrame immediat = df.filtrer(Condition.inferieur("Groupe", 500))
+                .sortValues("Valeur")
+                .iloc(0, 100, 0, 3);
+        DataFrame differe = df.lazy()
+                .filtrer(Condition.inferieur("Groupe", 500))
+                .sortValues("Valeur")
+                .iloc(0, 100)
+                .collect();
+
+        assertEquals(immediat.getColonneByName("Identifiant").getData(), differe.getColonneByName("Identifiant").getData());
+        assertEquals(immediat.getColonneByName("Index").getData(), differe.getColonneByName("Index").getData());
+    }
+}
@@ -0,0 +1,47 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.jpandas.core.NoyauxNumeriques.Operation;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class NoyauxNumeriquesBenchmark {
+
+    // Temps des noyaux scalaires et vectoriels sur une grande colonne (deux tours : le premier chauffe le JIT)
+    @Test
+    public void noyauxScalairesEtVectoriels() {
+        Random aleatoire = new Random(7);
+        double[] valeurs = new double[4_000_000];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = aleatoire.nextGaussian() * 1e3 + 5e4;
+        }
+        double[] resultat = new double[valeurs.length];
+        long[] mots = new long[Masque.nombreMots(valeurs.length)];
+        NoyauxNumeriques scalaires = new NoyauxScalaires();
+        NoyauxNumeriques vectoriels = new NoyauxVectoriels();
+        for (NoyauxNumeriques noyaux : Arrays.asList(scalaires, vectoriels, scalaires, vectoriels)) {
+            long[] temps = new long[3];
+            for (int repetition = 0; repetition < 10; repetition++) {
+                long debut = System.nanoTime();
+                noyaux.statistiques(valeurs, 0, valeurs.length);
+                temps[0] += System.nanoTime() - debut;
+
+                debut = System.nanoTime();
+                noyaux.masqueEntre(valeurs, valeurs.length, 49_500, 50_500, mots);
+                temps[1] += System.nanoTime() - debut;
+
+                debut = System.nanoTime();
+                noyaux.appliquer(Operation.MULTIPLICATION, valeurs, valeurs, resultat, valeurs.length);
+                temps[2] += System.nanoTime() - debut;
+            }
+            System.out.println("Noyaux " + noyaux.getNom() + " : statistiques " + temps[0] / 10_000 + " µs, masque "
+                    + temps[1] / 10_000 + " µs, multiplication " + temps[2] / 10_000 + " µs (4 000 000 valeurs)");
+        }
+        assertEquals(valeurs[0] * valeurs[0], resultat[0], 0);
+    }
+}
@@ -0,0 +1,170 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import com.jpandas.core.NoyauxNumeriques.Operation;
+
+public class NoyauxNumeriquesTest {
+    private final NoyauxNumeriques scalaires = new NoyauxScalaires();
+    private final NoyauxNumeriques vectoriels = new NoyauxVectoriels();
+
+    private double[] creerValeurs(int taille) {
+        Random aleatoire = new Random(7);
+        double[] valeurs = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            valeurs[i] = aleatoire.nextGaussian() * 1e3 + 5e4;
+        }
+        return valeurs;
+    }
+
+    // On vérifie que les noyaux vectoriels sont choisis quand le module de l'API Vector est chargé (ajouté par le pom)
+    @Test
+    public void testChoixAuDemarrage() {
+        Assume.assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+        assertTrue(NoyauxNumeriques.INSTANCE instanceof NoyauxVectoriels);
+    }
+
+    // On vérifie que les noyaux scalaires et vectoriels donnent les mêmes statistiques, y compris pour les tailles
+    // qui ne remplissent pas un vecteur complet
+    @Test
+    public void testStatistiques() {
+        double[] valeurs = creerValeurs(1_003);
+        for (int fin : new int[] {0, 1, 3, 64, 1_003}) {
+            Statistiques attendu = scalaires.statistiques(valeurs, 0, fin);
+            Statistiques obtenu = vectoriels.statistiques(valeurs, 0, fin);
+            assertEquals(attendu.getNombre(), obtenu.getNombre());
+            assertEquals(attendu.getSomme(), obtenu.getSomme(), 1e-9 * Math.abs(attendu.getSomme()));
+            assertEquals(attendu.getMoyenne(), obtenu.getMoyenne(), 1e-9);
+            assertEquals(attendu.getVariance(), obtenu.getVariance(), 1e-9 * attendu.getVariance());
+            assertEquals(attendu.getMinimum(), obtenu.getMinimum(), 0);
+            assertEquals(attendu.getMaximum(), obtenu.getMaximum(), 0);
+        }
+        Statistiques milieu = vectoriels.statistiques(new double[] {100, 1, 2, 3, 100}, 1, 4);
+        assertEquals(6.0, milieu.getSomme(), 0);
+        assertEquals(1.0, milieu.getVariance(), 1e-15);
+    }
+
+    // On vérifie que les masques vectoriels sont identiques aux masques scalaires (double et long, fin partielle)
+    @Test
+    public void testMasques() {
+        double[] valeurs = creerValeurs(1_000);
+        valeurs[10] = Double.NaN;
+        long[] entiers = new long[valeurs.length];
+        for (int i = 0; i < valeurs.length; i++) {
+            entiers[i] = (long) valeurs[i];
+        }
+        for (int taille : new int[] {0, 5, 64, 1_000}) {
+            long[] attendu = new long[Masque.nombreMots(taille)];
+            long[] obtenu = new long[Masque.nombreMots(taille)];
+            scalaires.masqueEntre(valeurs, taille, 49_500, 50_500, attendu);
+            vectoriels.masqueEntre(valeurs, taille, 49_500, 50_500, obtenu);
+            assertArrayEquals(attendu, obtenu);
+
+            scalaires.masqueEntre(entiers, taille, 49_000, 51_000, attendu);
+            vectoriels.masqueEntre(entiers, taille, 49_000, 51_000, obtenu);
+            assertArrayEquals(attendu, obtenu);
+        }
+    }
+
+    // On vérifie les opérations élément par élément des deux noyaux
+    @Test
+    public void testOperations() {
+        double[] gauche = creerValeurs(1_001);
+        double[] droite = creerValeurs(1_001);
+        Arrays.setAll(droite, i -> droite[i] - 5e4);
+        for (Operation operation : Operation.values()) {
+            double[] attendu = new double[gauche.length];
+            double[] obtenu = new double[gauche.length];
+            scalaires.appliquer(operation, gauche, droite, attendu, gauche.length);
+            vectoriels.appliquer(operation, gauche, droite, obtenu, gauche.length);
+            assertArrayEquals(attendu, obtenu, 0);
+
+            scalaires.appliquer(operation, gauche, 3.5, attendu, gauche.length);
+            vectoriels.appliquer(operation, gauche, 3.5, obtenu, gauche.length);
+            assertArrayEquals(attendu, obtenu, 0);
+        }
+    }
+
+    // On vérifie l'arithmétique sur les séries : types mélangés, valeurs manquantes reportées
+    @Test
+    public void testArithmetiqueSeries() {
+        SeriesDouble prix = new SeriesDouble(new double[] {2.5, 4.0, 1.0, 10.0});
+        SeriesInt quantites = new SeriesInt(new int[] {2, 3, 0, 1});
+        quantites.getData().set(2, null);
+
+        SeriesDouble montants = prix.multiplier(quantites);
+        assertEquals(Arrays.asList(5.0, 12.0, null, 10.0), montants.getData());
+        assertEquals(27.0, montants.somme(), 0);
+        assertEquals(Arrays.asList(6.0, 13.0, null, 11.0), montants.additionner(1).getData());
+        assertEquals(Arrays.asList(1.0, 4.0, 1.0, 2.0), new SeriesLong(new long[] {2, 8, 2, 4}).diviser(2).getData());
+        assertEquals(Arrays.asList(0.5, 1.0, null, 9.0), prix.soustraire(quantites).getData());
+        assertArrayEquals(new double[] {2, 3, Double.NaN, 1}, quantites.versDoubles(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testArithmetiqueTaillesDifferentes() {
+        new SeriesDouble(new double[] {1, 2}).additionner(new SeriesDouble(new double[] {1}));
+    }
+
+    // On vérifie que les deux noyaux donnent exactement les mêmes masques, sommes, minimums et maximums sur les tailles
+    // limites : vide, une valeur, un vecteur moins une ou plus une valeur (jusqu'à 16 voies), avec ou sans NaN.
+    // Les valeurs sont des entiers, dont les sommes sont exactes dans n'importe quel ordre.
+    @Test
+    public void testTaillesLimites() {
+        for (int taille = 0; taille <= 33; taille++) {
+            double[] valeurs = new double[taille];
+            long[] entiers = new long[taille];
+            for (int i = 0; i < taille; i++) {
+                valeurs[i] = (i * 37) % 11 - 5;
+                entiers[i] = (long) valeurs[i];
+            }
+            for (int positionNaN = -1; positionNaN < taille; positionNaN += Math.max(1, taille / 3)) {
+                double[] avecNaN = valeurs.clone();
+                if (positionNaN >= 0) {
+                    avecNaN[positionNaN] = Double.NaN;
+                }
+                Statistiques attendu = scalaires.statistiques(avecNaN, 0, taille);
+                Statistiques obtenu = vectoriels.statistiques(avecNaN, 0, taille);
+                assertEquals(attendu.getSomme(), obtenu.getSomme(), 0);
+                assertEquals(attendu.getMinimum(), obtenu.getMinimum(), 0);
+                assertEquals(attendu.getMaximum(), obtenu.getMaximum(), 0);
+
+                long[] masqueAttendu = new long[Masque.nombreMots(taille)];
+                long[] masqueObtenu = new long[Masque.nombreMots(taille)];
+                scalaires.masqueEntre(avecNaN, taille, -2, 3, masqueAttendu);
+                vectoriels.masqueEntre(avecNaN, taille, -2, 3, masqueObtenu);
+                assertArrayEquals(masqueAttendu, masqueObtenu);
+            }
+            long[] masqueAttendu = new long[Masque.nombreMots(taille)];
+            long[] masqueObtenu = new long[Masque.nombreMots(taille)];
+            scalaires.masqueEntre(entiers, taille, -2, 3, masqueAttendu);
+            vectoriels.masqueEntre(entiers, taille, -2, 3, masqueObtenu);
+            assertArrayEquals(masqueAttendu, masqueObtenu);
+        }
+    }
+
+    // On vérifie que les statistiques et l'arithmétique d'une SeriesLong restent exactes au-delà de 2^53
+    @Test
+    public void testGrandsLong() {
+        long grand = (1L << 53) + 1;
+        SeriesLong serie = new SeriesLong(new long[] {grand, 2, -1});
+        assertEquals((double) (grand + 1), serie.somme(), 0);
+        assertEquals((double) (grand + 1) / 3, serie.moyenne(), 0);
+        assertEquals(-1.0, serie.minimum(), 0);
+        assertEquals((double) grand, serie.maximum(), 0);
+
+        // Convertie en double avant le calcul, la valeur 2^53 + 1 serait arrondie à 2^53
+        assertEquals(0x1p53 + 2, serie.additionner(1).getDouble(0), 0);
+        assertEquals(1.0, serie.soustraire(new SeriesLong(new long[] {grand - 1, 0, 0})).getDouble(0), 0);
+        assertEquals(0x1p53 + 2, serie.additionner(new SeriesInt(new int[] {1, 0, 0})).getDouble(0), 0);
+        assertEquals(0x1p63, new SeriesLong(new long[] {Long.MIN_VALUE}).diviser(-1).getDouble(0), 0);
+    }
+}
@@ -0,0 +1,140 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RegroupementTest {
+
+    private static DataFrame creerDataFrame() {
+        SeriesCategorielle pays = new SeriesCategorielle(Arrays.asList("France", "Italie", "France", null, "Italie", "Espagne"));
+        SeriesInt annee = new SeriesInt(new int[] { 2020, 2020, 2021, 2020, 2020, 2021 });
+        SeriesInt quantite = new SeriesInt(new int[] { 3, 5, 7, 100, 1, 2 });
+        SeriesDouble prix = new SeriesDouble(6);
+        prix.ajouter(10.0);
+        prix.ajouter(20.0);
+        prix.ajouterNul();
+        prix.ajouter(99.0);
+        prix.ajouter(40.0);
+        prix.ajouter(5.0);
+
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Pays", pays);
+        colonnes.put("Annee", annee);
+        colonnes.put("Quantite", quantite);
+        colonnes.put("Prix", prix);
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie que les groupes sont dans l'ordre d'apparition et que les clés manquantes sont ignorées
+    @Test
+    public void testGroupesEtEffectifs() {
+        Regroupement parPays = creerDataFrame().groupBy("Pays");
+        assertEquals(3, parPays.getNbGroupes());
+
+        DataFrame effectifs = parPays.effectifs();
+        assertEquals(Arrays.asList("France", "Italie", "Espagne"), effectifs.getColonneByName("Pays").getData());
+        assertTrue(effectifs.getColonneByName("Pays") instanceof SeriesCategorielle);
+        assertEquals(Arrays.asList(2L, 2L, 1L), effectifs.getColonneByName("Effectif").getData());
+    }
+
+    // On vérifie les agrégations de base, les sommes entières restant entières
+    @Test
+    public void testAgregations() {
+        Regroupement parPays = creerDataFrame().groupBy("Pays");
+
+        DataFrame sommes = parPays.somme();
+        assertTrue(sommes.getColonneByName("Quantite") instanceof SeriesLong);
+        assertEquals(Arrays.asList(10L, 6L, 2L), sommes.getColonneByName("Quantite").getData());
+        assertEquals(Arrays.asList(10.0, 60.0, 5.0), sommes.getColonneByName("Prix").getData());
+
+        DataFrame moyennes = parPays.moyenne("Prix");
+        assertEquals(Arrays.asList(10.0, 30.0, 5.0), moyennes.getColonneByName("Prix").getData());
+
+        assertEquals(Arrays.asList(3L, 1L, 2L), parPays.minimum("Quantite").getColonneByName("Quantite").getData());
+        assertEquals(Arrays.asList(7L, 5L, 2L), parPays.maximum("Quantite").getColonneByName("Quantite").getData());
+        assertEquals(Arrays.asList(1L, 2L, 1L), parPays.compter("Prix").getColonneByName("Prix").getData());
+
+        // Un seul prix pour la France et l'Espagne : écart-type manquant
+        List<?> ecarts = parPays.ecartType("Prix").getColonneByName("Prix").getData();
+        assertEquals(null, ecarts.get(0));
+        assertEquals(Math.sqrt(200), (Double) ecarts.get(1), 1e-12);
+        assertEquals(null, ecarts.get(2));
+    }
+
+    // On vérifie le regroupement sur plusieurs colonnes
+    @Test
+    public void testPlusieursCles() {
+        DataFrame resultat = creerDataFrame().groupBy("Pays", "Annee").somme("Quantite");
+        assertEquals(Arrays.asList("France", "Italie", "France", "Espagne"), resultat.getColonneByName("Pays").getData());
+        assertEquals(Arrays.asList(2020, 2020, 2021, 2021), resultat.getColonneByName("Annee").getData());
+        assertEquals(Arrays.asList(3L, 6L, 7L, 2L), resultat.getColonneByName("Quantite").getData());
+    }
+
+    // On vérifie qu'une clé entière et la même valeur réelle tombent dans le même groupe
+    @Test
+    public void testClesDeTypesDifferents() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Cle", new Series<Object>(Arrays.asList(1, 1.0, 1L, 2.5, "a")));
+        colonnes.put("Valeur", new SeriesInt(new int[] { 1, 2, 3, 4, 5 }));
+        DataFrame resultat = new DataFrame(colonnes).groupBy("Cle").somme("Valeur");
+        assertEquals(Arrays.asList(6L, 4L, 5L), resultat.getColonneByName("Valeur").getData());
+    }
+
+    // On vérifie une agrégation personnalisée (la médiane)
+    @Test
+    public void testAgregationPersonnalisee() {
+        Agregation mediane = (valeurs, debut, fin) -> {
+            if (debut == fin) {
+                return Double.NaN;
+            }
+            Arrays.sort(valeurs, debut, fin);
+            int milieu = (debut + fin) / 2;
+            return (fin - debut) % 2 == 1 ? valeurs[milieu] : (valeurs[milieu - 1] + valeurs[milieu]) / 2;
+        };
+        DataFrame resultat = creerDataFrame().groupBy("Annee").agreger("Quantite", mediane);
+        assertEquals(Arrays.asList(2020, 2021), resultat.getColonneByName("Annee").getData());
+        assertEquals(Arrays.asList(4.0, 4.5), resultat.getColonneByName("Quantite").getData());
+    }
+
+    // On vérifie qu'une colonne absente ou non numérique est refusée
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneAbsente() {
+        creerDataFrame().groupBy("Inconnue");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneNonNumerique() {
+        creerDataFrame().groupBy("Annee").somme("Pays");
+    }
+
+    // On vérifie que la somme, le minimum et le maximum d'une colonne entière sont exacts au-delà de 2^53
+    @Test
+    public void testGrandsEntiers() {
+        long moitie = Long.MAX_VALUE / 2;
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Cle", new SeriesInt(new int[] { 1, 1, 2, 1 }));
+        colonnes.put("Valeur", new SeriesLong(new long[] { moitie, 1, moitie - 1, -3 }));
+        Regroupement parCle = new DataFrame(colonnes).groupBy("Cle");
+
+        assertEquals(Arrays.asList(moitie - 2, moitie - 1), parCle.somme("Valeur").getColonneByName("Valeur").getData());
+        assertEquals(Arrays.asList(-3L, moitie - 1), parCle.minimum("Valeur").getColonneByName("Valeur").getData());
+        assertEquals(Arrays.asList(moitie, moitie - 1), parCle.maximum("Valeur").getColonneByName("Valeur").getData());
+    }
+
+    // On vérifie qu'un dépassement de capacité de la somme est signalé
+    @Test(expected = ArithmeticException.class)
+    public void testDepassementDeLaSomme() {
+        long moitie = Long.MAX_VALUE / 2;
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Cle", new SeriesInt(new int[] { 1, 1, 1 }));
+        colonnes.put("Valeur", new SeriesLong(new long[] { moitie, moitie, 2 }));
+        new DataFrame(colonnes).groupBy("Cle").somme("Valeur");
+    }
+}
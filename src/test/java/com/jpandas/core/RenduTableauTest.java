@@ -0,0 +1,109 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class RenduTableauTest {
+
+    private static DataFrame creerDataFrame(int taille) {
+        int[] index = new int[taille];
+        int[] ages = new int[taille];
+        List<String> noms = new ArrayList<>(taille);
+        for (int i = 0; i < taille; i++) {
+            index[i] = i;
+            ages[i] = i % 100;
+            noms.add("Nom" + i);
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(index));
+        colonnes.put("Nom", new Series<>(noms));
+        colonnes.put("Age", new SeriesInt(ages));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie qu'au-delà du nombre maximal de lignes, seules les premières et les dernières sont affichées
+    @Test
+    public void testAffichageTronque() throws IOException {
+        StringBuilder sortie = new StringBuilder();
+        creerDataFrame(10).afficher(sortie, 4, 0);
+
+        String attendu = "Index  Nom   Age  \n" + //
+                         "-----  ---   ---  \n" + //
+                         "0      Nom0  0    \n" + //
+                         "1      Nom1  1    \n" + //
+                         "...    ...   ...  \n" + //
+                         "8      Nom8  8    \n" + //
+                         "9      Nom9  9    \n" + //
+                         "\n" + //
+                         "[10 lignes x 2 colonnes]\n";
+        assertEquals(attendu, sortie.toString());
+    }
+
+    // On vérifie que sans dépasser les limites l'affichage est identique à afficherLignes,
+    // et que les valeurs trop longues et les valeurs manquantes sont affichées comme en Pandas
+    @Test
+    public void testLimitesNonAtteintesEtValeursLongues() throws IOException {
+        DataFrame df = creerDataFrame(3);
+        StringBuilder sortie = new StringBuilder();
+        df.afficher(sortie, 3, 0);
+        assertEquals(df.afficherLignes(0, 0), sortie.toString());
+
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Ville", new Series<>(Arrays.asList("Saint-Remy-de-Provence", null)));
+        sortie.setLength(0);
+        new DataFrame(colonnes).afficher(sortie, 0, 10);
+        String attendu = "Index  Ville       \n" + //
+                         "-----  -----       \n" + //
+                         "0      Saint-R...  \n" + //
+                         "1      NaN         \n";
+        assertEquals(attendu, sortie.toString());
+    }
+
+    // On vérifie l'écriture dans un flux d'impression et le nombre de lignes demandé supérieur à la taille
+    @Test
+    public void testFluxEtPremieresLignes() {
+        DataFrame df = creerDataFrame(5);
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        df.afficher(new PrintStream(octets, true, StandardCharsets.UTF_8), 0, 0);
+        assertEquals(df.afficherLignes(0, 0), octets.toString(StandardCharsets.UTF_8));
+        assertEquals(df.afficherLignes(0, 0), df.afficherLignes(8, 1));
+        assertEquals(df.afficherLignes(0, 0), df.afficherLignes(8, 2));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testLimiteNegative() throws IOException {
+        creerDataFrame(3).afficher(new StringBuilder(), -1, 0);
+    }
+
+    // On vérifie que les méthodes d'affichage sur la sortie standard ne tronquent pas les lignes
+    @Test
+    public void testAffichageCompletSurLaSortieStandard() {
+        DataFrame df = creerDataFrame(DataFrame.MAX_LIGNES_AFFICHEES + 10);
+        ByteArrayOutputStream octets = new ByteArrayOutputStream();
+        PrintStream sortieStandard = System.out;
+        System.setOut(new PrintStream(octets, true, StandardCharsets.UTF_8));
+        try {
+            df.afficherTout();
+            df.afficherPremieresLignes(DataFrame.MAX_LIGNES_AFFICHEES + 5);
+            df.afficherDernieresLignes(3);
+        } finally {
+            System.setOut(sortieStandard);
+        }
+        String attendu = df.afficherLignes(0, 0) + df.afficherLignes(DataFrame.MAX_LIGNES_AFFICHEES + 5, 1)
+                + df.afficherLignes(3, 2);
+        assertEquals(attendu, octets.toString(StandardCharsets.UTF_8));
+        assertFalse(attendu.contains("..."));
+    }
+}
@@ -0,0 +1,137 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class SeriesCategorielleTest {
+
+    // On vérifie que chaque valeur distincte n'est stockée qu'une fois dans le dictionnaire
+    @Test
+    public void testDictionnaire() {
+        SeriesCategorielle serie = new SeriesCategorielle(Arrays.asList("France", "Italie", "France", null, "Italie"));
+
+        assertEquals(5, serie.size());
+        assertEquals(2, serie.getNbModalites());
+        assertEquals(List.of("France", "Italie"), serie.getModalites());
+        assertEquals(serie.getCode(0), serie.getCode(2));
+        assertEquals(SeriesCategorielle.CODE_NUL, serie.getCode(3));
+        assertNull(serie.get(3));
+        // Les valeurs égales sont une seule et même chaîne
+        assertSame(serie.get(0), serie.get(2));
+        assertFalse(serie.estNumerique());
+    }
+
+    // On vérifie que les valeurs lues sous forme d'octets sont cherchées dans le dictionnaire sans doublon
+    @Test
+    public void testAjoutParOctets() {
+        byte[] octets = "Paris,Lyon,Paris,Évry".getBytes(StandardCharsets.UTF_8);
+        SeriesCategorielle serie = new SeriesCategorielle();
+        serie.ajouter(octets, 0, 5);
+        serie.ajouter(octets, 6, 10);
+        serie.ajouter(octets, 11, 16);
+        serie.ajouter(octets, 17, octets.length);
+
+        assertEquals(3, serie.getNbModalites());
+        assertEquals("Paris", serie.get(2));
+        assertEquals("Évry", serie.get(3));
+        assertEquals(serie.code("Paris"), serie.getCode(2));
+    }
+
+    // On vérifie que le dictionnaire reste correct au-delà de sa capacité initiale
+    @Test
+    public void testNombreuxModalites() {
+        SeriesCategorielle serie = new SeriesCategorielle();
+        for (int i = 0; i < 10_000; i++) {
+            serie.ajouter("valeur" + (i % 1000));
+        }
+
+        assertEquals(1000, serie.getNbModalites());
+        assertEquals("valeur999", serie.get(9999));
+        assertEquals(10, serie.positionsEgales("valeur42").length);
+    }
+
+    // On vérifie les comparaisons d'égalité sur les codes, y compris pour une valeur absente ou manquante
+    @Test
+    public void testPositionsEgales() {
+        SeriesCategorielle serie = new SeriesCategorielle(Arrays.asList("a", "b", null, "a"));
+
+        assertArrayEquals(new int[] {0, 3}, serie.positionsEgales("a"));
+        assertArrayEquals(new int[] {2}, serie.positionsEgales(null));
+        assertArrayEquals(new int[0], serie.positionsEgales("z"));
+        assertArrayEquals(new int[] {0, 1, 3}, serie.positionsParmi(List.of("b", "a", "z")));
+    }
+
+    // On vérifie que la vue List et la sélection conservent les codes et le type
+    @Test
+    public void testModificationEtSelection() {
+        SeriesCategorielle serie = new SeriesCategorielle(Arrays.asList("a", "b", "c"));
+        serie.getData().set(1, "a");
+        serie.getData().add(0, null);
+
+        SeriesCategorielle selection = serie.selectionner(new int[] {2, -1, 0});
+
+        assertEquals(Arrays.asList(null, "a", "a", "c"), serie.getData());
+        assertEquals(SeriesCategorielle.CODE_NUL, serie.getCode(0));
+        assertEquals("a", selection.get(0));
+        assertTrue(selection.estNul(1));
+        assertTrue(selection.estNul(2));
+        assertEquals(serie.code("a"), selection.getCode(0));
+    }
+
+    // On vérifie que le filtre par égalité et loc fonctionnent sur une colonne catégorielle
+    @Test
+    public void testFiltreEtLocSurLesCodes() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Pays", new SeriesCategorielle(Arrays.asList("France", "Italie", "France", "Espagne")));
+        colonnes.put("Ville", new SeriesCategorielle(Arrays.asList("Paris", "Rome", "Lyon", "Madrid")));
+        colonnes.put("Population", new SeriesInt(new int[] {2100, 2800, 500, 3200}));
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        DataFrame francais = dataframe.filtrer(Condition.egal("Pays", "France"));
+        assertEquals(2, francais.getColonneByName("Pays").size());
+        assertTrue(francais.getColonneByName("Pays") instanceof SeriesCategorielle);
+        assertEquals(500, francais.getColonneByName("Population").get(1));
+
+        dataframe.setIndex("Ville");
+        DataFrame selection = dataframe.loc(List.of("Madrid", "Rome"));
+        assertTrue(dataframe.getColonneByName("Index") instanceof SeriesCategorielle);
+        // loc renvoie les lignes dans l'ordre de la demande
+        assertEquals(Arrays.asList("Madrid", "Rome"), selection.getColonneByName("Index").getData());
+        assertEquals("Espagne", selection.getColonneByName("Pays").get(0));
+    }
+
+    // On vérifie que depuisCodes utilise les codes tels quels
+    @Test
+    public void testDepuisCodes() {
+        SeriesCategorielle serie = SeriesCategorielle.depuisCodes(new int[] {1, SeriesCategorielle.CODE_NUL, 0}, Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("b", null, "a"), serie.getData());
+    }
+
+    // On vérifie qu'une modalité en double est refusée, même après une modalité distincte
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepuisCodesModaliteEnDouble() {
+        SeriesCategorielle.depuisCodes(new int[] {0, 1, 2}, List.of("a", "b", "b"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepuisCodesModaliteNulle() {
+        SeriesCategorielle.depuisCodes(new int[] {0}, Arrays.asList("a", null));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDepuisCodesHorsDuDictionnaire() {
+        SeriesCategorielle.depuisCodes(new int[] {0, 2}, Arrays.asList("a", "b"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class SeriesPrimitiveTest {
+
+    // On vérifie qu'une SeriesDouble se comporte comme une Series classique à travers getData()
+    @Test
+    public void testSeriesDoubleGetData() {
+        SeriesDouble serie = new SeriesDouble(new double[] {1.5, 2.5, 3.5});
+        assertEquals(3, serie.size());
+        assertEquals(2.5, serie.getData().get(1), 0.0001);
+        assertEquals(Double.valueOf(3.5), serie.get(2));
+        assertTrue(serie.estNumerique());
+    }
+
+    // On vérifie que les ajouts (primitifs et par la vue List) agrandissent bien le tableau
+    @Test
+    public void testSeriesDoubleAjout() {
+        SeriesDouble serie = new SeriesDouble(1);
+        for (int i = 0; i < 100; i++) {
+            serie.ajouter(i);
+        }
+        serie.getData().add(100.0);
+        assertEquals(101, serie.size());
+        assertEquals(100.0, serie.getDouble(100), 0.0001);
+        assertEquals(50.0, serie.moyenne(), 0.0001);
+    }
+
+    // On vérifie que les quatre statistiques sont identiques à celles d'une Series classique
+    @Test
+    public void testStatistiquesIdentiquesASeriesClassique() {
+        Series<Number> classique = new Series<>(java.util.Arrays.asList(1, 2, 3, 4, 5));
+        SeriesInt primitive = new SeriesInt(new int[] {1, 2, 3, 4, 5});
+
+        assertEquals(classique.moyenne(), primitive.moyenne(), 0.0001);
+        assertEquals(classique.minimum(), primitive.minimum(), 0.0001);
+        assertEquals(classique.maximum(), primitive.maximum(), 0.0001);
+        assertEquals(classique.ecartType(), primitive.ecartType(), 0.0001);
+    }
+
+    // On vérifie que les valeurs manquantes sont ignorées par les statistiques
+    @Test
+    public void testValeursNullesIgnorees() {
+        SeriesLong serie = new SeriesLong();
+        serie.ajouterNul();
+        serie.ajouter(1);
+        serie.getData().add(null);
+        serie.ajouter(3);
+
+        assertEquals(4, serie.size());
+        assertNull(serie.get(0));
+        assertTrue(serie.estNul(2));
+        assertEquals(2, serie.nombreNuls());
+        assertEquals(2.0, serie.moyenne(), 0.0001);
+        assertEquals(1.0, serie.minimum(), 0.0001);
+        assertEquals(3.0, serie.maximum(), 0.0001);
+        assertEquals(2, serie.getValeursNumeriques().size());
+    }
+
+    // On vérifie que les statistiques d'une série primitive vide valent NaN
+    @Test
+    public void testStatistiquesSerieVide() {
+        SeriesDouble serie = new SeriesDouble();
+        assertTrue(Double.isNaN(serie.moyenne()));
+        assertTrue(Double.isNaN(serie.minimum()));
+        assertTrue(Double.isNaN(serie.maximum()));
+        assertTrue(Double.isNaN(serie.ecartType()));
+    }
+
+    // On vérifie que la modification par la vue List (set, insertion, suppression) est répercutée dans le tableau
+    @Test
+    public void testModificationParLaVue() {
+        SeriesInt serie = new SeriesInt(new int[] {10, 20, 30});
+        List<Integer> vue = serie.getData();
+
+        vue.set(0, null);
+        vue.add(1, 15);
+        vue.remove(3);
+
+        assertEquals(3, serie.size());
+        assertNull(serie.get(0));
+        assertEquals(15, serie.getInt(1));
+        assertEquals(20, serie.getInt(2));
+        assertArrayEquals(new int[] {0, 15, 20}, serie.toArray());
+    }
+
+    // On vérifie que selectionner conserve le type primitif et les valeurs manquantes
+    @Test
+    public void testSelectionnerConserveLeType() {
+        SeriesDouble serie = new SeriesDouble(new double[] {1, 2, 3, 4});
+        serie.getData().set(2, null);
+
+        Series<Double> selection = serie.selectionner(new int[] {3, 2, -1, 0});
+
+        assertTrue(selection instanceof SeriesDouble);
+        assertEquals(4.0, selection.getDouble(0), 0.0001);
+        assertTrue(selection.estNul(1));
+        assertTrue(selection.estNul(2));
+        assertEquals(1.0, selection.getDouble(3), 0.0001);
+    }
+
+    // On vérifie qu'une SeriesBooleen n'est pas numérique, comme une Series<Boolean>
+    @Test
+    public void testSeriesBooleen() {
+        SeriesBooleen serie = new SeriesBooleen(new boolean[] {true, false, true});
+        assertFalse(serie.estNumerique());
+        assertTrue(serie.getBooleen(0));
+        assertEquals(Boolean.FALSE, serie.getData().get(1));
+        assertTrue(Double.isNaN(serie.moyenne()));
+    }
+
+    // On vérifie qu'une position hors limites lève une exception
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testPositionHorsLimites() {
+        SeriesDouble serie = new SeriesDouble(new double[] {1, 2});
+        serie.getDouble(2);
+    }
+
+    // On vérifie l'ajout d'une série entière : valeurs recopiées, valeurs manquantes décalées, ajout à soi-même
+    @Test
+    public void testAjouterTout() {
+        SeriesLong serie = new SeriesLong(new long[] {1, 2});
+        SeriesLong autre = new SeriesLong(new long[] {Long.MAX_VALUE, 0, 4});
+        autre.getData().set(1, null);
+
+        serie.ajouterTout(autre);
+        serie.ajouterTout(serie);
+
+        assertEquals(java.util.Arrays.asList(1L, 2L, Long.MAX_VALUE, null, 4L, 1L, 2L, Long.MAX_VALUE, null, 4L), serie.getData());
+        SeriesBooleen booleens = new SeriesBooleen(new boolean[] {true});
+        booleens.ajouterTout(new SeriesBooleen(new boolean[] {false, true}));
+        assertEquals(java.util.Arrays.asList(true, false, true), booleens.getData());
+    }
+
+    // On vérifie que les séries primitives s'utilisent dans un DataFrame et survivent aux sélections
+    @Test
+    public void testSeriesPrimitivesDansDataFrame() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Age", new SeriesInt(new int[] {21, 14, 26, 24}));
+        colonnes.put("Taille", new SeriesDouble(new double[] {1.65, 1.40, 1.80, 1.72}));
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        DataFrame filtre = dataframe.filter(ligne -> (int) ligne.get("Age") > 20);
+        DataFrame tranche = dataframe.iloc(1, 3, 0, 2);
+
+        assertEquals(3, filtre.getColonneByName("Age").size());
+        assertTrue(filtre.getColonneByName("Age") instanceof SeriesInt);
+        assertTrue(tranche.getColonneByName("Taille") instanceof SeriesDouble);
+        assertEquals(1.40, tranche.getColonneByName("Taille").getDouble(0), 0.0001);
+        assertSame(Integer.class, dataframe.loc(List.of("2")).getColonneByName("Age").get(0).getClass());
+    }
+}
@@ -0,0 +1,143 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class SeriesVueTest {
+
+    private DataFrame creerDataFrame() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Nom", new Series<>(new ArrayList<>(Arrays.asList("Lisa", "Justine", "Eva", "Anna", "Zoe", "Louis"))));
+        colonnes.put("Age", new SeriesInt(new int[] {21, 22, 23, 24, 25, 26}));
+        colonnes.put("Taille", new SeriesDouble(new double[] {1.60, 1.65, 1.70, 1.75, 1.80, 1.85}));
+        colonnes.put("Ville", new SeriesCategorielle(Arrays.asList("Paris", "Lyon", "Paris", "Nice", "Lyon", "Paris")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie la lecture par une vue avec un pas, et la composition de deux vues
+    @Test
+    public void testLectureEtComposition() {
+        SeriesDouble origine = new SeriesDouble(new double[] {0, 1, 2, 3, 4, 5, 6, 7, 8, 9});
+        origine.getData().set(4, null);
+        SeriesVue<Double> vue = new SeriesVue<>(origine, 2, 4, 2);
+
+        assertEquals(Arrays.asList(2.0, null, 6.0, 8.0), vue.getData());
+        assertTrue(vue.estNul(1));
+        assertEquals(6.0, vue.getDouble(2), 0);
+        assertTrue(vue.estNumerique());
+        assertEquals(16.0 / 3, vue.moyenne(), 1e-12);
+
+        SeriesVue<Double> sousVue = new SeriesVue<>(vue, 1, 2, 2);
+        assertEquals(Arrays.asList(null, 8.0), sousVue.getData());
+    }
+
+    // On vérifie qu'une vue reflète les modifications de l'origine, et qu'une écriture dans la vue recopie la tranche
+    @Test
+    public void testCopieALEcriture() {
+        SeriesInt origine = new SeriesInt(new int[] {1, 2, 3, 4});
+        SeriesVue<Integer> vue = new SeriesVue<>(origine, 1, 2, 1);
+
+        origine.definir(1, 20);
+        assertEquals(Arrays.asList(20, 3), vue.getData());
+        assertFalse(vue.estRecopiee());
+
+        vue.getData().set(0, 200);
+        vue.getData().add(5);
+        assertTrue(vue.estRecopiee());
+        assertEquals(Arrays.asList(200, 3, 5), vue.getData());
+        assertEquals(Arrays.asList(1, 20, 3, 4), origine.getData());
+        assertTrue(vue.selectionner(new int[] {0, 2}) instanceof SeriesInt);
+    }
+
+    // On vérifie qu'ilocVue respecte la plage et le pas des colonnes (numérotées comme pour iloc, "Index" compris)
+    @Test
+    public void testIlocVueColonnes() {
+        DataFrame dataframe = creerDataFrame();
+
+        DataFrame sousDataFrame = dataframe.ilocVue(1, 6, 2, 1, 5, 2);
+
+        assertEquals(Arrays.asList("Index", "Nom", "Taille"), new ArrayList<>(sousDataFrame.colonne.keySet()));
+        assertEquals(Arrays.asList("Justine", "Anna", "Louis"), sousDataFrame.getColonneByName("Nom").getData());
+        assertEquals(Arrays.asList(1.65, 1.75, 1.85), sousDataFrame.getColonneByName("Taille").getData());
+        assertEquals(Arrays.asList("1", "3", "5"), sousDataFrame.getColonneByName("Index").getData());
+        assertEquals(Arrays.asList("Index", "Age"), new ArrayList<>(dataframe.ilocVue(0, 2, 2, 3).colonne.keySet()));
+    }
+
+    // On vérifie que les opérations du DataFrame fonctionnent sur une vue et que copy() rend des colonnes typées
+    @Test
+    public void testOperationsSurVue() {
+        DataFrame page = creerDataFrame().ilocVue(2, 6, 0, 5);
+
+        assertEquals(Arrays.asList("Eva", "Zoe"), page.filtrer(Condition.superieur("Age", 23).et(Condition.egal("Ville", "Paris")).non()
+                .et(Condition.parmi("Nom", Arrays.asList("Eva", "Zoe")))).getColonneByName("Nom").getData());
+        assertEquals(Arrays.asList(25), page.loc(Arrays.asList("4")).getColonneByName("Age").getData());
+        assertEquals(24.5, page.getColonneByName("Age").moyenne(), 1e-12);
+
+        DataFrame copie = page.copy();
+        assertTrue(copie.getColonneByName("Age") instanceof SeriesInt);
+        assertTrue(copie.getColonneByName("Ville") instanceof SeriesCategorielle);
+        assertEquals(Arrays.asList("Paris", "Nice", "Lyon", "Paris"), copie.getColonneByName("Ville").getData());
+    }
+
+    // On vérifie que la modification d'une page ne touche pas le DataFrame d'origine
+    @Test
+    public void testModificationPage() {
+        DataFrame dataframe = creerDataFrame();
+        DataFrame page = dataframe.ilocVue(0, 3, 0, 5);
+
+        ((List<Object>) page.getColonneByName("Nom").getData()).set(0, "Lucie");
+
+        assertEquals("Lucie", page.getColonneByName("Nom").get(0));
+        assertEquals("Lisa", dataframe.getColonneByName("Nom").get(0));
+    }
+
+    // On vérifie qu'iloc recopie les lignes dans des colonnes typées, alors qu'ilocVue renvoie des vues
+    // qui suivent les modifications de l'origine
+    @Test
+    public void testIlocCopieEtIlocVue() {
+        SeriesDouble tailles = new SeriesDouble(new double[] {1.60, 1.65, 1.70, 1.75});
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Taille", tailles);
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        DataFrame copie = dataframe.iloc(1, 3, 0, 2);
+        DataFrame vue = dataframe.ilocVue(1, 3, 0, 2);
+        tailles.definir(1, 2.0);
+
+        assertTrue(copie.getColonneByName("Taille") instanceof SeriesDouble);
+        assertEquals(Arrays.asList(1.65, 1.70), copie.getColonneByName("Taille").getData());
+        assertTrue(vue.getColonneByName("Taille") instanceof SeriesVue);
+        assertEquals(Arrays.asList(2.0, 1.70), vue.getColonneByName("Taille").getData());
+        assertEquals(Arrays.asList("1", "2"), vue.getColonneByName("Index").getData());
+    }
+
+    // On vérifie qu'une page d'un grand DataFrame porte sur les colonnes d'origine, sans recopier les lignes
+    @Test
+    public void testPagination() {
+        int nbLignes = 1_000;
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(new int[nbLignes]));
+        SeriesDouble valeurs = new SeriesDouble(new double[nbLignes]);
+        colonnes.put("Valeur", valeurs);
+        DataFrame dataframe = new DataFrame(colonnes);
+
+        int total = 0;
+        for (int page = 0; page < nbLignes; page += 100) {
+            DataFrame vue = dataframe.ilocVue(page, page + 100, 0, 2);
+            valeurs.definir(page + 99, page);
+            assertEquals(page, vue.getColonneByName("Valeur").getDouble(99), 0);
+            assertFalse(((SeriesVue<?>) vue.getColonneByName("Valeur")).estRecopiee());
+            total += vue.getColonneByName("Valeur").size();
+        }
+        assertEquals(nbLignes, total);
+    }
+}
@@ -0,0 +1,163 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StatistiquesTest {
+
+    // On vérifie toutes les statistiques d'une série classique contenant des valeurs manquantes
+    @Test
+    public void testDecrireSerieClassique() {
+        Statistiques stats = new Series<Number>(Arrays.asList(null, 1, 2.5, null, 4, 8)).decrire();
+
+        assertTrue(stats.estNumerique());
+        assertEquals(4, stats.getNombre());
+        assertEquals(2, stats.getNombreNuls());
+        assertEquals(15.5, stats.getSomme(), 1e-12);
+        assertEquals(3.875, stats.getMoyenne(), 1e-12);
+        assertEquals(1.0, stats.getMinimum(), 0);
+        assertEquals(8.0, stats.getMaximum(), 0);
+        assertEquals(9.0625, stats.getVariance(), 1e-12);
+        assertEquals(Math.sqrt(9.0625), stats.getEcartType(), 1e-12);
+    }
+
+    // On vérifie qu'une série non numérique, vide ou réduite à une valeur donne des NaN
+    @Test
+    public void testCasParticuliers() {
+        Statistiques texte = new Series<>(Arrays.asList("a", "b")).decrire();
+        assertFalse(texte.estNumerique());
+        assertEquals(0, texte.getNombre());
+        assertTrue(Double.isNaN(texte.getSomme()));
+        assertTrue(Double.isNaN(texte.getMoyenne()));
+
+        Statistiques vide = new SeriesDouble(0).decrire();
+        assertEquals(0.0, vide.getSomme(), 0);
+        assertTrue(Double.isNaN(vide.getMinimum()));
+
+        Statistiques seule = new SeriesInt(new int[] {7}).decrire();
+        assertEquals(7.0, seule.getMoyenne(), 0);
+        assertTrue(Double.isNaN(seule.getVariance()));
+    }
+
+    // On vérifie que Welford reste précis là où la formule naïve (somme des carrés - carré de la somme) échoue
+    @Test
+    public void testStabiliteNumerique() {
+        SeriesDouble serie = new SeriesDouble(0);
+        for (int i = 0; i < 1000; i++) {
+            serie.ajouter(1e9 + (i % 2));
+        }
+        Statistiques stats = serie.decrire();
+
+        assertEquals(1e9 + 0.5, stats.getMoyenne(), 1e-6);
+        assertEquals(0.25 * 1000 / 999, stats.getVariance(), 1e-9);
+    }
+
+    // On vérifie que les séries primitives, classiques et les vues donnent les mêmes statistiques
+    @Test
+    public void testEquivalenceDesSeries() {
+        Random aleatoire = new Random(42);
+        double[] valeurs = new double[10_000];
+        Double[] objets = new Double[valeurs.length];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = aleatoire.nextGaussian() * 100;
+            objets[i] = valeurs[i];
+        }
+        Statistiques primitive = new SeriesDouble(valeurs).decrire();
+        Statistiques classique = new Series<>(Arrays.asList(objets)).decrire();
+        Statistiques vue = new SeriesVue<>(new SeriesDouble(valeurs), 0, valeurs.length, 1).decrire();
+
+        for (Statistiques stats : Arrays.asList(classique, vue)) {
+            assertEquals(primitive.getMoyenne(), stats.getMoyenne(), 0);
+            assertEquals(primitive.getEcartType(), stats.getEcartType(), 0);
+            assertEquals(primitive.getMinimum(), stats.getMinimum(), 0);
+            assertEquals(primitive.getMaximum(), stats.getMaximum(), 0);
+        }
+        assertEquals(Arrays.stream(valeurs).average().getAsDouble(), primitive.getMoyenne(), 1e-9);
+    }
+
+    // On vérifie que les statistiques sont mémorisées, puis recalculées après une modification par l'API
+    @Test
+    public void testMemorisationEtInvalidation() {
+        Series<Integer> classique = new Series<>(new ArrayList<>(Arrays.asList(1, 2, 3)));
+        Statistiques avant = classique.decrire();
+        assertSame(avant, classique.decrire());
+        assertTrue(classique.estNumerique());
+
+        classique.getData().add(null);
+        assertNotSame(avant, classique.decrire());
+        assertEquals(1, classique.nombreNuls());
+        classique.getData().set(0, 10);
+        assertEquals(10.0, classique.maximum(), 0);
+        ((List<Object>) (List<?>) classique.getData()).add("texte");
+        assertFalse(classique.estNumerique());
+
+        SeriesLong primitive = new SeriesLong(new long[] {5, 6});
+        assertEquals(5.5, primitive.moyenne(), 0);
+        primitive.ajouter(10);
+        assertEquals(7.0, primitive.moyenne(), 0);
+        primitive.definir(0, 2);
+        assertEquals(2.0, primitive.minimum(), 0);
+        primitive.getData().remove(0);
+        assertEquals(8.0, primitive.moyenne(), 0);
+    }
+
+    // On vérifie qu'une vue est invalidée par une modification de sa série d'origine ou par sa recopie
+    @Test
+    public void testInvalidationDesVues() {
+        SeriesDouble origine = new SeriesDouble(new double[] {1, 2, 3, 4});
+        SeriesVue<Double> vue = new SeriesVue<>(origine, 0, 2, 2);
+        assertEquals(2.0, vue.moyenne(), 0);
+
+        origine.definir(2, 5);
+        assertEquals(3.0, vue.moyenne(), 0);
+        vue.getData().set(0, 7.0);
+        assertEquals(6.0, vue.moyenne(), 0);
+        assertEquals(1.0, origine.minimum(), 0);
+    }
+
+    // On vérifie qu'une écriture par la vue après decrire() invalide les statistiques, quelle que soit la version
+    // de la série d'origine au moment de la recopie
+    @Test
+    public void testEcritureParLaVueApresDecrire() {
+        SeriesDouble origine = new SeriesDouble(new double[] {1, 2, 3, 4});
+        for (int i = 0; i < 4; i++) {
+            SeriesVue<Double> vue = new SeriesVue<>(origine, 0, 4, 1);
+            assertEquals(10.0, vue.decrire().getSomme(), 0);
+
+            vue.getData().set(0, 100.0);
+            assertEquals(Arrays.asList(100.0, 2.0, 3.0, 4.0), vue.getData());
+            assertEquals(109.0, vue.decrire().getSomme(), 0);
+            vue.getData().set(1, 20.0);
+            assertEquals(127.0, vue.decrire().getSomme(), 0);
+            assertEquals(10.0, origine.decrire().getSomme(), 0);
+            origine.definir(0, 1);
+        }
+    }
+
+    // On vérifie que l'index par hachage est reconstruit quand la colonne "Index" est modifiée
+    @Test
+    public void testInvalidationIndex() {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new Series<>(new ArrayList<>(Arrays.asList("a", "b", "c"))));
+        colonnes.put("Valeur", new SeriesInt(new int[] {1, 2, 3}));
+        DataFrame dataframe = new DataFrame(colonnes);
+        assertEquals(Arrays.asList(2), dataframe.loc(Arrays.asList("b")).getColonneByName("Valeur").getData());
+
+        ((List<String>) dataframe.getColonneByName("Index").getData()).set(1, "z");
+
+        assertEquals(0, dataframe.loc(Arrays.asList("b")).getColonneByName("Valeur").size());
+        assertEquals(Arrays.asList(2), dataframe.loc(Arrays.asList("z")).getColonneByName("Valeur").getData());
+    }
+}
@@ -0,0 +1,160 @@
+package com.jpandas.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class TriTest {
+
+    private static DataFrame creerDataFrame() {
+        SeriesDouble prix = new SeriesDouble(6);
+        prix.ajouter(2.5);
+        prix.ajouter(-1.0);
+        prix.ajouterNul();
+        prix.ajouter(2.5);
+        prix.ajouter(Double.NaN);
+        prix.ajouter(-3.5);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Pays", new SeriesCategorielle(Arrays.asList("Italie", "France", "Italie", null, "France", "Espagne")));
+        colonnes.put("Age", new SeriesInt(new int[] { 30, 25, 18, 40, 25, -5 }));
+        colonnes.put("Prix", prix);
+        colonnes.put("Nom", new Series<>(Arrays.asList("b", "a", "c", "a", "d", "b")));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie le tri croissant d'une colonne entière ; l'index suit les lignes
+    @Test
+    public void testTriEntier() {
+        DataFrame trie = creerDataFrame().sortValues("Age");
+        assertEquals(Arrays.asList(-5, 18, 25, 25, 30, 40), trie.getColonneByName("Age").getData());
+        assertEquals(Arrays.asList("5", "2", "1", "4", "0", "3"), trie.getColonneByName("Index").getData());
+        assertTrue(trie.getColonneByName("Age") instanceof SeriesInt);
+    }
+
+    // On vérifie le tri décroissant d'une colonne réelle : valeurs manquantes et NaN à la fin, tri stable
+    @Test
+    public void testTriReelDecroissant() {
+        DataFrame trie = creerDataFrame().sortValues(new String[] { "Prix" }, false);
+        assertEquals(Arrays.asList("0", "3", "1", "5", "2", "4"), trie.getColonneByName("Index").getData());
+    }
+
+    // On vérifie le tri sur plusieurs colonnes, dans des sens différents, avec une clé catégorielle
+    @Test
+    public void testPlusieursColonnes() {
+        DataFrame trie = creerDataFrame().sortValues(new String[] { "Pays", "Age" }, true, false);
+        assertEquals(Arrays.asList("Espagne", "France", "France", "Italie", "Italie", null), trie.getColonneByName("Pays").getData());
+        assertEquals(Arrays.asList(-5, 25, 25, 30, 18, 40), trie.getColonneByName("Age").getData());
+        // Deux lignes égales ("France", 25) gardent leur ordre
+        assertEquals(Arrays.asList("5", "1", "4", "0", "2", "3"), trie.getColonneByName("Index").getData());
+    }
+
+    // On vérifie le tri d'une colonne de textes
+    @Test
+    public void testTriTextes() {
+        DataFrame trie = creerDataFrame().sortValues(new String[] { "Nom" }, false);
+        assertEquals(Arrays.asList("d", "c", "b", "b", "a", "a"), trie.getColonneByName("Nom").getData());
+        assertEquals(Arrays.asList("4", "2", "0", "5", "1", "3"), trie.getColonneByName("Index").getData());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneAbsente() {
+        creerDataFrame().sortValues("Inconnue");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNombreDeSensIncorrect() {
+        creerDataFrame().sortValues(new String[] { "Age", "Prix", "Nom" }, true, false);
+    }
+
+    // On vérifie le tri des nombres à virgule contre un tri stable de référence, sur des valeurs de tous signes
+    @Test
+    public void testTriReelsCommeReference() {
+        Random aleatoire = new Random(11);
+        int taille = 10_000;
+        double[] valeurs = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            valeurs[i] = i % 10 == 0 ? valeurs[i / 2] : aleatoire.nextGaussian() * Math.pow(10, aleatoire.nextInt(10) - 5);
+        }
+        int[] permutation = Tri.permutation(new Series<?>[] { new SeriesDouble(valeurs) }, new boolean[] { true });
+
+        Integer[] reference = new Integer[taille];
+        for (int i = 0; i < taille; i++) {
+            reference[i] = i;
+        }
+        Arrays.sort(reference, Comparator.comparingDouble(i -> valeurs[i]));
+        assertArrayEquals(Arrays.stream(reference).mapToInt(Integer::intValue).toArray(), permutation);
+    }
+
+    // On vérifie le tri parallèle (utilisé pour les nombres à virgule sur plusieurs processeurs) contre le tri par base
+    @Test
+    public void testTriParalleleCommeTriParBase() {
+        Random aleatoire = new Random(19);
+        int taille = 100_000;
+        long[] cles = new long[taille];
+        for (int i = 0; i < taille; i++) {
+            // Beaucoup de clés égales sur leurs 32 bits de poids fort, et des doublons
+            cles[i] = i % 4 == 0 ? cles[i / 2] : Tri.cleDouble(aleatoire.nextInt(100) + aleatoire.nextInt(1000) * 1e-12);
+        }
+        int[] parallele = new int[taille];
+        int[] parBase = new int[taille];
+        Arrays.setAll(parallele, i -> i);
+        Arrays.setAll(parBase, i -> i);
+        Tri.trierEnParallele(parallele, cles.clone(), taille);
+        Tri.trierParBase(parBase, cles.clone(), taille);
+        assertArrayEquals(parBase, parallele);
+    }
+
+    // On vérifie le tri par base des entiers contre un tri stable de référence, en ordre décroissant
+    @Test
+    public void testTriParBaseCommeReference() {
+        Random aleatoire = new Random(17);
+        int taille = 10_000;
+        long[] valeurs = new long[taille];
+        for (int i = 0; i < taille; i++) {
+            valeurs[i] = i % 3 == 0 ? aleatoire.nextInt(50) - 25 : aleatoire.nextLong();
+        }
+        int[] permutation = Tri.permutation(new Series<?>[] { new SeriesLong(valeurs) }, new boolean[] { false });
+
+        Integer[] reference = new Integer[taille];
+        for (int i = 0; i < taille; i++) {
+            reference[i] = i;
+        }
+        Arrays.sort(reference, (i, j) -> Long.compare(valeurs[j], valeurs[i]));
+        assertArrayEquals(Arrays.stream(reference).mapToInt(Integer::intValue).toArray(), permutation);
+    }
+
+    // On vérifie l'ordre d'un DataFrame trié sur deux colonnes avec de nombreuses égalités sur la première
+    @Test
+    public void testOrdreSurDeuxColonnes() {
+        int taille = 20_000;
+        Random aleatoire = new Random(13);
+        int[] entiers = new int[taille];
+        double[] reels = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            entiers[i] = aleatoire.nextInt(1000);
+            reels[i] = aleatoire.nextDouble();
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Groupe", new SeriesInt(entiers));
+        colonnes.put("Valeur", new SeriesDouble(reels));
+        DataFrame df = new DataFrame(colonnes);
+
+        DataFrame trie = df.sortValues("Groupe", "Valeur");
+
+        Series<?> groupes = trie.getColonneByName("Groupe");
+        Series<?> valeurs = trie.getColonneByName("Valeur");
+        for (int i = 1; i < taille; i++) {
+            double g1 = groupes.getDouble(i - 1);
+            double g2 = groupes.getDouble(i);
+            assertTrue(g1 < g2 || (g1 == g2 && valeurs.getDouble(i - 1) <= valeurs.getDouble(i)));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.TypeColonne;
+
+public class AnalyseurCSVTest {
+
+    // Crée un analyseur sur un texte lu à travers un canal (comme un fichier)
+    private static AnalyseurCSV analyseur(String texte, char separateur) {
+        ByteArrayInputStream flux = new ByteArrayInputStream(texte.getBytes(StandardCharsets.UTF_8));
+        return new AnalyseurCSV(Channels.newChannel(flux), (byte) separateur);
+    }
+
+    // On vérifie le découpage des champs entre guillemets : séparateur, guillemets échappés et fin de ligne à l'intérieur
+    @Test
+    public void testChampsEntreGuillemets() throws IOException {
+        AnalyseurCSV analyseur = analyseur("\"Dupont, Jean\",\"il dit \"\"bonjour\"\"\",\"ligne1\nligne2\"\n", ',');
+
+        assertTrue(analyseur.suivant());
+        assertArrayEquals(new String[] {"Dupont, Jean", "il dit \"bonjour\"", "ligne1\nligne2"}, analyseur.getTextes());
+        assertFalse(analyseur.suivant());
+    }
+
+    // On vérifie les fins de ligne Windows, les lignes vides, la dernière ligne sans fin de ligne et les champs vides
+    @Test
+    public void testFinsDeLigneEtChampsVides() throws IOException {
+        AnalyseurCSV analyseur = analyseur("a,b\r\n\r\n,\"\"\r\nc,", ',');
+
+        assertTrue(analyseur.suivant());
+        assertArrayEquals(new String[] {"a", "b"}, analyseur.getTextes());
+        assertTrue(analyseur.suivant());
+        assertArrayEquals(new String[] {"", ""}, analyseur.getTextes());
+        assertTrue(analyseur.suivant());
+        assertArrayEquals(new String[] {"c", ""}, analyseur.getTextes());
+        assertFalse(analyseur.suivant());
+    }
+
+    // On vérifie qu'un séparateur personnalisé est utilisé et que la virgule devient un caractère ordinaire
+    @Test
+    public void testSeparateurPersonnalise() throws IOException {
+        AnalyseurCSV analyseur = analyseur("1,5;\"x;y\";z\n", ';');
+
+        assertTrue(analyseur.suivant());
+        assertArrayEquals(new String[] {"1,5", "x;y", "z"}, analyseur.getTextes());
+    }
+
+    // On vérifie qu'un enregistrement plus grand que le tampon, ou à cheval sur deux remplissages, est lu en entier
+    @Test
+    public void testEnregistrementPlusGrandQueLeTampon() throws IOException {
+        StringBuilder champLong = new StringBuilder();
+        for (int i = 0; i < AnalyseurCSV.TAILLE_TAMPON * 2; i++) {
+            champLong.append((char) ('a' + i % 26));
+        }
+        AnalyseurCSV analyseur = new AnalyseurCSV(ByteBuffer.wrap(("x,\"" + champLong + "\"\r\ny,z").getBytes(StandardCharsets.UTF_8)), (byte) ',');
+
+        assertTrue(analyseur.suivant());
+        assertEquals(champLong.toString(), analyseur.getTexte(1));
+        assertTrue(analyseur.suivant());
+        assertEquals("z", analyseur.getTexte(1));
+        assertFalse(analyseur.suivant());
+    }
+
+    // On vérifie que les nombres transmis sous forme d'octets ont la même valeur qu'avec Double.parseDouble / Long.parseLong
+    @Test
+    public void testConversionDesOctets() throws IOException {
+        String[] nombres = {"0.1", "-2.5e3", "1e-5", "123456789.123456789", "4.9e-324", "+7", ".5", "1.", "-0", "1E22", "NaN"};
+        AnalyseurCSV analyseur = analyseur(String.join(",", nombres) + "\n-9223372036854775808,9223372036854775807\n", ',');
+
+        assertTrue(analyseur.suivant());
+        ConstructeurColonne doubles = new ConstructeurColonne(TypeColonne.DOUBLE, true, nombres.length);
+        for (int j = 0; j < nombres.length; j++) {
+            analyseur.transmettre(j, doubles);
+        }
+        for (int j = 0; j < nombres.length; j++) {
+            assertEquals(nombres[j], Double.parseDouble(nombres[j]), doubles.construire().getDouble(j), 0.0);
+        }
+
+        assertTrue(analyseur.suivant());
+        ConstructeurColonne longs = new ConstructeurColonne(TypeColonne.LONG, true, 2);
+        analyseur.transmettre(0, longs);
+        analyseur.transmettre(1, longs);
+        assertEquals(Long.MIN_VALUE, longs.construire().get(0));
+        assertEquals(Long.MAX_VALUE, longs.construire().get(1));
+    }
+
+    // On vérifie qu'un fichier contenant des champs entre guillemets est lu correctement en DataFrame, avec un séparateur ';'
+    @Test
+    public void testDataFrameAvecGuillemets() throws IOException {
+        Path fichierTMP = Files.createTempFile("analyseur", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(fichierTMP, StandardCharsets.UTF_8)) {
+            writer.write("Nom;Note;Commentaire\r\n\"Zannettacci; Lisa\";\"12\";\"très \"\"bien\"\"\"\r\nReat;14,5;\"sur\ndeux lignes\"\r\n");
+        }
+
+        DataFrame df = new DataFrame(fichierTMP.toString(), new OptionsCSV().avecSeparateur(';'));
+
+        assertEquals("Zannettacci; Lisa", df.getColonneByName("Nom").get(0));
+        assertEquals("14,5", df.getColonneByName("Note").get(1));
+        assertEquals("très \"bien\"", df.getColonneByName("Commentaire").get(0));
+        assertEquals("sur\ndeux lignes", df.getColonneByName("Commentaire").get(1));
+        assertEquals(2, df.getColonneByName("Index").size());
+    }
+
+    // On vérifie que la lecture parallèle ne coupe jamais un champ entre guillemets contenant des fins de ligne
+    @Test
+    public void testLectureParalleleAvecFinsDeLigneEntreGuillemets() throws IOException {
+        Path fichierTMP = Files.createTempFile("analyseur", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(fichierTMP, StandardCharsets.UTF_8)) {
+            writer.write("Id,Texte\n");
+            for (int i = 0; i < 3000; i++) {
+                writer.write(i + ",\"ligne " + i + "\n,suite\"\n");
+            }
+        }
+
+        DataFrame sequentiel = new DataFrame(fichierTMP.toString());
+        DataFrame parallele = new DataFrame(fichierTMP.toString(), new OptionsCSV().avecParallelisme(4));
+
+        assertTrue(parallele.getColonneByName("Id") instanceof SeriesInt);
+        assertEquals(3000, parallele.getColonneByName("Id").size());
+        assertEquals(sequentiel.getColonneByName("Texte").getData(), parallele.getColonneByName("Texte").getData());
+        assertEquals("ligne 2999\n,suite", parallele.getColonneByName("Texte").get(2999));
+    }
+}
@@ -0,0 +1,163 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+
+public class EcrivainCSVTest {
+
+    private static Path creerFichier() throws IOException {
+        Path fichierTMP = Files.createTempFile("ecriture", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        return fichierTMP;
+    }
+
+    private static DataFrame creerDataFrame() {
+        SeriesInt ages = new SeriesInt(new int[] { 21, 0, -35, Integer.MIN_VALUE });
+        ages.getData().set(1, null);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new Series<>(Arrays.asList("a", "b", "c", "d")));
+        colonnes.put("Age", ages);
+        colonnes.put("Identifiant", new SeriesLong(new long[] { Long.MAX_VALUE, 2, Long.MIN_VALUE, 4 }));
+        colonnes.put("Taille", new SeriesDouble(new double[] { 1.65, 0.1, -2.5e-7, 1e300 }));
+        colonnes.put("Majeur", new SeriesBooleen(new boolean[] { true, false, true, false }));
+        colonnes.put("Pays", new SeriesCategorielle(Arrays.asList("France", null, "Pays-Bas, Les", "France")));
+        colonnes.put("Nom", new Series<>(Arrays.asList("Lisa", null, "Zoé \"la\", 🙂", "deux\nlignes")));
+        colonnes.put("Note", new Series<>(Arrays.asList(12, null, 15, 9)));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie que le fichier écrit est relu avec les mêmes valeurs, guillemets et valeurs manquantes compris
+    @Test
+    public void testAllerRetour() throws IOException {
+        DataFrame df = creerDataFrame();
+        Path fichier = creerFichier();
+        df.ecrireCSV(fichier.toString());
+
+        DataFrame relu = new DataFrame(fichier.toString());
+        assertEquals(new ArrayList<>(df.colonne.keySet()), new ArrayList<>(relu.colonne.keySet()));
+        for (String nom : Arrays.asList("Index", "Age", "Identifiant", "Taille", "Majeur", "Note")) {
+            assertEquals(nom, df.getColonneByName(nom).getData(), relu.getColonneByName(nom).getData());
+        }
+        assertTrue(relu.getColonneByName("Taille") instanceof SeriesDouble);
+        // Un texte manquant est écrit comme un champ vide, que le lecteur relit comme un texte vide
+        assertEquals(Arrays.asList("France", "", "Pays-Bas, Les", "France"), relu.getColonneByName("Pays").getData());
+        assertEquals(Arrays.asList("Lisa", "", "Zoé \"la\", 🙂", "deux\nlignes"), relu.getColonneByName("Nom").getData());
+    }
+
+    // On vérifie le texte produit : guillemets seulement si nécessaire, séparateur des options, nombres sans zéros inutiles
+    @Test
+    public void testFormat() throws IOException {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(new int[] { 0, 1, 2, 3, 4, 5 }));
+        colonnes.put("Valeur", new SeriesDouble(new double[] { 12, -3.25, 1e20, 1e-7, -0.0, 0.30000000000000004 }));
+        colonnes.put("Texte", new Series<>(Arrays.asList("a,b", "a;b", "\"", "", null, "été")));
+        StringWriter sortie = new StringWriter();
+
+        new EcrivainCSV(new OptionsCSV().avecSeparateur(';')).ecrire(new DataFrame(colonnes), sortie);
+
+        assertEquals("Index;Valeur;Texte\n"
+                + "0;12.0;a,b\n"
+                + "1;-3.25;\"a;b\"\n"
+                + "2;1.0E20;\"\"\"\"\n"
+                + "3;0.0000001;\n"
+                + "4;-0.0;\n"
+                + "5;0.30000000000000004;été\n", sortie.toString());
+    }
+
+    // On vérifie que chaque nombre à virgule écrit redonne exactement la même valeur
+    @Test
+    public void testNombresRelusExactement() throws IOException {
+        Random aleatoire = new Random(7);
+        double[] valeurs = new double[100_000];
+        for (int i = 0; i < valeurs.length; i++) {
+            switch (i % 4) {
+            case 0:
+                valeurs[i] = aleatoire.nextDouble();
+                break;
+            case 1:
+                valeurs[i] = aleatoire.nextInt(1_000_000) / 100.0;
+                break;
+            case 2:
+                // Tous les exposants possibles (les NaN, écrits "NaN", n'ont pas de bits uniques)
+                valeurs[i] = Double.longBitsToDouble(aleatoire.nextLong());
+                valeurs[i] = Double.isNaN(valeurs[i]) ? 1 : valeurs[i];
+                break;
+            default:
+                valeurs[i] = -aleatoire.nextGaussian() * Math.pow(10, aleatoire.nextInt(30) - 15);
+            }
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new SeriesInt(new int[valeurs.length]));
+        colonnes.put("Valeur", new SeriesDouble(valeurs));
+        ByteArrayOutputStream sortie = new ByteArrayOutputStream();
+
+        new EcrivainCSV().ecrire(new DataFrame(colonnes), sortie);
+
+        String[] lignes = sortie.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(valeurs.length + 1, lignes.length);
+        for (int i = 0; i < valeurs.length; i++) {
+            String champ = lignes[i + 1].substring(2);
+            assertEquals(champ, Double.doubleToLongBits(valeurs[i]), Double.doubleToLongBits(Double.parseDouble(champ)));
+        }
+    }
+
+    // On vérifie que l'écriture parallèle produit exactement les mêmes octets, dans l'ordre des lignes
+    @Test
+    public void testEcritureParallele() throws IOException {
+        DataFrame df = creerGrandDataFrame(100_000);
+        ByteArrayOutputStream sequentielle = new ByteArrayOutputStream();
+        ByteArrayOutputStream parallele = new ByteArrayOutputStream();
+        StringWriter texte = new StringWriter();
+
+        new EcrivainCSV().ecrire(df, sequentielle);
+        new EcrivainCSV(new OptionsCSV().avecParallelisme(4)).ecrire(df, parallele);
+        new EcrivainCSV(new OptionsCSV().avecParallelisme(3)).ecrire(df, texte);
+
+        assertArrayEquals(sequentielle.toByteArray(), parallele.toByteArray());
+        assertEquals(sequentielle.toString(StandardCharsets.UTF_8), texte.toString());
+    }
+
+    private static DataFrame creerGrandDataFrame(int taille) {
+        Random aleatoire = new Random(31);
+        int[] groupes = new int[taille];
+        double[] montants = new double[taille];
+        List<String> pays = new ArrayList<>(taille);
+        String[] modalites = { "France", "Italie", "Pays-Bas, Les", "Espagne" };
+        for (int i = 0; i < taille; i++) {
+            groupes[i] = aleatoire.nextInt(1000) - 500;
+            montants[i] = aleatoire.nextInt(100_000) / 8.0;
+            pays.add(modalites[i % 4]);
+        }
+        SeriesDouble colonneMontants = new SeriesDouble(montants);
+        colonneMontants.getData().set(3, null);
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Groupe", new SeriesInt(groupes));
+        colonnes.put("Montant", colonneMontants);
+        colonnes.put("Pays", new SeriesCategorielle(pays));
+        return new DataFrame(colonnes);
+    }
+}
@@ -0,0 +1,61 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class FichierColonnaireBenchmark {
+
+    private static Path creerFichier(String suffixe) throws IOException {
+        Path fichierTMP = Files.createTempFile("colonnaire", suffixe);
+        fichierTMP.toFile().deleteOnExit();
+        return fichierTMP;
+    }
+
+    // Chargement d'un fichier colonnaire comparé à la lecture du même fichier CSV :
+    // ouverture seule, puis ouverture et décodage de toutes les colonnes
+    @Test
+    public void chargementCompareAuCSV() throws IOException {
+        int taille = 1_000_000;
+        Path csv = creerFichier(".csv");
+        Random aleatoire = new Random(31);
+        String[] pays = { "France", "Italie", "Espagne", "Allemagne" };
+        try (BufferedWriter writer = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            writer.write("Id,Groupe,Valeur,Pays\n");
+            for (int i = 0; i < taille; i++) {
+                writer.write(i + "," + aleatoire.nextInt(1000) + "," + aleatoire.nextInt(100_000) / 8.0 + "," + pays[i % 4] + "\n");
+            }
+        }
+
+        long debut = System.nanoTime();
+        DataFrame depuisCSV = new DataFrame(csv.toString());
+        long dureeCSV = System.nanoTime() - debut;
+
+        Path binaire = creerFichier(".jpcol");
+        depuisCSV.sauvegarder(binaire.toString());
+
+        debut = System.nanoTime();
+        DataFrame charge = DataFrame.charger(binaire.toString());
+        long dureeOuverture = System.nanoTime() - debut;
+        for (String nom : charge.colonne.keySet()) {
+            charge.getColonneByName(nom).size();
+        }
+        long dureeComplete = System.nanoTime() - debut;
+
+        for (String nom : depuisCSV.colonne.keySet()) {
+            assertEquals(depuisCSV.getColonneByName(nom).getData(), charge.getColonneByName(nom).getData());
+        }
+        System.out.printf("Chargement de %d lignes : CSV %d ms ; colonnaire %.2f ms (ouverture), %d ms (toutes les colonnes)%n",
+                taille, dureeCSV / 1_000_000, dureeOuverture / 1e6, dureeComplete / 1_000_000);
+    }
+}
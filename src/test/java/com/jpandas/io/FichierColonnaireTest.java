@@ -0,0 +1,154 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.jpandas.core.Condition;
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+import com.jpandas.core.TypeColonne;
+
+public class FichierColonnaireTest {
+
+    private static Path creerFichier(String suffixe) throws IOException {
+        Path fichierTMP = Files.createTempFile("colonnaire", suffixe);
+        fichierTMP.toFile().deleteOnExit();
+        return fichierTMP;
+    }
+
+    private static DataFrame creerDataFrame() {
+        SeriesInt ages = new SeriesInt(new int[] { 21, 0, 35, -4 });
+        ages.getData().set(1, null);
+        SeriesCategorielle pays = new SeriesCategorielle(Arrays.asList("France", null, "Italie", "France"));
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Index", new Series<>(Arrays.asList("a", "b", "c", "d")));
+        colonnes.put("Age", ages);
+        colonnes.put("Identifiant", new SeriesLong(new long[] { Long.MAX_VALUE, 2, Long.MIN_VALUE, 4 }));
+        colonnes.put("Taille", new SeriesDouble(new double[] { 1.65, Double.NaN, -0.5, 1e300 }));
+        colonnes.put("Majeur", new SeriesBooleen(new boolean[] { true, false, true, false }));
+        colonnes.put("Pays", pays);
+        colonnes.put("Nom", new Series<>(Arrays.asList("Lisa", null, "Zoé, \"la\"", "")));
+        colonnes.put("Note", new Series<>(Arrays.asList(12, null, 15, 9)));
+        return new DataFrame(colonnes);
+    }
+
+    // On vérifie que chaque colonne relue a les mêmes valeurs, le même type et les mêmes valeurs manquantes
+    @Test
+    public void testAllerRetour() throws IOException {
+        DataFrame df = creerDataFrame();
+        Path fichier = creerFichier(".jpcol");
+        df.sauvegarder(fichier.toString());
+
+        DataFrame relu = DataFrame.charger(fichier.toString());
+
+        assertEquals(new ArrayList<>(df.colonne.keySet()), new ArrayList<>(relu.colonne.keySet()));
+        for (String nom : df.colonne.keySet()) {
+            assertEquals(nom, df.getColonneByName(nom).getData(), relu.getColonneByName(nom).getData());
+        }
+        assertTrue(relu.getColonneByName("Age") instanceof SeriesInt);
+        assertTrue(relu.getColonneByName("Identifiant") instanceof SeriesLong);
+        assertTrue(relu.getColonneByName("Taille") instanceof SeriesDouble);
+        assertTrue(relu.getColonneByName("Majeur") instanceof SeriesBooleen);
+        assertTrue(relu.getColonneByName("Pays") instanceof SeriesCategorielle);
+        assertTrue(relu.getColonneByName("Note") instanceof SeriesInt);
+        assertTrue(relu.getColonneByName("Age").estNul(1));
+        assertTrue(relu.getColonneByName("Pays").estNul(1));
+        assertNull(relu.getColonneByName("Nom").get(1));
+        assertEquals(Arrays.asList("France", "Italie"), ((SeriesCategorielle) relu.getColonneByName("Pays")).getModalites());
+    }
+
+    // On vérifie l'aller-retour d'une tranche (vue), d'un index généré et d'un DataFrame relu ensuite filtré
+    @Test
+    public void testTrancheEtIndexGenere() throws IOException {
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        int[] valeurs = new int[1_000];
+        for (int i = 0; i < valeurs.length; i++) {
+            valeurs[i] = i * 3;
+        }
+        colonnes.put("Valeur", new SeriesInt(valeurs));
+        DataFrame df = new DataFrame(colonnes);
+        Path fichier = creerFichier(".jpcol");
+
+        df.sauvegarder(fichier.toString());
+        DataFrame relu = DataFrame.charger(fichier.toString());
+        assertEquals(df.getColonneByName("Index").getData(), relu.getColonneByName("Index").getData());
+
+        DataFrame tranche = df.ilocVue(10, 20, 0, 2);
+        tranche.sauvegarder(fichier.toString());
+        DataFrame trancheRelue = DataFrame.charger(fichier.toString());
+        assertEquals(tranche.getColonneByName("Index").getData(), trancheRelue.getColonneByName("Index").getData());
+        assertEquals(tranche.getColonneByName("Valeur").getData(), trancheRelue.getColonneByName("Valeur").getData());
+        assertEquals(Arrays.asList(51, 54, 57), trancheRelue.filtrer(Condition.superieur("Valeur", 50))
+                .getColonneByName("Valeur").getData());
+    }
+
+    // On vérifie les statistiques par bloc et qu'elles se lisent sans décoder la colonne
+    @Test
+    public void testStatistiquesParBloc() throws IOException {
+        int taille = FichierColonnaire.TAILLE_BLOC * 2 + 10;
+        long[] montants = new long[taille];
+        double[] taux = new double[taille];
+        for (int i = 0; i < taille; i++) {
+            montants[i] = i;
+            taux[i] = i < FichierColonnaire.TAILLE_BLOC * 2 ? Double.NaN : -i;
+        }
+        Map<String, Series<?>> colonnes = new LinkedHashMap<>();
+        colonnes.put("Montant", new SeriesLong(montants));
+        colonnes.put("Taux", new SeriesDouble(taux));
+        Path fichier = creerFichier(".jpcol");
+        new DataFrame(colonnes).sauvegarder(fichier.toString());
+
+        FichierColonnaire colonnaire = FichierColonnaire.ouvrir(fichier.toString());
+        assertEquals(taille, colonnaire.getNbLignes());
+        assertEquals(3, colonnaire.getNbBlocs());
+        assertEquals(TypeColonne.LONG, colonnaire.getType("Montant"));
+        assertEquals((long) FichierColonnaire.TAILLE_BLOC, colonnaire.getMinimum("Montant", 1));
+        assertEquals((long) FichierColonnaire.TAILLE_BLOC * 2 - 1, colonnaire.getMaximum("Montant", 1));
+        assertNull(colonnaire.getMinimum("Taux", 0));
+        assertEquals(-(double) (taille - 1), colonnaire.getMinimum("Taux", 2));
+        assertEquals(-(double) FichierColonnaire.TAILLE_BLOC * 2, colonnaire.getMaximum("Taux", 2));
+    }
+
+    // On vérifie qu'une colonne n'est décodée qu'à son premier accès, et qu'en retirer une ne la décode pas
+    @Test
+    public void testColonnesDecodeesALaDemande() throws IOException {
+        Path fichier = creerFichier(".jpcol");
+        creerDataFrame().sauvegarder(fichier.toString());
+
+        DataFrame relu = DataFrame.charger(fichier.toString());
+        assertTrue(relu.colonne.remove("Taille") == null);
+        Series<?> ages = relu.getColonneByName("Age");
+        assertTrue(ages == relu.getColonneByName("Age"));
+        assertEquals(Arrays.asList("Index", "Age", "Identifiant", "Majeur", "Pays", "Nom", "Note"), new ArrayList<>(relu.colonne.keySet()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFichierInvalide() throws IOException {
+        Path fichier = creerFichier(".csv");
+        Files.write(fichier, Arrays.asList("Nom,Age", "Lisa,21", "Justine,22", "Zoé,30"));
+        DataFrame.charger(fichier.toString());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testStatistiquesSurColonneDeTexte() throws IOException {
+        Path fichier = creerFichier(".jpcol");
+        creerDataFrame().sauvegarder(fichier.toString());
+        FichierColonnaire.ouvrir(fichier.toString()).getMinimum("Nom", 0);
+    }
+}
@@ -0,0 +1,94 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.jpandas.core.Condition;
+import com.jpandas.core.DataFrame;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class LecteurCSVBenchmark {
+
+    private static Path creerFichier(String contenu) throws IOException {
+        Path fichierTMP = Files.createTempFile("lecteur", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        FileWriter writer = new FileWriter(fichierTMP.toFile());
+        writer.write(contenu);
+        writer.close();
+        return fichierTMP;
+    }
+
+    // Temps et mémoire allouée pour lire 2 colonnes sur 80, comparés à la lecture de tout le fichier
+    @Test
+    public void memoireColonnesALire() throws IOException {
+        int nbColonnes = 80;
+        StringBuilder contenu = new StringBuilder();
+        for (int j = 0; j < nbColonnes; j++) {
+            contenu.append(j > 0 ? "," : "").append("C").append(j);
+        }
+        contenu.append('\n');
+        for (int i = 0; i < 20_000; i++) {
+            for (int j = 0; j < nbColonnes; j++) {
+                contenu.append(j > 0 ? "," : "").append(j % 2 == 0 ? String.valueOf(i * j) : "t" + (i + j) % 9973);
+            }
+            contenu.append('\n');
+        }
+        Path fichier = creerFichier(contenu.toString());
+        com.sun.management.ThreadMXBean mesure = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long avant = mesure.getThreadAllocatedBytes(thread);
+        long debut = System.nanoTime();
+        DataFrame complet = new DataFrame(fichier.toString());
+        long dureeComplete = System.nanoTime() - debut;
+        long allocationComplete = mesure.getThreadAllocatedBytes(thread) - avant;
+
+        avant = mesure.getThreadAllocatedBytes(thread);
+        debut = System.nanoTime();
+        DataFrame partiel = new DataFrame(fichier.toString(), new OptionsCSV().avecColonnes("C10", "C41"));
+        long dureePartielle = System.nanoTime() - debut;
+        long allocationPartielle = mesure.getThreadAllocatedBytes(thread) - avant;
+
+        assertEquals(complet.getColonneByName("C41").getData(), partiel.getColonneByName("C41").getData());
+        System.out.printf("Lecture de %d colonnes : %d ms, %d octets ; de 2 colonnes : %d ms, %d octets%n",
+                nbColonnes, dureeComplete / 1_000_000, allocationComplete, dureePartielle / 1_000_000, allocationPartielle);
+    }
+
+    // Temps et mémoire allouée pour un filtre testé à la lecture (95 % des lignes rejetées), comparés à la lecture
+    // complète suivie du filtre
+    @Test
+    public void memoireFiltreALaLecture() throws IOException {
+        StringBuilder contenu = new StringBuilder("Id,Groupe,Valeur,Libelle,Code\n");
+        for (int i = 0; i < 300_000; i++) {
+            contenu.append(i).append(',').append(i * 7 % 100).append(',').append(i % 1000 / 8.0)
+                    .append(",libelle ").append(i).append(",C").append(i % 97).append('\n');
+        }
+        Path fichier = creerFichier(contenu.toString());
+        Condition condition = Condition.inferieur("Groupe", 5);
+        com.sun.management.ThreadMXBean mesure = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+
+        long avant = mesure.getThreadAllocatedBytes(thread);
+        long debut = System.nanoTime();
+        DataFrame complet = new DataFrame(fichier.toString()).filtrer(condition);
+        long dureeComplete = System.nanoTime() - debut;
+        long allocationComplete = mesure.getThreadAllocatedBytes(thread) - avant;
+
+        avant = mesure.getThreadAllocatedBytes(thread);
+        debut = System.nanoTime();
+        DataFrame filtre = new DataFrame(fichier.toString(), new OptionsCSV().avecFiltre(condition));
+        long dureeFiltree = System.nanoTime() - debut;
+        long allocationFiltree = mesure.getThreadAllocatedBytes(thread) - avant;
+
+        assertEquals(complet.getColonneByName("Index").getData(), filtre.getColonneByName("Index").getData());
+        System.out.printf("Lecture puis filtre : %d ms, %d octets ; filtre à la lecture : %d ms, %d octets%n",
+                dureeComplete / 1_000_000, allocationComplete, dureeFiltree / 1_000_000, allocationFiltree);
+    }
+}
@@ -0,0 +1,113 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+
+public class LecteurCSVParMorceauxTest {
+
+    // Écrit un fichier CSV de "nbLignes" lignes (Id,Valeur,Nom), supprimé à la fin des tests
+    private static Path creerFichier(int nbLignes) throws IOException {
+        Path fichierTMP = Files.createTempFile("morceaux", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        FileWriter writer = new FileWriter(fichierTMP.toFile());
+        writer.write("Id,Valeur,Nom\n");
+        for (int i = 0; i < nbLignes; i++) {
+            writer.write(i + "," + (i * 0.5) + ",nom" + i + "\n");
+        }
+        writer.close();
+        return fichierTMP;
+    }
+
+    // On vérifie que le fichier est découpé en morceaux de la bonne taille, le dernier étant plus petit
+    @Test
+    public void testDecoupageEnMorceaux() throws IOException {
+        Path fichier = creerFichier(25);
+
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(fichier.toString(), 10)) {
+            assertEquals(10, lecteur.next().getColonneByName("Id").size());
+            assertEquals(10, lecteur.next().getColonneByName("Id").size());
+            assertEquals(5, lecteur.next().getColonneByName("Id").size());
+            assertFalse(lecteur.hasNext());
+        }
+    }
+
+    // On vérifie que les colonnes des morceaux sont typées et que l'index continue d'un morceau à l'autre
+    @Test
+    public void testMorceauxTypesEtIndex() throws IOException {
+        Path fichier = creerFichier(6);
+
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(fichier.toString(), 4)) {
+            lecteur.next();
+            DataFrame second = lecteur.next();
+
+            assertTrue(second.getColonneByName("Id") instanceof SeriesInt);
+            assertTrue(second.getColonneByName("Valeur") instanceof SeriesDouble);
+            assertEquals("4", second.getColonneByName("Index").get(0));
+            assertEquals("nom5", second.getColonneByName("Nom").get(1));
+        }
+    }
+
+    // On vérifie que le type promu dans un morceau est conservé pour les morceaux suivants
+    @Test
+    public void testPromotionConserveeEntreMorceaux() throws IOException {
+        Path fichierTMP = Files.createTempFile("morceaux", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        FileWriter writer = new FileWriter(fichierTMP.toFile());
+        writer.write("Valeur\n1\n2\n2.5\n3\n");
+        writer.close();
+
+        OptionsCSV options = new OptionsCSV().avecTailleEchantillon(1);
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(fichierTMP.toString(), 3, options)) {
+            assertTrue(lecteur.next().getColonneByName("Valeur") instanceof SeriesDouble);
+            assertTrue(lecteur.next().getColonneByName("Valeur") instanceof SeriesDouble);
+        }
+    }
+
+    // On vérifie que le flux de morceaux couvre toutes les lignes du fichier, dans l'ordre
+    @Test
+    public void testFluxDeMorceaux() throws IOException {
+        Path fichier = creerFichier(1000);
+
+        try (Stream<DataFrame> morceaux = LecteurCSV.lireParMorceaux(fichier.toString(), 128)) {
+            List<DataFrame> liste = morceaux.collect(Collectors.toList());
+            assertEquals(8, liste.size());
+            int total = liste.stream().mapToInt(morceau -> morceau.getColonneByName("Id").size()).sum();
+            assertEquals(1000, total);
+            assertEquals(999, liste.get(7).getColonneByName("Id").get(103));
+        }
+    }
+
+    // On vérifie qu'appeler next() à la fin du fichier lève une exception
+    @Test(expected = NoSuchElementException.class)
+    public void testNextApresLaFin() throws IOException {
+        Path fichier = creerFichier(2);
+
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(fichier.toString(), 5)) {
+            lecteur.next();
+            lecteur.next();
+        }
+    }
+
+    // On vérifie qu'une taille de morceau invalide est refusée
+    @Test(expected = IllegalArgumentException.class)
+    public void testTailleMorceauInvalide() throws IOException {
+        Path fichier = creerFichier(2);
+        new LecteurCSVParMorceaux(fichier.toString(), 0);
+    }
+}
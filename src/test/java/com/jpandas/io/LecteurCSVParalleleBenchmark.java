@@ -0,0 +1,42 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+
+// Mesures de performance, lancées par mvn test -Pbenchmark (elles ne font pas partie des tests unitaires)
+public class LecteurCSVParalleleBenchmark {
+
+    // Débit de lecture selon le nombre de threads
+    @Test
+    public void debitSelonLeNombreDeThreads() throws IOException {
+        int nbLignes = 2_000_000;
+        Path fichier = Files.createTempFile("parallele", ".csv");
+        fichier.toFile().deleteOnExit();
+        try (BufferedWriter writer = Files.newBufferedWriter(fichier, StandardCharsets.UTF_8)) {
+            writer.write("Id,Valeur,Nom,Actif\n");
+            for (int i = 0; i < nbLignes; i++) {
+                writer.write(i + "," + (i * 0.25) + ",nom" + (i % 100) + "," + (i % 2 == 0) + "\n");
+            }
+        }
+        double tailleMo = Files.size(fichier) / (1024.0 * 1024.0);
+
+        for (int threads : new int[] {1, 2, 4, 8}) {
+            long debut = System.nanoTime();
+            DataFrame df = new DataFrame(fichier.toString(), new OptionsCSV().avecParallelisme(threads));
+            double secondes = (System.nanoTime() - debut) / 1e9;
+
+            assertEquals(nbLignes, df.getColonneByName("Id").size());
+            System.out.printf("Lecture parallèle : %d thread(s), %.1f Mo/s (%d processeurs)%n",
+                    threads, tailleMo / secondes, Runtime.getRuntime().availableProcessors());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.Series;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+
+public class LecteurCSVParalleleTest {
+
+    // Écrit un fichier CSV de "nbLignes" lignes (Id,Valeur,Nom,Actif), supprimé à la fin des tests
+    private static Path creerFichier(int nbLignes) throws IOException {
+        Path fichierTMP = Files.createTempFile("parallele", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fichierTMP.toFile()))) {
+            writer.write("Id,Valeur,Nom,Actif\n");
+            for (int i = 0; i < nbLignes; i++) {
+                writer.write(i + "," + (i * 0.25) + ",nom" + (i % 100) + "," + (i % 2 == 0) + "\n");
+            }
+        }
+        return fichierTMP;
+    }
+
+    // Vérifie que deux DataFrames ont les mêmes colonnes, avec le même type et les mêmes valeurs
+    private static void verifierIdentiques(DataFrame attendu, DataFrame obtenu) {
+        assertEquals(attendu.colonne.keySet(), obtenu.colonne.keySet());
+        for (String nom : attendu.colonne.keySet()) {
+            Series<?> a = attendu.getColonneByName(nom);
+            Series<?> b = obtenu.getColonneByName(nom);
+            assertEquals(a.getClass(), b.getClass());
+            assertEquals(a.getData(), b.getData());
+        }
+    }
+
+    // On vérifie que la lecture parallèle donne exactement le même résultat que la lecture séquentielle
+    @Test
+    public void testMemeResultatQueLectureSequentielle() throws IOException {
+        Path fichier = creerFichier(5000);
+        DataFrame sequentiel = new DataFrame(fichier.toString());
+
+        for (int threads : new int[] {1, 2, 3, 8}) {
+            DataFrame parallele = new DataFrame(fichier.toString(), new OptionsCSV().avecParallelisme(threads));
+            verifierIdentiques(sequentiel, parallele);
+        }
+    }
+
+    // On vérifie qu'une colonne promue dans une seule plage est promue dans le résultat final
+    @Test
+    public void testPromotionDansUnePlage() throws IOException {
+        Path fichierTMP = Files.createTempFile("parallele", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fichierTMP.toFile()))) {
+            writer.write("Valeur\n");
+            for (int i = 0; i < 2000; i++) {
+                writer.write(i + "\n");
+            }
+            writer.write("2.5\n");
+        }
+
+        OptionsCSV options = new OptionsCSV().avecTailleEchantillon(10).avecParallelisme(4);
+        DataFrame df = new DataFrame(fichierTMP.toString(), options);
+
+        assertTrue(df.getColonneByName("Valeur") instanceof SeriesDouble);
+        assertEquals(2001, df.getColonneByName("Valeur").size());
+        assertEquals(2.5, df.getColonneByName("Valeur").getDouble(2000), 0.0);
+        assertEquals(1999.0, df.getColonneByName("Valeur").getDouble(1999), 0.0);
+    }
+
+    // On vérifie qu'une colonne promue en texte dans une seule plage garde, dans toutes les plages,
+    // le texte d'origine de ses valeurs, et que les colonnes de même type sont raccordées avec leurs valeurs manquantes
+    @Test
+    public void testPromotionEnTexteDansUnePlage() throws IOException {
+        Path fichierTMP = Files.createTempFile("parallele", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fichierTMP.toFile()))) {
+            writer.write("Code,Mesure,Actif\n");
+            for (int i = 0; i < 2000; i++) {
+                writer.write("00" + i + "," + (i % 7 == 0 ? "" : i + ".50") + "," + (i % 3 == 0 ? "TRUE" : "false") + "\n");
+            }
+            writer.write("abc,1,true\n");
+        }
+
+        OptionsCSV options = new OptionsCSV().avecTailleEchantillon(10).avecParallelisme(4);
+        DataFrame parallele = new DataFrame(fichierTMP.toString(), options);
+        DataFrame sequentiel = new DataFrame(fichierTMP.toString(), new OptionsCSV().avecTailleEchantillon(10));
+
+        verifierIdentiques(sequentiel, parallele);
+        assertEquals("001999", parallele.getColonneByName("Code").get(1999));
+        assertEquals("abc", parallele.getColonneByName("Code").get(2000));
+        assertTrue(parallele.getColonneByName("Mesure") instanceof SeriesDouble);
+        assertTrue(parallele.getColonneByName("Mesure").estNul(1995));
+        assertEquals(1996.5, parallele.getColonneByName("Mesure").getDouble(1996), 0.0);
+    }
+
+    // On vérifie que les fins de ligne Windows et les lignes vides sont gérées comme en lecture séquentielle
+    @Test
+    public void testFinsDeLigneWindowsEtLignesVides() throws IOException {
+        Path fichierTMP = Files.createTempFile("parallele", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(fichierTMP.toFile()))) {
+            writer.write("Id,Nom\r\n1,a\r\n\r\n2,b\r\n3,c");
+        }
+
+        DataFrame df = new DataFrame(fichierTMP.toString(), new OptionsCSV().avecParallelisme(2));
+
+        assertTrue(df.getColonneByName("Id") instanceof SeriesInt);
+        assertEquals(3, df.getColonneByName("Id").size());
+        assertEquals("c", df.getColonneByName("Nom").get(2));
+        assertEquals("2", df.getColonneByName("Index").get(2));
+    }
+
+    // On vérifie que les plages sont alignées sur des débuts de ligne et couvrent tout le fichier
+    @Test
+    public void testBornesAligneesSurLesLignes() throws IOException {
+        Path fichier = creerFichier(1000);
+        byte[] contenu = Files.readAllBytes(fichier);
+
+        long debutDonnees = "Id,Valeur,Nom,Actif\n".length();
+        try (FileChannel canal = FileChannel.open(fichier)) {
+            long[] bornes = LecteurCSVParallele.calculerBornes(canal, debutDonnees, 16, ForkJoinPool.commonPool());
+
+            assertEquals(contenu.length, bornes[bornes.length - 1]);
+            for (int k = 0; k < bornes.length - 1; k++) {
+                assertTrue(bornes[k] <= bornes[k + 1]);
+                assertEquals('\n', contenu[(int) bornes[k] - 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.jpandas.core.Condition;
+import com.jpandas.core.DataFrame;
+import com.jpandas.core.SeriesBooleen;
+import com.jpandas.core.SeriesCategorielle;
+import com.jpandas.core.SeriesDouble;
+import com.jpandas.core.SeriesInt;
+import com.jpandas.core.SeriesLong;
+import com.jpandas.core.TypeColonne;
+
+public class LecteurCSVTest {
+
+    // Écrit un fichier CSV temporaire, supprimé à la fin des tests
+    private static Path creerFichier(String contenu) throws IOException {
+        Path fichierTMP = Files.createTempFile("lecteur", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        FileWriter writer = new FileWriter(fichierTMP.toFile());
+        writer.write(contenu);
+        writer.close();
+        return fichierTMP;
+    }
+
+    // On vérifie que chaque type de colonne est correctement déduit des données
+    @Test
+    public void testInferenceDesTypes() throws IOException {
+        Path fichier = creerFichier("Nom,Age,Taille,Population,Majeur\n"
+                + "Lisa,21,1.65,3000000000,true\n"
+                + "Justine,21,1.70,12,false\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString());
+
+        assertFalse(dataframe.getColonneByName("Nom").estNumerique());
+        assertTrue(dataframe.getColonneByName("Age") instanceof SeriesInt);
+        assertTrue(dataframe.getColonneByName("Taille") instanceof SeriesDouble);
+        assertTrue(dataframe.getColonneByName("Population") instanceof SeriesLong);
+        assertTrue(dataframe.getColonneByName("Majeur") instanceof SeriesBooleen);
+        assertEquals(1.70, dataframe.getColonneByName("Taille").getDouble(1), 0.0001);
+    }
+
+    // On vérifie que les statistiques fonctionnent sur une colonne lue depuis un CSV
+    @Test
+    public void testStatistiquesSurColonneCSV() throws IOException {
+        Path fichier = creerFichier("Nom,Note\nLisa,10\nJustine,14\nEva,12\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString());
+
+        assertTrue(dataframe.getColonneByName("Note").estNumerique());
+        assertEquals(12.0, dataframe.getColonneByName("Note").moyenne(), 0.0001);
+    }
+
+    // On vérifie qu'une cellule vide devient une valeur manquante dans une colonne numérique
+    @Test
+    public void testCelluleVide() throws IOException {
+        Path fichier = creerFichier("Nom,Age\nLisa,\nJustine,21\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString());
+
+        assertNull(dataframe.getColonneByName("Age").get(0));
+        assertEquals(21.0, dataframe.getColonneByName("Age").moyenne(), 0.0001);
+    }
+
+    // On vérifie qu'une valeur hors de l'échantillon promeut la colonne vers un type plus général
+    // (les valeurs déjà converties reprennent leur texte d'origine)
+    @Test
+    public void testPromotionApresEchantillon() throws IOException {
+        Path fichier = creerFichier("Valeur,Code\n1\n2,A1\n2.5,B2\nabc,C3\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecTailleEchantillon(1));
+
+        assertEquals("1", dataframe.getColonneByName("Valeur").get(0));
+        assertEquals("2.5", dataframe.getColonneByName("Valeur").get(2));
+        assertEquals("abc", dataframe.getColonneByName("Valeur").get(3));
+        assertEquals("A1", dataframe.getColonneByName("Code").get(1));
+    }
+
+    // On vérifie qu'une colonne promue en texte garde le texte exact de chaque valeur déjà lue
+    @Test
+    public void testPromotionGardeLeTexteDOrigine() throws IOException {
+        Path fichier = creerFichier("Code,Actif,Mesure\n"
+                + "007,TRUE,3\n+5,true,1.50\n12,False,1e3\n-0,false,0.25\n4000000000,true,2\n"
+                + "x,oui,n/a\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecTailleEchantillon(1));
+
+        assertEquals(Arrays.asList("007", "+5", "12", "-0", "4000000000", "x"), dataframe.getColonneByName("Code").getData());
+        assertEquals(Arrays.asList("TRUE", "true", "False", "false", "true", "oui"), dataframe.getColonneByName("Actif").getData());
+        assertEquals(Arrays.asList("3", "1.50", "1e3", "0.25", "2", "n/a"), dataframe.getColonneByName("Mesure").getData());
+    }
+
+    // On vérifie que seuls les nombres décimaux sont des nombres : "NaN", "1f", "0x1p3"... restent du texte
+    @Test
+    public void testGrammaireStricteDesNombres() throws IOException {
+        assertEquals(TypeColonne.DOUBLE, TypeColonne.inferer("-.5e+3"));
+        assertEquals(TypeColonne.DOUBLE, TypeColonne.inferer("99999999999999999999"));
+        assertEquals(TypeColonne.ENTIER, TypeColonne.inferer("+7"));
+        for (String texte : Arrays.asList("1f", "1d", "NaN", "Infinity", "-Infinity", "0x1p3", "1e", ".", "--1", "1.2.3", "\u0663")) {
+            assertEquals(texte, TypeColonne.CHAINE, TypeColonne.inferer(texte));
+        }
+
+        Path fichier = creerFichier("Mesure\n1.5\n2\nNaN\n1f\n");
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecTailleEchantillon(2));
+        assertEquals(Arrays.asList("1.5", "2", "NaN", "1f"), dataframe.getColonneByName("Mesure").getData());
+    }
+
+    // On vérifie qu'une promotion d'entier vers nombre à virgule conserve les valeurs déjà lues
+    @Test
+    public void testPromotionEntierVersDouble() throws IOException {
+        Path fichier = creerFichier("Valeur\n1\n2\n2.5\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecTailleEchantillon(2));
+
+        assertTrue(dataframe.getColonneByName("Valeur") instanceof SeriesDouble);
+        assertEquals(5.5, dataframe.getColonneByName("Valeur").moyenne() * 3, 0.0001);
+    }
+
+    // On vérifie qu'un schéma explicite est respecté (pas d'inférence pour ces colonnes)
+    @Test
+    public void testSchemaExplicite() throws IOException {
+        Path fichier = creerFichier("Code,Age\n007,21\n042,30\n");
+
+        OptionsCSV options = new OptionsCSV()
+                .avecType("Code", TypeColonne.CHAINE)
+                .avecType("Age", TypeColonne.DOUBLE);
+        DataFrame dataframe = new DataFrame(fichier.toString(), options);
+
+        assertEquals("007", dataframe.getColonneByName("Code").get(0));
+        assertTrue(dataframe.getColonneByName("Age") instanceof SeriesDouble);
+    }
+
+    // On vérifie qu'une valeur qui ne respecte pas le schéma imposé lève une exception
+    @Test(expected = IllegalArgumentException.class)
+    public void testSchemaNonRespecte() throws IOException {
+        Path fichier = creerFichier("Age\n21\nvingt\n");
+
+        new DataFrame(fichier.toString(), new OptionsCSV().avecType("Age", TypeColonne.ENTIER));
+    }
+
+    // On vérifie que sans inférence toutes les colonnes sont lues comme du texte
+    @Test
+    public void testSansInference() throws IOException {
+        Path fichier = creerFichier("Nom,Age\nLisa,21\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecInferenceTypes(false));
+
+        assertEquals("21", dataframe.getColonneByName("Age").get(0));
+    }
+
+    // On vérifie que la colonne Index reste textuelle même si elle contient des nombres
+    @Test
+    public void testIndexResteTextuel() throws IOException {
+        Path fichier = creerFichier("Index,Age\n0,21\n1,30\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString());
+
+        assertEquals("1", dataframe.getColonneByName("Index").get(1));
+        assertEquals(30, dataframe.getColonneByName("Age").get(1));
+    }
+
+    // On vérifie qu'une taille d'échantillon invalide est refusée
+    @Test(expected = IllegalArgumentException.class)
+    public void testTailleEchantillonInvalide() {
+        new OptionsCSV().avecTailleEchantillon(0);
+    }
+
+    // On vérifie qu'une colonne de texte peu variée devient catégorielle si la détection est demandée (et seulement alors)
+    @Test
+    public void testDetectionCategories() throws IOException {
+        Path fichier = creerFichier("Nom,Pays\nLisa,France\nJustine,France\nEva,Italie\nLuc,France\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecDetectionCategories(true));
+        DataFrame sansDetection = new DataFrame(fichier.toString());
+
+        assertFalse(dataframe.getColonneByName("Nom") instanceof SeriesCategorielle);
+        assertTrue(dataframe.getColonneByName("Pays") instanceof SeriesCategorielle);
+        assertEquals(2, ((SeriesCategorielle) dataframe.getColonneByName("Pays")).getNbModalites());
+        assertEquals("Italie", dataframe.getColonneByName("Pays").get(2));
+        assertEquals(3, dataframe.filtrer(Condition.egal("Pays", "France")).getColonneByName("Nom").size());
+        assertFalse(sansDetection.getColonneByName("Pays") instanceof SeriesCategorielle);
+    }
+
+    // On vérifie que le type catégoriel peut être imposé, y compris en lecture parallèle
+    @Test
+    public void testCategorieImposeeEnParallele() throws IOException {
+        StringBuilder contenu = new StringBuilder("Id,Statut\n");
+        for (int i = 0; i < 2000; i++) {
+            contenu.append(i).append(',').append(i % 3 == 0 ? "actif" : "inactif").append('\n');
+        }
+        Path fichier = creerFichier(contenu.toString());
+
+        OptionsCSV options = new OptionsCSV().avecType("Statut", TypeColonne.CATEGORIE).avecParallelisme(4);
+        SeriesCategorielle statut = (SeriesCategorielle) new DataFrame(fichier.toString(), options).getColonneByName("Statut");
+
+        assertEquals(2000, statut.size());
+        assertEquals(2, statut.getNbModalites());
+        assertEquals("inactif", statut.get(1999));
+        assertEquals(667, new DataFrame(fichier.toString(), options).filtrer(Condition.egal("Statut", "actif")).getColonneByName("Id").size());
+    }
+
+    // On vérifie que seules les colonnes demandées sont lues, dans l'ordre du fichier, avec leur type
+    @Test
+    public void testColonnesALire() throws IOException {
+        Path fichier = creerFichier("Nom,Age,Ville,Taille\nLisa,21,Paris,1.65\nJustine,22,Lyon,1.70\n");
+
+        DataFrame dataframe = new DataFrame(fichier.toString(), new OptionsCSV().avecColonnes("Taille", "Nom"));
+
+        assertEquals(Arrays.asList("Index", "Nom", "Taille"), new ArrayList<>(dataframe.colonne.keySet()));
+        assertTrue(dataframe.getColonneByName("Taille") instanceof SeriesDouble);
+        assertEquals(Arrays.asList("Lisa", "Justine"), dataframe.getColonneByName("Nom").getData());
+        assertEquals(Arrays.asList("0", "1"), dataframe.getColonneByName("Index").getData());
+    }
+
+    // On vérifie que la colonne "Index" du fichier est toujours lue, et que la lecture parallèle respecte la sélection
+    @Test
+    public void testColonnesALireAvecIndexEtEnParallele() throws IOException {
+        StringBuilder contenu = new StringBuilder("A,Index,B,C\n");
+        for (int i = 0; i < 5_000; i++) {
+            contenu.append(i).append(",L").append(i).append(",\"x,").append(i).append("\",").append(i % 7).append('\n');
+        }
+        Path fichier = creerFichier(contenu.toString());
+
+        OptionsCSV options = new OptionsCSV().avecColonnes("C").avecParallelisme(3);
+        DataFrame dataframe = new DataFrame(fichier.toString(), options);
+
+        assertEquals(Arrays.asList("Index", "C"), new ArrayList<>(dataframe.colonne.keySet()));
+        assertEquals("L4999", dataframe.getColonneByName("Index").get(4999));
+        assertEquals(4999 % 7, ((Number) dataframe.getColonneByName("C").get(4999)).intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneALireAbsente() throws IOException {
+        Path fichier = creerFichier("Nom,Age\nLisa,21\n");
+        new DataFrame(fichier.toString(), new OptionsCSV().avecColonnes("Age", "Inconnue"));
+    }
+
+    // Écrit un fichier CSV (Id,Pays,Montant,Commentaire) de "nbLignes" lignes, avec des champs entre guillemets
+    private static Path creerFichierVentes(int nbLignes) throws IOException {
+        String[] pays = { "France", "Italie", "Espagne", "\"Pays-Bas, Les\"" };
+        StringBuilder contenu = new StringBuilder("Id,Pays,Montant,Commentaire\n");
+        for (int i = 0; i < nbLignes; i++) {
+            contenu.append(i).append(',').append(pays[i % pays.length]).append(',')
+                    .append(i % 13 == 0 ? "" : String.valueOf((i * 37) % 1000 / 4.0)).append(",\"vente ").append(i).append("\"\n");
+        }
+        return creerFichier(contenu.toString());
+    }
+
+    // On vérifie qu'un filtre testé à la lecture donne le même résultat (et le même index) que la lecture complète filtrée
+    @Test
+    public void testFiltreALaLecture() throws IOException {
+        Path fichier = creerFichierVentes(10_000);
+        Condition condition = Condition.superieur("Montant", 200).et(Condition.different("Pays", "Italie"));
+
+        DataFrame attendu = new DataFrame(fichier.toString()).filtrer(condition);
+        DataFrame obtenu = new DataFrame(fichier.toString(), new OptionsCSV().avecFiltre(condition));
+
+        assertEquals(new ArrayList<>(attendu.colonne.keySet()), new ArrayList<>(obtenu.colonne.keySet()));
+        for (String nom : attendu.colonne.keySet()) {
+            assertEquals(attendu.getColonneByName(nom).getData(), obtenu.getColonneByName(nom).getData());
+        }
+        assertTrue(obtenu.getColonneByName("Montant") instanceof SeriesDouble);
+        assertTrue(obtenu.getColonneByName("Pays").getData().contains("Pays-Bas, Les"));
+    }
+
+    // On vérifie le filtre avec une lecture par morceaux (index continu), en parallèle et avec des colonnes à lire
+    @Test
+    public void testFiltreParMorceauxEtEnParallele() throws IOException {
+        Path fichier = creerFichierVentes(20_000);
+        Condition condition = Condition.egal("Pays", "Espagne").et(Condition.inferieur("Montant", 50));
+        List<?> attendu = new DataFrame(fichier.toString()).filtrer(condition).getColonneByName("Index").getData();
+
+        List<Object> parMorceaux = new ArrayList<>();
+        int nbMorceaux;
+        try (LecteurCSVParMorceaux lecteur = new LecteurCSVParMorceaux(fichier.toString(), 100, new OptionsCSV().avecFiltre(condition))) {
+            nbMorceaux = 0;
+            while (lecteur.hasNext()) {
+                DataFrame morceau = lecteur.next();
+                assertTrue(morceau.getColonneByName("Index").size() <= 100);
+                parMorceaux.addAll(morceau.getColonneByName("Index").getData());
+                nbMorceaux++;
+            }
+        }
+        assertEquals(attendu, parMorceaux);
+        assertEquals((attendu.size() + 99) / 100, nbMorceaux);
+
+        OptionsCSV options = new OptionsCSV().avecColonnes("Pays", "Montant").avecFiltre(condition).avecParallelisme(3);
+        DataFrame parallele = new DataFrame(fichier.toString(), options);
+        assertEquals(attendu, parallele.getColonneByName("Index").getData());
+        assertEquals(Arrays.asList("Index", "Pays", "Montant"), new ArrayList<>(parallele.colonne.keySet()));
+    }
+
+    // On vérifie une condition écrite par une lambda (colonnes inconnues), qui lit l'index généré
+    @Test
+    public void testFiltreLambdaSurIndex() throws IOException {
+        Path fichier = creerFichierVentes(9_000);
+        Condition condition = dataframe -> Condition.verifie("Index", etiquette -> ((String) etiquette).endsWith("99")).evaluer(dataframe);
+
+        DataFrame obtenu = new DataFrame(fichier.toString(), new OptionsCSV().avecFiltre(condition));
+
+        assertEquals(90, obtenu.getColonneByName("Index").size());
+        assertEquals("8999", obtenu.getColonneByName("Index").get(89));
+        assertEquals(8999, ((Number) obtenu.getColonneByName("Id").get(89)).intValue());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFiltreSurColonneNonLue() throws IOException {
+        Path fichier = creerFichierVentes(10);
+        new DataFrame(fichier.toString(), new OptionsCSV().avecColonnes("Pays").avecFiltre(Condition.superieur("Montant", 0)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.jpandas.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import com.jpandas.core.DataFrame;
+
+public class TriExterneTest {
+
+    private static final String[] PAYS = { "France", "Italie", "\"Pays-Bas, Les\"", "Espagne", "" };
+
+    // Écrit un fichier CSV de "nbLignes" lignes (Pays,Montant,Id), avec des montants manquants et des pays entre guillemets
+    private static Path creerFichier(int nbLignes) throws IOException {
+        Path fichierTMP = Files.createTempFile("tri", ".csv");
+        fichierTMP.toFile().deleteOnExit();
+        Random aleatoire = new Random(23);
+        FileWriter writer = new FileWriter(fichierTMP.toFile());
+        writer.write("Pays,Montant,Id\n");
+        for (int i = 0; i < nbLignes; i++) {
+            String montant = i % 50 == 0 ? "" : String.valueOf(aleatoire.nextInt(2000) / 4.0 - 100);
+            writer.write(PAYS[aleatoire.nextInt(PAYS.length)] + "," + montant + "," + i + "\n");
+        }
+        writer.close();
+        return fichierTMP;
+    }
+
+    private static Path creerDestination() throws IOException {
+        Path destination = Files.createTempFile("tri-resultat", ".csv");
+        destination.toFile().deleteOnExit();
+        return destination;
+    }
+
+    // On vérifie que le tri externe (avec plus de FUSION_MAX fichiers temporaires) donne le même ordre que le tri en mémoire
+    @Test
+    public void testMemeOrdreQueLeTriEnMemoire() throws IOException {
+        Path source = creerFichier(30_000);
+        Path destination = creerDestination();
+        String[] cles = { "Pays", "Montant" };
+
+        TriExterne tri = new TriExterne(cles, true, false).avecBudgetMemoire(60_000);
+        tri.trier(source.toString(), destination.toString());
+        assertTrue(tri.getNbFichiersTemporaires() > TriExterne.FUSION_MAX);
+
+        DataFrame attendu = new DataFrame(source.toString()).sortValues(cles, true, false);
+        DataFrame obtenu = new DataFrame(destination.toString());
+        assertEquals(attendu.getColonneByName("Index").getData(), obtenu.getColonneByName("Index").getData());
+        assertEquals(attendu.getColonneByName("Pays").getData(), obtenu.getColonneByName("Pays").getData());
+    }
+
+    // On vérifie qu'un fichier qui tient dans le budget est trié en un seul morceau
+    @Test
+    public void testUnSeulMorceau() throws IOException {
+        Path source = creerFichier(1_000);
+        Path destination = creerDestination();
+
+        TriExterne tri = new TriExterne(new String[] { "Id" }, false);
+        tri.trier(source.toString(), destination.toString());
+        assertEquals(1, tri.getNbFichiersTemporaires());
+
+        List<String> lignes = Files.readAllLines(destination);
+        assertEquals("Index,Pays,Montant,Id", lignes.get(0));
+        assertTrue(lignes.get(1).startsWith("999,"));
+        assertTrue(lignes.get(1).endsWith(",999"));
+    }
+
+    // On vérifie le tri rendu sous forme de morceaux de DataFrame
+    @Test
+    public void testTriParMorceaux() throws IOException {
+        Path source = creerFichier(5_000);
+        List<Object> montants = new ArrayList<>();
+        int nbMorceaux;
+
+        TriExterne tri = new TriExterne(new String[] { "Montant" }).avecBudgetMemoire(100_000);
+        try (Stream<DataFrame> morceaux = tri.trierParMorceaux(source.toString(), 1_000)) {
+            List<DataFrame> liste = new ArrayList<>();
+            morceaux.forEach(liste::add);
+            nbMorceaux = liste.size();
+            for (DataFrame morceau : liste) {
+                montants.addAll(morceau.getColonneByName("Montant").getData());
+            }
+        }
+        assertEquals(5, nbMorceaux);
+        assertEquals(5_000, montants.size());
+        // Croissant, puis les 100 montants manquants à la fin
+        for (int i = 1; i < 4_900; i++) {
+            assertTrue(((Number) montants.get(i - 1)).doubleValue() <= ((Number) montants.get(i)).doubleValue());
+        }
+        assertEquals(null, montants.get(4_900));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColonneAbsente() throws IOException {
+        new TriExterne(new String[] { "Inconnue" }).trier(creerFichier(10).toString(), creerDestination().toString());
+    }
+}